@@ -0,0 +1,465 @@
+package BoardGame;
+
+import java.util.Arrays;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A Bitboard is a fixed-size set of board positions stored as one bit per
+ * square, packed into longs. Bit {@code i} is set when square {@code i}
+ * belongs to the set.
+ * <p>
+ * Set operations such as union, intersection and difference work on a whole
+ * word (64 squares) at a time, so queries like "free squares" or "task squares
+ * of an objective" cost a handful of bit operations rather than a scan over
+ * the board.
+ * </p>
+ * <p>
+ * The words are grouped into blocks of {@value #BLOCK_WORDS}, and only blocks
+ * that differ from the rest of the board are stored. Every other block reads
+ * as all clear, or all set after {@link #fill()}. A set of a few squares on a
+ * large board therefore holds one or two blocks, and so does the set of every
+ * square but a few, which is how the board keeps its free squares.
+ * </p>
+ */
+public class Bitboard {
+
+    /**
+     * The number of words in a block, as a power of two.
+     */
+    private static final int BLOCK_SHIFT = 6;
+
+    /**
+     * The number of words in a block.
+     */
+    private static final int BLOCK_WORDS = 1 << BLOCK_SHIFT;
+
+    /**
+     * The number of squares this bitboard can hold.
+     */
+    private final int size;
+
+    /**
+     * The number of words needed to hold every square.
+     */
+    private final int wordCount;
+
+    /**
+     * The stored blocks of words, or null for a block that is all background.
+     */
+    private final long[][] blocks;
+
+    /**
+     * The word every block not stored reads as: 0, or -1 after {@link #fill()}.
+     */
+    private long background;
+
+    /**
+     * Constructs an empty Bitboard that can hold the given number of squares.
+     *
+     * @param size The number of squares on the board.
+     */
+    public Bitboard(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative.");
+        }
+        this.size = size;
+        this.wordCount = (size + 63) >>> 6;
+        this.blocks = new long[(wordCount + BLOCK_WORDS - 1) >>> BLOCK_SHIFT][];
+    }
+
+    /**
+     * Constructs a Bitboard holding the same squares as another.
+     *
+     * @param other The bitboard to copy.
+     */
+    public Bitboard(Bitboard other) {
+        this.size = other.size;
+        this.wordCount = other.wordCount;
+        this.blocks = new long[other.blocks.length][];
+        copyFrom(other);
+    }
+
+    /**
+     * Gets the number of squares this bitboard can hold.
+     *
+     * @return The number of squares on the board.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether a square is in the set.
+     *
+     * @param index The index of the square.
+     * @return true if the square is in the set, false otherwise.
+     */
+    public boolean get(int index) {
+        return (word(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Adds a square to the set.
+     *
+     * @param index The index of the square.
+     */
+    public void set(int index) {
+        setWord(index >>> 6, word(index >>> 6) | 1L << index);
+    }
+
+    /**
+     * Removes a square from the set.
+     *
+     * @param index The index of the square.
+     */
+    public void clear(int index) {
+        setWord(index >>> 6, word(index >>> 6) & ~(1L << index));
+    }
+
+    /**
+     * Removes every square from the set.
+     */
+    public void clear() {
+        background = 0;
+        Arrays.fill(blocks, null);
+    }
+
+    /**
+     * Adds every square on the board to the set.
+     */
+    public void fill() {
+        background = -1;
+        Arrays.fill(blocks, null);
+    }
+
+    /**
+     * Replaces the contents of this set with the contents of another.
+     *
+     * @param other The bitboard to copy from.
+     */
+    public void copyFrom(Bitboard other) {
+        background = other.background;
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = other.blocks[i] != null ? other.blocks[i].clone() : null;
+        }
+    }
+
+    /**
+     * Keeps only the squares that are also in the other set.
+     *
+     * @param other The set to intersect with.
+     */
+    public void and(Bitboard other) {
+        combine(other, (a, b) -> a & b);
+    }
+
+    /**
+     * Adds every square in the other set to this set.
+     *
+     * @param other The set to join with.
+     */
+    public void or(Bitboard other) {
+        combine(other, (a, b) -> a | b);
+    }
+
+    /**
+     * Removes every square in the other set from this set.
+     *
+     * @param other The set of squares to remove.
+     */
+    public void andNot(Bitboard other) {
+        combine(other, (a, b) -> a & ~b);
+    }
+
+    /**
+     * Moves every square in the set by the same number of indices. Squares
+     * moved off either end of the board are dropped.
+     *
+     * @param distance The number of indices to move by; positive towards higher
+     *                 indices and negative towards lower ones.
+     */
+    public void shift(int distance) {
+        int wordShift = Math.abs(distance) >>> 6;
+        int bitShift = Math.abs(distance) & 63;
+        if (wordShift >= wordCount) {
+            clear();
+            return;
+        } else if (distance == 0) {
+            return;
+        }
+
+        long[][] shifted = new long[blocks.length][];
+        for (int block = 0; block < blocks.length; block++) {
+            int first = block << BLOCK_SHIFT;
+            // The words a block is made from, one either side of the shift
+            int from = distance > 0 ? first - wordShift - 1 : first + wordShift;
+            int to = from + BLOCK_WORDS + 1;
+            if (background == 0 && noneStored(from, to)) {
+                continue;
+            }
+
+            long[] words = new long[BLOCK_WORDS];
+            for (int j = 0; j < BLOCK_WORDS; j++) {
+                int i = first + j;
+                long word;
+                if (distance > 0) {
+                    long here = sourceWord(i - wordShift);
+                    long below = sourceWord(i - wordShift - 1);
+                    word = bitShift == 0 ? here : here << bitShift | below >>> (64 - bitShift);
+                } else {
+                    long here = sourceWord(i + wordShift);
+                    long above = sourceWord(i + wordShift + 1);
+                    word = bitShift == 0 ? here : here >>> bitShift | above << (64 - bitShift);
+                }
+                words[j] = word & limit(i);
+            }
+            shifted[block] = isBackground(words, first, background) ? null : words;
+        }
+        System.arraycopy(shifted, 0, blocks, 0, blocks.length);
+    }
+
+    /**
+     * Checks whether this set shares any square with another.
+     *
+     * @param other The set to compare with.
+     * @return true if at least one square is in both sets, false otherwise.
+     */
+    public boolean intersects(Bitboard other) {
+        for (int block = 0; block < blocks.length; block++) {
+            int first = block << BLOCK_SHIFT;
+            if (blocks[block] == null && other.blocks[block] == null) {
+                if ((background & other.background) != 0) {
+                    return true;
+                }
+                continue;
+            }
+            for (int i = first; i < Math.min(first + BLOCK_WORDS, wordCount); i++) {
+                if ((word(i) & other.word(i)) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any square in a range of indices is in the set.
+     *
+     * @param from The first index of the range.
+     * @param to   The index just past the end of the range.
+     * @return true if at least one square in the range is in the set, false
+     *         otherwise.
+     */
+    public boolean intersects(int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            return (word(firstWord) & firstMask & lastMask) != 0;
+        }
+        if ((word(firstWord) & firstMask) != 0) {
+            return true;
+        }
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            if (word(i) != 0) {
+                return true;
+            }
+        }
+        return (word(lastWord) & lastMask) != 0;
+    }
+
+    /**
+     * Checks whether the set is empty.
+     *
+     * @return true if no square is in the set, false otherwise.
+     */
+    public boolean isEmpty() {
+        return nextSetBit(0) < 0;
+    }
+
+    /**
+     * Counts the squares in the set.
+     *
+     * @return The number of squares in the set.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int block = 0; block < blocks.length; block++) {
+            if (blocks[block] == null && background == 0) {
+                continue;
+            }
+            int first = block << BLOCK_SHIFT;
+            for (int i = first; i < Math.min(first + BLOCK_WORDS, wordCount); i++) {
+                count += Long.bitCount(word(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first square in the set at or after the given index.
+     *
+     * @param from The index to start searching from.
+     * @return The index of the next square in the set, or -1 if there is none.
+     */
+    public int nextSetBit(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        int wordIndex = from >>> 6;
+        long word = word(wordIndex) & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex >= wordCount) {
+                return -1;
+            }
+            if (background == 0 && blocks[wordIndex >>> BLOCK_SHIFT] == null) {
+                // Skips the rest of a block that is not stored
+                wordIndex = ((wordIndex >>> BLOCK_SHIFT) + 1 << BLOCK_SHIFT) - 1;
+                word = 0;
+            } else {
+                word = word(wordIndex);
+            }
+        }
+    }
+
+    /**
+     * Applies a bit operation to this set and another, word by word. Blocks
+     * stored by neither set are not visited.
+     *
+     * @param other The other set.
+     * @param op    The operation, given a word of this set and of the other.
+     */
+    private void combine(Bitboard other, LongBinaryOperator op) {
+        long result = op.applyAsLong(background, other.background);
+        for (int block = 0; block < blocks.length; block++) {
+            if (blocks[block] == null && other.blocks[block] == null) {
+                continue;
+            }
+            int first = block << BLOCK_SHIFT;
+            long[] words = blocks[block] != null ? blocks[block] : new long[BLOCK_WORDS];
+            for (int j = 0; j < BLOCK_WORDS; j++) {
+                words[j] = op.applyAsLong(word(first + j), other.word(first + j)) & limit(first + j);
+            }
+            blocks[block] = isBackground(words, first, result) ? null : words;
+        }
+        background = result;
+    }
+
+    /**
+     * Reads a word of the set. Bits past the last square always read as clear.
+     *
+     * @param index The index of the word.
+     * @return The word.
+     */
+    long word(int index) {
+        long[] words = blocks[index >>> BLOCK_SHIFT];
+        return words != null ? words[index & (BLOCK_WORDS - 1)] : background & limit(index);
+    }
+
+    /**
+     * Writes a word of the set, storing its block only while it differs from
+     * the background.
+     *
+     * @param index The index of the word.
+     * @param value The new word.
+     */
+    private void setWord(int index, long value) {
+        int block = index >>> BLOCK_SHIFT;
+        int first = block << BLOCK_SHIFT;
+        long[] words = blocks[block];
+        if (words == null) {
+            if (value == (background & limit(index))) {
+                return;
+            }
+            words = new long[BLOCK_WORDS];
+            for (int j = 0; j < BLOCK_WORDS; j++) {
+                words[j] = background & limit(first + j);
+            }
+            blocks[block] = words;
+        }
+        words[index & (BLOCK_WORDS - 1)] = value;
+        if (value == (background & limit(index)) && isBackground(words, first, background)) {
+            blocks[block] = null;
+        }
+    }
+
+    /**
+     * Reads a word as a shift would, with words off either end of the board
+     * reading as clear.
+     */
+    private long sourceWord(int index) {
+        return index >= 0 && index < wordCount ? word(index) : 0;
+    }
+
+    /**
+     * Checks whether no block holding a word in a range is stored.
+     *
+     * @param from The first word of the range; may be off the board.
+     * @param to   The word just past the end of the range; may be off the board.
+     * @return true if every word in the range is background.
+     */
+    private boolean noneStored(int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, wordCount);
+        for (int i = from; i < to; i = (i >>> BLOCK_SHIFT) + 1 << BLOCK_SHIFT) {
+            if (blocks[i >>> BLOCK_SHIFT] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a block reads the same as the background would.
+     */
+    private boolean isBackground(long[] words, int first, long background) {
+        for (int j = 0; j < BLOCK_WORDS; j++) {
+            if (words[j] != (background & limit(first + j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the bits of a word that stand for squares on the board.
+     */
+    private long limit(int index) {
+        if (index < wordCount - 1) {
+            return -1L;
+        } else if (index > wordCount - 1) {
+            return 0;
+        }
+        int extra = size & 63;
+        return extra != 0 ? (1L << extra) - 1 : -1L;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Bitboard other) || size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < wordCount; i++) {
+            if (word(i) != other.word(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < wordCount; i++) {
+            hash = 31 * hash + Long.hashCode(word(i));
+        }
+        return hash;
+    }
+}
@@ -2,25 +2,25 @@ package BoardGame;
 
 import javax.swing.*;
 import javax.swing.border.BevelBorder;
+import javax.swing.border.Border;
 
-import GameSystem.GameSystem;
 import square.*;
 
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
 /**
  * The Board class represents the game board. It is responsible
- * for rendering the squares on the board, managing player positions, and
- * generating new squares.
+ * for rendering the squares of a {@link BoardModel} and the player positions
+ * on top of them. Squares can be highlighted, for example to show where the
+ * current player can move to, and clicking a square is passed on to a
+ * listener.
  *
  * @author Nathan Watkins
  * @author Curtis McCartney (Supporting)
@@ -30,7 +30,7 @@ public class Board extends JPanel {
     /**
      * The side length of the grid.
      */
-    public final int boardSideLength = 9;
+    public final int boardSideLength;
 
     /**
      * The List of all the Players in the game.
@@ -38,51 +38,50 @@ public class Board extends JPanel {
     private Player[] players;
 
     /**
-     * The list of squares on the board.
+     * The model holding the squares on the board.
      */
-    protected List<Square> squareArray;
+    private final BoardModel model;
 
     private List<JPanel> squarePanels;
 
+    /**
+     * The border drawn around highlighted squares.
+     */
+    private static final Color HIGHLIGHT_COLOUR = new Color(255, 200, 0);
+
+    /**
+     * The highlighted squares, or null if none are highlighted.
+     */
+    private Bitboard highlighted;
+
+    /**
+     * Told the index of each square that is clicked, or null.
+     */
+    private IntConsumer squareClickListener;
+
     /**
      * Constructs a new Board object and initializes the board with the default
      * settings.
      */
     public Board(ArrayList<Task> tasks) {
-
-        this.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createEmptyBorder(30, 0, 0, 0),
-                BorderFactory.createBevelBorder(BevelBorder.LOWERED)));
-        this.setLayout(new GridLayout(boardSideLength, boardSideLength));
-
-        squareArray = generateBoardSquares();
-        for (int i = 0; i < 12; i++) {
-            generateNewSquares(1, new TaskSquare(tasks.get(i)));
-        }
-        generateNewSquares(2, new MoneySquare());
-        renderBoard(squareArray);
+        this(new BoardModel(tasks));
     }
 
     /**
-     * Distributes the types of squares on the board based on a given ratio.
-     * The types of squares include Task, Resource, and Normal.
-     * Additionally, specific locations can be designated as Spawn points.
-     * 
-     * @return A list of strings representing the type of each square on the board.
+     * Constructs a new Board object that renders the given model.
+     *
+     * @param model The model holding the squares on the board.
      */
-    private List<Square> generateBoardSquares() {
-        int totalSquares = boardSideLength * boardSideLength;
-        final int[] spawnLocations = GameSystem.getSpawnLocations();
-        List<Square> squareArray = new ArrayList<>();
-
-        squareArray.addAll(Collections.nCopies(totalSquares, new Square()));
-        Collections.shuffle(squareArray);
+    public Board(BoardModel model) {
+        this.model = model;
+        this.boardSideLength = model.boardSideLength;
 
-        for (int location : spawnLocations) {
-            squareArray.set(location, new ShopSquare());
-        }
+        this.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createEmptyBorder(30, 0, 0, 0),
+                BorderFactory.createBevelBorder(BevelBorder.LOWERED)));
+        this.setLayout(new GridLayout(boardSideLength, boardSideLength));
 
-        return squareArray;
+        renderBoard(model.getSquareArray());
     }
 
     /**
@@ -100,9 +99,19 @@ public class Board extends JPanel {
 
         for (int i = 0; i < totalSquares; i++) {
             JPanel panel = new JPanel();
-            panel.setBorder(BorderFactory.createLineBorder(new Color(0, 0, 0)));
+            panel.setBorder(squareBorder(i));
             panel.setBackground(squareArray.get(i).getColor());
 
+            final int squareIndex = i;
+            panel.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (squareClickListener != null) {
+                        squareClickListener.accept(squareIndex);
+                    }
+                }
+            });
+
             squarePanels.add(panel);
             this.add(panel);
         }
@@ -111,24 +120,69 @@ public class Board extends JPanel {
         }
     }
 
+    /**
+     * Gets the border of a square, drawn thicker in the highlight colour if the
+     * square is highlighted.
+     *
+     * @param index The index of the square.
+     * @return The border of the square.
+     */
+    private Border squareBorder(int index) {
+        if (highlighted != null && highlighted.get(index)) {
+            return BorderFactory.createLineBorder(HIGHLIGHT_COLOUR, 3);
+        }
+        return BorderFactory.createLineBorder(new Color(0, 0, 0));
+    }
+
+    /**
+     * Highlights a set of squares, replacing any squares highlighted before.
+     *
+     * @param squares The squares to highlight, or null to clear the highlight.
+     */
+    public void highlight(Bitboard squares) {
+        highlighted = squares;
+        for (int i = 0; i < squarePanels.size(); i++) {
+            squarePanels.get(i).setBorder(squareBorder(i));
+        }
+        repaint();
+    }
+
+    /**
+     * Sets the listener told about clicks on the squares of the board.
+     *
+     * @param listener Told the index of each square that is clicked, or null.
+     */
+    public void setSquareClickListener(IntConsumer listener) {
+        this.squareClickListener = listener;
+    }
+
     /**
      * Refreshes the board to reflect the current state of the game.
      */
     public void refresh() {
-        players = GameSystem.getTurnOrder();
+        players = model.getPlayers();
         this.removeAll();
-        renderBoard(squareArray);
+        renderBoard(model.getSquareArray());
         this.revalidate();
         this.repaint();
     }
 
+    /**
+     * Gets the model rendered by this board.
+     *
+     * @return The model holding the squares on the board.
+     */
+    public BoardModel getModel() {
+        return model;
+    }
+
     /**
      * Gets the list of square types on the board.
      * 
      * @return The list of square types on the board.
      */
     public List<Square> getSquareArray() {
-        return squareArray;
+        return model.getSquareArray();
     }
 
     /**
@@ -138,10 +192,7 @@ public class Board extends JPanel {
      * @return The type of square at the given index.
      */
     public Square getSquareAt(int index) {
-        if (index < 0 || index >= squareArray.size()) {
-            throw new IllegalArgumentException("Index out of bounds: " + index);
-        }
-        return squareArray.get(index);
+        return model.getSquareAt(index);
     }
 
     /**
@@ -151,13 +202,7 @@ public class Board extends JPanel {
      * @param square The square to set at the given index.
      */
     public void setSquareAt(int index, Square square) {
-        if (index < 0 || index >= squareArray.size()) {
-            throw new IllegalArgumentException("Index out of bounds: " + index);
-        } else if (square == null) {
-            throw new IllegalArgumentException("Square type cannot be null.");
-        }
-
-        squareArray.set(index, square);
+        model.setSquareAt(index, square);
         refresh();
     }
 
@@ -167,100 +212,27 @@ public class Board extends JPanel {
      * @param amount     The number of squares to generate.
      * @param squareType The type of square to generate.
      * @throws IllegalArgumentException if the amount of squares exceeds the number
-     *                                  of
-     *                                  squares on the board or if the amount is
+     *                                  of squares on the board or if the amount is
      *                                  negative.
      */
     public void generateNewSquares(int amount, Square squareType) {
-        if (amount > squareArray.size()) {
-            throw new IllegalArgumentException("Amount of squares cannot exceed the number of squares on the board.");
-        }
-
-        if (amount < 0) {
-            throw new IllegalArgumentException("Amount of squares cannot be negative.");
-        }
-
-        // Collect all empty squares
-        List<Integer> availablePositions = new ArrayList<>();
-        Map<SquareType, Set<Integer>> existingSquares = new HashMap<>();
-
-        for (SquareType type : SquareType.values()) {
-            existingSquares.put(type, new HashSet<>());
-        }
-
-        for (int i = 0; i < squareArray.size(); i++) {
-            SquareType type = squareArray.get(i).getSquareType();
-            existingSquares.get(type).add(i); // Track all existing square types
-
-            if (type == SquareType.SQUARE) {
-                availablePositions.add(i); // Collect blank squares
-            }
-        }
-
-        if (amount > availablePositions.size()) {
-            throw new IllegalArgumentException("Not enough normal squares to generate " + amount + " squares.");
-        }
-
-        Collections.shuffle(availablePositions); // Shuffle once for random placement
-
-        int placed = 0;
-        Iterator<Integer> iterator = availablePositions.iterator();
-
-        while (iterator.hasNext() && placed < amount) {
-            int index = iterator.next();
-
-            if (isWithinRadius(index, null, 1, existingSquares.get(SquareType.TASKSQUARE))) {
-                continue;
-            }
-
-            if (squareType instanceof TaskSquare taskSquare) {
-                if (isWithinRadius(index, taskSquare.getTask().getBelongsTo(), 3,
-                        existingSquares.get(SquareType.TASKSQUARE))) {
-                    continue;
-                }
-            } else if (squareType instanceof MoneySquare) {
-                if (isWithinRadius(index, null, 3, existingSquares.get(SquareType.MONEYSQUARE))) {
-                    continue;
-                }
-            }
-
-            if (GameSystem.getTurnOrder() != null) {
-                for (int i = 0; i < GameSystem.getTurnOrder().length; i++) {
-                    if (GameSystem.getTurnOrder()[i].getCoord() == index) {
-                        continue;
-                    }
-                }
-            }
-            squareArray.set(index, squareType);
-            existingSquares.get(squareType.getSquareType()).add(index); // Track the new placement
-            placed++;
-        }
-
+        model.generateNewSquares(amount, squareType);
         refresh();
     }
 
-    private boolean isWithinRadius(int index, Objective objective, int radius, Set<Integer> existingPositions) {
-        int row = index / boardSideLength;
-        int col = index % boardSideLength;
-
-        for (int i = -radius; i <= radius; i++) {
-            for (int j = -radius; j <= radius; j++) {
-                int newRow = row + i;
-                int newCol = col + j;
-                int newIndex = newRow * boardSideLength + newCol;
-
-                if (newRow >= 0 && newRow < boardSideLength && newCol >= 0 && newCol < boardSideLength) {
-                    if (existingPositions.contains(newIndex)) {
-                        if (objective == null
-                                || ((TaskSquare) squareArray.get(newIndex)).getTask().getBelongsTo() == objective) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-
-        return false;
+    /**
+     * Places up to a given number of new squares on the board in one pass, asking
+     * the factory for each square as it is placed.
+     * 
+     * @param amount  The number of squares to generate.
+     * @param factory Supplies the square to place at each chosen position.
+     * @return The number of squares placed.
+     * @see BoardModel#generateNewSquares(int, Supplier)
+     */
+    public int generateNewSquares(int amount, Supplier<? extends Square> factory) {
+        int placed = model.generateNewSquares(amount, factory);
+        refresh();
+        return placed;
     }
 
     /**
@@ -7,6 +7,7 @@ import java.util.Objects;
 
 import javax.swing.*;
 
+import GameSystem.GameEngine;
 import GameSystem.GameSystem;
 import Popup.Popup;
 import Popup.*;
@@ -24,6 +25,8 @@ import Popup.*;
  */
 public class BoardGameUI extends JFrame {
 
+    private final GameEngine engine;
+
     Player[] players;
 
     public static final int WINDOW_WIDTH = 1075;
@@ -38,11 +41,16 @@ public class BoardGameUI extends JFrame {
     public EndGame endGame;
 
     /**
-     * Creates a new BoardGameUI instance with the specified list of players.
+     * Creates a new BoardGameUI instance that displays the given game.
+     *
+     * @param engine    The engine holding the state of the game.
+     * @param gameBoard The board view rendering the engine's board.
      */
-    public BoardGameUI(Board gameBoard) {
-        this.players = GameSystem.getTurnOrder();
+    public BoardGameUI(GameEngine engine, Board gameBoard) {
+        this.engine = engine;
+        this.players = engine.getTurnOrder();
         this.gameBoard = gameBoard;
+        gameBoard.setSquareClickListener(this::moveTo);
 
         startScreen = new StartScreen();
         startScreen.setVisible(true);
@@ -111,7 +119,7 @@ public class BoardGameUI extends JFrame {
      * Refreshes the game window to update the player resources and board state.
      */
     public void refresh() {
-        this.players = GameSystem.getTurnOrder();
+        this.players = engine.getTurnOrder();
         gameBoard.refresh();
         remove(sidePanelContainer);
         initComponents();
@@ -196,15 +204,39 @@ public class BoardGameUI extends JFrame {
     private void setupArrowButtonAction(JButton button, Direction direction) {
         button.addActionListener(e -> {
             GameSystem.movePlayer(direction);
-            if (GameSystem.getPlayerAt().getMovesLeft() == 0) {
-                movesLeftLabel.setVisible(false);
-                endTurnButton.setVisible(true);
-            } else {
-                movesLeftLabel.setText("Moves Left: " + GameSystem.getPlayerAt().getMovesLeft());
-            }
+            updateMovesLeft();
         });
     }
 
+    /**
+     * Moves the current player to a square they clicked on, if they can end
+     * their turn there.
+     *
+     * @param square The index of the square clicked.
+     */
+    private void moveTo(int square) {
+        if (!arrowUp.isEnabled() || engine.getPlayerAt().getMovesLeft() <= 0) {
+            return;
+        }
+        GameSystem.movePlayerTo(square);
+        updateMovesLeft();
+    }
+
+    /**
+     * Shows the current player's moves left, or the end turn button once they
+     * have none, and highlights the squares they can end their turn on.
+     */
+    private void updateMovesLeft() {
+        if (engine.getPlayerAt().getMovesLeft() == 0) {
+            movesLeftLabel.setVisible(false);
+            endTurnButton.setVisible(true);
+            gameBoard.highlight(null);
+        } else {
+            movesLeftLabel.setText("Moves Left: " + engine.getPlayerAt().getMovesLeft());
+            gameBoard.highlight(engine.getReachableSquares().getDestinations());
+        }
+    }
+
     private void setupLabelsAndButtons() {
         roundNumberGraphic = new JLabel();
         playerTurnGraphic = new JLabel();
@@ -219,7 +251,7 @@ public class BoardGameUI extends JFrame {
         roundNumberGraphic.setFont(new Font("Segue UI", Font.PLAIN, 26));
         roundNumberGraphic
                 .setIcon(new ImageIcon(Objects.requireNonNull(getClass().getResource("/images/roundBackground.png"))));
-        roundNumberGraphic.setText("Round " + GameSystem.getRoundNumber());
+        roundNumberGraphic.setText("Round " + engine.getRoundNumber());
         roundNumberGraphic.setHorizontalTextPosition(SwingConstants.CENTER);
         sidePanelContainer.add(roundNumberGraphic);
         roundNumberGraphic.setBounds(251, 0, 122, 57);
@@ -227,7 +259,7 @@ public class BoardGameUI extends JFrame {
         playerTurnGraphic.setFont(new Font("Segue UI", Font.PLAIN, 26));
         playerTurnGraphic
                 .setIcon(new ImageIcon(Objects.requireNonNull(getClass().getResource("/images/PlayerTurn.png"))));
-        playerTurnGraphic.setText("     " + GameSystem.getPlayerAt().getName() + "'s Turn");
+        playerTurnGraphic.setText("     " + engine.getPlayerAt().getName() + "'s Turn");
         playerTurnGraphic.setToolTipText("");
         playerTurnGraphic.setHorizontalTextPosition(SwingConstants.CENTER);
         sidePanelContainer.add(playerTurnGraphic);
@@ -276,10 +308,10 @@ public class BoardGameUI extends JFrame {
         rollDiceButton.setBounds(170, WINDOW_HEIGHT - 52 - 47, 192, 47);
         rollDiceButton.setRolloverEnabled(false);
         rollDiceButton.addActionListener(e -> {
-            GameSystem.getPlayerAt().rollDie();
+            engine.rollDie();
             rollDiceButton.setVisible(false);
-            movesLeftLabel.setText("Moves Left: " + GameSystem.getPlayerAt().getMovesLeft());
             movesLeftLabel.setVisible(true);
+            updateMovesLeft();
         });
         sidePanelContainer.add(rollDiceButton);
 
@@ -306,8 +338,9 @@ public class BoardGameUI extends JFrame {
 
         endTurnButton.addActionListener(e -> {
             GameSystem.nextTurn();
-            playerTurnGraphic.setText("     " + GameSystem.getPlayerAt().getName() + "'s Turn");
-            roundNumberGraphic.setText("Round " + GameSystem.getRoundNumber());
+            gameBoard.highlight(null);
+            playerTurnGraphic.setText("     " + engine.getPlayerAt().getName() + "'s Turn");
+            roundNumberGraphic.setText("Round " + engine.getRoundNumber());
             movesLeftLabel.setVisible(false);
             endTurnButton.setVisible(false);
             rollDiceButton.setVisible(true);
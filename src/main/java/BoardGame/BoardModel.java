@@ -0,0 +1,709 @@
+package BoardGame;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+import square.MoneySquare;
+import square.ShopSquare;
+import square.Square;
+import square.SquareType;
+import square.TaskSquare;
+
+/**
+ * The BoardModel class holds the state of the game board without any Swing
+ * dependencies. It is responsible for the layout of the squares on the grid
+ * and for generating new squares, so that a game can be played without a
+ * display. The {@link Board} panel renders a BoardModel.
+ * <p>
+ * The side length of the grid is chosen per game. Only special squares are
+ * stored; every other position holds the shared blank square, so a large map
+ * costs little more than a small one with the same number of special squares.
+ * </p>
+ * <p>
+ * Alongside the list of squares, the model keeps a {@link Bitboard} of the
+ * positions of each {@link SquareType} and of the task squares of each
+ * {@link Objective}, so that placement rules can be checked with bit
+ * operations. A bitboard only stores the blocks of the board that hold a
+ * special square, so blank squares cost nothing there either. The free
+ * squares are also kept in a {@link CellSet}, so new squares are placed by
+ * sampling a free square directly. Each task on the board is indexed by its
+ * position, so a task can be found without a scan.
+ * </p>
+ * <p>
+ * On request, the model also keeps a {@link DistanceField} for a type of
+ * square, giving the nearest square of that type to every position. Each field
+ * is updated as squares are placed rather than being rebuilt.
+ * </p>
+ * <p>
+ * A {@link Listener} is told the position of every square placed and about
+ * every task that moves or changes, so it can follow the board without
+ * scanning it.
+ * </p>
+ *
+ * @author Nathan Watkins
+ * @author Curtis McCartney (Supporting)
+ */
+public class BoardModel {
+
+    /**
+     * Receives the changes made to the board as they happen.
+     */
+    public interface Listener {
+        /**
+         * Called after a square of the board has been replaced.
+         *
+         * @param index The index of the square.
+         */
+        void squareChanged(int index);
+
+        /**
+         * Called after a task has been placed on or taken off the board, or
+         * has changed owner or progress.
+         *
+         * @param task The task that changed.
+         */
+        void taskChanged(Task task);
+    }
+
+    /**
+     * The side length of the grid used when no size is given.
+     */
+    public static final int DEFAULT_SIDE_LENGTH = 9;
+
+    /**
+     * The smallest and largest side lengths a board can have.
+     */
+    public static final int MIN_SIDE_LENGTH = 3;
+    public static final int MAX_SIDE_LENGTH = 2048;
+
+    /**
+     * The blank square shown at every position without a special square.
+     */
+    private static final Square BLANK = new Square();
+
+    /**
+     * The side length of the grid.
+     */
+    public final int boardSideLength;
+
+    /**
+     * The number of squares on the grid.
+     */
+    private final int totalSquares;
+
+    /**
+     * The number of squares that must be left between any two task squares.
+     */
+    public static final int TASK_GAP_RADIUS = 1;
+
+    /**
+     * The number of squares that must be left between two task squares of the
+     * same objective, or between two money squares.
+     */
+    public static final int SPACING_RADIUS = 3;
+
+    /**
+     * The squares on the board that are not blank, keyed by position.
+     */
+    private final Map<Integer, Square> specialSquares = new HashMap<>();
+
+    /**
+     * A read-only list view of every square on the board.
+     */
+    private final List<Square> squareArray = new AbstractList<>() {
+        @Override
+        public Square get(int index) {
+            return getSquareAt(index);
+        }
+
+        @Override
+        public int size() {
+            return totalSquares;
+        }
+    };
+
+    /**
+     * The squares within {@link #TASK_GAP_RADIUS} and {@link #SPACING_RADIUS} of
+     * each square.
+     */
+    private final Neighbourhood taskGap;
+    private final Neighbourhood spacing;
+
+    /**
+     * The square reached by moving in each direction from each square.
+     */
+    private final MoveTable moveTable;
+
+    /**
+     * The positions of each type of square, indexed by SquareType ordinal.
+     */
+    private final Bitboard[] typeMasks;
+
+    /**
+     * The positions of the task squares belonging to each objective.
+     */
+    private final Map<Objective, Bitboard> objectiveMasks = new HashMap<>();
+
+    /**
+     * The position of each task on the board. The square at a position gives
+     * the task the other way round.
+     */
+    private final Map<Task, Integer> taskPositions = new HashMap<>();
+
+    /**
+     * The distance field of each type of square, indexed by SquareType ordinal,
+     * or null until it is first asked for.
+     */
+    private final DistanceField[] distanceFields = new DistanceField[SquareType.values().length];
+
+    /**
+     * The blank squares on the board, kept in step with the SQUARE mask.
+     */
+    private final CellSet freeCells;
+
+    /**
+     * The source of randomness used to place new squares.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * The players on the board, used to avoid placing new squares under them.
+     */
+    private Player[] players;
+
+    /**
+     * The hash told about every square placed, or null.
+     */
+    private ZobristHash hash;
+
+    /**
+     * The listeners told about every change to the board. A copy of the board
+     * starts without any.
+     */
+    private final List<Listener> listeners = new ArrayList<>();
+
+    /**
+     * Constructs a new BoardModel of the default size and places the first twelve
+     * tasks and two money squares on the board.
+     *
+     * @param tasks The tasks to place on the board.
+     */
+    public BoardModel(ArrayList<Task> tasks) {
+        this(tasks, DEFAULT_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructs a new BoardModel with the given side length and places the first
+     * twelve tasks and two money squares on the board.
+     *
+     * @param tasks           The tasks to place on the board.
+     * @param boardSideLength The side length of the grid.
+     * @throws IllegalArgumentException if the side length is outside
+     *                                  {@link #MIN_SIDE_LENGTH} and
+     *                                  {@link #MAX_SIDE_LENGTH}.
+     */
+    public BoardModel(ArrayList<Task> tasks, int boardSideLength) {
+        this(tasks, boardSideLength, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a new BoardModel with the given side length, placing the first
+     * twelve tasks and two money squares using the given source of randomness so
+     * that the layout can be reproduced.
+     *
+     * @param tasks           The tasks to place on the board.
+     * @param boardSideLength The side length of the grid.
+     * @param random          The source of randomness of the game.
+     * @throws IllegalArgumentException if the side length is outside
+     *                                  {@link #MIN_SIDE_LENGTH} and
+     *                                  {@link #MAX_SIDE_LENGTH}.
+     */
+    public BoardModel(ArrayList<Task> tasks, int boardSideLength, RandomGenerator random) {
+        if (boardSideLength < MIN_SIDE_LENGTH || boardSideLength > MAX_SIDE_LENGTH) {
+            throw new IllegalArgumentException("Board side length must be between " + MIN_SIDE_LENGTH + " and "
+                    + MAX_SIDE_LENGTH + ": " + boardSideLength);
+        }
+        this.boardSideLength = boardSideLength;
+        this.totalSquares = boardSideLength * boardSideLength;
+        this.random = random;
+
+        taskGap = Neighbourhood.of(boardSideLength, TASK_GAP_RADIUS);
+        spacing = Neighbourhood.of(boardSideLength, SPACING_RADIUS);
+        moveTable = MoveTable.of(boardSideLength);
+
+        typeMasks = new Bitboard[SquareType.values().length];
+        for (int i = 0; i < typeMasks.length; i++) {
+            typeMasks[i] = new Bitboard(totalSquares);
+        }
+        freeCells = new CellSet(totalSquares);
+
+        generateBoardSquares();
+        for (int i = 0; i < 12; i++) {
+            generateNewSquares(1, new TaskSquare(tasks.get(i)));
+        }
+        generateNewSquares(2, new MoneySquare(random));
+    }
+
+    /**
+     * Constructs a copy of another board, with each task square holding the copy
+     * of its task.
+     *
+     * @param other  The board to copy.
+     * @param tasks  The copy of each task on the other board.
+     * @param random The source of randomness of the copy.
+     */
+    private BoardModel(BoardModel other, Map<Task, Task> tasks, RandomGenerator random) {
+        this.boardSideLength = other.boardSideLength;
+        this.totalSquares = other.totalSquares;
+        this.random = random;
+        this.taskGap = other.taskGap;
+        this.spacing = other.spacing;
+        this.moveTable = other.moveTable;
+
+        typeMasks = new Bitboard[other.typeMasks.length];
+        for (int i = 0; i < typeMasks.length; i++) {
+            typeMasks[i] = new Bitboard(other.typeMasks[i]);
+        }
+        freeCells = new CellSet(other.freeCells);
+
+        // Squares other than task squares hold no state, so they are shared
+        for (Map.Entry<Integer, Square> entry : other.specialSquares.entrySet()) {
+            Square square = entry.getValue();
+            if (square instanceof TaskSquare taskSquare) {
+                Task task = tasks.get(taskSquare.getTask());
+                square = new TaskSquare(task);
+                taskPositions.put(task, entry.getKey());
+                if (task.getBelongsTo() != null) {
+                    objectiveMasks.computeIfAbsent(task.getBelongsTo(), objective -> new Bitboard(totalSquares))
+                            .set(entry.getKey());
+                }
+            }
+            specialSquares.put(entry.getKey(), square);
+        }
+    }
+
+    /**
+     * Creates a copy of this board for a copy of the game. The copy places new
+     * squares exactly as this board would given the same randomness.
+     *
+     * @param tasks  The copy of each task on this board.
+     * @param random The source of randomness of the copy.
+     * @return The copy of the board, without any players.
+     */
+    public BoardModel copy(Map<Task, Task> tasks, RandomGenerator random) {
+        return new BoardModel(this, tasks, random);
+    }
+
+    /**
+     * Marks every square on the board as blank and places a ShopSquare on each
+     * spawn location.
+     */
+    private void generateBoardSquares() {
+        typeMasks[SquareType.SQUARE.ordinal()].fill();
+        freeCells.fill();
+
+        for (int location : getSpawnLocations()) {
+            place(location, new ShopSquare());
+        }
+    }
+
+    /**
+     * Retrieves the designated spawn locations on the board. Players start on
+     * these squares and each one holds a ShopSquare.
+     *
+     * @return An array of integers representing spawn locations.
+     */
+    public int[] getSpawnLocations() {
+        return new int[] { (boardSideLength / 2) * boardSideLength + boardSideLength / 2 };
+    }
+
+    /**
+     * Gets the move table for this board.
+     *
+     * @return The square reached by moving in each direction from each square.
+     */
+    public MoveTable getMoveTable() {
+        return moveTable;
+    }
+
+    /**
+     * Sets the players on the board, limiting their coordinates to the squares
+     * on this board.
+     *
+     * @param players The players on the board.
+     */
+    public void setPlayers(Player[] players) {
+        this.players = players;
+        if (players != null) {
+            for (Player player : players) {
+                player.setBoardSquares(totalSquares);
+            }
+        }
+    }
+
+    /**
+     * Sets the hash told about every square placed from now on.
+     *
+     * @param hash The hash of the game, or null to stop hashing the board.
+     */
+    void setHash(ZobristHash hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * Adds a listener to be told about every change to the board.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Tells the listeners that a task has changed owner or progress. The
+     * actions of the game that change a task call this once they have.
+     *
+     * @param task The task that changed.
+     */
+    public void taskChanged(Task task) {
+        for (Listener listener : listeners) {
+            listener.taskChanged(task);
+        }
+    }
+
+    /**
+     * Gets the players on the board.
+     *
+     * @return The players on the board.
+     */
+    public Player[] getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the number of squares on the board.
+     *
+     * @return The number of squares on the board.
+     */
+    public int getTotalSquares() {
+        return totalSquares;
+    }
+
+    /**
+     * Gets the list of square types on the board. The list is a read-only view
+     * that looks each square up as it is read.
+     *
+     * @return The list of square types on the board.
+     */
+    public List<Square> getSquareArray() {
+        return squareArray;
+    }
+
+    /**
+     * Gets the squares on the board that are not blank, keyed by position.
+     *
+     * @return A read-only map of the special squares on the board.
+     */
+    public Map<Integer, Square> getSpecialSquares() {
+        return Collections.unmodifiableMap(specialSquares);
+    }
+
+    /**
+     * Gets the square at a given index on the board.
+     *
+     * @param index The index of the square to get.
+     * @return The type of square at the given index.
+     */
+    public Square getSquareAt(int index) {
+        if (index < 0 || index >= totalSquares) {
+            throw new IllegalArgumentException("Index out of bounds: " + index);
+        }
+        return specialSquares.getOrDefault(index, BLANK);
+    }
+
+    /**
+     * Sets the square at a given index on the board.
+     *
+     * @param index  The index of the square to set.
+     * @param square The square to set at the given index.
+     */
+    public void setSquareAt(int index, Square square) {
+        if (index < 0 || index >= totalSquares) {
+            throw new IllegalArgumentException("Index out of bounds: " + index);
+        } else if (square == null) {
+            throw new IllegalArgumentException("Square type cannot be null.");
+        }
+
+        place(index, square);
+    }
+
+    /**
+     * Gets the positions of every square of the given type. The returned
+     * bitboard is kept up to date by the model and must not be modified.
+     *
+     * @param type The type of square to find.
+     * @return A bitboard of the positions of the given type of square.
+     */
+    public Bitboard getSquaresOfType(SquareType type) {
+        return typeMasks[type.ordinal()];
+    }
+
+    /**
+     * Gets the positions of every blank square on the board. The returned
+     * bitboard is kept up to date by the model and must not be modified.
+     *
+     * @return A bitboard of the positions of the blank squares.
+     */
+    public Bitboard getFreeSquares() {
+        return typeMasks[SquareType.SQUARE.ordinal()];
+    }
+
+    /**
+     * Gets the distance field of a type of square, giving the closest square of
+     * that type to every position on the board. The field is built the first
+     * time it is asked for and then kept up to date by the model; it must not be
+     * modified.
+     *
+     * @param type The type of square to measure the distance to.
+     * @return The distance field of the given type of square.
+     */
+    public DistanceField getDistanceField(SquareType type) {
+        DistanceField field = distanceFields[type.ordinal()];
+        if (field == null) {
+            field = new DistanceField(boardSideLength, typeMasks[type.ordinal()]);
+            distanceFields[type.ordinal()] = field;
+        }
+        return field;
+    }
+
+    /**
+     * Gets the positions of the task squares belonging to an objective. Tasks
+     * without an objective are only found through
+     * {@link #getSquaresOfType(SquareType)}.
+     *
+     * @param objective The objective the tasks belong to.
+     * @return A bitboard of the positions of the objective's task squares.
+     */
+    public Bitboard getTaskSquaresOf(Objective objective) {
+        Bitboard mask = objectiveMasks.get(objective);
+        return mask != null ? mask : new Bitboard(totalSquares);
+    }
+
+    /**
+     * Gets the position of a task on the board.
+     *
+     * @param task The task to find.
+     * @return The index of the square holding the task, or -1 if the task is not
+     *         on the board.
+     */
+    public int getTaskPosition(Task task) {
+        Integer position = taskPositions.get(task);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Gets the task on the square at a given index.
+     *
+     * @param index The index of the square.
+     * @return The task on that square, or null if the square is not a task
+     *         square.
+     */
+    public Task getTaskAt(int index) {
+        return getSquareAt(index) instanceof TaskSquare taskSquare ? taskSquare.getTask() : null;
+    }
+
+    /**
+     * Puts a square at the given index and keeps the bitboards in step with the
+     * change. Blank squares are not stored.
+     *
+     * @param index  The index of the square to set.
+     * @param square The square to set at the given index.
+     */
+    private void place(int index, Square square) {
+        Square previous = getSquareAt(index);
+        if (hash != null) {
+            hash.changeSquare(index, previous, square);
+        }
+        typeMasks[previous.getSquareType().ordinal()].clear(index);
+        if (distanceFields[previous.getSquareType().ordinal()] != null) {
+            distanceFields[previous.getSquareType().ordinal()].removeSource(index);
+        }
+        if (previous.getSquareType() == SquareType.SQUARE) {
+            freeCells.remove(index);
+        }
+        if (previous instanceof TaskSquare taskSquare) {
+            taskPositions.remove(taskSquare.getTask(), index);
+            if (taskSquare.getTask().getBelongsTo() != null) {
+                objectiveMasks.get(taskSquare.getTask().getBelongsTo()).clear(index);
+            }
+        }
+
+        if (square.getSquareType() == SquareType.SQUARE) {
+            specialSquares.remove(index);
+        } else {
+            specialSquares.put(index, square);
+        }
+        typeMasks[square.getSquareType().ordinal()].set(index);
+        if (distanceFields[square.getSquareType().ordinal()] != null) {
+            distanceFields[square.getSquareType().ordinal()].addSource(index);
+        }
+        if (square.getSquareType() == SquareType.SQUARE) {
+            freeCells.add(index);
+        }
+        if (square instanceof TaskSquare taskSquare) {
+            taskPositions.put(taskSquare.getTask(), index);
+            if (taskSquare.getTask().getBelongsTo() != null) {
+                objectiveMasks.computeIfAbsent(taskSquare.getTask().getBelongsTo(),
+                        objective -> new Bitboard(totalSquares)).set(index);
+            }
+        }
+
+        for (Listener listener : listeners) {
+            listener.squareChanged(index);
+            if (previous instanceof TaskSquare taskSquare) {
+                listener.taskChanged(taskSquare.getTask());
+            }
+            if (square instanceof TaskSquare taskSquare) {
+                listener.taskChanged(taskSquare.getTask());
+            }
+        }
+    }
+
+    /**
+     * Generates a given number of squares of a given type on the board. The same
+     * square is placed at every chosen position.
+     *
+     * @param amount     The number of squares to generate.
+     * @param squareType The type of square to generate.
+     * @throws IllegalArgumentException if the amount of squares exceeds the number
+     *                                  of squares on the board or if the amount is
+     *                                  negative.
+     */
+    public void generateNewSquares(int amount, Square squareType) {
+        generateNewSquares(amount, () -> squareType);
+    }
+
+    /**
+     * Places up to a given number of new squares on free squares of the board in
+     * a single pass, asking the factory for each square as it is placed.
+     * <p>
+     * Candidates are drawn at random from the free squares without replacement.
+     * A candidate is skipped if it breaks a spacing rule or if a player is
+     * standing on it, and is set aside from the free squares so it is never
+     * drawn twice; the squares set aside are put back once placing is done.
+     * Placing stops once the amount is reached or every free square has been
+     * tried.
+     * </p>
+     *
+     * @param amount  The number of squares to generate.
+     * @param factory Supplies the square to place at each chosen position. Every
+     *                square it supplies must be of the same type.
+     * @return The number of squares placed.
+     * @throws IllegalArgumentException if the amount of squares exceeds the number
+     *                                  of squares on the board or of free squares,
+     *                                  or if the amount is negative.
+     */
+    public int generateNewSquares(int amount, Supplier<? extends Square> factory) {
+        if (amount > totalSquares) {
+            throw new IllegalArgumentException("Amount of squares cannot exceed the number of squares on the board.");
+        }
+
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount of squares cannot be negative.");
+        }
+
+        if (amount > freeCells.size()) {
+            throw new IllegalArgumentException("Not enough normal squares to generate " + amount + " squares.");
+        }
+
+        int placed = 0;
+        int[] skipped = new int[8];
+        int skippedCount = 0;
+        Square next = null;
+
+        try {
+            while (placed < amount && freeCells.size() > 0) {
+                int index = freeCells.get(random.nextInt(freeCells.size()));
+
+                if (next == null) {
+                    next = factory.get();
+                }
+                if (isOccupied(index) || !isPlaceable(index, next)) {
+                    if (skippedCount == skipped.length) {
+                        skipped = Arrays.copyOf(skipped, skippedCount * 2);
+                    }
+                    skipped[skippedCount++] = index;
+                    freeCells.remove(index); // Set aside so it is not drawn again
+                    continue;
+                }
+
+                place(index, next); // Also removes the square from the free cells
+                next = null;
+                placed++;
+            }
+        } finally {
+            for (int i = 0; i < skippedCount; i++) {
+                freeCells.add(skipped[i]);
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Checks whether a player is standing on a square.
+     *
+     * @param index The index of the square.
+     * @return true if a player is on the square, false otherwise.
+     */
+    private boolean isOccupied(int index) {
+        if (players != null) {
+            for (Player player : players) {
+                if (player.getCoord() == index) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a new square may be placed at a position without breaking
+     * the spacing rules.
+     *
+     * @param index      The index of the position.
+     * @param squareType The square to be placed.
+     * @return true if the square may be placed there, false otherwise.
+     */
+    private boolean isPlaceable(int index, Square squareType) {
+        if (taskGap.intersects(index, getSquaresOfType(SquareType.TASKSQUARE))) {
+            return false;
+        }
+
+        if (squareType instanceof TaskSquare taskSquare) {
+            Objective objective = taskSquare.getTask().getBelongsTo();
+            Bitboard sameObjective = objective != null ? getTaskSquaresOf(objective)
+                    : getSquaresOfType(SquareType.TASKSQUARE);
+            return !spacing.intersects(index, sameObjective);
+        } else if (squareType instanceof MoneySquare) {
+            return !spacing.intersects(index, getSquaresOfType(SquareType.MONEYSQUARE));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,181 @@
+package BoardGame;
+
+/**
+ * A CellSet is a set of board positions that can also give the n-th position
+ * it holds, so that a position can be picked from it at random. Adding,
+ * removing and testing a position take a few steps, and picking one takes a
+ * few more however large the board is.
+ * <p>
+ * The positions are kept in a {@link Bitboard}, so a set of every square but
+ * a few, such as the free squares of a board, only stores the blocks around
+ * those few. Alongside it, the number of positions in each block of
+ * {@value #BLOCK_SQUARES} squares is kept in a Fenwick tree. Finding the n-th
+ * position walks down the tree to its block, counts along at most 64 words of
+ * that block and then finds the bit within one word.
+ * </p>
+ * <p>
+ * The board keeps one of these for its free squares, so a new square can be
+ * placed by sampling from the set directly instead of collecting and
+ * shuffling every blank square first.
+ * </p>
+ */
+public class CellSet {
+
+    /**
+     * The number of squares in a block, as a power of two.
+     */
+    private static final int BLOCK_SHIFT = 12;
+
+    /**
+     * The number of squares in each block counted by the tree.
+     */
+    private static final int BLOCK_SQUARES = 1 << BLOCK_SHIFT;
+
+    /**
+     * The positions in the set.
+     */
+    private final Bitboard cells;
+
+    /**
+     * The Fenwick tree of the number of positions in each block, from index 1.
+     */
+    private final int[] counts;
+
+    /**
+     * The number of positions in the set.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty CellSet for a board with the given number of squares.
+     *
+     * @param capacity The number of squares on the board.
+     */
+    public CellSet(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        cells = new Bitboard(capacity);
+        counts = new int[((capacity + BLOCK_SQUARES - 1) >>> BLOCK_SHIFT) + 1];
+    }
+
+    /**
+     * Constructs a CellSet holding the same positions as another.
+     *
+     * @param other The set to copy.
+     */
+    public CellSet(CellSet other) {
+        cells = new Bitboard(other.cells);
+        counts = other.counts.clone();
+        size = other.size;
+    }
+
+    /**
+     * Gets the number of positions in the set.
+     *
+     * @return The number of positions in the set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether a position is in the set.
+     *
+     * @param cell The position to check.
+     * @return true if the position is in the set, false otherwise.
+     */
+    public boolean contains(int cell) {
+        return cells.get(cell);
+    }
+
+    /**
+     * Adds every square of the board to the set.
+     */
+    public void fill() {
+        cells.fill();
+        size = cells.size();
+        // Builds the tree from the full blocks in one pass
+        for (int block = 1; block < counts.length; block++) {
+            counts[block] = Math.min(BLOCK_SQUARES, size - ((block - 1) << BLOCK_SHIFT));
+        }
+        for (int block = 1; block < counts.length; block++) {
+            int parent = block + (block & -block);
+            if (parent < counts.length) {
+                counts[parent] += counts[block];
+            }
+        }
+    }
+
+    /**
+     * Adds a position to the set. Adding a position already in the set does
+     * nothing.
+     *
+     * @param cell The position to add.
+     */
+    public void add(int cell) {
+        if (cells.get(cell)) {
+            return;
+        }
+        cells.set(cell);
+        count(cell, 1);
+    }
+
+    /**
+     * Removes a position from the set. Removing a position not in the set does
+     * nothing.
+     *
+     * @param cell The position to remove.
+     */
+    public void remove(int cell) {
+        if (!cells.get(cell)) {
+            return;
+        }
+        cells.clear(cell);
+        count(cell, -1);
+    }
+
+    /**
+     * Gets the position with the given rank: the number of positions in the
+     * set below it.
+     *
+     * @param rank The rank, from 0 to {@link #size()} - 1.
+     * @return The position with that rank.
+     */
+    public int get(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IllegalArgumentException("Rank out of bounds: " + rank);
+        }
+
+        // Finds the block holding the position by walking down the tree
+        int block = 0;
+        for (int step = Integer.highestOneBit(counts.length - 1); step > 0; step >>>= 1) {
+            if (block + step < counts.length && counts[block + step] <= rank) {
+                block += step;
+                rank -= counts[block];
+            }
+        }
+
+        // Then the word within the block, and the bit within the word
+        int wordIndex = block << (BLOCK_SHIFT - 6);
+        long word = cells.word(wordIndex);
+        while (Long.bitCount(word) <= rank) {
+            rank -= Long.bitCount(word);
+            word = cells.word(++wordIndex);
+        }
+        for (int i = 0; i < rank; i++) {
+            word &= word - 1; // Clears the lowest set bit
+        }
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Adds to the count of the block holding a position.
+     */
+    private void count(int cell, int change) {
+        size += change;
+        for (int block = (cell >>> BLOCK_SHIFT) + 1; block < counts.length; block += block & -block) {
+            counts[block] += change;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package BoardGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ChangeTracker records which players have had their resources, score,
+ * position or moves left changed and tells its listeners about those changes
+ * in one go, instead of each setter refreshing the display on its own.
+ * <p>
+ * Changes made between {@link #begin()} and the matching {@link #end()} are
+ * gathered up and flushed once when the outermost batch ends. A change made
+ * outside any batch is flushed straight away, unless automatic flushing is
+ * turned off, in which case changes wait until {@link #flush()} is called (for
+ * example once per frame). Each flush hands the listeners one {@link Change}
+ * per player holding the net change of every field since the last flush.
+ * </p>
+ * <p>
+ * A tracker is not thread-safe. The game engine only uses it while holding
+ * its own lock, so listeners are called on whichever thread ran the action.
+ * </p>
+ */
+public class ChangeTracker {
+
+    /**
+     * The field bit for a player's score. Resources use the bit at their
+     * {@link ResourceType#ordinal()}.
+     */
+    public static final int SCORE = 1 << ResourceType.COUNT;
+
+    /**
+     * The field bits for a player's position and moves left.
+     */
+    public static final int COORD = SCORE << 1;
+    public static final int MOVES_LEFT = SCORE << 2;
+
+    /**
+     * The number of fields tracked for each player.
+     */
+    private static final int FIELDS = ResourceType.COUNT + 3;
+
+    /**
+     * Receives the changes made since the last flush.
+     */
+    public interface Listener {
+        /**
+         * Called once per flush with the changes made since the previous flush.
+         *
+         * @param changes The changes, one per player, in the order the players
+         *                were first changed.
+         */
+        void changed(List<Change> changes);
+    }
+
+    /**
+     * The net change to one player's fields since the last flush.
+     */
+    public static final class Change {
+        private final Player player;
+        private final int fields;
+        private final int[] deltas;
+
+        private Change(Player player, int fields, int[] deltas) {
+            this.player = player;
+            this.fields = fields;
+            this.deltas = deltas;
+        }
+
+        /**
+         * Gets the player that changed.
+         *
+         * @return The player that changed.
+         */
+        public Player getPlayer() {
+            return player;
+        }
+
+        /**
+         * Gets the bits of the fields that changed.
+         *
+         * @return A mask of {@link ChangeTracker#fieldOf(ResourceType)},
+         *         {@link ChangeTracker#SCORE}, {@link ChangeTracker#COORD} and
+         *         {@link ChangeTracker#MOVES_LEFT} bits.
+         */
+        public int getFields() {
+            return fields;
+        }
+
+        /**
+         * Gets the net change to a resource.
+         *
+         * @param resourceType The resource to look at.
+         * @return The amount the resource changed by.
+         */
+        public int getDelta(ResourceType resourceType) {
+            return deltas[resourceType.ordinal()];
+        }
+
+        /**
+         * Gets the net change to the score.
+         *
+         * @return The amount the score changed by.
+         */
+        public int getScoreDelta() {
+            return deltas[ResourceType.COUNT];
+        }
+    }
+
+    /**
+     * The fields marked dirty for each player since the last flush.
+     */
+    private final Map<Player, Integer> dirty = new LinkedHashMap<>();
+
+    /**
+     * The values of each player's fields at the last flush.
+     */
+    private final Map<Player, int[]> published = new IdentityHashMap<>();
+
+    /**
+     * The listeners told about each flush.
+     */
+    private final List<Listener> listeners = new ArrayList<>();
+
+    /**
+     * How many batches are currently open.
+     */
+    private int depth;
+
+    /**
+     * Whether changes made outside a batch are flushed straight away.
+     */
+    private boolean autoFlush = true;
+
+    /**
+     * Gets the field bit for a resource.
+     *
+     * @param resourceType The resource.
+     * @return The bit marking that resource as changed.
+     */
+    public static int fieldOf(ResourceType resourceType) {
+        return 1 << resourceType.ordinal();
+    }
+
+    /**
+     * Starts tracking changes to the given players, replacing any players
+     * tracked before.
+     *
+     * @param players The players to track.
+     */
+    public void attach(Player[] players) {
+        for (Player player : published.keySet()) {
+            player.setChangeTracker(null);
+        }
+        published.clear();
+        dirty.clear();
+
+        for (Player player : players) {
+            player.setChangeTracker(this);
+            published.put(player, snapshot(player));
+        }
+    }
+
+    /**
+     * Adds a listener to be told about each flush.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(Listener listener) {
+        if (listeners.isEmpty()) {
+            // Changes are not recorded without listeners, so start from the
+            // players as they are now
+            for (Player player : published.keySet()) {
+                published.put(player, snapshot(player));
+            }
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets whether changes made outside a batch are flushed straight away.
+     *
+     * @param autoFlush true to flush after every unbatched change, false to wait
+     *                  for {@link #flush()}.
+     */
+    public void setAutoFlush(boolean autoFlush) {
+        this.autoFlush = autoFlush;
+    }
+
+    /**
+     * Opens a batch. Changes are held until the outermost batch is closed.
+     */
+    public void begin() {
+        depth++;
+    }
+
+    /**
+     * Closes a batch, flushing the gathered changes if it was the outermost one.
+     */
+    public void end() {
+        if (depth == 0) {
+            throw new IllegalStateException("No batch to end.");
+        }
+        if (--depth == 0 && autoFlush) {
+            flush();
+        }
+    }
+
+    /**
+     * Marks fields of a player as changed.
+     *
+     * @param player The player that changed.
+     * @param fields The bits of the fields that changed.
+     */
+    void markDirty(Player player, int fields) {
+        if (listeners.isEmpty()) {
+            return; // Nobody to tell, so there is nothing to record
+        }
+        dirty.merge(player, fields, (a, b) -> a | b);
+        if (depth == 0 && autoFlush) {
+            flush();
+        }
+    }
+
+    /**
+     * Checks whether there are changes waiting to be flushed.
+     *
+     * @return true if a player has been changed since the last flush.
+     */
+    public boolean isDirty() {
+        return !dirty.isEmpty();
+    }
+
+    /**
+     * Tells the listeners about every change since the last flush. Fields that
+     * were changed and then changed back are left out, and nothing is sent if no
+     * field ended up different.
+     */
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<Change> changes = new ArrayList<>(dirty.size());
+        for (Map.Entry<Player, Integer> entry : dirty.entrySet()) {
+            Player player = entry.getKey();
+            int[] current = snapshot(player);
+            int[] previous = published.getOrDefault(player, current);
+            int[] deltas = new int[FIELDS];
+            int fields = 0;
+
+            for (int i = 0; i < FIELDS; i++) {
+                deltas[i] = current[i] - previous[i];
+                if (deltas[i] != 0) {
+                    fields |= 1 << i;
+                }
+            }
+            published.put(player, current);
+            if (fields != 0) {
+                changes.add(new Change(player, fields, deltas));
+            }
+        }
+        dirty.clear();
+
+        if (!changes.isEmpty()) {
+            List<Change> view = Collections.unmodifiableList(changes);
+            for (Listener listener : listeners) {
+                listener.changed(view);
+            }
+        }
+    }
+
+    /**
+     * Reads the current value of every tracked field of a player.
+     *
+     * @param player The player to read.
+     * @return The player's resources followed by their score, position and
+     *         moves left.
+     */
+    private static int[] snapshot(Player player) {
+        int[] values = new int[FIELDS];
+        for (ResourceType resourceType : ResourceType.values()) {
+            values[resourceType.ordinal()] = player.getResource(resourceType);
+        }
+        values[ResourceType.COUNT] = player.getScore();
+        values[ResourceType.COUNT + 1] = player.getCoord();
+        values[ResourceType.COUNT + 2] = player.getMovesLeft();
+        return values;
+    }
+}
@@ -0,0 +1,283 @@
+package BoardGame;
+
+import java.util.Arrays;
+
+/**
+ * A DistanceField holds, for every square of a square grid, the number of
+ * steps to the closest of a set of source squares and which source that is.
+ * It is built with a breadth-first search from all of the sources at once.
+ * <p>
+ * Sources can be added and removed after the field is built, and only the
+ * squares whose distance changes are visited again: adding a source spreads
+ * outwards only as far as it is the closer source, and removing one clears the
+ * squares that were closest to it and fills them back in from the squares
+ * around them. This keeps the field of each type of square up to date as
+ * squares are placed, so looking up the nearest square of a type is a single
+ * array read even on the largest boards.
+ * </p>
+ * <p>
+ * A field is not thread-safe.
+ * </p>
+ */
+public final class DistanceField {
+
+    /**
+     * The distance of every square while the field has no sources.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * The side length of the grid.
+     */
+    private final int sideLength;
+
+    /**
+     * The source squares of the field.
+     */
+    private final Bitboard sources;
+
+    /**
+     * The number of steps from each square to its closest source.
+     */
+    private final int[] distance;
+
+    /**
+     * The closest source of each square, or -1 if there is none.
+     */
+    private final int[] nearest;
+
+    /**
+     * Scratch space for the squares waiting to be visited, grown as needed.
+     */
+    private int[] queue = new int[16];
+
+    /**
+     * Creates a field without any sources.
+     *
+     * @param sideLength The side length of the grid.
+     */
+    public DistanceField(int sideLength) {
+        if (sideLength <= 0) {
+            throw new IllegalArgumentException("Side length must be positive.");
+        }
+        this.sideLength = sideLength;
+        this.sources = new Bitboard(sideLength * sideLength);
+        this.distance = new int[sideLength * sideLength];
+        this.nearest = new int[sideLength * sideLength];
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(nearest, -1);
+    }
+
+    /**
+     * Creates a field from a set of source squares.
+     *
+     * @param sideLength The side length of the grid.
+     * @param sources    The source squares, one bit per square of the grid.
+     */
+    public DistanceField(int sideLength, Bitboard sources) {
+        this(sideLength);
+        if (sources.size() != distance.length) {
+            throw new IllegalArgumentException("Sources must cover the whole grid.");
+        }
+
+        int tail = 0;
+        for (int i = sources.nextSetBit(0); i >= 0; i = sources.nextSetBit(i + 1)) {
+            this.sources.set(i);
+            distance[i] = 0;
+            nearest[i] = i;
+            tail = push(tail, i);
+        }
+        spread(0, tail);
+    }
+
+    /**
+     * Gets the side length of the grid.
+     *
+     * @return The side length of the grid.
+     */
+    public int getSideLength() {
+        return sideLength;
+    }
+
+    /**
+     * Checks whether a square is a source of the field.
+     *
+     * @param square The index of the square.
+     * @return true if the square is a source.
+     */
+    public boolean isSource(int square) {
+        return sources.get(square);
+    }
+
+    /**
+     * Gets the number of steps from a square to its closest source.
+     *
+     * @param square The index of the square.
+     * @return The distance to the closest source, or {@link #UNREACHABLE} if the
+     *         field has no sources.
+     */
+    public int distance(int square) {
+        return distance[square];
+    }
+
+    /**
+     * Gets the closest source to a square.
+     *
+     * @param square The index of the square.
+     * @return The index of the closest source, or -1 if the field has no
+     *         sources.
+     */
+    public int nearest(int square) {
+        return nearest[square];
+    }
+
+    /**
+     * Adds a source to the field, updating the squares that are now closer to
+     * it than to any other source.
+     *
+     * @param square The index of the new source.
+     */
+    public void addSource(int square) {
+        if (sources.get(square)) {
+            return;
+        }
+        sources.set(square);
+        distance[square] = 0;
+        nearest[square] = square;
+        spread(0, push(0, square));
+    }
+
+    /**
+     * Removes a source from the field, moving the squares that were closest to
+     * it over to their next closest source.
+     *
+     * @param square The index of the source to remove.
+     */
+    public void removeSource(int square) {
+        if (!sources.get(square)) {
+            return;
+        }
+        sources.clear(square);
+
+        // Clear the squares that were closest to the removed source. Each took
+        // its source from a neighbour with the same source, so they are found
+        // by flooding out from it
+        int regionEnd = push(0, square);
+        nearest[square] = -1;
+        distance[square] = UNREACHABLE;
+        for (int head = 0; head < regionEnd; head++) {
+            int current = queue[head];
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbour = neighbour(current, direction);
+                if (neighbour >= 0 && nearest[neighbour] == square) {
+                    nearest[neighbour] = -1;
+                    distance[neighbour] = UNREACHABLE;
+                    regionEnd = push(regionEnd, neighbour);
+                }
+            }
+        }
+
+        // The squares bordering the cleared region keep their distances, so
+        // they seed the search that fills the region back in. They are sorted
+        // by distance so that squares are still visited in order of distance
+        long[] border = new long[16];
+        int borderSize = 0;
+        for (int i = 0; i < regionEnd; i++) {
+            int current = queue[i];
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbour = neighbour(current, direction);
+                if (neighbour >= 0 && nearest[neighbour] >= 0) {
+                    if (borderSize == border.length) {
+                        border = Arrays.copyOf(border, borderSize * 2);
+                    }
+                    border[borderSize++] = (long) distance[neighbour] << 32 | neighbour;
+                }
+            }
+        }
+        Arrays.sort(border, 0, borderSize);
+
+        // Merge the sorted border with the squares reached from it, always
+        // visiting the closer of the two next
+        int head = 0;
+        int tail = 0;
+        int next = 0;
+        while (next < borderSize || head < tail) {
+            int current;
+            if (head == tail || (next < borderSize && (int) (border[next] >>> 32) <= distance[queue[head]])) {
+                current = (int) border[next++];
+            } else {
+                current = queue[head++];
+            }
+            tail = relax(current, tail);
+        }
+    }
+
+    /**
+     * Visits the queued squares in order, spreading their distances to their
+     * neighbours until no square gets any closer.
+     *
+     * @param head The position of the first queued square.
+     * @param tail The position after the last queued square.
+     */
+    private void spread(int head, int tail) {
+        while (head < tail) {
+            tail = relax(queue[head++], tail);
+        }
+    }
+
+    /**
+     * Offers a square's distance to each of its neighbours, queueing every
+     * neighbour that gets closer to a source.
+     *
+     * @param square The square whose neighbours are updated.
+     * @param tail   The position after the last queued square.
+     * @return The new position after the last queued square.
+     */
+    private int relax(int square, int tail) {
+        int stepped = distance[square] + 1;
+        for (int direction = 0; direction < 4; direction++) {
+            int neighbour = neighbour(square, direction);
+            if (neighbour >= 0 && stepped < distance[neighbour]) {
+                distance[neighbour] = stepped;
+                nearest[neighbour] = nearest[square];
+                tail = push(tail, neighbour);
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Adds a square to the end of the queue.
+     *
+     * @param tail   The position after the last queued square.
+     * @param square The square to queue.
+     * @return The new position after the last queued square.
+     */
+    private int push(int tail, int square) {
+        if (tail == queue.length) {
+            queue = Arrays.copyOf(queue, tail * 2);
+        }
+        queue[tail] = square;
+        return tail + 1;
+    }
+
+    /**
+     * Gets a neighbour of a square.
+     *
+     * @param square    The index of the square.
+     * @param direction 0 to 3 for up, down, left and right.
+     * @return The index of the neighbour, or -1 if it would be off the grid.
+     */
+    private int neighbour(int square, int direction) {
+        switch (direction) {
+            case 0:
+                return square >= sideLength ? square - sideLength : -1;
+            case 1:
+                return square + sideLength < distance.length ? square + sideLength : -1;
+            case 2:
+                return square % sideLength != 0 ? square - 1 : -1;
+            default:
+                return square % sideLength != sideLength - 1 ? square + 1 : -1;
+        }
+    }
+}
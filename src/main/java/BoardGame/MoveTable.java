@@ -0,0 +1,131 @@
+package BoardGame;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A MoveTable holds the square reached by moving one step in each
+ * {@link Direction} from every square of a square grid. A move that would
+ * leave the board stays on the same square.
+ * <p>
+ * The table only depends on the side length of the board, so it is built once
+ * and shared by every board of that size. A move is then a single array
+ * lookup rather than a division and a bounds check. Boards with more than
+ * {@link #MAX_TABULATED_SQUARES} squares work the move out directly instead of
+ * holding a table.
+ * </p>
+ */
+public final class MoveTable {
+
+    /**
+     * The largest number of squares a board can have for its moves to be
+     * tabulated.
+     */
+    public static final int MAX_TABULATED_SQUARES = 256 * 256;
+
+    /**
+     * The number of directions a player can move in.
+     */
+    private static final int DIRECTIONS = Direction.values().length;
+
+    /**
+     * The move tables built so far, keyed by side length.
+     */
+    private static final Map<Integer, MoveTable> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The side length of the grid.
+     */
+    private final int sideLength;
+
+    /**
+     * The square reached from each square in each direction, at
+     * {@code square * DIRECTIONS + direction.ordinal()}, or null if the board is
+     * too large to tabulate.
+     */
+    private final int[] targets;
+
+    /**
+     * Builds the move table for a grid.
+     *
+     * @param sideLength The side length of the grid.
+     */
+    private MoveTable(int sideLength) {
+        this.sideLength = sideLength;
+
+        int totalSquares = sideLength * sideLength;
+        if (totalSquares > MAX_TABULATED_SQUARES) {
+            targets = null;
+            return;
+        }
+
+        Direction[] directions = Direction.values();
+        targets = new int[totalSquares * DIRECTIONS];
+        for (int square = 0; square < totalSquares; square++) {
+            for (Direction direction : directions) {
+                targets[square * DIRECTIONS + direction.ordinal()] = step(square, direction);
+            }
+        }
+    }
+
+    /**
+     * Gets the move table for a grid of the given side length, building it the
+     * first time it is asked for.
+     *
+     * @param sideLength The side length of the grid.
+     * @return The shared move table for that grid size.
+     */
+    public static MoveTable of(int sideLength) {
+        if (sideLength <= 0) {
+            throw new IllegalArgumentException("Side length must be positive.");
+        }
+        return CACHE.computeIfAbsent(sideLength, MoveTable::new);
+    }
+
+    /**
+     * Gets the square reached by moving one step from a square.
+     *
+     * @param square    The index of the square to move from.
+     * @param direction The direction to move in.
+     * @return The index of the square reached, or the same square if the move
+     *         would leave the board.
+     */
+    public int target(int square, Direction direction) {
+        if (targets != null) {
+            return targets[square * DIRECTIONS + direction.ordinal()];
+        }
+        return step(square, direction);
+    }
+
+    /**
+     * Gets the side length of the grid this table was built for.
+     *
+     * @return The side length of the grid.
+     */
+    public int getSideLength() {
+        return sideLength;
+    }
+
+    /**
+     * Works out the square reached by moving one step from a square.
+     *
+     * @param square    The index of the square to move from.
+     * @param direction The direction to move in.
+     * @return The index of the square reached, or the same square if the move
+     *         would leave the board.
+     */
+    private int step(int square, Direction direction) {
+        switch (direction) {
+            case UP:
+                return square >= sideLength ? square - sideLength : square;
+            case DOWN:
+                return square < (sideLength - 1) * sideLength ? square + sideLength : square;
+            case LEFT:
+                return square % sideLength != 0 ? square - 1 : square;
+            case RIGHT:
+                return square % sideLength != sideLength - 1 ? square + 1 : square;
+            default:
+                return square;
+        }
+    }
+}
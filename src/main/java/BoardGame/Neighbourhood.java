@@ -0,0 +1,166 @@
+package BoardGame;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Neighbourhood holds, for every square of a square grid, a {@link Bitboard}
+ * of the squares within a given radius of it (a (2r+1) by (2r+1) block clipped
+ * to the edges of the board).
+ * <p>
+ * The masks only depend on the side length of the board and the radius, so
+ * they are built once and shared by every board of that size. Checking
+ * whether any of a set of positions lies within the radius of a square is
+ * then a single intersection test.
+ * </p>
+ * <p>
+ * A mask per square grows with the square of the board size, so masks are
+ * only built for boards of up to {@link #MAX_PRECOMPUTED_SQUARES} squares. On
+ * larger boards the check instead tests the (2r+1) rows of the block one range
+ * at a time.
+ * </p>
+ */
+public final class Neighbourhood {
+
+    /**
+     * The largest number of squares a board can have for its masks to be built
+     * up front.
+     */
+    public static final int MAX_PRECOMPUTED_SQUARES = 32 * 32;
+
+    /**
+     * The neighbourhoods built so far, keyed by side length and radius.
+     */
+    private static final Map<Long, Neighbourhood> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The side length of the grid.
+     */
+    private final int sideLength;
+
+    /**
+     * The radius of the neighbourhood around each square.
+     */
+    private final int radius;
+
+    /**
+     * The mask of the neighbourhood around each square, indexed by square, or
+     * null if the board is too large for the masks to be built.
+     */
+    private final Bitboard[] masks;
+
+    /**
+     * Builds the neighbourhood masks for every square of a grid.
+     *
+     * @param sideLength The side length of the grid.
+     * @param radius     The radius of the neighbourhood around each square.
+     */
+    private Neighbourhood(int sideLength, int radius) {
+        this.sideLength = sideLength;
+        this.radius = radius;
+
+        int totalSquares = sideLength * sideLength;
+        if (totalSquares > MAX_PRECOMPUTED_SQUARES) {
+            masks = null;
+            return;
+        }
+
+        masks = new Bitboard[totalSquares];
+        for (int index = 0; index < totalSquares; index++) {
+            masks[index] = buildMask(index);
+        }
+    }
+
+    /**
+     * Builds the mask of the neighbourhood around a square.
+     *
+     * @param index The index of the square at the centre.
+     * @return A bitboard of the squares around the given square.
+     */
+    private Bitboard buildMask(int index) {
+        int row = index / sideLength;
+        int col = index % sideLength;
+        Bitboard mask = new Bitboard(sideLength * sideLength);
+
+        for (int newRow = Math.max(0, row - radius); newRow <= Math.min(sideLength - 1, row + radius); newRow++) {
+            for (int newCol = Math.max(0, col - radius); newCol <= Math.min(sideLength - 1, col + radius); newCol++) {
+                mask.set(newRow * sideLength + newCol);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the neighbourhood of the given radius for a grid of the given side
+     * length, building it the first time it is asked for.
+     *
+     * @param sideLength The side length of the grid.
+     * @param radius     The radius of the neighbourhood around each square.
+     * @return The shared neighbourhood for that grid size and radius.
+     */
+    public static Neighbourhood of(int sideLength, int radius) {
+        if (sideLength <= 0) {
+            throw new IllegalArgumentException("Side length must be positive.");
+        } else if (radius < 0) {
+            throw new IllegalArgumentException("Radius cannot be negative.");
+        }
+        long key = ((long) sideLength << 32) | radius;
+        return CACHE.computeIfAbsent(key, k -> new Neighbourhood(sideLength, radius));
+    }
+
+    /**
+     * Gets the squares within the radius of a square, including the square
+     * itself. On boards small enough for the masks to be built up front, the
+     * returned bitboard is shared and must not be modified.
+     *
+     * @param index The index of the square at the centre.
+     * @return A bitboard of the squares around the given square.
+     */
+    public Bitboard around(int index) {
+        return masks != null ? masks[index] : buildMask(index);
+    }
+
+    /**
+     * Checks whether any of the given positions lies within the radius of a
+     * square.
+     *
+     * @param index     The index of the square at the centre.
+     * @param positions The positions to look for.
+     * @return true if a position lies within the radius, false otherwise.
+     */
+    public boolean intersects(int index, Bitboard positions) {
+        if (masks != null) {
+            return masks[index].intersects(positions);
+        }
+
+        int row = index / sideLength;
+        int col = index % sideLength;
+        int fromCol = Math.max(0, col - radius);
+        int toCol = Math.min(sideLength - 1, col + radius) + 1;
+        for (int newRow = Math.max(0, row - radius); newRow <= Math.min(sideLength - 1, row + radius); newRow++) {
+            int rowStart = newRow * sideLength;
+            if (positions.intersects(rowStart + fromCol, rowStart + toCol)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the side length of the grid these masks were built for.
+     *
+     * @return The side length of the grid.
+     */
+    public int getSideLength() {
+        return sideLength;
+    }
+
+    /**
+     * Gets the radius of the neighbourhood around each square.
+     *
+     * @return The radius of the neighbourhood.
+     */
+    public int getRadius() {
+        return radius;
+    }
+}
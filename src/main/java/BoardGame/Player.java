@@ -1,9 +1,8 @@
 package BoardGame;
 
 import java.util.ArrayList;
-import java.util.Random;
-
-import GameSystem.GameSystem;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * This class holds all of the data for each "Player" in the game.
@@ -17,18 +16,23 @@ import GameSystem.GameSystem;
 public class Player {
     private String name;
     private int coord;
+    private int boardSquares = BoardModel.DEFAULT_SIDE_LENGTH * BoardModel.DEFAULT_SIDE_LENGTH;
     private int score;
-    private int money;
-    private int asphalt;
-    private int volunteers;
-    private int influence;
-    private int knowledge;
+    private final int[] wallet = new int[ResourceType.COUNT];
     private int movesLeft;
     private int moneySpent;
     private int movesTravelled;
     private int timesHelped;
     private String achievement;
     private ArrayList<Task> tasks;
+    private ChangeTracker changeTracker;
+    private ZobristHash hash;
+    private int hashId = -1;
+
+    /**
+     * The change tracker bits of every resource.
+     */
+    private static final int ALL_RESOURCES = (1 << ResourceType.COUNT) - 1;
 
     /**
      * Default constructor for a blank player object.
@@ -49,11 +53,7 @@ public class Player {
         this.name = name;
         this.coord = coord;
         this.score = 0;
-        this.money = 50;
-        this.asphalt = 0;
-        this.volunteers = 0;
-        this.influence = 0;
-        this.knowledge = 0;
+        this.wallet[ResourceType.MONEY.ordinal()] = 50;
         this.movesLeft = movesLeft;
         this.timesHelped = 0;
         this.tasks = new ArrayList<Task>();
@@ -73,17 +73,34 @@ public class Player {
         this.name = name;
         this.coord = coords;
         this.score = 0;
-        this.money = 50;
-        this.asphalt = 0;
-        this.volunteers = 0;
-        this.influence = 0;
-        this.knowledge = 0;
+        this.wallet[ResourceType.MONEY.ordinal()] = 50;
         this.movesLeft = 0;
         this.timesHelped = 0;
         this.tasks = new ArrayList<Task>();
         this.achievement = "";
     }
 
+    /**
+     * Constructs a copy of another player, with the same name, position,
+     * resources, score and statistics. The copy holds the same task list
+     * entries and is not tracked by any change tracker.
+     *
+     * @param other The player to copy.
+     */
+    public Player(Player other) {
+        this.name = other.name;
+        this.coord = other.coord;
+        this.boardSquares = other.boardSquares;
+        this.score = other.score;
+        System.arraycopy(other.wallet, 0, this.wallet, 0, ResourceType.COUNT);
+        this.movesLeft = other.movesLeft;
+        this.moneySpent = other.moneySpent;
+        this.movesTravelled = other.movesTravelled;
+        this.timesHelped = other.timesHelped;
+        this.achievement = other.achievement;
+        this.tasks = new ArrayList<Task>(other.tasks);
+    }
+
     /**
      * Default constructor for a blank player object.
      * Initializes a player with default values for name, coordinates,
@@ -93,11 +110,7 @@ public class Player {
         this.name = "";
         this.coord = 0;
         this.score = 0;
-        this.money = 50;
-        this.asphalt = 0;
-        this.volunteers = 0;
-        this.influence = 0;
-        this.knowledge = 0;
+        this.wallet[ResourceType.MONEY.ordinal()] = 50;
         this.movesLeft = 0;
         this.timesHelped = 0;
         this.tasks = new ArrayList<Task>();
@@ -142,10 +155,92 @@ public class Player {
     public void setCoord(int coord) {
         if (coord < 0) {
             throw new IllegalArgumentException("Coordinate cannot be negative");
-        } else if (coord > 143) {
-            throw new IllegalArgumentException("Coordinate cannot be greater than 143");
+        } else if (coord >= boardSquares) {
+            throw new IllegalArgumentException("Coordinate cannot be greater than " + (boardSquares - 1));
         }
+        rehash(ZobristHash.COORD, this.coord, coord);
         this.coord = coord;
+        markDirty(ChangeTracker.COORD);
+    }
+
+    /**
+     * Sets the number of squares on the board the player is on, which bounds the
+     * coordinates the player can be given.
+     * 
+     * @param boardSquares The number of squares on the board
+     */
+    public void setBoardSquares(int boardSquares) {
+        if (boardSquares <= 0) {
+            throw new IllegalArgumentException("Board must have at least one square");
+        }
+        this.boardSquares = boardSquares;
+    }
+
+    /**
+     * Sets the change tracker told about changes to this player's resources and
+     * score.
+     * 
+     * @param changeTracker The tracker, or null to stop tracking this player
+     */
+    void setChangeTracker(ChangeTracker changeTracker) {
+        this.changeTracker = changeTracker;
+    }
+
+    /**
+     * Sets the hash told about changes to this player's state, and the
+     * player's place in it.
+     * 
+     * @param hash The hash, or null to stop hashing this player
+     * @param id   The player's place in the turn order
+     */
+    void setHash(ZobristHash hash, int id) {
+        this.hash = hash;
+        this.hashId = id;
+    }
+
+    /**
+     * Gets the player's place in the hash of the game they are in.
+     * 
+     * @return The player's place in the turn order, or -1 if not hashed
+     */
+    int getHashId() {
+        return hashId;
+    }
+
+    /**
+     * Tells the hash that one part of this player's state has changed.
+     * 
+     * @param kind The kind of state that changed
+     * @param from The old value
+     * @param to   The new value
+     */
+    private void rehash(int kind, long from, long to) {
+        if (hash != null) {
+            hash.change(kind, hashId, from, to);
+        }
+    }
+
+    /**
+     * Tells the hash that the amount of a resource in the wallet has changed.
+     * 
+     * @param slot The ordinal of the resource
+     * @param from The old amount
+     */
+    private void rehashWallet(int slot, int from) {
+        if (hash != null) {
+            hash.change(ZobristHash.WALLET, ZobristHash.walletOwner(hashId, slot), from, wallet[slot]);
+        }
+    }
+
+    /**
+     * Records that some of this player's fields have changed.
+     * 
+     * @param fields The change tracker bits of the fields that changed
+     */
+    private void markDirty(int fields) {
+        if (changeTracker != null) {
+            changeTracker.markDirty(this, fields);
+        }
     }
 
     /**
@@ -154,12 +249,14 @@ public class Player {
      * @param changeAmount - the amount to change the score by
      */
     public void changeScoreBy(int changeAmount) {
+        int previous = this.score;
         if (this.score + changeAmount < 0) {
             this.score = 0;
         } else {
             this.score += changeAmount;
         }
-        GameSystem.refreshResources();
+        rehash(ZobristHash.SCORE, previous, this.score);
+        markDirty(ChangeTracker.SCORE);
     }
 
     /**
@@ -167,7 +264,7 @@ public class Player {
      * 
      */
     public int getMoney() {
-        return money;
+        return wallet[ResourceType.MONEY.ordinal()];
     }
 
     /**
@@ -176,8 +273,10 @@ public class Player {
      * @param money The new money value to assign to the player
      */
     public void setMoney(int money) {
-        this.money = money;
-        GameSystem.refreshResources();
+        int previous = wallet[ResourceType.MONEY.ordinal()];
+        wallet[ResourceType.MONEY.ordinal()] = money;
+        rehashWallet(ResourceType.MONEY.ordinal(), previous);
+        markDirty(ChangeTracker.fieldOf(ResourceType.MONEY));
     }
 
     /**
@@ -187,8 +286,10 @@ public class Player {
      */
 
     public void changeMoney(int money) {
-        this.money = this.money + money;
-        GameSystem.refreshResources();
+        int previous = wallet[ResourceType.MONEY.ordinal()];
+        wallet[ResourceType.MONEY.ordinal()] += money;
+        rehashWallet(ResourceType.MONEY.ordinal(), previous);
+        markDirty(ChangeTracker.fieldOf(ResourceType.MONEY));
     }
 
     /**
@@ -224,8 +325,9 @@ public class Player {
      * @param score The new score to set for the player.
      */
     public void setScore(int score) {
+        rehash(ZobristHash.SCORE, this.score, score);
         this.score = score;
-        GameSystem.refreshResources();
+        markDirty(ChangeTracker.SCORE);
     }
 
     /**
@@ -257,7 +359,9 @@ public class Player {
         } else if (movesLeft > 6) {
             throw new IllegalArgumentException("Moves left cannot be greater than 6");
         }
+        rehash(ZobristHash.MOVES_LEFT, this.movesLeft, movesLeft);
         this.movesLeft = movesLeft;
+        markDirty(ChangeTracker.MOVES_LEFT);
     }
 
     /**
@@ -267,18 +371,7 @@ public class Player {
      * @return the amount of the resource referenced by resourceType
      */
     public int getResource(ResourceType resourceType) {
-        switch (resourceType) {
-            case ASPHALT:
-                return asphalt;
-            case VOLUNTEERS:
-                return volunteers;
-            case INFLUENCE:
-                return influence;
-            case KNOWLEDGE:
-                return knowledge;
-            default:
-                return 0;
-        }
+        return wallet[resourceType.ordinal()];
     }
 
     /**
@@ -288,64 +381,97 @@ public class Player {
      * @param resourceType - The type of resource to set
      */
     public void setResource(int resource, ResourceType resourceType) {
-        switch (resourceType) {
-            case ASPHALT:
-                this.asphalt = resource;
-                break;
-            case VOLUNTEERS:
-                this.volunteers = resource;
-                break;
-            case INFLUENCE:
-                this.influence = resource;
-                break;
-            case KNOWLEDGE:
-                this.knowledge = resource;
-            default:
-                break;
-        }
-        GameSystem.refreshResources();
+        int previous = wallet[resourceType.ordinal()];
+        wallet[resourceType.ordinal()] = resource;
+        rehashWallet(resourceType.ordinal(), previous);
+        markDirty(ChangeTracker.fieldOf(resourceType));
     }
 
     /**
      * changes the amount of the resource referenced by the inputed ResourceType by
-     * the amount inputed
+     * the amount inputed. The resource cannot go below 0
      * 
      * @param changeAmount - The amount to change resource by (can be negative)
      * @param resourceType - The type of resource to set
      */
     public void changeResource(int changeAmount, ResourceType resourceType) {
-        switch (resourceType) {
-            case ASPHALT:
-                if (this.asphalt + changeAmount < 0) {
-                    this.asphalt = 0;
-                } else {
-                    this.asphalt += changeAmount;
-                }
-                break;
-            case VOLUNTEERS:
-                if (this.volunteers + changeAmount < 0) {
-                    this.volunteers = 0;
-                } else {
-                    this.volunteers += changeAmount;
-                }
-                break;
-            case INFLUENCE:
-                if (this.influence + changeAmount < 0) {
-                    this.influence = 0;
-                } else {
-                    this.influence += changeAmount;
-                }
-                break;
-            case KNOWLEDGE:
-                if (this.knowledge + changeAmount < 0) {
-                    this.knowledge = 0;
-                } else {
-                    this.knowledge += changeAmount;
-                }
-            default:
-                break;
+        int slot = resourceType.ordinal();
+        int previous = wallet[slot];
+        wallet[slot] = Math.max(wallet[slot] + changeAmount, 0);
+        rehashWallet(slot, previous);
+        markDirty(ChangeTracker.fieldOf(resourceType));
+    }
+
+    /**
+     * Checks whether the player holds at least the given amount of a resource.
+     * 
+     * @param resourceType - The type of resource to check
+     * @param amount       - The amount of the resource needed
+     * @return true if the player can afford the amount, false if not
+     */
+    public boolean canAfford(ResourceType resourceType, int amount) {
+        return wallet[resourceType.ordinal()] >= amount;
+    }
+
+    /**
+     * Checks whether the player holds at least the given cost of every resource.
+     * The cost vector is indexed by {@link ResourceType#ordinal()}.
+     * 
+     * @param cost - The amount of each resource needed
+     * @return true if the player can afford every resource in the cost, false if
+     *         not
+     */
+    public boolean canAfford(int[] cost) {
+        boolean affordable = true;
+        for (int i = 0; i < ResourceType.COUNT; i++) {
+            affordable &= wallet[i] >= cost[i];
+        }
+        return affordable;
+    }
+
+    /**
+     * Takes the given amount of a resource from the player. The caller is expected
+     * to have checked {@link #canAfford(ResourceType, int)} first.
+     * 
+     * @param resourceType - The type of resource to take
+     * @param amount       - The amount of the resource to take
+     */
+    public void debit(ResourceType resourceType, int amount) {
+        int previous = wallet[resourceType.ordinal()];
+        wallet[resourceType.ordinal()] -= amount;
+        rehashWallet(resourceType.ordinal(), previous);
+        markDirty(ChangeTracker.fieldOf(resourceType));
+    }
+
+    /**
+     * Takes the given cost of every resource from the player. The cost vector is
+     * indexed by {@link ResourceType#ordinal()} and the caller is expected to have
+     * checked {@link #canAfford(int[])} first.
+     * 
+     * @param cost - The amount of each resource to take
+     */
+    public void debit(int[] cost) {
+        for (int i = 0; i < ResourceType.COUNT; i++) {
+            int previous = wallet[i];
+            wallet[i] -= cost[i];
+            rehashWallet(i, previous);
+        }
+        markDirty(ALL_RESOURCES);
+    }
+
+    /**
+     * Gives the player the given amount of every resource. The amount vector is
+     * indexed by {@link ResourceType#ordinal()}.
+     * 
+     * @param amount - The amount of each resource to give
+     */
+    public void credit(int[] amount) {
+        for (int i = 0; i < ResourceType.COUNT; i++) {
+            int previous = wallet[i];
+            wallet[i] += amount[i];
+            rehashWallet(i, previous);
         }
-        GameSystem.refreshResources();
+        markDirty(ALL_RESOURCES);
     }
 
     public int getTimesHelped() {
@@ -397,9 +523,21 @@ public class Player {
      * @return The random number generated by the die roll
      */
     public int rollDie() {
-        Random randomGen = new Random();
-        int randomNumber = randomGen.nextInt(6) + 1;
+        return this.rollDie(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Rolls a six-sided die using the given source of randomness and sets the
+     * number of moves left for the player.
+     * 
+     * @param random The source of randomness of the game
+     * @return The random number generated by the die roll
+     */
+    public int rollDie(RandomGenerator random) {
+        int randomNumber = random.nextInt(6) + 1;
+        rehash(ZobristHash.MOVES_LEFT, this.movesLeft, randomNumber);
         this.movesLeft = randomNumber;
+        markDirty(ChangeTracker.MOVES_LEFT);
         return randomNumber;
     }
 
@@ -411,9 +549,41 @@ public class Player {
      */
     public void moveAction(Direction direction, int boardSideLength) {
         int currentCoord = this.getCoord();
-        int totalSquares = boardSideLength * boardSideLength;
+        int newCoord = this.moveSilently(direction, boardSideLength);
 
-        if (currentCoord < 0 || currentCoord >= totalSquares) {
+        if (newCoord != currentCoord) {
+            System.out.println(this.getName() + " moved to position " + newCoord);
+            System.out.println("Moves travelled: " + this.getMovesTravelled());
+        } else if (this.getMovesLeft() <= 0) {
+            System.out.println(this.getName() + " has no moves left this turn.");
+        }
+    }
+
+    /**
+     * Moves the player in the specified direction without printing anything.
+     * 
+     * @param direction       The direction to move the player.
+     * @param boardSideLength The side length of the board.
+     * @return The coordinate of the player after the move
+     */
+    public int moveSilently(Direction direction, int boardSideLength) {
+        return this.moveSilently(direction, MoveTable.of(boardSideLength));
+    }
+
+    /**
+     * Moves the player in the specified direction using a precomputed move table,
+     * without printing anything. The player only spends a move if they actually
+     * leave their square.
+     * 
+     * @param direction The direction to move the player.
+     * @param moves     The move table of the board.
+     * @return The coordinate of the player after the move
+     */
+    public int moveSilently(Direction direction, MoveTable moves) {
+        int currentCoord = this.getCoord();
+        int sideLength = moves.getSideLength();
+
+        if (currentCoord < 0 || currentCoord >= sideLength * sideLength) {
             throw new IllegalArgumentException("Player position is out of bounds");
         }
 
@@ -422,42 +592,15 @@ public class Player {
         }
 
         if (this.getMovesLeft() > 0) {
-            int newCoord = currentCoord;
-
-            // Determine the new coordinate based on the direction
-            switch (direction) {
-                case UP:
-                    if (currentCoord >= boardSideLength) {
-                        newCoord = currentCoord - boardSideLength;
-                    }
-                    break;
-                case DOWN:
-                    if (currentCoord < (boardSideLength - 1) * boardSideLength) {
-                        newCoord = currentCoord + boardSideLength;
-                    }
-                    break;
-                case LEFT:
-                    if (currentCoord % boardSideLength != 0) {
-                        newCoord = currentCoord - 1;
-                    }
-                    break;
-                case RIGHT:
-                    if (currentCoord % boardSideLength != boardSideLength - 1) {
-                        newCoord = currentCoord + 1;
-                    }
-                    break;
-            }
+            int newCoord = moves.target(currentCoord, direction);
 
             // Only move if the new coordinate is valid
             if (newCoord != currentCoord) {
                 this.setCoord(newCoord);
                 this.setMovesLeft(this.getMovesLeft() - 1); // Decrease moves after moving
                 this.movesTravelled++;
-                System.out.println(this.getName() + " moved to position " + newCoord);
-                System.out.println("Moves travelled: " + this.getMovesTravelled());
             }
-        } else {
-            System.out.println(this.getName() + " has no moves left this turn.");
         }
+        return this.getCoord();
     }
-}
\ No newline at end of file
+}
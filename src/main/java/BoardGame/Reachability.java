@@ -0,0 +1,245 @@
+package BoardGame;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Reachability answers where a player can end up after spending exactly a
+ * given number of moves from a square, and how to get there.
+ * <p>
+ * The squares reachable after each number of moves are worked out on
+ * {@link Bitboard}s: one step is the union of the set shifted a row up, a row
+ * down, and a square left and right with the squares on the edge columns
+ * masked off first, so each step costs a few word operations however many
+ * squares are in the set. A move against the edge of the board does not use
+ * up a move, so it is never part of a route. The set for every number of moves
+ * up to the total is kept, which lets a route to any destination be traced
+ * back one step at a time.
+ * </p>
+ */
+public final class Reachability {
+
+    /**
+     * The squares in the first and last column of each size of grid, keyed by
+     * side length.
+     */
+    private static final Map<Integer, Bitboard[]> EDGE_COLUMNS = new ConcurrentHashMap<>();
+
+    private final int sideLength;
+    private final int from;
+    private final int moves;
+
+    /**
+     * The squares reachable after exactly {@code i} moves, at index {@code i}.
+     */
+    private final Bitboard[] layers;
+
+    /**
+     * Works out the squares reachable from a square.
+     *
+     * @param sideLength The side length of the grid.
+     * @param from       The square the player starts on.
+     * @param moves      The number of moves the player must make.
+     */
+    private Reachability(int sideLength, int from, int moves) {
+        this.sideLength = sideLength;
+        this.from = from;
+        this.moves = moves;
+
+        Bitboard[] edges = EDGE_COLUMNS.computeIfAbsent(sideLength, Reachability::edgeColumns);
+        layers = new Bitboard[moves + 1];
+        layers[0] = new Bitboard(sideLength * sideLength);
+        layers[0].set(from);
+
+        Bitboard shifted = new Bitboard(sideLength * sideLength);
+        for (int i = 1; i <= moves; i++) {
+            Bitboard previous = layers[i - 1];
+            Bitboard next = new Bitboard(previous);
+            next.shift(sideLength); // Down
+            shifted.copyFrom(previous);
+            shifted.shift(-sideLength); // Up
+            next.or(shifted);
+            shifted.copyFrom(previous);
+            shifted.andNot(edges[1]);
+            shifted.shift(1); // Right
+            next.or(shifted);
+            shifted.copyFrom(previous);
+            shifted.andNot(edges[0]);
+            shifted.shift(-1); // Left
+            next.or(shifted);
+            layers[i] = next;
+        }
+    }
+
+    /**
+     * Works out where a player can end up after exactly the given number of
+     * moves from a square.
+     *
+     * @param sideLength The side length of the grid.
+     * @param from       The square the player starts on.
+     * @param moves      The number of moves the player must make.
+     * @return The squares reachable and the routes to them.
+     */
+    public static Reachability of(int sideLength, int from, int moves) {
+        if (sideLength <= 0) {
+            throw new IllegalArgumentException("Side length must be positive.");
+        } else if (from < 0 || from >= sideLength * sideLength) {
+            throw new IllegalArgumentException("Square out of bounds: " + from);
+        } else if (moves < 0) {
+            throw new IllegalArgumentException("Moves cannot be negative.");
+        }
+        return new Reachability(sideLength, from, moves);
+    }
+
+    /**
+     * Builds the masks of the first and last column of a grid.
+     *
+     * @param sideLength The side length of the grid.
+     * @return The first column followed by the last column.
+     */
+    private static Bitboard[] edgeColumns(int sideLength) {
+        Bitboard first = new Bitboard(sideLength * sideLength);
+        Bitboard last = new Bitboard(sideLength * sideLength);
+        for (int row = 0; row < sideLength; row++) {
+            first.set(row * sideLength);
+            last.set(row * sideLength + sideLength - 1);
+        }
+        return new Bitboard[] { first, last };
+    }
+
+    /**
+     * Gets the square the player starts on.
+     *
+     * @return The index of the starting square.
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the number of moves the player must make.
+     *
+     * @return The number of moves.
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the squares the player can end up on after all of their moves.
+     *
+     * @return A new bitboard of the reachable squares.
+     */
+    public Bitboard getDestinations() {
+        return new Bitboard(layers[moves]);
+    }
+
+    /**
+     * Checks whether the player can end up on a square after all of their
+     * moves.
+     *
+     * @param square The index of the square.
+     * @return true if the square is a destination.
+     */
+    public boolean canReach(int square) {
+        return layers[moves].get(square);
+    }
+
+    /**
+     * Gets the fewest moves needed to reach a square.
+     *
+     * @param square The index of the square.
+     * @return The number of moves on a shortest route, or -1 if the square is
+     *         further away than the player's moves.
+     */
+    public int distance(int square) {
+        for (int i = 0; i <= moves; i++) {
+            if (layers[i].get(square)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets a shortest route to a square.
+     *
+     * @param square The index of the square.
+     * @return The directions of a shortest route, one per move.
+     * @throws IllegalArgumentException if the square is further away than the
+     *                                  player's moves.
+     */
+    public Direction[] shortestPath(int square) {
+        int distance = distance(square);
+        if (distance < 0) {
+            throw new IllegalArgumentException("Square cannot be reached: " + square);
+        }
+        return trace(square, distance, null);
+    }
+
+    /**
+     * Gets a route that uses up every move and ends on a destination. Where
+     * there is a choice, the route passes over preferred squares, for example
+     * blank squares so that no square effects are set off on the way.
+     *
+     * @param square The index of the destination.
+     * @param prefer The squares to pass over where possible, or null for no
+     *               preference.
+     * @return The directions of the route, one per move.
+     * @throws IllegalArgumentException if the square is not a destination.
+     */
+    public Direction[] path(int square, Bitboard prefer) {
+        if (!canReach(square)) {
+            throw new IllegalArgumentException("Square cannot be reached in exactly " + moves + " moves: " + square);
+        }
+        return trace(square, moves, prefer);
+    }
+
+    /**
+     * Traces a route back from a square reachable after a number of moves,
+     * stepping to a square reachable after one move fewer each time.
+     *
+     * @param square The square the route ends on.
+     * @param length The number of moves in the route.
+     * @param prefer The squares to pass over where possible, or null.
+     * @return The directions of the route, from the start.
+     */
+    private Direction[] trace(int square, int length, Bitboard prefer) {
+        Direction[] route = new Direction[length];
+        int current = square;
+        for (int i = length; i > 0; i--) {
+            int previous = -1;
+            for (Direction direction : Direction.values()) {
+                int candidate = stepBack(current, direction);
+                if (candidate >= 0 && layers[i - 1].get(candidate)) {
+                    if (previous < 0 || (prefer != null && prefer.get(candidate) && !prefer.get(previous))) {
+                        previous = candidate;
+                        route[i - 1] = direction;
+                    }
+                }
+            }
+            current = previous;
+        }
+        return route;
+    }
+
+    /**
+     * Finds the square a move in a direction would have come from.
+     *
+     * @param square    The square moved onto.
+     * @param direction The direction of the move.
+     * @return The square moved from, or -1 if there is none on the grid.
+     */
+    private int stepBack(int square, Direction direction) {
+        switch (direction) {
+            case UP:
+                return square + sideLength < sideLength * sideLength ? square + sideLength : -1;
+            case DOWN:
+                return square >= sideLength ? square - sideLength : -1;
+            case LEFT:
+                return square % sideLength != sideLength - 1 ? square + 1 : -1;
+            default:
+                return square % sideLength != 0 ? square - 1 : -1;
+        }
+    }
+}
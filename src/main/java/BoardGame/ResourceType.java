@@ -14,6 +14,12 @@ public enum ResourceType {
 	KNOWLEDGE,
 	MONEY;
 
+	/**
+	 * The number of resource types, used to size arrays indexed by
+	 * {@link #ordinal()}.
+	 */
+	public static final int COUNT = values().length;
+
 	/**
 	 * Returns a string representation of the resource type.
 	 *
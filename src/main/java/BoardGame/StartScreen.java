@@ -8,6 +8,7 @@ import java.util.Objects;
 
 import javax.swing.*;
 
+import GameSystem.BotPlayer;
 import GameSystem.GameSystem;
 
 /**
@@ -29,8 +30,6 @@ public class StartScreen extends JPanel {
     private static final int BUTTON_SPACING = 20;
     private static final int MAX_PLAYERS = 4;
 
-    private static final int[] STARTING_COORDS = GameSystem.getSpawnLocations();
-
     private final ImageIcon playerBackground = new ImageIcon(
             Objects.requireNonNull(getClass().getResource("/images/PlayerTurn.png")));
     private final ImageIcon playerBackgroundIcon = new ImageIcon(
@@ -43,6 +42,7 @@ public class StartScreen extends JPanel {
     private final JButton[] playerButtons = new JButton[MAX_PLAYERS]; // Array to hold buttons
     private final JTextField[] playerTextFields = new JTextField[MAX_PLAYERS]; // Array to hold text fields for player
                                                                                // names
+    private final JCheckBox fillWithBots = new JCheckBox("Fill empty seats with computer players");
     private int numOfPlayers = 1;
 
     /**
@@ -55,6 +55,7 @@ public class StartScreen extends JPanel {
 
         addTitle();
         initializePlayerInputs();
+        addBotOption();
         addStartButton();
     }
 
@@ -150,6 +151,19 @@ public class StartScreen extends JPanel {
         return textField;
     }
 
+    /**
+     * Adds the option to fill the seats nobody has taken with computer players.
+     */
+    private void addBotOption() {
+        fillWithBots.setBounds((WIDTH - BUTTON_WIDTH * 2) / 2, (int) (HEIGHT * 0.8) - BUTTON_HEIGHT, BUTTON_WIDTH * 2,
+                BUTTON_HEIGHT / 2);
+        fillWithBots.setHorizontalAlignment(JCheckBox.CENTER);
+        fillWithBots.setFont(new Font("Segue UI", Font.PLAIN, 16));
+        fillWithBots.setOpaque(false);
+        fillWithBots.setFocusPainted(false);
+        add(fillWithBots);
+    }
+
     /**
      * Adds the start button to the start screen.
      */
@@ -168,19 +182,24 @@ public class StartScreen extends JPanel {
 
     /**
      * Gets the players from the text fields on the start screen and initializes
-     * them.
+     * them. If chosen, the remaining seats are filled with computer players.
      *
      * @return An array of Player objects representing the players.
      */
     public Player[] getPlayers() {
-        Player[] players = new Player[numOfPlayers];
+        int seats = fillWithBots.isSelected() ? MAX_PLAYERS : numOfPlayers;
+        Player[] players = new Player[seats];
         for (int i = 0; i < numOfPlayers; i++) {
             players[i] = new Player();
             players[i].setName(playerTextFields[i].getText());
         }
 
+        int[] startingCoords = GameSystem.getSpawnLocations();
+        for (int i = numOfPlayers; i < seats; i++) {
+            players[i] = new BotPlayer("Computer " + (i - numOfPlayers + 1), startingCoords[i % startingCoords.length]);
+        }
         for (int i = 0; i < numOfPlayers; i++) {
-            players[i].setCoord(STARTING_COORDS[i % STARTING_COORDS.length]);
+            players[i].setCoord(startingCoords[i % startingCoords.length]);
         }
 
         return players;
@@ -14,6 +14,8 @@ public class SubTask {
     private int completionScore;
     private int resourceCost;
     private ResourceType resourceType;
+    private ZobristHash hash;
+    private long hashId = -1;
 
     /**
      * Constructs a new SubTask with the specified title, completion score, and
@@ -45,6 +47,18 @@ public class SubTask {
         this.resourceType = null;
     }
 
+    /**
+     * Sets the hash told about changes to the discount status, and the
+     * SubTask's place in it
+     * 
+     * @param hash - The hash, or null to stop hashing this SubTask
+     * @param id   - The SubTask's place in the hash of its game
+     */
+    void setHash(ZobristHash hash, long id) {
+        this.hash = hash;
+        this.hashId = id;
+    }
+
     /**
      * 'Discounts' the SubTask by halving its resource cost and then setting the
      * isDiscounted flag to true.
@@ -98,6 +112,9 @@ public class SubTask {
      * @param discounted - The new discount status of the SubTask
      */
     public void setDiscounted(boolean discounted) {
+        if (hash != null) {
+            hash.change(ZobristHash.DISCOUNT, hashId, this.discounted ? 1 : 0, discounted ? 1 : 0);
+        }
         this.discounted = discounted;
     }
 
@@ -20,6 +20,8 @@ public class Task {
 	private boolean isCompleted = false;
 	private int resourceCost;
 	private ResourceType resourceType;
+	private ZobristHash hash;
+	private int hashId = -1;
 
 	// METHODS //
 	public Task(String title, Objective belongsTo, SubTask[] steps, int completionScore, int resourceCost,
@@ -55,6 +57,7 @@ public class Task {
 	 */
 	public boolean completeStep() {
 		if (currentStepNumber < steps.length) {
+			rehash(ZobristHash.STEP, currentStepNumber, currentStepNumber + 1);
 			currentStepNumber++;
 
 			if (currentStepNumber >= steps.length) {
@@ -66,6 +69,40 @@ public class Task {
 		return false;
 	}
 
+	/**
+	 * Sets the hash told about changes to this task's owner and progress, and
+	 * the task's place in it
+	 * 
+	 * @param hash - The hash, or null to stop hashing this task
+	 * @param id   - The task's place in the game's list of tasks
+	 */
+	void setHash(ZobristHash hash, int id) {
+		this.hash = hash;
+		this.hashId = id;
+	}
+
+	/**
+	 * Gets the task's place in the hash of its game
+	 * 
+	 * @return the task's place in the game's list of tasks, or -1 if not hashed
+	 */
+	int getHashId() {
+		return hashId;
+	}
+
+	/**
+	 * Tells the hash that part of this task's state has changed
+	 * 
+	 * @param kind - The kind of state that changed
+	 * @param from - The old value
+	 * @param to   - The new value
+	 */
+	private void rehash(int kind, long from, long to) {
+		if (hash != null) {
+			hash.change(kind, hashId, from, to);
+		}
+	}
+
 	/**
 	 * Tells whether or not the task is completed
 	 * 
@@ -134,6 +171,7 @@ public class Task {
 	 * @param ownedBy - The new player who will own this task
 	 */
 	public void setOwnedBy(Player ownedBy) {
+		rehash(ZobristHash.OWNER, ZobristHash.ownerCode(this.ownedBy), ZobristHash.ownerCode(ownedBy));
 		this.ownedBy = ownedBy;
 	}
 
@@ -207,6 +245,7 @@ public class Task {
 	 */
 	public void setCurrentStepNumber(int currentStep) {
 		if (currentStep >= 0) {
+			rehash(ZobristHash.STEP, this.currentStepNumber, currentStep);
 			this.currentStepNumber = currentStep;
 		}
 	}
@@ -0,0 +1,223 @@
+package BoardGame;
+
+import java.util.List;
+import java.util.Map;
+
+import square.MoneySquare;
+import square.Square;
+import square.SquareType;
+import square.TaskSquare;
+
+/**
+ * A ZobristHash is a 64-bit fingerprint of the state of a game: where each
+ * player stands, what they hold, their score and moves left, what is on every
+ * square, who owns each task and how far it has got, which subtasks have been
+ * discounted, and whose turn it is. Two games in the same state have the same
+ * hash however they got there, which lets search bots recognise a position
+ * they have already looked at.
+ * <p>
+ * The hash is the exclusive or of one key per piece of state, so a change is
+ * applied by removing the key of the old value and adding the key of the new
+ * one. Players, tasks, subtasks and the board tell the hash about each change
+ * as it is made, in the same way they tell a {@link ChangeTracker}, so the
+ * hash is always current without ever being worked out again. Keys are not
+ * kept in tables: each one is made by mixing the kind of state, what it
+ * belongs to and its value, which needs no memory however large the board or
+ * the amounts in a wallet grow.
+ * </p>
+ * <p>
+ * A square is hashed by what it is when it is placed, so a square's task or
+ * money must not be changed while it is on the board. Blank squares add
+ * nothing to the hash. Like the change tracker, a hash is not thread-safe and
+ * is only changed by whoever is driving the game.
+ * </p>
+ */
+public final class ZobristHash {
+
+    /**
+     * The kinds of state that make up the hash.
+     */
+    static final int COORD = 1;
+    static final int WALLET = 2;
+    static final int SCORE = 3;
+    static final int MOVES_LEFT = 4;
+    static final int SQUARE = 5;
+    static final int OWNER = 6;
+    static final int STEP = 7;
+    static final int DISCOUNT = 8;
+    static final int TURN = 9;
+
+    /**
+     * The most subtasks a task can have and still get keys of its own.
+     */
+    static final int MAX_STEPS = 1 << 16;
+
+    private long value;
+
+    /**
+     * The players last attached, so they can be let go when others replace
+     * them.
+     */
+    private Player[] players = new Player[0];
+
+    /**
+     * Mixes the parts of a key into 64 well spread bits, using the finaliser of
+     * SplitMix64.
+     *
+     * @param kind  The kind of state.
+     * @param owner What the state belongs to, such as a player's seat.
+     * @param state The value of the state.
+     * @return The key of that value.
+     */
+    static long key(int kind, long owner, long state) {
+        long z = kind * 0x9E3779B97F4A7C15L + owner * 0xC2B2AE3D27D4EB4FL + state * 0x165667B19E3779F9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Gets the current hash of the game.
+     *
+     * @return The 64-bit hash.
+     */
+    public long get() {
+        return value;
+    }
+
+    /**
+     * Replaces one value of the state with another.
+     *
+     * @param kind  The kind of state.
+     * @param owner What the state belongs to.
+     * @param from  The old value.
+     * @param to    The new value.
+     */
+    void change(int kind, long owner, long from, long to) {
+        if (from != to) {
+            value ^= key(kind, owner, from) ^ key(kind, owner, to);
+        }
+    }
+
+    /**
+     * Replaces the square at a position with another.
+     *
+     * @param index The position of the square.
+     * @param from  The square that was there.
+     * @param to    The square now there.
+     */
+    void changeSquare(int index, Square from, Square to) {
+        value ^= squareKey(index, from) ^ squareKey(index, to);
+    }
+
+    /**
+     * Records that the turn has passed from one player to another.
+     *
+     * @param from The place in the turn order of the player whose turn it was.
+     * @param to   The place in the turn order of the player whose turn it is.
+     */
+    public void changeTurn(int from, int to) {
+        change(TURN, 0, from, to);
+    }
+
+    /**
+     * Starts hashing a game: gives each player, task and subtask its place in
+     * the hash, connects them and the board to this hash, and works out the
+     * hash of the game as it stands. Players attached before who are not in
+     * the new turn order stop being hashed.
+     *
+     * @param players The players, in turn order.
+     * @param tasks   Every task of the game.
+     * @param board   The board of the game.
+     * @param turn    The place in the turn order of the player whose turn it
+     *                is.
+     */
+    public void attach(Player[] players, List<Task> tasks, BoardModel board, int turn) {
+        for (Player previous : this.players) {
+            previous.setHash(null, -1);
+        }
+        this.players = players.clone();
+        for (int seat = 0; seat < players.length; seat++) {
+            players[seat].setHash(this, seat);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            task.setHash(this, i);
+            SubTask[] steps = task.getSteps();
+            for (int step = 0; step < steps.length; step++) {
+                steps[step].setHash(this, (long) i * MAX_STEPS + step);
+            }
+        }
+        board.setHash(this);
+        value = of(players, tasks, board, turn);
+    }
+
+    /**
+     * Works out the hash of a game from scratch. Every player and task must
+     * already have its place in the hash.
+     *
+     * @param players The players, in turn order.
+     * @param tasks   Every task of the game.
+     * @param board   The board of the game.
+     * @param turn    The place in the turn order of the player whose turn it
+     *                is.
+     * @return The hash of the game.
+     */
+    public static long of(Player[] players, List<Task> tasks, BoardModel board, int turn) {
+        long hash = key(TURN, 0, turn);
+        for (int seat = 0; seat < players.length; seat++) {
+            Player player = players[seat];
+            hash ^= key(COORD, seat, player.getCoord());
+            hash ^= key(SCORE, seat, player.getScore());
+            hash ^= key(MOVES_LEFT, seat, player.getMovesLeft());
+            for (ResourceType resourceType : ResourceType.values()) {
+                hash ^= key(WALLET, walletOwner(seat, resourceType.ordinal()), player.getResource(resourceType));
+            }
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            hash ^= key(OWNER, i, ownerCode(task.getOwnedBy()));
+            hash ^= key(STEP, i, task.getCurrentStepNumber());
+            SubTask[] steps = task.getSteps();
+            for (int step = 0; step < steps.length; step++) {
+                hash ^= key(DISCOUNT, (long) i * MAX_STEPS + step, steps[step].isDiscounted() ? 1 : 0);
+            }
+        }
+        for (Map.Entry<Integer, Square> square : board.getSpecialSquares().entrySet()) {
+            hash ^= squareKey(square.getKey(), square.getValue());
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the owner part of the key of one resource in a player's wallet.
+     */
+    static long walletOwner(long seat, int resource) {
+        return seat * ResourceType.COUNT + resource;
+    }
+
+    /**
+     * Gets the value hashed for the owner of a task: one more than the owner's
+     * place in the hash, or 0 for nobody.
+     */
+    static long ownerCode(Player owner) {
+        return owner == null ? 0 : owner.getHashId() + 1;
+    }
+
+    /**
+     * Gets the key of a square at a position, or 0 for a blank square.
+     */
+    private static long squareKey(int index, Square square) {
+        long code;
+        if (square instanceof TaskSquare taskSquare) {
+            code = taskSquare.getTask() == null ? 0 : taskSquare.getTask().getHashId() + 1;
+        } else if (square instanceof MoneySquare moneySquare) {
+            code = moneySquare.getMoney();
+        } else if (square.getSquareType() == SquareType.SQUARE) {
+            return 0;
+        } else {
+            code = 0;
+        }
+        return key(SQUARE, index, code * 8 + square.getSquareType().ordinal());
+    }
+}
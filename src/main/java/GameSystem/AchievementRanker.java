@@ -0,0 +1,176 @@
+package GameSystem;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+import BoardGame.Player;
+
+/**
+ * The AchievementRanker hands out the end of game achievements: each award
+ * goes to the player who leads its statistic, and every player is given at
+ * most one award, the first they lead in the order of {@link Award}. Players
+ * who lead nothing get the {@link Award#PARTICIPATION participation award}.
+ * <p>
+ * The ranker does not need a display, so it is used both by the end game
+ * screen and by simulations that count how often each award is won. Every
+ * award is worked out in a single pass over the players, for any number of
+ * players. Ties are broken with a reservoir draw from the given source of
+ * randomness: the k-th player found to tie the current leader takes the lead
+ * with chance 1/k, so each tied player is equally likely to win, and a seeded
+ * game always gives the same awards.
+ * </p>
+ */
+public final class AchievementRanker {
+
+    /**
+     * An award, with the statistic it goes to the highest value of.
+     */
+    public enum Award {
+        /**
+         * For the player with the highest score.
+         */
+        HIGHEST_SCORER("Highest Scorer", Player::getScore),
+
+        /**
+         * For the player who spent the least money.
+         */
+        CHEAPSKATE("Cheapskate", player -> -player.getMoneySpent()),
+
+        /**
+         * For the player who helped others the most.
+         */
+        TEAM_PLAYER("Team Player", Player::getTimesHelped),
+
+        /**
+         * For the player who moved the most.
+         */
+        TRAVELLER("Traveller", Player::getMovesTravelled),
+
+        /**
+         * For the player who spent the most money.
+         */
+        BIG_SPENDER("Big Spender", Player::getMoneySpent),
+
+        /**
+         * For the player with the most money.
+         */
+        MONEY_MAKER("Money Maker", Player::getMoney),
+
+        /**
+         * For the player with the best score per move.
+         */
+        EFFICIENCY_EXPERT("Efficiency Expert",
+                player -> player.getMovesTravelled() != 0
+                        ? player.getScore() / (double) player.getMovesTravelled()
+                        : 0),
+
+        /**
+         * For the player with the highest ratio of money spent to money held.
+         */
+        RISK_TAKER("Risk Taker",
+                player -> player.getMoney() != 0 ? player.getMoneySpent() / (double) player.getMoney() : 0),
+
+        /**
+         * For every player who leads nothing else.
+         */
+        PARTICIPATION("Participation Award", null);
+
+        private final String title;
+        private final ToDoubleFunction<Player> statistic;
+
+        Award(String title, ToDoubleFunction<Player> statistic) {
+            this.title = title;
+            this.statistic = statistic;
+        }
+
+        /**
+         * Gets the name of the award shown to players.
+         *
+         * @return The title of the award.
+         */
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    /**
+     * The awards that go to the leader of a statistic, in the order they are
+     * given out.
+     */
+    private static final Award[] RANKED = Arrays.copyOf(Award.values(), Award.values().length - 1);
+
+    private AchievementRanker() {
+    }
+
+    /**
+     * Works out the award of each player.
+     *
+     * @param players The players, in turn order.
+     * @param random  The source of randomness that breaks ties.
+     * @return The award of each player, in the same order.
+     */
+    public static Award[] rank(Player[] players, RandomGenerator random) {
+        Award[] awards = new Award[players.length];
+        rank(players, random, awards);
+        return awards;
+    }
+
+    /**
+     * Works out the award of each player into an existing array, so that many
+     * games can be ranked without making new arrays.
+     *
+     * @param players The players, in turn order.
+     * @param random  The source of randomness that breaks ties.
+     * @param awards  Filled with the award of each player, in the same order;
+     *                at least as long as the players.
+     */
+    public static void rank(Player[] players, RandomGenerator random, Award[] awards) {
+        if (awards.length < players.length) {
+            throw new IllegalArgumentException("Need room for an award for each of " + players.length + " players.");
+        }
+        int[] leader = new int[RANKED.length];
+        int[] ties = new int[RANKED.length];
+        double[] best = new double[RANKED.length];
+
+        for (int i = 0; i < players.length; i++) {
+            awards[i] = null;
+            for (int a = 0; a < RANKED.length; a++) {
+                double value = RANKED[a].statistic.applyAsDouble(players[i]);
+                if (i == 0 || value > best[a]) {
+                    leader[a] = i;
+                    best[a] = value;
+                    ties[a] = 1;
+                } else if (value == best[a] && random.nextInt(++ties[a]) == 0) {
+                    leader[a] = i;
+                }
+            }
+        }
+
+        if (players.length > 0) {
+            for (int a = 0; a < RANKED.length; a++) {
+                if (awards[leader[a]] == null) {
+                    awards[leader[a]] = RANKED[a];
+                }
+            }
+        }
+        for (int i = 0; i < players.length; i++) {
+            if (awards[i] == null) {
+                awards[i] = Award.PARTICIPATION;
+            }
+        }
+    }
+
+    /**
+     * Works out the award of each player and sets it as their achievement.
+     *
+     * @param players The players, in turn order.
+     * @param random  The source of randomness that breaks ties.
+     */
+    public static void award(Player[] players, RandomGenerator random) {
+        Award[] awards = rank(players, random);
+        for (int i = 0; i < players.length; i++) {
+            players[i].setAchievement(awards[i].getTitle());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package GameSystem;
+
+import BoardGame.Player;
+
+/**
+ * A BotPlayer is a computer-controlled player that fills a seat nobody is
+ * sitting in. When it is the bot's turn, the game plays the turn for it with a
+ * {@link ScriptedPlayer}: the bot heads for an unclaimed task it can afford,
+ * the shop when it is short of resources, or otherwise a money square.
+ */
+public class BotPlayer extends Player {
+
+    /**
+     * The policy every bot plays with. It holds no state, so it is shared.
+     */
+    private static final ScriptedPlayer POLICY = new ScriptedPlayer();
+
+    /**
+     * Creates a bot with a name and starting position.
+     *
+     * @param name  The name shown for the bot.
+     * @param coord The square the bot starts on.
+     */
+    public BotPlayer(String name, int coord) {
+        super(name, coord);
+    }
+
+    /**
+     * Plays the bot's turn: rolls the die, moves and makes the choices offered
+     * by the squares landed on. The turn is not ended; that is left to the
+     * caller.
+     *
+     * @param engine The game being played, in which it must be the bot's turn.
+     */
+    public void playTurn(GameEngine engine) {
+        if (engine.getPlayerAt() != this) {
+            throw new IllegalStateException("It is not " + getName() + "'s turn.");
+        }
+        POLICY.playTurn(engine);
+    }
+}
@@ -0,0 +1,858 @@
+package GameSystem;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import BoardGame.BoardModel;
+import BoardGame.ChangeTracker;
+import BoardGame.Direction;
+import BoardGame.Objective;
+import BoardGame.Player;
+import BoardGame.Reachability;
+import BoardGame.ResourceType;
+import BoardGame.SubTask;
+import BoardGame.Task;
+import BoardGame.ZobristHash;
+import square.MoneySquare;
+import square.Square;
+
+/**
+ * The GameEngine class owns the full state of a single game and applies the
+ * rules of the game to it: player movement, turn progression, rounds,
+ * objectives and tasks/subtasks.
+ * <p>
+ * A GameEngine has no Swing dependencies, so any number of independent games
+ * can be held in one JVM and played without a display. {@link GameSystem} binds
+ * one engine to the game window.
+ * </p>
+ * <p>
+ * The actions of the engine are synchronized, so bots, network clients and the
+ * UI can drive the same game from different threads. Costs and rewards are
+ * applied through {@link Transaction}s, which either go through as a whole or
+ * leave the game unchanged.
+ * </p>
+ *
+ * @author Isaac Edmonds
+ * @author Peter Robinson
+ * @author Nathan Watkins (Supporting)
+ * @author Curtis McCartney (Supporting)
+ */
+public class GameEngine {
+
+    /**
+     * The odd constant the number of a game is multiplied by to spread the
+     * seeds of a run of games apart: the 64-bit golden ratio, the same step
+     * {@link SplittableRandom} takes between values.
+     */
+    public static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    // Board model where all gameplay interactions take place
+    private final BoardModel board;
+
+    // Gathers the changes to players' resources and scores made by each action
+    private final ChangeTracker changes = new ChangeTracker();
+
+    // Fingerprint of the whole game state, kept up to date as the state changes
+    private final ZobristHash hash = new ZobristHash();
+
+    // The seed of the game and the single source of randomness it feeds, used for
+    // dice, square placement and tie-breaks so that a game can be replayed
+    private final long seed;
+    private final SplittableRandom random;
+
+    // Array to maintain the order in which players take turns
+    private Player[] turnOrder;
+
+    // Keeps track of the number of rounds played
+    private int roundNumber;
+
+    // Keeps track of the current turn within a round
+    private int turnNumber;
+
+    // Lists to store objectives and tasks for the game
+    private final ArrayList<Objective> objectives;
+    private final ArrayList<Task> tasks;
+
+    // Resource purchase price, maintenance, task costs and scores
+    private final GameRules rules;
+
+    // Scores for calculating the solution implementation percentage
+    private int maxScore;
+    private int currentTotalAwardedScore;
+
+    // The objectives and tasks read from the data file, shared by every game
+    private static final String TASK_DATA_FILE = "src/main/resources/tasks.json";
+    private static JSONArray taskData;
+
+    /**
+     * Creates a new game with a single default player, loading the objectives
+     * and tasks and placing them on a new board of the default size.
+     */
+    public GameEngine() {
+        this(BoardModel.DEFAULT_SIDE_LENGTH);
+    }
+
+    /**
+     * Creates a new game with a single default player, loading the objectives
+     * and tasks and placing them on a new board with the given side length.
+     *
+     * @param boardSideLength The side length of the board.
+     */
+    public GameEngine(int boardSideLength) {
+        this(boardSideLength, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a new game with a single default player on a board with the given
+     * side length, drawing all of its randomness from the given seed. Two games
+     * created with the same seed and played the same way are identical.
+     *
+     * @param boardSideLength The side length of the board.
+     * @param seed            The seed of the game's randomness.
+     */
+    public GameEngine(int boardSideLength, long seed) {
+        this(boardSideLength, seed, GameRules.DEFAULT);
+    }
+
+    /**
+     * Creates a new game with a single default player on a board with the given
+     * side length, played under the given rules and drawing all of its
+     * randomness from the given seed.
+     *
+     * @param boardSideLength The side length of the board.
+     * @param seed            The seed of the game's randomness.
+     * @param rules           The prices, costs and scores of the game.
+     */
+    public GameEngine(int boardSideLength, long seed, GameRules rules) {
+        this.seed = seed;
+        this.rules = rules;
+        this.random = new SplittableRandom(seed);
+        objectives = new ArrayList<>();
+        tasks = new ArrayList<>();
+
+        // Setting up a default player array with at least one player to avoid errors
+        turnOrder = new Player[] { new Player() };
+
+        // Create data and update maxScore
+        createData();
+        maxScore = calculateMaxScore();
+
+        board = new BoardModel(tasks, boardSideLength, random);
+        board.setPlayers(turnOrder);
+        changes.attach(turnOrder);
+        hash.attach(turnOrder, tasks, board, turnNumber);
+    }
+
+    /**
+     * Creates a copy of another game, continuing from the same state with its
+     * own randomness.
+     *
+     * @param other The game to copy.
+     * @param seed  The seed of the copy's randomness.
+     */
+    private GameEngine(GameEngine other, long seed) {
+        this.seed = seed;
+        this.rules = other.rules;
+        this.random = new SplittableRandom(seed);
+        objectives = new ArrayList<>();
+        tasks = new ArrayList<>();
+
+        Map<Player, Player> players = new IdentityHashMap<>();
+        turnOrder = new Player[other.turnOrder.length];
+        for (int i = 0; i < turnOrder.length; i++) {
+            turnOrder[i] = new Player(other.turnOrder[i]);
+            players.put(other.turnOrder[i], turnOrder[i]);
+        }
+
+        // Copy each objective along with its tasks, pointing the copies at the
+        // copied players
+        Map<Task, Task> taskCopies = new IdentityHashMap<>();
+        for (Objective objective : other.objectives) {
+            Objective objectiveCopy = new Objective(objective.getTitle(), objective.getUiColour());
+            objectiveCopy.setResponsiblePlayer(players.get(objective.getResponsiblePlayer()));
+            for (Task task : objective.getTasks()) {
+                Task taskCopy = copyTask(task, objectiveCopy, players);
+                taskCopies.put(task, taskCopy);
+                objectiveCopy.addTask(taskCopy);
+            }
+            objectives.add(objectiveCopy);
+        }
+        for (Task task : other.tasks) {
+            tasks.add(taskCopies.computeIfAbsent(task, t -> copyTask(t, null, players)));
+        }
+        for (Player player : turnOrder) {
+            ArrayList<Task> playerTasks = new ArrayList<>();
+            for (Task task : player.getTasks()) {
+                playerTasks.add(taskCopies.getOrDefault(task, task));
+            }
+            player.setTasks(playerTasks);
+        }
+
+        roundNumber = other.roundNumber;
+        turnNumber = other.turnNumber;
+        maxScore = other.maxScore;
+        currentTotalAwardedScore = other.currentTotalAwardedScore;
+
+        board = other.board.copy(taskCopies, random);
+        board.setPlayers(turnOrder);
+        changes.attach(turnOrder);
+        hash.attach(turnOrder, tasks, board, turnNumber);
+    }
+
+    /**
+     * Copies a task and its subtasks.
+     *
+     * @param task      The task to copy.
+     * @param objective The copy of the objective the task belongs to.
+     * @param players   The copy of each player.
+     * @return The copy of the task.
+     */
+    private static Task copyTask(Task task, Objective objective, Map<Player, Player> players) {
+        SubTask[] steps = new SubTask[task.getSteps().length];
+        for (int i = 0; i < steps.length; i++) {
+            SubTask step = task.getSteps()[i];
+            steps[i] = new SubTask(step.getTitle(), step.getCompletionScore(), step.getResourceCost(),
+                    step.getResourceType());
+            steps[i].setDiscounted(step.isDiscounted());
+        }
+
+        Task copy = new Task(task.getTitle(), objective, steps, task.getCompletionScore(), task.getResourceCost(),
+                task.getResourceType());
+        copy.setOwnedBy(players.get(task.getOwnedBy()));
+        copy.setCurrentStepNumber(task.getCurrentStepNumber());
+        copy.setCompleted(task.isCompleted());
+        return copy;
+    }
+
+    /**
+     * Creates an independent copy of the game in its current state, for trying
+     * out moves without changing the game itself. The copy has its own players,
+     * tasks and board, and draws its randomness from the given seed, so the
+     * dice of the copy can differ from those of the game.
+     *
+     * @param seed The seed of the copy's randomness.
+     * @return The copy of the game.
+     */
+    public synchronized GameEngine copy(long seed) {
+        return new GameEngine(this, seed);
+    }
+
+    /**
+     * Starts the game by incrementing the round number.
+     */
+    public void startGame() {
+        roundNumber++;
+    }
+
+    /**
+     * Sets the order in which players take turns.
+     *
+     * @param players An array of players representing the turn order.
+     */
+    public void setTurnOrder(Player[] players) {
+        turnOrder = players;
+        board.setPlayers(players);
+        changes.attach(players);
+        hash.attach(players, tasks, board, turnNumber);
+    }
+
+    /**
+     * Sets the current round number.
+     *
+     * @param number The round number to be set.
+     */
+    public void setRoundNumber(int number) {
+        roundNumber = number;
+    }
+
+    /**
+     * Sets the current turn number.
+     *
+     * @param turnNum The turn number to be set.
+     */
+    public void setTurnNumber(int turnNum) {
+        hash.changeTurn(turnNumber, turnNum);
+        turnNumber = turnNum;
+    }
+
+    /**
+     * Sets the maximum possible score that can be achieved in the game.
+     *
+     * @param score The maximum score limit to set.
+     */
+    public void setMaxScore(int score) {
+        maxScore = score;
+    }
+
+    /**
+     * Updates the total awarded score currently accumulated by players.
+     *
+     * @param score The current total awarded score to be updated.
+     */
+    public synchronized void setCurrentTotalAwardedScore(int score) {
+        currentTotalAwardedScore = score;
+    }
+
+    /**
+     * Retrieves the turn order of players.
+     *
+     * @return An array of players representing the turn order.
+     */
+    public Player[] getTurnOrder() {
+        return turnOrder;
+    }
+
+    /**
+     * Retrieves the player at the specified index in the turn order.
+     *
+     * @param index The index of the player to retrieve.
+     * @return The Player at the specified index.
+     */
+    public Player getPlayerAt(int index) {
+        return turnOrder[index];
+    }
+
+    /**
+     * Retrieves the player whose turn it currently is.
+     *
+     * @return The Player whose turn it is.
+     */
+    public Player getPlayerAt() {
+        return turnOrder[turnNumber];
+    }
+
+    /**
+     * Retrieves the current round number.
+     *
+     * @return The round number.
+     */
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * Retrieves the current turn number.
+     *
+     * @return The turn number.
+     */
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+
+    /**
+     * Retrieves the list of tasks available in the game.
+     *
+     * @return An ArrayList of Task objects.
+     */
+    public ArrayList<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Retrieves the list of objectives available in the game.
+     *
+     * @return An ArrayList of Objective objects.
+     */
+    public ArrayList<Objective> getObjectives() {
+        return objectives;
+    }
+
+    /**
+     * Retrieves the board model of this game.
+     *
+     * @return The BoardModel holding the squares of this game.
+     */
+    public BoardModel getBoard() {
+        return board;
+    }
+
+    /**
+     * Retrieves the tracker that gathers changes to the players' resources and
+     * scores. Each action of the engine flushes its changes once, when it ends.
+     *
+     * @return The change tracker of this game.
+     */
+    public ChangeTracker getChangeTracker() {
+        return changes;
+    }
+
+    /**
+     * Retrieves the rules the game is played under.
+     *
+     * @return The prices, costs and scores of this game.
+     */
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Retrieves the Zobrist hash of the game as it stands: the positions,
+     * wallets, scores and moves left of the players, every square, the owner
+     * and progress of every task, the discounted subtasks and whose turn it
+     * is. Games in the same state have the same hash.
+     *
+     * @return The 64-bit hash of the game state.
+     */
+    public synchronized long getStateHash() {
+        return hash.get();
+    }
+
+    /**
+     * Retrieves the seed the game's randomness was created from. Creating a game
+     * with the same seed replays it.
+     *
+     * @return The seed of this game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Retrieves the game's source of randomness. It is not thread-safe, so it
+     * should only be used by whoever is driving the game.
+     *
+     * @return The source of randomness of this game.
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Rolls the die for the current player, setting their moves for the turn.
+     *
+     * @return The number rolled, from 1 to 6.
+     */
+    public synchronized int rollDie() {
+        return getPlayerAt().rollDie(random);
+    }
+
+    /**
+     * Works out where the current player can end up with the moves they have
+     * left, and the routes there.
+     *
+     * @return The squares reachable in exactly the current player's moves left.
+     */
+    public synchronized Reachability getReachableSquares() {
+        Player player = getPlayerAt();
+        return Reachability.of(board.boardSideLength, player.getCoord(), Math.max(0, player.getMovesLeft()));
+    }
+
+    /**
+     * Moves the current player in the specified direction on the game board.
+     * <p>
+     * If the player lands on a MoneySquare its reward is paid out straight away
+     * and the square is moved elsewhere. Effects that need a decision from the
+     * player (such as claiming a task) are left to the caller, using the square
+     * that is returned.
+     * </p>
+     *
+     * @param direction The direction in which the player wishes to move.
+     * @return The square the player landed on, or {@code null} if the player had
+     *         no moves left.
+     */
+    public synchronized Square movePlayer(Direction direction) {
+        changes.begin();
+        try {
+            // Retrieve the player whose turn it is
+            Player currentPlayer = getPlayerAt();
+
+            // Ensure the player has remaining moves before proceeding
+            if (currentPlayer.getMovesLeft() <= 0) {
+                return null;
+            }
+
+            // Execute the move action, ensuring it remains within board boundaries
+            currentPlayer.moveSilently(direction, board.getMoveTable());
+
+            // Retrieve the square the player has landed on
+            Square sqrAtPosition = board.getSquareAt(currentPlayer.getCoord());
+
+            if (sqrAtPosition instanceof MoneySquare moneySquare) {
+                currentPlayer.changeMoney(moneySquare.getMoney());
+                replaceMoneySquare();
+            }
+
+            return sqrAtPosition;
+        } finally {
+            changes.end();
+        }
+    }
+
+    /**
+     * Moves the turn to the next player.
+     * <p>
+     * If all players have taken their turn, the game progresses to the next round
+     * and each player pays the maintenance cost.
+     * </p>
+     */
+    public synchronized void nextTurn() {
+        changes.begin();
+        try {
+            // If the last player in the turn order has finished their turn, reset to the
+            // first player
+            if (turnNumber >= turnOrder.length - 1) {
+                hash.changeTurn(turnNumber, 0);
+                turnNumber = 0; // Reset turn number to first player
+                roundNumber++; // Start a new round
+
+                // Deduct maintenance cost from each player at the end of the round
+                for (Player player : turnOrder) {
+                    player.changeMoney(-rules.getMaintenanceCostEachRound());
+                }
+            } else {
+                // Otherwise, move to the next player's turn
+                hash.changeTurn(turnNumber, turnNumber + 1);
+                turnNumber++;
+            }
+        } finally {
+            changes.end();
+        }
+    }
+
+    /**
+     * Applies a transaction as a single step. If the player cannot afford every
+     * cost, nothing changes; otherwise all costs, rewards, score and effects are
+     * applied together and reported as one batch of changes.
+     * <p>
+     * Awarded score also counts towards the implementation percentage. Like the
+     * other actions of the engine, this may be called from any thread.
+     * </p>
+     *
+     * @param transaction The transaction to apply.
+     * @return {@code true} if the transaction was applied, {@code false} if the
+     *         player could not afford it.
+     */
+    public synchronized boolean apply(Transaction transaction) {
+        if (!transaction.isAffordable()) {
+            return false;
+        }
+
+        changes.begin();
+        try {
+            transaction.apply();
+            currentTotalAwardedScore += transaction.getScore();
+        } finally {
+            changes.end();
+        }
+        return true;
+    }
+
+    /**
+     * Progresses the selected task by completing one step and awarding points to
+     * the current player.
+     * <p>
+     * If the step is completed successfully, it deducts resources, updates the
+     * player's score, and moves the task to the next subtask. If the task is fully
+     * completed, additional completion points are awarded, and the corresponding
+     * board square is cleared.
+     * </p>
+     *
+     * @param selectedTask The task to progress.
+     * @return {@code true} if the task progresses successfully, {@code false} if
+     *         resources are insufficient.
+     */
+    public synchronized boolean progressTask(Task selectedTask) {
+        // Get the current player whose turn it is
+        Player currentPlayer = getPlayerAt();
+
+        // The current step costs the task's resource type
+        SubTask currentStep = selectedTask.getCurrentSubTask();
+        Transaction step = new Transaction(currentPlayer)
+                .cost(selectedTask.getResourceType(), currentStep.getResourceCost());
+
+        // A task that is already completed is left as it is
+        if (selectedTask.isCompleted()) {
+            return step.isAffordable();
+        }
+
+        // Award points for the step and move the task to the next subtask
+        step.score(currentStep.getCompletionScore()).then(() -> {
+            selectedTask.completeStep();
+            board.taskChanged(selectedTask);
+        });
+
+        // If this step completes the task, award additional completion points and
+        // replace the square containing the task with a normal square
+        if (selectedTask.getCurrentStepNumber() + 1 >= selectedTask.getSteps().length) {
+            step.score(selectedTask.getCompletionScore()).then(() -> {
+                int squarePosition = board.getTaskPosition(selectedTask);
+                if (squarePosition >= 0) {
+                    board.setSquareAt(squarePosition, new Square());
+                }
+            });
+        }
+
+        // Task progression fails as a whole if resources are insufficient
+        return apply(step);
+    }
+
+    /**
+     * Attempts to purchase a specified resource for the current player.
+     * <p>
+     * This method deducts the resource price of the game's rules from the
+     * player's funds and grants them the rules' reward amount of the requested
+     * resource.
+     * </p>
+     *
+     * @param resourceType The type of resource being purchased.
+     * @return {@code true} if the purchase was successful, {@code false} if the
+     *         player lacks funds.
+     */
+    public synchronized boolean purchaseResource(ResourceType resourceType) {
+        // Retrieve the player whose turn it is
+        Player currentPlayer = getPlayerAt();
+
+        // Swap the resource cost for the purchased resource, tracking the total
+        // amount of money the player has spent; fails if funds are insufficient
+        int price = rules.getResourcePrice();
+        return apply(new Transaction(currentPlayer)
+                .cost(ResourceType.MONEY, price)
+                .reward(resourceType, rules.getResourceRewardAmount())
+                .then(() -> currentPlayer.increaseMoneySpent(price)));
+    }
+
+    /**
+     * Attempts to purchase a task using the specified resource type.
+     *
+     * @param player       The player attempting to purchase the task.
+     * @param resourceType The type of resource being used for the purchase.
+     * @param task         The task being acquired by the player.
+     * @return {@code true} if the purchase was successful, {@code false} if the
+     *         player lacks sufficient resources.
+     */
+    public synchronized boolean purchaseTask(Player player, ResourceType resourceType, Task task) {
+        // Deduct the resource cost and assign ownership of the task to the player;
+        // fails if resources are insufficient
+        return apply(new Transaction(player)
+                .cost(resourceType, task.getResourceCost())
+                .then(() -> {
+                    task.setOwnedBy(player);
+                    board.taskChanged(task);
+                }));
+    }
+
+    /**
+     * Allows the current player to assist another player by discounting the cost
+     * of a subtask.
+     * <p>
+     * The assisting player spends half the original resource cost, gains half of
+     * the completion score as a reward, and increases their "times helped"
+     * counter.
+     * </p>
+     *
+     * @param taskToDiscount The task whose current subtask is being discounted.
+     * @return {@code true} if the discount was successfully applied, {@code false}
+     *         if the discount was not possible.
+     */
+    public synchronized boolean discountSubTask(Task taskToDiscount) {
+        // Retrieve the current subtask of the specified task
+        SubTask currentSubTask = taskToDiscount.getCurrentSubTask();
+
+        // Check if the subtask is valid for a discount (must have a title)
+        if (currentSubTask.getTitle().equals("")) {
+            return false; // Subtask is invalid for discounting
+        }
+
+        // Get the assisting player
+        Player currentPlayer = getPlayerAt();
+
+        // Ensure the player has enough resources to cover the full cost
+        if (!currentPlayer.canAfford(currentSubTask.getResourceType(), currentSubTask.getResourceCost())) {
+            return false; // Not enough resources to assist with the task
+        }
+
+        // The assisting player pays half the original cost, earns half the
+        // completion score and has their "times helped" counter increased, then
+        // the subtask is marked as discounted
+        return apply(new Transaction(currentPlayer)
+                .cost(currentSubTask.getResourceType(), currentSubTask.getResourceCost() / 2)
+                .score(currentSubTask.getCompletionScore() / 2)
+                .then(() -> {
+                    currentPlayer.changeTimesHelped(1);
+                    currentSubTask.discountSubTask();
+                    board.taskChanged(taskToDiscount);
+                }));
+    }
+
+    /**
+     * Handles a task that nobody claimed: every player is charged the rules'
+     * rejection penalty as a consequence of the poor funding.
+     *
+     * @param task The task that was not claimed.
+     */
+    public synchronized void rejectTask(Task task) {
+        changes.begin();
+        try {
+            for (Player player : turnOrder) {
+                player.changeMoney(-rules.getTaskRejectionPenalty());
+            }
+        } finally {
+            changes.end();
+        }
+    }
+
+    /**
+     * Generates a new MoneySquare at a random location on the board and converts
+     * the MoneySquare the current player is standing on into a generic square.
+     */
+    public synchronized void replaceMoneySquare() {
+        // Generate one new MoneySquare at a random location on the board
+        board.generateNewSquares(1, new MoneySquare(random));
+
+        // Replace the MoneySquare the player landed on with a standard generic square
+        board.setSquareAt(getPlayerAt().getCoord(), new Square());
+    }
+
+    /**
+     * Calculates the implementation progress of the game and gives it as a fraction
+     * rounded to 3 decimal points.
+     * (e.g. 0.762 = 76.2% completed)
+     *
+     * @return a fraction rounded to 3dp showing the current completion progress of
+     *         the game
+     */
+    public synchronized double getImplementationPercent() {
+        double percentUnrounded = (double) currentTotalAwardedScore / maxScore;
+        return Math.round(percentUnrounded * 1000.0) / 1000.0;
+    }
+
+    /**
+     * Evaluates whether all objectives have been completed.
+     *
+     * @return true if all objectives have been completed; false otherwise.
+     */
+    public synchronized boolean checkWinCondition() {
+        for (Objective objective : objectives) {
+            // If any task within the objectives is incomplete, return false
+            if (!objective.isCompleted()) {
+                return false;
+            }
+        }
+
+        // If all objectives are completed, return true
+        return true;
+    }
+
+    /**
+     * Loads and generates Objectives, Tasks, and Subtasks from a JSON file.
+     *
+     * This method reads task-related data from a JSON file and dynamically
+     * creates Objective, Task, and SubTask objects. Each task is assigned a
+     * resource type based on its corresponding objective, and the costs and
+     * scores of the game's rules.
+     */
+    private void createData() {
+        try {
+            JSONArray o = loadTaskData();
+
+            // Iterate through each objective in the JSON array
+            o.forEach((objective) -> {
+                JSONObject obj = (JSONObject) objective;
+                Objective o1 = new Objective(obj.getString("objective"));
+                objectives.add(o1);
+
+                // Iterate through tasks within the objective
+                obj.getJSONArray("tasks").forEach((t) -> {
+                    JSONObject tObj = (JSONObject) t;
+                    Task task = new Task();
+                    task.setTitle(tObj.getString("task"));
+                    task.setResourceCost(rules.getTaskResourceCost());
+                    task.setCompletionScore(rules.getTaskCompletionScore());
+                    tasks.add(task);
+
+                    // Assign subtasks to the task
+                    JSONArray subtasksArr = tObj.getJSONArray("subtasks");
+                    for (int i = 0; i < subtasksArr.length(); i++) {
+                        SubTask subtask = new SubTask();
+                        subtask.setTitle(subtasksArr.getString(i));
+                        subtask.setResourceCost(rules.getSubTaskResourceCost());
+                        subtask.setCompletionScore(rules.getSubTaskCompletionScore());
+                        task.setBelongsTo(o1);
+
+                        // Assign resource type based on objective title
+                        switch (o1.getTitle()) {
+                            case "Repair Potholes (Cold Asphalt)":
+                                task.setResourceType(ResourceType.ASPHALT);
+                                subtask.setResourceType(ResourceType.ASPHALT);
+                                break;
+                            case "Secure Grant (Influence)":
+                                task.setResourceType(ResourceType.INFLUENCE);
+                                subtask.setResourceType(ResourceType.INFLUENCE);
+                                break;
+                            case "Train Volunteers (Knowledge)":
+                                task.setResourceType(ResourceType.KNOWLEDGE);
+                                subtask.setResourceType(ResourceType.KNOWLEDGE);
+                                break;
+                            case "Secure Longevity (Volunteers)":
+                                task.setResourceType(ResourceType.VOLUNTEERS);
+                                subtask.setResourceType(ResourceType.VOLUNTEERS);
+                                break;
+                        }
+
+                        task.addStep(subtask);
+                    }
+                    o1.addTask(task);
+                });
+            });
+
+        } catch (IOException | NullPointerException e) {
+            // Handle file read errors and unexpected null references
+            System.err.println("Error reading file: " + TASK_DATA_FILE);
+            System.exit(1);
+        }
+
+        // Assign UI colors to the first four objectives to enable colour-coded board
+        // squares
+        objectives.get(0).setUiColour(Color.BLUE);
+        objectives.get(1).setUiColour(Color.RED);
+        objectives.get(2).setUiColour(Color.MAGENTA);
+        objectives.get(3).setUiColour(Color.CYAN);
+    }
+
+    /**
+     * Reads the objectives and tasks from the data file the first time a game is
+     * created. Later games build their objects from the same parsed data, so
+     * creating a game does not touch the disk.
+     *
+     * @return The parsed objectives and tasks.
+     * @throws IOException if the data file cannot be read.
+     */
+    private static synchronized JSONArray loadTaskData() throws IOException {
+        if (taskData == null) {
+            // Read JSON file contents into a string
+            String contents = new String((Files.readAllBytes(Paths.get(TASK_DATA_FILE))));
+            taskData = new JSONArray(contents);
+        }
+        return taskData;
+    }
+
+    /**
+     * Calculates the total maximum score achievable in the game.
+     *
+     * @return The total maximum score of all tasks and subtasks in the game.
+     */
+    private int calculateMaxScore() {
+        int scoreCalculation = 0;
+
+        // Iterate through all tasks and accumulate their completion scores
+        for (Task currentTask : tasks) {
+            scoreCalculation += currentTask.getCompletionScore();
+
+            // Include the completion scores of all subtasks within the task
+            for (SubTask currentSub : currentTask.getSteps()) {
+                scoreCalculation += currentSub.getCompletionScore();
+            }
+        }
+        return scoreCalculation;
+    }
+}
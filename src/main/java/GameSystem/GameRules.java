@@ -0,0 +1,222 @@
+package GameSystem;
+
+import java.util.Arrays;
+
+/**
+ * GameRules holds the economic settings of a game: what resources cost, how
+ * much maintenance is charged each round, and what tasks and their subtasks
+ * cost and score. Each {@link GameEngine} is created with its own rules, so
+ * games with different settings can be played side by side, for example when
+ * sweeping over settings to balance the game.
+ * <p>
+ * Rules are immutable. A changed set of rules is made from an existing one
+ * with {@link #with(Setting, int)}, starting from {@link #DEFAULT}.
+ * </p>
+ */
+public final class GameRules {
+
+    /**
+     * One economic setting of the game, with the value it has in a normal
+     * game.
+     */
+    public enum Setting {
+        /**
+         * The money a player pays for one purchase at the shop.
+         */
+        RESOURCE_PRICE(20),
+
+        /**
+         * The amount of a resource a player gets for one purchase at the shop.
+         */
+        RESOURCE_REWARD_AMOUNT(30),
+
+        /**
+         * The money every player pays at the end of each round.
+         */
+        MAINTENANCE_COST_EACH_ROUND(5),
+
+        /**
+         * The money every player pays when a task is landed on and nobody
+         * claims it.
+         */
+        TASK_REJECTION_PENALTY(5),
+
+        /**
+         * The resources a player pays to claim a task.
+         */
+        TASK_RESOURCE_COST(30),
+
+        /**
+         * The score awarded when the last subtask of a task is completed.
+         */
+        TASK_COMPLETION_SCORE(10),
+
+        /**
+         * The resources a player pays to complete a subtask.
+         */
+        SUBTASK_RESOURCE_COST(20),
+
+        /**
+         * The score awarded for completing a subtask.
+         */
+        SUBTASK_COMPLETION_SCORE(5);
+
+        private final int defaultValue;
+
+        Setting(int defaultValue) {
+            this.defaultValue = defaultValue;
+        }
+
+        /**
+         * Gets the value of the setting in a normal game.
+         *
+         * @return The default value.
+         */
+        public int getDefaultValue() {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * The rules of a normal game.
+     */
+    public static final GameRules DEFAULT;
+
+    static {
+        Setting[] settings = Setting.values();
+        int[] defaults = new int[settings.length];
+        for (Setting setting : settings) {
+            defaults[setting.ordinal()] = setting.getDefaultValue();
+        }
+        DEFAULT = new GameRules(defaults);
+    }
+
+    /**
+     * The value of each setting, indexed by its ordinal.
+     */
+    private final int[] values;
+
+    private GameRules(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Creates rules that differ from these in one setting.
+     *
+     * @param setting The setting to change.
+     * @param value   The new value of the setting, which cannot be negative.
+     * @return The changed rules.
+     */
+    public GameRules with(Setting setting, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(setting + " cannot be negative.");
+        }
+        int[] changed = values.clone();
+        changed[setting.ordinal()] = value;
+        return new GameRules(changed);
+    }
+
+    /**
+     * Gets the value of a setting.
+     *
+     * @param setting The setting to look up.
+     * @return The value of the setting under these rules.
+     */
+    public int get(Setting setting) {
+        return values[setting.ordinal()];
+    }
+
+    /**
+     * Gets the money a player pays for one purchase at the shop.
+     *
+     * @return The price of a resource.
+     */
+    public int getResourcePrice() {
+        return get(Setting.RESOURCE_PRICE);
+    }
+
+    /**
+     * Gets the amount of a resource a player gets for one purchase.
+     *
+     * @return The amount of resource bought at a time.
+     */
+    public int getResourceRewardAmount() {
+        return get(Setting.RESOURCE_REWARD_AMOUNT);
+    }
+
+    /**
+     * Gets the money every player pays at the end of each round.
+     *
+     * @return The maintenance cost.
+     */
+    public int getMaintenanceCostEachRound() {
+        return get(Setting.MAINTENANCE_COST_EACH_ROUND);
+    }
+
+    /**
+     * Gets the money every player pays when nobody claims a task.
+     *
+     * @return The rejection penalty.
+     */
+    public int getTaskRejectionPenalty() {
+        return get(Setting.TASK_REJECTION_PENALTY);
+    }
+
+    /**
+     * Gets the resources a player pays to claim a task.
+     *
+     * @return The cost of a task.
+     */
+    public int getTaskResourceCost() {
+        return get(Setting.TASK_RESOURCE_COST);
+    }
+
+    /**
+     * Gets the score awarded when a task is completed.
+     *
+     * @return The completion score of a task.
+     */
+    public int getTaskCompletionScore() {
+        return get(Setting.TASK_COMPLETION_SCORE);
+    }
+
+    /**
+     * Gets the resources a player pays to complete a subtask.
+     *
+     * @return The cost of a subtask.
+     */
+    public int getSubTaskResourceCost() {
+        return get(Setting.SUBTASK_RESOURCE_COST);
+    }
+
+    /**
+     * Gets the score awarded for completing a subtask.
+     *
+     * @return The completion score of a subtask.
+     */
+    public int getSubTaskCompletionScore() {
+        return get(Setting.SUBTASK_COMPLETION_SCORE);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof GameRules other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("GameRules[");
+        for (Setting setting : Setting.values()) {
+            if (setting.ordinal() > 0) {
+                text.append(", ");
+            }
+            text.append(setting).append('=').append(get(setting));
+        }
+        return text.append(']').toString();
+    }
+}
@@ -1,36 +1,35 @@
 package GameSystem;
 
-import java.awt.Color;
+import java.awt.GraphicsEnvironment;
 import java.awt.event.ActionListener;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import javax.swing.SwingUtilities;
 
 import BoardGame.Board;
 import BoardGame.BoardGameUI;
 import BoardGame.Direction;
 import BoardGame.Objective;
 import BoardGame.Player;
+import BoardGame.Reachability;
 import BoardGame.ResourceType;
-import BoardGame.SubTask;
 import BoardGame.Task;
 import Popup.EndGame.Ending;
 import square.MoneySquare;
 import square.ShopSquare;
 import square.Square;
-import square.TaskSquare;
+import square.SquareType;
 
 /**
  * 
- * The GameSystem class manages game mechanics such as player movement, turn
- * progression,
- * rounds, objectives and tasks/subtasks. It ensures smooth gameplay by updating
- * the board,
- * checking win conditions, and managing UI interactions.
+ * The GameSystem class binds a single {@link GameEngine} to the game window.
+ * It forwards game mechanics such as player movement, turn progression,
+ * rounds, objectives and tasks/subtasks to the engine, and keeps the board
+ * and the rest of the UI in step with it.
+ * <p>
+ * When no display is available the engine and board are still created, but
+ * the game window is not, so the game can be driven headlessly.
+ * </p>
  * 
  * @author Isaac Edmonds
  * @author Peter Robinson
@@ -38,62 +37,44 @@ import square.TaskSquare;
  * @author Curtis McCartney (Supporting)
  */
 public abstract class GameSystem {
-    // Game board where all gameplay interactions take place
+    // Engine holding the state of the game being displayed
+    private static GameEngine engine;
+
+    // Game board view where all gameplay interactions take place
     private static Board gameBoard;
 
     // Graphical User Interface (GUI) for the board game
     private static BoardGameUI gameBoardUI;
 
-    // Array to maintain the order in which players take turns
-    private static Player[] turnOrder;
-
-    // Keeps track of the number of rounds played
-    private static int roundNumber;
-
-    // Keeps track of the current turn within a round
-    private static int turnNumber;
-
-    // Lists to store objectives and tasks for the game
-    private static ArrayList<Objective> objectives;
-    private static ArrayList<Task> tasks;
-
     // Boolean flag to determine whether the game is active or not
     private static boolean gameActive = false;
 
-    // Global variables for resource purchase price and scores for calculating the
-    // solution implementation percentage
-    private static final int RESOURCE_PRICE = 20;
-    private static final int RESOURCE_REWARD_AMOUNT = 30;
-    private static final int MAINTENANCE_COST_EACH_ROUND = 5;
-    private static int maxScore;
-    private static int currentTotalAwardedScore;
-
     /**
      * Initialises the game by setting up essential components.
      * Ensures initialisation happens only once by checking {@code gameActive}
      */
     public static void initialise() {
         if (!gameActive) {
-            turnNumber = 0; // Reset turn number
-            roundNumber = 0; // Reset round count
-
-            // Create new lists to store objectives and tasks
-            objectives = new ArrayList<>();
-            tasks = new ArrayList<>();
-
-            // Setting up a default player array with at least one player to avoid errors
-            turnOrder = new Player[] { new Player() };
-
-            // Create data and update maxScore
-            createData();
-            maxScore = calculateMaxScore();
+            // Create a new game with its objectives, tasks and board
+            engine = new GameEngine();
+            gameBoard = new Board(engine.getBoard());
+
+            // Refresh the resource labels once per batch of changes, on the Swing thread
+            engine.getChangeTracker().addListener(changes -> {
+                if (SwingUtilities.isEventDispatchThread()) {
+                    refreshResources();
+                } else {
+                    SwingUtilities.invokeLater(GameSystem::refreshResources);
+                }
+            });
 
-            // Create a new board and its associated GUI
-            gameBoard = new Board(tasks);
-            gameBoardUI = new BoardGameUI(gameBoard);
-            gameBoardUI.setTitle("Pavers Valley"); // Set the title for the game window
+            // Create the GUI only when there is a display to show it on
+            if (!GraphicsEnvironment.isHeadless()) {
+                gameBoardUI = new BoardGameUI(engine, gameBoard);
+                gameBoardUI.setTitle("Pavers Valley"); // Set the title for the game window
 
-            gameBoardUI.setVisible(true); // Make the game UI visible
+                gameBoardUI.setVisible(true); // Make the game UI visible
+            }
             gameActive = true; // Mark the game as active
         }
     }
@@ -102,9 +83,11 @@ public abstract class GameSystem {
      * Starts the game by incrementing the round number and refreshing the UI.
      */
     public static void startGame() {
-        roundNumber++; // Increment the round counter
-        gameBoardUI.startGame(); // Start the game through the UI
-        gameBoardUI.refresh(); // Refresh the UI to reflect updated game state
+        engine.startGame(); // Increment the round counter
+        if (gameBoardUI != null) {
+            gameBoardUI.startGame(); // Start the game through the UI
+            gameBoardUI.refresh(); // Refresh the UI to reflect updated game state
+        }
         toggleTutorial(); // Start the tutorial
     }
 
@@ -114,7 +97,7 @@ public abstract class GameSystem {
      * @param players An array of players representing the turn order.
      */
     public static void setTurnOrder(Player[] players) {
-        turnOrder = players;
+        engine.setTurnOrder(players);
     }
 
     /**
@@ -123,7 +106,7 @@ public abstract class GameSystem {
      * @param number The round number to be set.
      */
     public static void setRoundNumber(int number) {
-        roundNumber = number;
+        engine.setRoundNumber(number);
     }
 
     /**
@@ -132,7 +115,7 @@ public abstract class GameSystem {
      * @param turnNum The turn number to be set.
      */
     public static void setTurnNumber(int turnNum) {
-        turnNumber = turnNum;
+        engine.setTurnNumber(turnNum);
     }
 
     /**
@@ -141,7 +124,7 @@ public abstract class GameSystem {
      * @param score The maximum score limit to set.
      */
     public static void setMaxScore(int score) {
-        maxScore = score;
+        engine.setMaxScore(score);
     }
 
     /**
@@ -152,7 +135,7 @@ public abstract class GameSystem {
      * @param score The current total awarded score to be updated.
      */
     public static void setCurrentTotalAwardedScore(int score) {
-        currentTotalAwardedScore = score;
+        engine.setCurrentTotalAwardedScore(score);
     }
 
     /**
@@ -161,7 +144,7 @@ public abstract class GameSystem {
      * @return An array of players representing the turn order.
      */
     public static Player[] getTurnOrder() {
-        return turnOrder;
+        return engine != null ? engine.getTurnOrder() : null;
     }
 
     /**
@@ -171,7 +154,7 @@ public abstract class GameSystem {
      * @return The Player at the specified index.
      */
     public static Player getPlayerAt(int index) {
-        return turnOrder[index];
+        return engine != null ? engine.getPlayerAt(index) : null;
     }
 
     /**
@@ -180,7 +163,7 @@ public abstract class GameSystem {
      * @return The Player whose turn it is.
      */
     public static Player getPlayerAt() {
-        return turnOrder[turnNumber];
+        return engine != null ? engine.getPlayerAt() : null;
     }
 
     /**
@@ -189,7 +172,7 @@ public abstract class GameSystem {
      * @return The round number.
      */
     public static int getRoundNumber() {
-        return roundNumber;
+        return engine != null ? engine.getRoundNumber() : 0;
     }
 
     /**
@@ -198,7 +181,7 @@ public abstract class GameSystem {
      * @return The turn number.
      */
     public static int getTurnNumber() {
-        return turnNumber;
+        return engine != null ? engine.getTurnNumber() : 0;
     }
 
     /**
@@ -207,7 +190,7 @@ public abstract class GameSystem {
      * @return An ArrayList of Task objects.
      */
     public static ArrayList<Task> getTasks() {
-        return tasks;
+        return engine != null ? engine.getTasks() : null;
     }
 
     /**
@@ -216,7 +199,7 @@ public abstract class GameSystem {
      * @return An ArrayList of Objective objects.
      */
     public static ArrayList<Objective> getObjectives() {
-        return objectives;
+        return engine != null ? engine.getObjectives() : null;
     }
 
     /**
@@ -230,6 +213,15 @@ public abstract class GameSystem {
         return gameBoard;
     }
 
+    /**
+     * Retrieves the engine holding the state of the game being displayed.
+     * 
+     * @return The current GameEngine.
+     */
+    public static GameEngine getEngine() {
+        return engine;
+    }
+
     /**
      * Moves the current player in the specified direction on the game board.
      * 
@@ -240,35 +232,58 @@ public abstract class GameSystem {
      * @param direction The direction in which the player wishes to move.
      */
     public static void movePlayer(Direction direction) {
-        // Retrieve the player whose turn it is
-        Player currentPlayer = getPlayerAt();
+        // Move the current player and apply any automatic square effects
+        Square sqrAtPosition = engine.movePlayer(direction);
 
-        // Ensure the player has remaining moves before proceeding
-        if (currentPlayer.getMovesLeft() > 0) {
-            // Execute the move action, ensuring it remains within board boundaries
-            currentPlayer.moveAction(direction, gameBoard.boardSideLength);
-        } else {
+        // Ensure the player had remaining moves before proceeding
+        if (sqrAtPosition == null) {
             return;
         }
 
         // Check if the player has landed on a shop square and toggle shop button
         // visibility
-        if (gameBoard.getSquareAt(currentPlayer.getCoord()) instanceof ShopSquare) {
-            gameBoardUI.setShopButtonVisible(true); // Enable shop access
+        updateShopButton();
+
+        // Update the game board to reflect the new player position, redrawing the
+        // squares if a MoneySquare has been moved
+        if (sqrAtPosition instanceof MoneySquare) {
+            gameBoard.refresh();
         } else {
-            gameBoardUI.setShopButtonVisible(false); // Hide shop button
+            gameBoard.renderPlayers(engine.getTurnOrder());
         }
 
-        // Update the game board to reflect the new player position
-        gameBoard.renderPlayers(turnOrder);
-
-        // Retrieve the square the player has landed on
-        Square sqrAtPosition = gameBoard.getSquareAt(currentPlayer.getCoord());
-
         // Activate the effect of the landed square
         sqrAtPosition.activateSquareEffect();
     }
 
+    /**
+     * Moves the current player towards a square they can end their turn on,
+     * one move at a time as if the arrows had been used. The route passes over
+     * blank squares where it can; if the player still lands on a square with an
+     * effect on the way, they stop there so that its effect can be dealt with,
+     * keeping the rest of their moves.
+     *
+     * @param square The square to move to.
+     * @return true if the player reached the square.
+     */
+    public static boolean movePlayerTo(int square) {
+        Reachability reachable = engine.getReachableSquares();
+        if (!reachable.canReach(square)) {
+            return false;
+        }
+
+        Direction[] route = reachable.path(square, engine.getBoard().getFreeSquares());
+        for (int i = 0; i < route.length; i++) {
+            int next = engine.getBoard().getMoveTable().target(getPlayerAt().getCoord(), route[i]);
+            boolean hasEffect = engine.getBoard().getSquareAt(next).getSquareType() != SquareType.SQUARE;
+            movePlayer(route[i]);
+            if (hasEffect && i < route.length - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * ActionListener that handles the event when the player runs out of money.
      * This listener will hide the popup and end the game.
@@ -286,28 +301,33 @@ public abstract class GameSystem {
      * player runs out of money, the game ends for all of them. The method also
      * checks if the next player lands on a shop square and updates the shop button
      * visibility accordingly.
-     * 
+     * <p>
+     * Computer-controlled players ({@link BotPlayer}s) take their turns straight
+     * away, so the turn passes on until it reaches a person again.
+     * </p>
      */
     public static void nextTurn() {
-        // If the last player in the turn order has finished their turn, reset to the
-        // first player
-        if (turnNumber >= turnOrder.length - 1) {
-            turnNumber = 0; // Reset turn number to first player
-            roundNumber++; // Start a new round
-
-            // Deduct maintenance cost from each player at the end of the round
-            for (Player player : turnOrder) {
-                player.changeMoney(-MAINTENANCE_COST_EACH_ROUND);
+        // Advance the turn, deducting maintenance at the start of a new round; the
+        // resource labels are refreshed once the deductions are flushed
+        engine.nextTurn();
+
+        // Play the turns of any bots next in line, stopping if the game ends
+        boolean botsPlayed = false;
+        while (engine.getPlayerAt() instanceof BotPlayer bot && hasPerson() && !hasPlayerRunOutOfMoney()) {
+            bot.playTurn(engine);
+            botsPlayed = true;
+            if (engine.checkWinCondition()) {
+                gameBoard.refresh();
+                toggleEndGame(Ending.GOOD);
+                return;
             }
-
-            // Refresh game resources at the beginning of a new round
-            refreshResources();
-        } else {
-            // Otherwise, move to the next player's turn
-            turnNumber++;
+            engine.nextTurn();
+        }
+        if (botsPlayed) {
+            gameBoard.refresh();
         }
 
-        for (Player player : turnOrder) {
+        for (Player player : engine.getTurnOrder()) {
             // If a player runs out of money, trigger the game-ending popup
             if (player.getMoney() <= 0) {
                 showPopup("Game Finished!", player.getName() + " ran out of Money!", "End Game", null,
@@ -317,6 +337,46 @@ public abstract class GameSystem {
 
         // Check if the next player's current square is a shop and update shop button
         // visibility
+        updateShopButton();
+    }
+
+    /**
+     * Checks whether any player in the game is controlled by a person.
+     *
+     * @return true if at least one player is not a bot.
+     */
+    private static boolean hasPerson() {
+        for (Player player : engine.getTurnOrder()) {
+            if (!(player instanceof BotPlayer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any player has run out of money, which ends the game.
+     *
+     * @return true if a player has no money left.
+     */
+    private static boolean hasPlayerRunOutOfMoney() {
+        for (Player player : engine.getTurnOrder()) {
+            if (player.getMoney() <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Shows the shop button if the current player is standing on a shop square,
+     * and hides it otherwise.
+     */
+    private static void updateShopButton() {
+        if (gameBoardUI == null) {
+            return;
+        }
+
         if (gameBoard.getSquareAt(getPlayerAt().getCoord()) instanceof ShopSquare) {
             gameBoardUI.setShopButtonVisible(true); // Enable shop access
         } else {
@@ -333,7 +393,8 @@ public abstract class GameSystem {
      * @return An array of integers representing spawn locations.
      */
     public static int[] getSpawnLocations() {
-        return new int[] { 40 }; // Predefined spawn location on the board
+        // Predefined spawn locations on the board, or the default board's centre
+        return engine != null ? engine.getBoard().getSpawnLocations() : new int[] { 40 };
     }
 
     /**
@@ -352,49 +413,13 @@ public abstract class GameSystem {
      *         resources are insufficient.
      */
     public static boolean progressTask(Task selectedTask) {
-        // Get the current player whose turn it is
-        Player currentPlayer = getPlayerAt();
-
-        // Retrieve the required resource type and current step of the task
-        ResourceType resourceType = selectedTask.getResourceType();
-        SubTask currentStep = selectedTask.getCurrentSubTask();
-
-        // Check if the player has enough resources to complete the step
-        boolean resourceCheck = currentPlayer.getResource(resourceType) >= currentStep.getResourceCost();
-        if (!resourceCheck) {
+        if (!engine.progressTask(selectedTask)) {
             return false; // Task progression fails due to insufficient resources
         }
 
-        // Ensure the task is not already completed
-        if (!selectedTask.isCompleted()) {
-            // Deduct the required resources from the player's inventory
-            int newResourceAmount = currentPlayer.getResource(resourceType) - currentStep.getResourceCost();
-            currentPlayer.setResource(newResourceAmount, resourceType);
-
-            // Award points to the player for completing the step
-            int scoreIncrease = currentStep.getCompletionScore();
-            currentPlayer.changeScoreBy(scoreIncrease);
-            currentTotalAwardedScore += scoreIncrease;
-
-            // Move the task to the next subtask
-            selectedTask.completeStep();
-
-            // If the task is now fully complete, award additional completion points
-            if (selectedTask.isCompleted()) {
-                currentPlayer.changeScoreBy(selectedTask.getCompletionScore());
-                currentTotalAwardedScore += selectedTask.getCompletionScore();
-
-                // Find the square containing the completed task and replace it with a normal
-                // square
-                final int[] squarePosition = new int[1];
-                gameBoard.getSquareArray().stream()
-                        .filter(square -> square instanceof TaskSquare
-                                && ((TaskSquare) square).getTask() == selectedTask)
-                        .forEach(square -> squarePosition[0] = gameBoard.getSquareArray().indexOf(square));
-
-                // Update the board, removing the completed task
-                gameBoard.setSquareAt(squarePosition[0], new Square());
-            }
+        // A completed task is removed from the board
+        if (selectedTask.isCompleted()) {
+            gameBoard.refresh();
         }
         return true; // Task successfully progressed
     }
@@ -402,9 +427,9 @@ public abstract class GameSystem {
     /**
      * Attempts to purchase a specified resource for the current player.
      * 
-     * This method deducts a fixed amount of money ({@code RESOURCE_PRICE})
-     * from the player's funds and grants them a predefined amount of the
-     * requested resource ({@code RESOURCE_REWARD_AMOUNT}).
+     * This method deducts the resource price of the game's rules from the
+     * player's funds and grants them the rules' reward amount of the requested
+     * resource.
      * If the player does not have enough funds, the purchase fails.
      *
      * @param resourceType The type of resource being purchased.
@@ -412,24 +437,7 @@ public abstract class GameSystem {
      *         player lacks funds.
      */
     public static boolean purchaseResource(ResourceType resourceType) {
-        // Retrieve the player whose turn it is
-        Player currentPlayer = getPlayerAt();
-
-        // Ensure the player has enough funds to purchase the resource
-        if (currentPlayer.getMoney() < RESOURCE_PRICE) {
-            return false; // Purchase fails due to insufficient funds
-        }
-
-        // Deduct the resource cost from the player's balance
-        currentPlayer.changeMoney(-RESOURCE_PRICE);
-
-        // Grant the player the purchased resource
-        currentPlayer.changeResource(RESOURCE_REWARD_AMOUNT, resourceType);
-
-        // Track the total amount of money the player has spent
-        currentPlayer.increaseMoneySpent(RESOURCE_PRICE);
-
-        return true; // Purchase was successful
+        return engine.purchaseResource(resourceType);
     }
 
     /**
@@ -446,39 +454,47 @@ public abstract class GameSystem {
      *         player lacks sufficient resources.
      */
     public static boolean purchaseTask(Player player, ResourceType resourceType, Task task) {
-        // Retrieve the current player making the purchase
-        Player currentPlayer = player;
-
-        // Ensure the player has enough resources to afford the task
-        if (currentPlayer.getResource(resourceType) < task.getResourceCost()) {
-            return false; // Purchase fails due to insufficient resources
-        }
-
-        // Deduct the resource cost from the player's inventory
-        currentPlayer.changeResource(-task.getResourceCost(), resourceType);
+        return engine.purchaseTask(player, resourceType, task);
+    }
 
-        // Assign ownership of the task to the player
-        task.setOwnedBy(player);
+    /**
+     * Handles a task that nobody claimed by charging every player the rejection
+     * penalty.
+     *
+     * @param task The task that was not claimed.
+     */
+    public static void rejectTask(Task task) {
+        engine.rejectTask(task);
+    }
 
-        return true; // Purchase was successful
+    /**
+     * Retrieves the rules of the current game, or the default rules before a
+     * game has been set up.
+     *
+     * @return The prices, costs and scores of the game.
+     */
+    public static GameRules getRules() {
+        return engine != null ? engine.getRules() : GameRules.DEFAULT;
     }
 
     /**
-     * Retrieves the fixed price required to purchase a resource.
+     * Retrieves the price required to purchase a resource under the rules of
+     * the current game.
      * 
      * @return The cost of a resource in game currency.
      */
     public static int getResourcePrice() {
-        return RESOURCE_PRICE;
+        return getRules().getResourcePrice();
     }
 
     /**
-     * Retrieves the amount of resources awarded when a player purchases them.
+     * Retrieves the amount of resources awarded when a player purchases them,
+     * under the rules of the current game.
      * 
      * @return The number of resource units given per purchase.
      */
     public static int getResourceAwardedAmount() {
-        return RESOURCE_REWARD_AMOUNT;
+        return getRules().getResourceRewardAmount();
     }
 
     /**
@@ -499,41 +515,7 @@ public abstract class GameSystem {
      *         if the discount was not possible.
      */
     public static boolean discountSubTask(Task taskToDiscount) {
-        // Retrieve the current subtask of the specified task
-        SubTask currentSubTask = taskToDiscount.getCurrentSubTask();
-
-        // Check if the subtask is valid for a discount (must have a title)
-        if (currentSubTask.getTitle().equals("")) {
-            return false; // Subtask is invalid for discounting
-        }
-
-        // Get the assisting player
-        Player currentPlayer = getPlayerAt();
-
-        // Retrieve the player's available resource amount for the required type
-        int playerResourceAmount = currentPlayer.getResource(currentSubTask.getResourceType());
-
-        // Ensure the player has enough resources to apply the discount
-        if (playerResourceAmount < currentSubTask.getResourceCost()) {
-            return false; // Not enough resources to assist with the task
-        } else {
-            // Apply the discount by reducing the player's resource count by half the
-            // original cost
-            currentPlayer.changeResource(-currentSubTask.getResourceCost() / 2, currentSubTask.getResourceType());
-
-            // Award the assisting player half of the original completion score
-            int scoreIncrease = currentSubTask.getCompletionScore() / 2;
-            currentPlayer.changeScoreBy(scoreIncrease);
-            currentTotalAwardedScore += scoreIncrease;
-
-            // Increment the assisting player's "times helped" counter
-            currentPlayer.changeTimesHelped(1);
-
-            // Mark the subtask as discounted
-            currentSubTask.discountSubTask();
-        }
-
-        return true; // Discount successfully applied
+        return engine.discountSubTask(taskToDiscount);
     }
 
     /**
@@ -545,8 +527,7 @@ public abstract class GameSystem {
      *         the game (e.g. 0.762 = 76.2% completed)
      */
     public static double getImplementationPercent() {
-        double percentUnrounded = (double) currentTotalAwardedScore / maxScore;
-        return Math.round(percentUnrounded * 1000.0) / 1000.0;
+        return engine != null ? engine.getImplementationPercent() : 0.0;
     }
 
     /**
@@ -557,15 +538,7 @@ public abstract class GameSystem {
      * 
      */
     public static boolean checkWinCondition() {
-        for (Objective objective : objectives) {
-            // If any task within the objectives is incomplete, return false
-            if (!objective.isCompleted()) {
-                return false;
-            }
-        }
-
-        // If all objectives are completed, return true
-        return true;
+        return engine.checkWinCondition();
     }
 
     /**
@@ -589,7 +562,9 @@ public abstract class GameSystem {
     public static void showPopup(String title, String desc, String yesButton, String noButton, ActionListener yesAction,
             ActionListener noAction) {
         // Delegate the popup creation to the game UI
-        gameBoardUI.showPopup(title, desc, yesButton, noButton, yesAction, noAction);
+        if (gameBoardUI != null) {
+            gameBoardUI.showPopup(title, desc, yesButton, noButton, yesAction, noAction);
+        }
     }
 
     /**
@@ -599,7 +574,9 @@ public abstract class GameSystem {
      * are no longer needed, improving the user experience.
      */
     public static void hidePopup() {
-        gameBoardUI.hidePopup();
+        if (gameBoardUI != null) {
+            gameBoardUI.hidePopup();
+        }
     }
 
     /**
@@ -621,7 +598,9 @@ public abstract class GameSystem {
     public static void showCostPopup(String title, String desc, ResourceType currency, int cost,
             ActionListener yesAction, ActionListener noAction) {
         // Delegate the popup creation to the game UI
-        gameBoardUI.showCostPopup(title, desc, currency, cost, yesAction, noAction);
+        if (gameBoardUI != null) {
+            gameBoardUI.showCostPopup(title, desc, currency, cost, yesAction, noAction);
+        }
     }
 
     /**
@@ -630,7 +609,9 @@ public abstract class GameSystem {
      */
     public static void hideCostPopup() {
         // Delegate the hide action to the game UI
-        gameBoardUI.hideCostPopup();
+        if (gameBoardUI != null) {
+            gameBoardUI.hideCostPopup();
+        }
     }
 
     /**
@@ -638,7 +619,9 @@ public abstract class GameSystem {
      * The journal contains information about the players' objectives.
      */
     public static void toggleJournal() {
-        gameBoardUI.toggleJournal();
+        if (gameBoardUI != null) {
+            gameBoardUI.toggleJournal();
+        }
     }
 
     /**
@@ -646,7 +629,9 @@ public abstract class GameSystem {
      * This allows players to access in-game purchases.
      */
     public static void toggleShop() {
-        gameBoardUI.toggleShop();
+        if (gameBoardUI != null) {
+            gameBoardUI.toggleShop();
+        }
     }
 
     /**
@@ -654,7 +639,9 @@ public abstract class GameSystem {
      * This guides new players through key mechanics and gameplay features.
      */
     public static void toggleTutorial() {
-        gameBoardUI.toggleTutorial();
+        if (gameBoardUI != null) {
+            gameBoardUI.toggleTutorial();
+        }
     }
 
     /**
@@ -665,7 +652,9 @@ public abstract class GameSystem {
      * @param task The task object that is being transferred.
      */
     public static void toggleTransfer(Task task) {
-        gameBoardUI.toggleTransfer(task);
+        if (gameBoardUI != null) {
+            gameBoardUI.toggleTransfer(task);
+        }
     }
 
     /**
@@ -675,7 +664,9 @@ public abstract class GameSystem {
      * information is displayed to the player.
      */
     public static void refreshJournal() {
-        gameBoardUI.refreshJournal();
+        if (gameBoardUI != null) {
+            gameBoardUI.refreshJournal();
+        }
     }
 
     /**
@@ -687,106 +678,9 @@ public abstract class GameSystem {
      * @param ending The final game outcome (e.g., GOOD or BAD ending).
      */
     public static void toggleEndGame(Ending ending) {
-        gameBoardUI.toggleEndGame(ending);
-    }
-
-    /**
-     * Loads and generates Objectives, Tasks, and Subtasks from a JSON file.
-     * 
-     * This method reads task-related data from a JSON file and dynamically
-     * creates Objective, Task, and SubTask objects. Each task is assigned a
-     * resource type based on its corresponding objective.
-     */
-    private static void createData() {
-        String file = "src/main/resources/tasks.json";
-        try {
-            // Read JSON file contents into a string
-            String contents = new String((Files.readAllBytes(Paths.get(file))));
-            JSONArray o = new JSONArray(contents);
-
-            // Iterate through each objective in the JSON array
-            o.forEach((objective) -> {
-                JSONObject obj = (JSONObject) objective;
-                Objective o1 = new Objective(obj.getString("objective"));
-                objectives.add(o1);
-
-                // Iterate through tasks within the objective
-                obj.getJSONArray("tasks").forEach((t) -> {
-                    JSONObject tObj = (JSONObject) t;
-                    Task task = new Task();
-                    task.setTitle(tObj.getString("task"));
-                    tasks.add(task);
-
-                    // Assign subtasks to the task
-                    JSONArray subtasksArr = tObj.getJSONArray("subtasks");
-                    for (int i = 0; i < subtasksArr.length(); i++) {
-                        SubTask subtask = new SubTask();
-                        subtask.setTitle(subtasksArr.getString(i));
-                        task.setBelongsTo(o1);
-
-                        // Assign resource type based on objective title
-                        switch (o1.getTitle()) {
-                            case "Repair Potholes (Cold Asphalt)":
-                                task.setResourceType(ResourceType.ASPHALT);
-                                subtask.setResourceType(ResourceType.ASPHALT);
-                                break;
-                            case "Secure Grant (Influence)":
-                                task.setResourceType(ResourceType.INFLUENCE);
-                                subtask.setResourceType(ResourceType.INFLUENCE);
-                                break;
-                            case "Train Volunteers (Knowledge)":
-                                task.setResourceType(ResourceType.KNOWLEDGE);
-                                subtask.setResourceType(ResourceType.KNOWLEDGE);
-                                break;
-                            case "Secure Longevity (Volunteers)":
-                                task.setResourceType(ResourceType.VOLUNTEERS);
-                                subtask.setResourceType(ResourceType.VOLUNTEERS);
-                                break;
-                        }
-
-                        task.addStep(subtask);
-                    }
-                    o1.addTask(task);
-                });
-            });
-
-        } catch (IOException | NullPointerException e) {
-            // Handle file read errors and unexpected null references
-            System.err.println("Error reading file: " + file);
-            System.exit(1);
-        }
-
-        // Assign UI colors to the first four objectives to enable colour-coded board
-        // squares
-        objectives.get(0).setUiColour(Color.BLUE);
-        objectives.get(1).setUiColour(Color.RED);
-        objectives.get(2).setUiColour(Color.MAGENTA);
-        objectives.get(3).setUiColour(Color.CYAN);
-    }
-
-    /**
-     * Calculates the total maximum score achievable in the game.
-     * 
-     * This method iterates through all tasks and their corresponding subtasks,
-     * summing up their completion scores to determine the highest possible score.
-     * It should be called after all game data has been initialised to ensure
-     * accurate calculations.
-     * 
-     * @return The total maximum score of all tasks and subtasks in the game.
-     */
-    private static int calculateMaxScore() {
-        int scoreCalculation = 0;
-
-        // Iterate through all tasks and accumulate their completion scores
-        for (Task currentTask : tasks) {
-            scoreCalculation += currentTask.getCompletionScore();
-
-            // Include the completion scores of all subtasks within the task
-            for (SubTask currentSub : currentTask.getSteps()) {
-                scoreCalculation += currentSub.getCompletionScore();
-            }
+        if (gameBoardUI != null) {
+            gameBoardUI.toggleEndGame(ending);
         }
-        return scoreCalculation;
     }
 
     /**
@@ -799,11 +693,8 @@ public abstract class GameSystem {
      * gameplay by keeping MoneySquares available in different locations.
      */
     public static void replaceMoneySquare() {
-        // Generate one new MoneySquare at a random location on the board
-        gameBoard.generateNewSquares(1, new MoneySquare());
-
-        // Replace the MoneySquare the player landed on with a standard generic square
-        gameBoard.setSquareAt(getPlayerAt().getCoord(), new Square());
+        engine.replaceMoneySquare();
+        gameBoard.refresh();
     }
 
     /**
@@ -818,21 +709,14 @@ public abstract class GameSystem {
      */
     public static void reset() {
         gameActive = false; // Mark the game as inactive
-        turnNumber = 0; // Reset turn tracking
-        roundNumber = 0; // Reset round tracking
-        currentTotalAwardedScore = 0; // Reset total awarded score
-
-        // Reset lists and objects related to game objectives and tasks
-        objectives = new ArrayList<>();
-        tasks = new ArrayList<>();
 
         // Dispose of the current game UI to ensure a clean restart
         if (gameBoardUI != null) {
             gameBoardUI.dispose();
         }
 
-        // Clear turn order and UI components
-        turnOrder = null;
+        // Discard the game state and UI components
+        engine = null;
         gameBoard = null;
         gameBoardUI = null;
     }
@@ -847,7 +731,9 @@ public abstract class GameSystem {
      */
     public static void refreshResources() {
         // Update the displayed resource values in the game UI
-        gameBoardUI.setResourceValues();
+        if (gameBoardUI != null) {
+            gameBoardUI.setResourceValues();
+        }
     }
 
     /**
@@ -0,0 +1,399 @@
+package GameSystem;
+
+import java.util.function.Predicate;
+
+import BoardGame.Bitboard;
+import BoardGame.BoardModel;
+import BoardGame.Direction;
+import BoardGame.DistanceField;
+import BoardGame.Player;
+import BoardGame.ResourceType;
+import BoardGame.SubTask;
+import BoardGame.Task;
+import square.ShopSquare;
+import square.Square;
+import square.SquareType;
+import square.TaskSquare;
+
+/**
+ * A ScriptedPlayer plays a turn of a game on its own, making the choices a
+ * sensible human player would make through the popups of the game window.
+ * <p>
+ * Each turn the player rolls the die and walks towards a goal: the shop when
+ * they are short of resources for the tasks they own, otherwise the nearest
+ * unclaimed task they can afford, otherwise the nearest money square. They
+ * claim tasks they can afford as they land on them, help other players when
+ * they hold the resources, buy what their tasks still need at the shop, and
+ * progress their own tasks as far as their resources allow. A task nobody can
+ * afford is rejected, charging every player the penalty.
+ * </p>
+ * <p>
+ * Goals are looked up in the board's {@link DistanceField}s, which the board
+ * keeps up to date as squares move, so choosing where to go does not depend on
+ * the size of the board.
+ * </p>
+ * <p>
+ * A turn can also be played to a {@link TurnPlan}, which fixes where the
+ * player heads and whether they spend on tasks on the way; once the plan's
+ * goal is reached the rest of the turn is played as usual.
+ * </p>
+ * <p>
+ * The player holds no state of its own, so one instance can play any number
+ * of games at once.
+ * </p>
+ */
+public class ScriptedPlayer {
+
+    /**
+     * Plays the turn of the current player: rolls the die, moves, handles each
+     * square landed on and progresses the player's tasks. The turn is not
+     * ended; that is left to the caller.
+     *
+     * @param engine The game to play the turn in.
+     */
+    public void playTurn(GameEngine engine) {
+        engine.rollDie();
+        play(engine, null);
+    }
+
+    /**
+     * Plays the rest of the current player's turn after the die has been rolled,
+     * following a plan if one is given. The turn is not ended.
+     *
+     * @param engine The game to play the turn in.
+     * @param plan   The plan to follow, or null to choose goals as usual.
+     */
+    public void play(GameEngine engine, TurnPlan plan) {
+        Player player = engine.getPlayerAt();
+        BoardModel board = engine.getBoard();
+        boolean invest = plan == null || plan.isInvest();
+
+        while (player.getMovesLeft() > 0) {
+            int goal = planGoal(engine, plan);
+            if (goal < 0 || goal == player.getCoord()) {
+                plan = null; // The plan is done, so play the rest of the turn as usual
+                goal = chooseGoal(engine, player);
+            }
+            if (goal < 0 || goal == player.getCoord()) {
+                break;
+            }
+
+            // A goal exactly the moves left away is walked to over blank
+            // squares where possible, ending the turn on it
+            Direction[] route = walkingDistance(board, player.getCoord(), goal) == player.getMovesLeft()
+                    ? engine.getReachableSquares().path(goal, board.getFreeSquares())
+                    : new Direction[] { stepTowards(engine, player, goal) };
+            for (Direction direction : route) {
+                Square landed = engine.movePlayer(direction);
+                if (landed != null) {
+                    handleLanding(engine, player, landed, invest);
+                }
+            }
+        }
+
+        if (board.getSquareAt(player.getCoord()) instanceof ShopSquare) {
+            shop(engine, player);
+        }
+        progressTasks(engine, player);
+    }
+
+    /**
+     * Finds the square a plan heads for.
+     *
+     * @param engine The game being played.
+     * @param plan   The plan being followed, or null.
+     * @return The index of the plan's goal square, or -1 if there is no plan or
+     *         its goal is no longer on the board.
+     */
+    private int planGoal(GameEngine engine, TurnPlan plan) {
+        if (plan == null) {
+            return -1;
+        }
+
+        BoardModel board = engine.getBoard();
+        int from = engine.getPlayerAt().getCoord();
+        switch (plan.getGoal()) {
+            case TASK:
+                return plan.getTask() < engine.getTasks().size()
+                        ? board.getTaskPosition(engine.getTasks().get(plan.getTask()))
+                        : -1;
+            case SHOP:
+                return board.getDistanceField(SquareType.SHOPSQUARE).nearest(from);
+            default:
+                return board.getDistanceField(SquareType.MONEYSQUARE).nearest(from);
+        }
+    }
+
+    /**
+     * Chooses the square the player walks towards.
+     *
+     * @param engine The game being played.
+     * @param player The player whose turn it is.
+     * @return The index of the goal square, or -1 if there is nowhere to go.
+     */
+    private int chooseGoal(GameEngine engine, Player player) {
+        BoardModel board = engine.getBoard();
+        int[] shortfall = shortfall(engine, player);
+
+        if (needsAny(shortfall) && player.getMoney() >= shoppingMoney(engine)) {
+            return board.getDistanceField(SquareType.SHOPSQUARE).nearest(player.getCoord());
+        }
+
+        int task = nearestTask(board, player.getCoord(),
+                t -> t.getOwnedBy() == null && player.canAfford(t.getResourceType(), t.getResourceCost()));
+        if (task >= 0) {
+            return task;
+        }
+
+        return board.getDistanceField(SquareType.MONEYSQUARE).nearest(player.getCoord());
+    }
+
+    /**
+     * Finds the task square closest to the player by walking distance whose task
+     * is accepted. The closest task square of all is read from the task
+     * distance field; only when its task is not accepted are the task squares
+     * searched one by one.
+     *
+     * @param board  The board being played on.
+     * @param from   The square the player is on.
+     * @param accept Which tasks to consider.
+     * @return The index of the closest accepted task square, or -1 if there is
+     *         none.
+     */
+    private int nearestTask(BoardModel board, int from, Predicate<Task> accept) {
+        DistanceField field = board.getDistanceField(SquareType.TASKSQUARE);
+        int closest = field.nearest(from);
+        if (closest < 0 || accept.test(board.getTaskAt(closest))) {
+            return closest;
+        }
+
+        Bitboard squares = board.getSquaresOfType(SquareType.TASKSQUARE);
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (int i = squares.nextSetBit(0); i >= 0; i = squares.nextSetBit(i + 1)) {
+            if (!accept.test(board.getTaskAt(i))) {
+                continue;
+            }
+            int distance = walkingDistance(board, from, i);
+            if (distance < bestDistance) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Chooses the direction of one step that brings the player closer to a goal.
+     * Where both the row and the column still need to change, the player steps
+     * around an unclaimed task they cannot afford rather than onto it, since
+     * landing there would force them to reject it.
+     *
+     * @param engine The game being played.
+     * @param player The player whose turn it is.
+     * @param goal   The goal square.
+     * @return The direction to step in.
+     */
+    private Direction stepTowards(GameEngine engine, Player player, int goal) {
+        BoardModel board = engine.getBoard();
+        int side = board.boardSideLength;
+        int from = player.getCoord();
+        int rowDifference = goal / side - from / side;
+        int colDifference = goal % side - from % side;
+
+        Direction vertical = rowDifference > 0 ? Direction.DOWN : Direction.UP;
+        Direction horizontal = colDifference > 0 ? Direction.RIGHT : Direction.LEFT;
+        Direction first = Math.abs(rowDifference) >= Math.abs(colDifference) ? vertical : horizontal;
+        Direction second = first == vertical ? horizontal : vertical;
+
+        if (rowDifference != 0 && colDifference != 0
+                && isUnaffordableTask(board, player, board.getMoveTable().target(from, first), goal)) {
+            return second;
+        }
+        return first;
+    }
+
+    /**
+     * Checks whether a square holds an unclaimed task the player cannot afford.
+     *
+     * @param board  The board being played on.
+     * @param player The player about to step.
+     * @param square The square the player would step onto.
+     * @param goal   The goal square, which is never avoided.
+     * @return true if the player should avoid stepping onto the square.
+     */
+    private boolean isUnaffordableTask(BoardModel board, Player player, int square, int goal) {
+        Task task = board.getTaskAt(square);
+        return square != goal && task != null && task.getOwnedBy() == null
+                && !player.canAfford(task.getResourceType(), task.getResourceCost());
+    }
+
+    /**
+     * Gets the number of moves between two squares.
+     *
+     * @param board The board being played on.
+     * @param from  The first square.
+     * @param to    The second square.
+     * @return The walking distance between the squares.
+     */
+    private int walkingDistance(BoardModel board, int from, int to) {
+        int side = board.boardSideLength;
+        return Math.abs(to / side - from / side) + Math.abs(to % side - from % side);
+    }
+
+    /**
+     * Makes the choices offered by the square the player landed on.
+     *
+     * @param engine The game being played.
+     * @param player The player whose turn it is.
+     * @param landed The square the player landed on.
+     * @param invest Whether the player spends on the task they landed on.
+     */
+    private void handleLanding(GameEngine engine, Player player, Square landed, boolean invest) {
+        if (landed instanceof ShopSquare) {
+            shop(engine, player);
+        } else if (landed instanceof TaskSquare taskSquare) {
+            Task task = taskSquare.getTask();
+
+            if (task.getOwnedBy() == null) {
+                claimOrReject(engine, player, task, invest);
+            } else if (invest && task.getOwnedBy() != player && !task.isCompleted()) {
+                SubTask current = task.getCurrentSubTask();
+                if (!current.isDiscounted()
+                        && player.canAfford(current.getResourceType(), current.getResourceCost())) {
+                    engine.discountSubTask(task);
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims a task for the player, or offers it to the other players if the
+     * player cannot afford it or chooses not to. If nobody takes it, the task is
+     * rejected.
+     *
+     * @param engine The game being played.
+     * @param player The player who landed on the task.
+     * @param task   The unclaimed task.
+     * @param claim  Whether the player claims the task if they can afford it.
+     */
+    private void claimOrReject(GameEngine engine, Player player, Task task, boolean claim) {
+        if (claim && engine.purchaseTask(player, task.getResourceType(), task)) {
+            return;
+        }
+
+        for (Player other : engine.getTurnOrder()) {
+            if (other != player && engine.purchaseTask(other, task.getResourceType(), task)) {
+                return;
+            }
+        }
+        engine.rejectTask(task);
+    }
+
+    /**
+     * Buys the resources the player's tasks still need, keeping some money back
+     * for maintenance.
+     *
+     * @param engine The game being played.
+     * @param player The player at the shop.
+     */
+    private void shop(GameEngine engine, Player player) {
+        int[] shortfall = shortfall(engine, player);
+
+        int shoppingMoney = shoppingMoney(engine);
+        while (player.getMoney() >= shoppingMoney) {
+            int mostNeeded = -1;
+            for (int i = 0; i < shortfall.length; i++) {
+                if (shortfall[i] > 0 && (mostNeeded < 0 || shortfall[i] > shortfall[mostNeeded])) {
+                    mostNeeded = i;
+                }
+            }
+            if (mostNeeded < 0 || !engine.purchaseResource(ResourceType.values()[mostNeeded])) {
+                return;
+            }
+            shortfall[mostNeeded] -= engine.getRules().getResourceRewardAmount();
+        }
+    }
+
+    /**
+     * Gets the money a player needs to buy a resource while keeping two rounds
+     * of maintenance back.
+     *
+     * @param engine The game being played.
+     * @return The least money worth going shopping with.
+     */
+    private static int shoppingMoney(GameEngine engine) {
+        GameRules rules = engine.getRules();
+        return rules.getResourcePrice() + rules.getMaintenanceCostEachRound() * 2;
+    }
+
+    /**
+     * Progresses the player's tasks for as long as they can afford the next
+     * step.
+     *
+     * @param engine The game being played.
+     * @param player The player whose turn it is.
+     */
+    private void progressTasks(GameEngine engine, Player player) {
+        for (Task task : engine.getTasks()) {
+            while (task.getOwnedBy() == player && !task.isCompleted() && engine.progressTask(task)) {
+                // Keep going until the task is finished or the player runs short
+            }
+        }
+    }
+
+    /**
+     * Works out how much more of each resource the player needs to finish the
+     * tasks they own. A player without any unfinished task needs enough to
+     * claim the nearest unclaimed one.
+     *
+     * @param engine The game being played.
+     * @param player The player to look at.
+     * @return The shortfall of each resource, indexed by
+     *         {@link ResourceType#ordinal()}.
+     */
+    private int[] shortfall(GameEngine engine, Player player) {
+        int[] needed = new int[ResourceType.COUNT];
+        boolean ownsAny = false;
+        for (Task task : engine.getTasks()) {
+            if (task.getOwnedBy() != player || task.isCompleted()) {
+                continue;
+            }
+            ownsAny = true;
+            SubTask[] steps = task.getSteps();
+            for (int i = task.getCurrentStepNumber(); i < steps.length; i++) {
+                needed[task.getResourceType().ordinal()] += steps[i].getResourceCost();
+            }
+        }
+
+        if (!ownsAny) {
+            BoardModel board = engine.getBoard();
+            int unclaimed = nearestTask(board, player.getCoord(), t -> t.getOwnedBy() == null);
+            if (unclaimed >= 0) {
+                Task task = board.getTaskAt(unclaimed);
+                needed[task.getResourceType().ordinal()] += task.getResourceCost();
+            }
+        }
+        for (ResourceType resourceType : ResourceType.values()) {
+            needed[resourceType.ordinal()] -= player.getResource(resourceType);
+        }
+        needed[ResourceType.MONEY.ordinal()] = 0;
+        return needed;
+    }
+
+    /**
+     * Checks whether any resource is short.
+     *
+     * @param shortfall The shortfall of each resource.
+     * @return true if at least one resource is needed.
+     */
+    private boolean needsAny(int[] shortfall) {
+        for (int amount : shortfall) {
+            if (amount > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
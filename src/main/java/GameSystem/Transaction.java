@@ -0,0 +1,156 @@
+package GameSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import BoardGame.Player;
+import BoardGame.ResourceType;
+
+/**
+ * A Transaction is a bundle of costs and rewards for one player that a
+ * {@link GameEngine} applies as a single step: either the player can afford
+ * every cost and the whole bundle is applied, or nothing changes at all.
+ * <p>
+ * A transaction is built up with {@link #cost(ResourceType, int)},
+ * {@link #reward(ResourceType, int)}, {@link #score(int)} and
+ * {@link #then(Runnable)}, then handed to {@link GameEngine#apply(Transaction)}.
+ * The effects added with {@code then} run after the resources and score have
+ * been changed, and only if the transaction goes through.
+ * </p>
+ */
+public class Transaction {
+
+    /**
+     * The player paying the costs and receiving the rewards.
+     */
+    private final Player player;
+
+    /**
+     * The amount of each resource taken from the player, indexed by
+     * {@link ResourceType#ordinal()}.
+     */
+    private final int[] cost = new int[ResourceType.COUNT];
+
+    /**
+     * The amount of each resource given to the player, indexed by
+     * {@link ResourceType#ordinal()}.
+     */
+    private final int[] reward = new int[ResourceType.COUNT];
+
+    /**
+     * The score awarded to the player, which also counts towards the game's
+     * implementation percentage.
+     */
+    private int score;
+
+    /**
+     * The effects to run once the transaction has been applied.
+     */
+    private final List<Runnable> effects = new ArrayList<>();
+
+    /**
+     * Creates an empty transaction for a player.
+     *
+     * @param player The player paying the costs and receiving the rewards.
+     */
+    public Transaction(Player player) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null.");
+        }
+        this.player = player;
+    }
+
+    /**
+     * Adds a cost to the transaction.
+     *
+     * @param resourceType The resource to take.
+     * @param amount       The amount of the resource to take.
+     * @return This transaction.
+     */
+    public Transaction cost(ResourceType resourceType, int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cost cannot be negative.");
+        }
+        cost[resourceType.ordinal()] += amount;
+        return this;
+    }
+
+    /**
+     * Adds a reward to the transaction.
+     *
+     * @param resourceType The resource to give.
+     * @param amount       The amount of the resource to give.
+     * @return This transaction.
+     */
+    public Transaction reward(ResourceType resourceType, int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Reward cannot be negative.");
+        }
+        reward[resourceType.ordinal()] += amount;
+        return this;
+    }
+
+    /**
+     * Adds score to award to the player.
+     *
+     * @param amount The score to award.
+     * @return This transaction.
+     */
+    public Transaction score(int amount) {
+        score += amount;
+        return this;
+    }
+
+    /**
+     * Adds an effect to run once the transaction has been applied.
+     *
+     * @param effect The effect to run.
+     * @return This transaction.
+     */
+    public Transaction then(Runnable effect) {
+        effects.add(effect);
+        return this;
+    }
+
+    /**
+     * Gets the player paying the costs and receiving the rewards.
+     *
+     * @return The player of this transaction.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the score awarded by this transaction.
+     *
+     * @return The score to award.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Checks whether the player can afford every cost of the transaction.
+     *
+     * @return true if the transaction can be applied, false otherwise.
+     */
+    public boolean isAffordable() {
+        return player.canAfford(cost);
+    }
+
+    /**
+     * Applies the transaction to the player. The caller is expected to have
+     * checked {@link #isAffordable()} first.
+     */
+    void apply() {
+        player.debit(cost);
+        player.credit(reward);
+        if (score != 0) {
+            player.changeScoreBy(score);
+        }
+        for (Runnable effect : effects) {
+            effect.run();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package GameSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import BoardGame.BoardModel;
+import BoardGame.Player;
+import BoardGame.SubTask;
+import BoardGame.Task;
+import square.SquareType;
+
+/**
+ * A TurnPlan is one way a player can spend a turn: the square they head for,
+ * and whether they spend resources on the tasks they land on along the way.
+ * <p>
+ * A plan names a task by its place in {@link GameEngine#getTasks()} rather
+ * than by the task itself, so the same plan can be followed in any copy of the
+ * game. A player following a plan still shops when they end up on a shop and
+ * progresses their own tasks as far as they can, as a {@link ScriptedPlayer}
+ * does.
+ * </p>
+ */
+public final class TurnPlan {
+
+    /**
+     * The kind of square a plan heads for.
+     */
+    public enum Goal {
+        /**
+         * The square of a given task, to claim it or help with it.
+         */
+        TASK,
+
+        /**
+         * The nearest shop.
+         */
+        SHOP,
+
+        /**
+         * The nearest money square.
+         */
+        MONEY
+    }
+
+    private final Goal goal;
+    private final int task;
+    private final boolean invest;
+
+    private TurnPlan(Goal goal, int task, boolean invest) {
+        this.goal = goal;
+        this.task = task;
+        this.invest = invest;
+    }
+
+    /**
+     * Creates a plan that heads for a task to claim it or help with it.
+     *
+     * @param task The place of the task in {@link GameEngine#getTasks()}.
+     * @return The plan.
+     */
+    public static TurnPlan task(int task) {
+        if (task < 0) {
+            throw new IllegalArgumentException("Task index cannot be negative.");
+        }
+        return new TurnPlan(Goal.TASK, task, true);
+    }
+
+    /**
+     * Creates a plan that heads for the nearest shop.
+     *
+     * @param invest Whether to claim and help with tasks landed on on the way.
+     * @return The plan.
+     */
+    public static TurnPlan shop(boolean invest) {
+        return new TurnPlan(Goal.SHOP, -1, invest);
+    }
+
+    /**
+     * Creates a plan that heads for the nearest money square.
+     *
+     * @param invest Whether to claim and help with tasks landed on on the way.
+     * @return The plan.
+     */
+    public static TurnPlan money(boolean invest) {
+        return new TurnPlan(Goal.MONEY, -1, invest);
+    }
+
+    /**
+     * Lists the plans worth considering for a player in the current state of a
+     * game: each task on the board the player can claim or help with, and the
+     * nearest shop and money square both with and without spending on the way.
+     *
+     * @param engine The game being played.
+     * @param player The player about to move.
+     * @return The plans, in a fixed order for a given state.
+     */
+    public static List<TurnPlan> candidates(GameEngine engine, Player player) {
+        BoardModel board = engine.getBoard();
+        List<Task> tasks = engine.getTasks();
+        List<TurnPlan> plans = new ArrayList<>();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task.isCompleted() || board.getTaskPosition(task) < 0) {
+                continue;
+            }
+            if (task.getOwnedBy() == null) {
+                if (player.canAfford(task.getResourceType(), task.getResourceCost())) {
+                    plans.add(task(i));
+                }
+            } else if (task.getOwnedBy() != player) {
+                SubTask current = task.getCurrentSubTask();
+                if (!current.isDiscounted() && player.canAfford(current.getResourceType(), current.getResourceCost())) {
+                    plans.add(task(i));
+                }
+            }
+        }
+
+        if (!board.getSquaresOfType(SquareType.SHOPSQUARE).isEmpty()) {
+            plans.add(shop(true));
+            plans.add(shop(false));
+        }
+        if (!board.getSquaresOfType(SquareType.MONEYSQUARE).isEmpty()) {
+            plans.add(money(true));
+            plans.add(money(false));
+        }
+        return plans;
+    }
+
+    /**
+     * Gets the kind of square the plan heads for.
+     *
+     * @return The goal of the plan.
+     */
+    public Goal getGoal() {
+        return goal;
+    }
+
+    /**
+     * Gets the task the plan heads for.
+     *
+     * @return The place of the task in {@link GameEngine#getTasks()}, or -1 if
+     *         the plan does not head for a task.
+     */
+    public int getTask() {
+        return task;
+    }
+
+    /**
+     * Checks whether the plan spends resources on tasks landed on, claiming
+     * unclaimed ones and helping with other players' ones. A plan that does
+     * not passes unclaimed tasks on to the other players.
+     *
+     * @return true if the plan spends on tasks.
+     */
+    public boolean isInvest() {
+        return invest;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof TurnPlan other && goal == other.goal && task == other.task && invest == other.invest;
+    }
+
+    @Override
+    public int hashCode() {
+        return (goal.ordinal() * 31 + task) * 2 + (invest ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        String target = goal == Goal.TASK ? "task " + task : goal.name().toLowerCase();
+        return "Head for " + target + (invest ? "" : " without spending");
+    }
+}
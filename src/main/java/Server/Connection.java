@@ -0,0 +1,262 @@
+package Server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A Connection is one client of a {@link GameServer}. It gathers the bytes the
+ * client sends into lines and hands each complete line to the server, and
+ * queues the lines sent back until the client's socket can take them.
+ * <p>
+ * A connection belongs to one {@link SelectorLoop}, and only that loop reads
+ * from or writes to its channel. Any thread may {@link #send(ByteBuffer) send}
+ * to it: the bytes are queued and the loop is asked to write them out. An idle
+ * connection holds nothing but a small read buffer.
+ * </p>
+ * <p>
+ * When the client's game is too busy to take a command, the connection stops
+ * reading, keeping the command and anything after it in its buffer, until the
+ * game {@link #resume() resumes} it.
+ * </p>
+ */
+final class Connection {
+
+    private final GameServer server;
+    private final SelectorLoop loop;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ByteBuffer in = ByteBuffer.allocate(GameServer.MAX_LINE);
+    private final Queue<ByteBuffer> out = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Whether to close the connection once everything queued has been sent.
+     */
+    private volatile boolean finishing;
+
+    /**
+     * Whether reading has stopped until the client's game catches up. Only
+     * used on the loop's thread.
+     */
+    private boolean paused;
+
+    /**
+     * The game the client has joined and their seat in it, set once they
+     * join.
+     */
+    private volatile GameSession session;
+    private volatile int seat = -1;
+
+    /**
+     * Creates the connection of a newly accepted client.
+     *
+     * @param server  The server the client connected to.
+     * @param loop    The loop that serves the connection.
+     * @param channel The client's channel, in non-blocking mode.
+     * @param key     The channel's key in the loop's selector.
+     */
+    Connection(GameServer server, SelectorLoop loop, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.loop = loop;
+        this.channel = channel;
+        this.key = key;
+        server.connectionOpened();
+    }
+
+    /**
+     * Gets the game the client has joined.
+     *
+     * @return The game, or null if the client has not joined one.
+     */
+    GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * Gets the client's seat in their game.
+     *
+     * @return The place in the turn order, or -1 if the client has not joined
+     *         a game.
+     */
+    int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Records the game the client has joined.
+     *
+     * @param session The game joined.
+     * @param seat    The client's place in its turn order.
+     */
+    void joined(GameSession session, int seat) {
+        this.session = session;
+        this.seat = seat;
+    }
+
+    /**
+     * Reads what the client has sent and handles every complete line. Called
+     * by the loop when the channel is readable.
+     *
+     * @throws IOException if the channel cannot be read.
+     */
+    void read() throws IOException {
+        if (channel.read(in) < 0) {
+            close();
+            return;
+        }
+        handleLines();
+    }
+
+    /**
+     * Handles every complete line in the read buffer, stopping at one the
+     * client's game cannot take yet.
+     */
+    private void handleLines() {
+        in.flip();
+        int start = 0;
+        for (int i = 0; i < in.limit(); i++) {
+            if (in.get(i) == '\n') {
+                int end = i > start && in.get(i - 1) == '\r' ? i - 1 : i;
+                byte[] line = new byte[end - start];
+                in.get(start, line);
+                if (!server.handle(this, new String(line, StandardCharsets.US_ASCII))) {
+                    // Keep the line to handle again once resumed
+                    paused = true;
+                    break;
+                }
+                start = i + 1;
+                if (closed.get()) {
+                    return;
+                }
+            }
+        }
+        in.position(start);
+        in.compact();
+
+        if (paused) {
+            updateInterest(false);
+        } else if (!in.hasRemaining()) {
+            send(GameServer.encode("ERR Line too long"));
+            finish();
+        }
+    }
+
+    /**
+     * Starts reading again after the client's game caught up, handling the
+     * lines held back first. Any thread may call this.
+     */
+    void resume() {
+        loop.execute(() -> {
+            if (paused && !closed.get()) {
+                paused = false;
+                updateInterest(!out.isEmpty());
+                handleLines();
+            }
+        });
+    }
+
+    /**
+     * Asks the loop to wake for what the connection is waiting for: more from
+     * the client unless paused, and room to write if anything is left to send.
+     */
+    private void updateInterest(boolean writing) {
+        if (key.isValid()) {
+            key.interestOps((paused ? 0 : SelectionKey.OP_READ) | (writing ? SelectionKey.OP_WRITE : 0));
+        }
+    }
+
+    /**
+     * Sends a line to the client.
+     *
+     * @param line The line, without its line ending.
+     */
+    void send(String line) {
+        send(GameServer.encode(line));
+    }
+
+    /**
+     * Queues bytes to be sent to the client. The buffer must not be changed
+     * afterwards.
+     *
+     * @param bytes The bytes to send, from their position to their limit.
+     */
+    void send(ByteBuffer bytes) {
+        if (closed.get()) {
+            return;
+        }
+        out.add(bytes);
+        if (loop.inLoop()) {
+            flushQuietly();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Writes out as much of the queue as the socket will take. Whatever is
+     * left is written once the loop finds the channel writable again.
+     *
+     * @throws IOException if the channel cannot be written.
+     */
+    void flush() throws IOException {
+        flushScheduled.set(false);
+        ByteBuffer next;
+        while ((next = out.peek()) != null) {
+            channel.write(next);
+            if (next.hasRemaining()) {
+                updateInterest(true);
+                return;
+            }
+            out.poll();
+        }
+        if (finishing) {
+            close();
+        } else {
+            updateInterest(false);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            if (!closed.get()) {
+                flush();
+            }
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * Closes the connection once everything sent to it so far has been
+     * written out. Any thread may call this.
+     */
+    void finish() {
+        finishing = true;
+        if (loop.inLoop()) {
+            flushQuietly();
+        } else {
+            loop.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Closes the connection and leaves the client's game. Closing twice does
+     * nothing.
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        key.cancel();
+        server.closeQuietly(channel);
+        out.clear();
+        server.connectionClosed(this);
+    }
+}
@@ -0,0 +1,390 @@
+package Server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import GameSystem.GameEngine;
+
+/**
+ * The GameServer hosts many games at once for players connecting over TCP,
+ * without a display. Each game runs on its own {@link GameEngine}, so games
+ * follow exactly the same rules as the game window.
+ * <p>
+ * The server uses a handful of non-blocking {@link SelectorLoop}s rather than
+ * a thread per client. The first loop also accepts new connections, and hands
+ * each one to the loops in turn. A connected client that sends nothing costs
+ * only a small buffer, so the server can hold thousands of idle connections.
+ * </p>
+ * <p>
+ * The loops only read and write. The commands they read are sent to the
+ * {@link Mailbox} of the player's game, and a small pool of threads carries
+ * them out, each game on one thread at a time. When a game is sent commands
+ * faster than it can carry them out, the server stops reading from the
+ * clients sending them until it catches up, so TCP holds the clients back
+ * rather than the commands piling up on the server.
+ * </p>
+ * <p>
+ * The protocol is plain text, one command per line. A client first joins a
+ * game by name, which creates the game if it does not exist yet:
+ * </p>
+ * <ul>
+ * <li>{@code JOIN game name} takes the next seat of a game that has not
+ * started. A game seats up to four players.</li>
+ * <li>{@code START} starts the game with the players who have joined.</li>
+ * <li>{@code ROLL} rolls the die, once per turn.</li>
+ * <li>{@code MOVE UP|DOWN|LEFT|RIGHT} moves one square.</li>
+ * <li>{@code CLAIM}, {@code TRANSFER seat} and {@code REJECT} decide about an
+ * unclaimed task the player landed on: the player takes it, another player
+ * takes it, or nobody does and everyone pays the rejection penalty.</li>
+ * <li>{@code HELP} helps with the task of another player the player is
+ * standing on.</li>
+ * <li>{@code SHOP resource} buys a resource while on the shop.</li>
+ * <li>{@code PROGRESS task} completes the next step of a task the player
+ * owns, by its number.</li>
+ * <li>{@code END} ends the turn.</li>
+ * <li>{@code QUIT} leaves the game and closes the connection.</li>
+ * </ul>
+ * <p>
+ * Instead of joining, a client may {@code WATCH game} to follow a game without
+ * playing in it.
+ * </p>
+ * <p>
+ * Every command is answered with {@code OK} and its result, or {@code ERR}
+ * and the reason. Whoever joins or watches a game is first sent a
+ * {@code SNAPSHOT} of it. From then on they hear about each action with an
+ * {@code EVENT seat ...} line, followed by only what the action changed, as
+ * described by {@link StateDelta}. When the game ends, everyone is sent
+ * {@code OVER} and how it ended.
+ * </p>
+ * <p>
+ * Run from the command line with
+ * {@code java Server.GameServer [port] [loops] [workers]}.
+ * </p>
+ */
+public class GameServer implements Closeable {
+
+    /**
+     * The port used when none is given on the command line.
+     */
+    public static final int DEFAULT_PORT = 5058;
+
+    /**
+     * The longest line a client may send, in bytes.
+     */
+    public static final int MAX_LINE = 256;
+
+    private final ServerSocketChannel listener;
+    private final SelectorLoop[] loops;
+    private final ForkJoinPool workers;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private final Map<String, GameSession> games = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong gamesCreated = new AtomicLong();
+    private final long seed;
+
+    /**
+     * Opens a server on an address with a game thread per processor. It does
+     * not accept connections until {@link #start()} is called.
+     *
+     * @param address The address to listen on; port 0 picks a free port.
+     * @param loops   The number of selector threads.
+     * @param seed    The seed every game's seed is derived from.
+     * @throws IOException if the address cannot be listened on.
+     */
+    public GameServer(InetSocketAddress address, int loops, long seed) throws IOException {
+        this(address, loops, Runtime.getRuntime().availableProcessors(), seed);
+    }
+
+    /**
+     * Opens a server on an address. It does not accept connections until
+     * {@link #start()} is called.
+     *
+     * @param address The address to listen on; port 0 picks a free port.
+     * @param loops   The number of selector threads.
+     * @param workers The number of threads the games are played on.
+     * @param seed    The seed every game's seed is derived from.
+     * @throws IOException if the address cannot be listened on.
+     */
+    public GameServer(InetSocketAddress address, int loops, int workers, long seed) throws IOException {
+        if (loops < 1 || workers < 1) {
+            throw new IllegalArgumentException("A server needs at least one selector thread and one game thread.");
+        }
+        this.seed = seed;
+        // First in, first out, as the mailboxes are independent event handlers
+        this.workers = new ForkJoinPool(workers, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        this.loops = new SelectorLoop[loops];
+        for (int i = 0; i < loops; i++) {
+            this.loops[i] = new SelectorLoop(this, "GameServer-" + i);
+        }
+        listener = ServerSocketChannel.open();
+        listener.bind(address, 1024);
+        listener.configureBlocking(false);
+        this.loops[0].listen(listener);
+    }
+
+    /**
+     * Starts the selector threads.
+     */
+    public void start() {
+        for (SelectorLoop loop : loops) {
+            loop.start();
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The local port.
+     * @throws IOException if the port cannot be read.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) listener.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Gets the number of clients connected.
+     *
+     * @return The number of open connections.
+     */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Gets the number of games being hosted.
+     *
+     * @return The number of games with at least one player.
+     */
+    public int getGameCount() {
+        return games.size();
+    }
+
+    /**
+     * Picks the loop the next connection is served by.
+     *
+     * @return One of the loops, in turn.
+     */
+    SelectorLoop nextLoop() {
+        return loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+    }
+
+    /**
+     * Handles one line sent by a client.
+     *
+     * @param connection The client's connection.
+     * @param line       The line, without its line ending.
+     * @return true if the line was handled, false if the client's game is too
+     *         busy to take it yet, in which case the connection is
+     *         {@link Connection#resume() resumed} once the game has caught up.
+     */
+    boolean handle(Connection connection, String line) {
+        String[] words = line.trim().split("\\s+");
+        if (words[0].isEmpty()) {
+            return true;
+        }
+        words[0] = words[0].toUpperCase();
+
+        GameSession session = connection.getSession();
+        switch (words[0]) {
+            case "JOIN":
+                if (words.length != 3) {
+                    connection.send("ERR Usage: JOIN game name");
+                } else if (session != null) {
+                    connection.send("ERR Already in game " + session.getName());
+                } else {
+                    return join(connection, words[1], words[2]);
+                }
+                break;
+            case "WATCH":
+                if (words.length != 2) {
+                    connection.send("ERR Usage: WATCH game");
+                } else if (session != null) {
+                    connection.send("ERR Already in game " + session.getName());
+                } else {
+                    return watch(connection, words[1]);
+                }
+                break;
+            case "QUIT":
+                if (session == null) {
+                    connection.send("OK QUIT");
+                    connection.finish();
+                } else {
+                    // After the commands still waiting in the game
+                    session.quit(connection);
+                }
+                break;
+            default:
+                if (session == null) {
+                    connection.send("ERR Join a game first");
+                } else {
+                    return session.submit(connection, words);
+                }
+        }
+        return true;
+    }
+
+    /**
+     * Asks for a client to be added to a game, creating the game if needed.
+     * The client counts as in the game from now on, so any commands they send
+     * meanwhile follow the request into the game's mailbox.
+     *
+     * @param connection The client's connection.
+     * @param name       The name of the game.
+     * @param playerName The name the client plays under.
+     * @return false if the game is too busy to take the request yet.
+     */
+    private boolean join(Connection connection, String name, String playerName) {
+        GameSession session = game(name);
+        connection.joined(session, -1);
+        if (!session.join(connection, playerName)) {
+            connection.joined(null, -1);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Asks for a client to watch a game, creating the game if needed.
+     *
+     * @param connection The client's connection.
+     * @param name       The name of the game.
+     * @return false if the game is too busy to take the request yet.
+     */
+    private boolean watch(Connection connection, String name) {
+        GameSession session = game(name);
+        connection.joined(session, -1);
+        if (!session.watch(connection)) {
+            connection.joined(null, -1);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finds a game by name, creating it if needed.
+     *
+     * @param name The name of the game.
+     * @return The game.
+     */
+    GameSession game(String name) {
+        return games.computeIfAbsent(name,
+                key -> new GameSession(this, key, seed + gamesCreated.getAndIncrement() * GameEngine.SEED_STRIDE,
+                        workers));
+    }
+
+    /**
+     * Forgets a game everyone has left.
+     *
+     * @param session The game.
+     */
+    void retire(GameSession session) {
+        games.remove(session.getName(), session);
+    }
+
+    /**
+     * Counts a newly opened connection.
+     */
+    void connectionOpened() {
+        connections.incrementAndGet();
+    }
+
+    /**
+     * Forgets a closed connection, removing its game once nobody is left in
+     * it.
+     *
+     * @param connection The connection that closed.
+     */
+    void connectionClosed(Connection connection) {
+        connections.decrementAndGet();
+        GameSession session = connection.getSession();
+        if (session != null) {
+            session.leave(connection);
+        }
+    }
+
+    /**
+     * Encodes a line to be sent to clients.
+     *
+     * @param line The line, without its line ending.
+     * @return A buffer holding the line and a line ending, ready to be read.
+     */
+    static ByteBuffer encode(String line) {
+        return ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Encodes several lines to be sent to clients at once.
+     *
+     * @param lines The lines, each with its line ending.
+     * @return A buffer holding the lines, ready to be read.
+     */
+    static ByteBuffer encodeLines(CharSequence lines) {
+        return ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Closes a channel, ignoring any error.
+     *
+     * @param channel The channel to close.
+     */
+    void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // The channel is unusable either way
+        }
+    }
+
+    /**
+     * Stops accepting connections, closes every connection and stops the
+     * selector and game threads.
+     *
+     * @throws IOException if the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        listener.close();
+        for (SelectorLoop loop : loops) {
+            loop.shutdown();
+        }
+        for (SelectorLoop loop : loops) {
+            try {
+                loop.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.shutdownNow();
+    }
+
+    /**
+     * Runs a server from the command line until it is stopped.
+     *
+     * @param args The port, the number of selector threads and the number of
+     *             game threads, all optional.
+     * @throws IOException if the server cannot listen on the port.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int loops = args.length > 1 ? Integer.parseInt(args[1])
+                : Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        GameServer server = new GameServer(new InetSocketAddress(port), loops, workers,
+                ThreadLocalRandom.current().nextLong());
+        server.start();
+        System.out.println("Game server listening on port " + server.getPort() + " with " + loops
+                + " selector threads and " + workers + " game threads");
+    }
+}
@@ -0,0 +1,561 @@
+package Server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import BoardGame.BoardModel;
+import BoardGame.Direction;
+import BoardGame.Player;
+import BoardGame.ResourceType;
+import BoardGame.Task;
+import GameSystem.GameEngine;
+import square.ShopSquare;
+import square.Square;
+import square.TaskSquare;
+
+/**
+ * A GameSession is one game hosted by a {@link GameServer}: its
+ * {@link GameEngine} and the connections of its players. It turns the commands
+ * of the protocol into the engine's actions, replies to the player who sent
+ * them, and tells every player of the game what changed.
+ * <p>
+ * Players join before the game starts and take the seats in the order they
+ * joined. Once it has started, only the player whose turn it is may act. As
+ * in the game window, a player who lands on an unclaimed task must claim it,
+ * transfer it to another player or reject it before doing anything else.
+ * Anyone else may watch the game, hearing everything the players hear.
+ * </p>
+ * <p>
+ * Everything a command causes is gathered up while it runs: the events, then
+ * a {@link StateDelta} of only the players, squares and tasks that changed,
+ * which it hears about from the engine's change tracker and board.
+ * It is encoded once, and the same bytes are queued for every player and
+ * watcher. Players who arrive later are sent a full snapshot instead.
+ * </p>
+ * <p>
+ * The players of a game may be served by different selector threads, so they
+ * never act on the game directly. Each command is sent to the game's
+ * {@link Mailbox} and carried out in turn on one thread at a time, and only
+ * those tasks touch the fields of the session and its engine.
+ * </p>
+ */
+final class GameSession {
+
+    /**
+     * The most players a game can have.
+     */
+    static final int MAX_PLAYERS = 4;
+
+    /**
+     * The most commands that may wait for a game before its players stop
+     * being read from.
+     */
+    static final int MAILBOX_CAPACITY = 256;
+
+    private final GameServer server;
+    private final Mailbox mailbox;
+    private final String name;
+    private final GameEngine engine;
+    private final List<Connection> members = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<Connection> watchers = new ArrayList<>();
+    private final StateDelta delta;
+
+    /**
+     * The lines every player and watcher will be sent once the current task is
+     * done.
+     */
+    private final StringBuilder outbox = new StringBuilder();
+    private boolean started;
+    private boolean over;
+
+    /**
+     * Whether everyone has left and the server has forgotten the game.
+     */
+    private boolean retired;
+
+    /**
+     * Whether the current player has rolled this turn.
+     */
+    private boolean rolled;
+
+    /**
+     * The unclaimed task the current player landed on and has not yet decided
+     * about, or null.
+     */
+    private Task pending;
+
+    /**
+     * Creates a game waiting for players.
+     *
+     * @param server The server hosting the game.
+     * @param name   The name players join the game by.
+     * @param seed   The seed of the game's randomness.
+     * @param pool   The threads the game's commands are carried out on.
+     */
+    GameSession(GameServer server, String name, long seed, Executor pool) {
+        this.server = server;
+        this.mailbox = new Mailbox(pool, MAILBOX_CAPACITY);
+        this.name = name;
+        this.engine = new GameEngine(BoardModel.DEFAULT_SIDE_LENGTH, seed);
+        this.delta = new StateDelta(engine);
+        engine.getChangeTracker().addListener(delta);
+        engine.getBoard().addListener(delta);
+    }
+
+    /**
+     * Gets the name of the game.
+     *
+     * @return The name players join the game by.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the engine of the game.
+     *
+     * @return The game's engine.
+     */
+    GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Asks for a player to be added to the game. The player is told whether
+     * they joined once the game gets to the request.
+     *
+     * @param connection The player's connection.
+     * @param playerName The name of the player.
+     * @return true if the request was taken, false if the game is too busy
+     *         and the connection will be {@link Connection#resume() resumed}
+     *         once it has caught up.
+     */
+    boolean join(Connection connection, String playerName) {
+        return enqueue(connection, () -> seat(connection, playerName));
+    }
+
+    /**
+     * Adds a player whose request was already accepted by a game that has
+     * since emptied. Like leaving, this is never held back.
+     *
+     * @param connection The player's connection.
+     * @param playerName The name of the player.
+     */
+    void rejoin(Connection connection, String playerName) {
+        mailbox.execute(publishing(() -> seat(connection, playerName)));
+    }
+
+    /**
+     * Removes a player from the game. Unlike commands, this is never held
+     * back, however busy the game is.
+     *
+     * @param connection The player's connection.
+     */
+    void leave(Connection connection) {
+        mailbox.execute(publishing(() -> unseat(connection)));
+    }
+
+    /**
+     * Asks for someone to be sent everything that happens in the game without
+     * playing in it.
+     *
+     * @param connection The watcher's connection.
+     * @return true if the request was taken, false if the game is too busy.
+     */
+    boolean watch(Connection connection) {
+        return enqueue(connection, () -> addWatcher(connection));
+    }
+
+    /**
+     * Adds a watcher whose request was already accepted by a game that has
+     * since emptied.
+     *
+     * @param connection The watcher's connection.
+     */
+    void rewatch(Connection connection) {
+        mailbox.execute(publishing(() -> addWatcher(connection)));
+    }
+
+    /**
+     * Closes a player's connection once the game has carried out every
+     * command they sent before. Like leaving, this is never held back.
+     *
+     * @param connection The player's connection.
+     */
+    void quit(Connection connection) {
+        mailbox.execute(() -> {
+            connection.send("OK QUIT");
+            connection.finish();
+        });
+    }
+
+    /**
+     * Asks for one command of a player to be carried out.
+     *
+     * @param connection The player's connection.
+     * @param words      The command and its arguments.
+     * @return true if the command was taken, false if the game is too busy.
+     */
+    boolean submit(Connection connection, String[] words) {
+        return enqueue(connection, () -> handle(connection, words));
+    }
+
+    /**
+     * Sends a task of a player to the mailbox. If it is full, the player's
+     * connection is instead resumed once the game has caught up with what is
+     * already waiting, so their commands stay in the order they were sent.
+     */
+    private boolean enqueue(Connection connection, Runnable task) {
+        if (mailbox.offer(publishing(task))) {
+            return true;
+        }
+        mailbox.execute(connection::resume);
+        return false;
+    }
+
+    /**
+     * Seats a player, or tells them why they cannot join.
+     */
+    private void seat(Connection connection, String playerName) {
+        if (retired) {
+            // Everyone left while the request waited, so the server starts afresh
+            GameSession next = server.game(name);
+            connection.joined(next, -1);
+            next.rejoin(connection, playerName);
+            return;
+        } else if (started || over) {
+            connection.joined(null, -1);
+            connection.send("ERR Game " + name + " has already started");
+            return;
+        } else if (members.size() >= MAX_PLAYERS) {
+            connection.joined(null, -1);
+            connection.send("ERR Game " + name + " is full");
+            return;
+        }
+        int seat = members.size();
+        members.add(connection);
+        names.add(playerName);
+        connection.joined(this, seat);
+        connection.send("OK JOIN " + seat);
+        sendSnapshot(connection);
+        broadcast("JOINED " + seat + " " + playerName);
+    }
+
+    /**
+     * Adds a watcher and sends them the game so far.
+     */
+    private void addWatcher(Connection connection) {
+        if (retired) {
+            GameSession next = server.game(name);
+            connection.joined(next, -1);
+            next.rewatch(connection);
+            return;
+        }
+        watchers.add(connection);
+        connection.send("OK WATCH " + name);
+        sendSnapshot(connection);
+    }
+
+    /**
+     * Sends someone who has just arrived the names of the players and
+     * everything the others have been told about the game.
+     */
+    private void sendSnapshot(Connection connection) {
+        StringBuilder snapshot = new StringBuilder("SNAPSHOT\n");
+        for (int seat = 0; seat < names.size(); seat++) {
+            snapshot.append("JOINED ").append(seat).append(' ').append(names.get(seat)).append('\n');
+        }
+        if (started) {
+            snapshot.append("STARTED ").append(engine.getTurnOrder().length).append('\n');
+        }
+        delta.snapshot(snapshot);
+        connection.send(GameServer.encodeLines(snapshot));
+    }
+
+    /**
+     * Removes a player from the game. Leaving a game that has started ends it
+     * for everyone, and the server forgets a game once everyone has left.
+     */
+    private void unseat(Connection connection) {
+        int seat = members.indexOf(connection);
+        if (seat < 0) {
+            watchers.remove(connection);
+            retireIfEmpty();
+            return;
+        }
+        members.remove(seat);
+        names.remove(seat);
+        broadcast("LEFT " + seat);
+        if (started && !over) {
+            end("ABANDONED");
+        } else if (!started) {
+            // The players after the one who left move up a seat
+            for (int i = seat; i < members.size(); i++) {
+                members.get(i).joined(this, i);
+            }
+        }
+        retireIfEmpty();
+    }
+
+    /**
+     * Has the server forget the game once nobody is playing or watching.
+     */
+    private void retireIfEmpty() {
+        if (members.isEmpty() && watchers.isEmpty() && !retired) {
+            retired = true;
+            server.retire(this);
+        }
+    }
+
+    /**
+     * Carries out one command of a player.
+     */
+    private void handle(Connection connection, String[] words) {
+        String verb = words[0];
+        if (over) {
+            connection.send("ERR The game is over");
+            return;
+        }
+        if (verb.equals("START")) {
+            start(connection);
+            return;
+        }
+        if (!started) {
+            connection.send("ERR The game has not started");
+            return;
+        } else if (connection.getSeat() != engine.getTurnNumber()) {
+            connection.send("ERR It is not your turn");
+            return;
+        } else if (pending != null && !verb.equals("CLAIM") && !verb.equals("TRANSFER") && !verb.equals("REJECT")) {
+            connection.send("ERR Claim, transfer or reject the task first");
+            return;
+        }
+
+        Player player = engine.getPlayerAt();
+        int seat = engine.getTurnNumber();
+        switch (verb) {
+            case "ROLL":
+                if (rolled) {
+                    connection.send("ERR Already rolled this turn");
+                    return;
+                }
+                rolled = true;
+                int roll = engine.rollDie();
+                connection.send("OK ROLL " + roll);
+                broadcast("EVENT " + seat + " ROLL " + roll);
+                break;
+            case "MOVE":
+                Direction direction = parse(Direction.class, words, 1);
+                if (direction == null || !rolled || player.getMovesLeft() <= 0) {
+                    connection.send(direction == null ? "ERR Usage: MOVE UP|DOWN|LEFT|RIGHT" : "ERR No moves left");
+                    return;
+                }
+                Square landed = engine.movePlayer(direction);
+                if (landed instanceof TaskSquare taskSquare && taskSquare.getTask().getOwnedBy() == null) {
+                    pending = taskSquare.getTask();
+                }
+                connection.send("OK MOVE " + player.getCoord());
+                broadcast("EVENT " + seat + " MOVE " + player.getCoord());
+                if (pending != null) {
+                    broadcast("EVENT " + seat + " LANDED " + engine.getTasks().indexOf(pending));
+                }
+                break;
+            case "CLAIM":
+            case "TRANSFER":
+                Integer to = verb.equals("CLAIM") ? Integer.valueOf(seat) : parseSeat(words);
+                if (pending == null || to == null) {
+                    connection.send(pending == null ? "ERR No task to " + verb.toLowerCase()
+                            : "ERR Usage: TRANSFER seat");
+                    return;
+                }
+                Player taker = engine.getPlayerAt(to);
+                if (!engine.purchaseTask(taker, pending.getResourceType(), pending)) {
+                    connection.send("ERR Cannot afford the task");
+                    return;
+                }
+                int claimed = engine.getTasks().indexOf(pending);
+                pending = null;
+                connection.send("OK " + verb + " " + claimed);
+                broadcast("EVENT " + to + " CLAIM " + claimed);
+                break;
+            case "REJECT":
+                if (pending == null) {
+                    connection.send("ERR No task to reject");
+                    return;
+                }
+                engine.rejectTask(pending);
+                int rejected = engine.getTasks().indexOf(pending);
+                pending = null;
+                connection.send("OK REJECT " + rejected);
+                broadcast("EVENT " + seat + " REJECT " + rejected);
+                break;
+            case "HELP":
+                Task task = engine.getBoard().getTaskAt(player.getCoord());
+                if (task == null || task.getOwnedBy() == null || task.getOwnedBy() == player || task.isCompleted()
+                        || !engine.discountSubTask(task)) {
+                    connection.send("ERR Cannot help here");
+                    return;
+                }
+                connection.send("OK HELP " + engine.getTasks().indexOf(task));
+                broadcast("EVENT " + seat + " HELP " + engine.getTasks().indexOf(task));
+                break;
+            case "SHOP":
+                ResourceType resource = parse(ResourceType.class, words, 1);
+                if (resource == null || resource == ResourceType.MONEY) {
+                    connection.send("ERR Usage: SHOP ASPHALT|VOLUNTEERS|INFLUENCE|KNOWLEDGE");
+                    return;
+                } else if (!(engine.getBoard().getSquareAt(player.getCoord()) instanceof ShopSquare)
+                        || !engine.purchaseResource(resource)) {
+                    connection.send("ERR Cannot buy here");
+                    return;
+                }
+                connection.send("OK SHOP " + resource.name());
+                broadcast("EVENT " + seat + " SHOP " + resource.name());
+                break;
+            case "PROGRESS":
+                Task owned = parseTask(words);
+                if (owned == null || owned.getOwnedBy() != player || owned.isCompleted()
+                        || !engine.progressTask(owned)) {
+                    connection.send("ERR Cannot progress that task");
+                    return;
+                }
+                connection.send("OK PROGRESS " + words[1]);
+                broadcast("EVENT " + seat + " PROGRESS " + words[1]);
+                break;
+            case "END":
+                if (!rolled) {
+                    connection.send("ERR Roll before ending the turn");
+                    return;
+                }
+                engine.nextTurn();
+                rolled = false;
+                connection.send("OK END");
+                broadcast("EVENT " + seat + " END");
+                break;
+            default:
+                connection.send("ERR Unknown command " + verb);
+                return;
+        }
+
+        if (engine.checkWinCondition()) {
+            end("WIN");
+        } else {
+            for (Player each : engine.getTurnOrder()) {
+                if (each.getMoney() <= 0) {
+                    end("BAD_ENDING");
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the game with the players who have joined.
+     */
+    private void start(Connection connection) {
+        if (started) {
+            connection.send("ERR The game has already started");
+            return;
+        } else if (!members.contains(connection)) {
+            connection.send("ERR Join the game first");
+            return;
+        }
+        int[] spawns = engine.getBoard().getSpawnLocations();
+        Player[] players = new Player[members.size()];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(names.get(i), spawns[i % spawns.length]);
+        }
+        engine.setTurnOrder(players);
+        engine.startGame();
+        started = true;
+        connection.send("OK START");
+        broadcast("STARTED " + players.length);
+    }
+
+    /**
+     * Ends the game for everyone.
+     */
+    private void end(String how) {
+        over = true;
+        broadcast("OVER " + how);
+    }
+
+    /**
+     * Adds a line to what every player and watcher will be sent once the
+     * current task is done.
+     */
+    private void broadcast(String line) {
+        outbox.append(line).append('\n');
+    }
+
+    /**
+     * Wraps a task of the mailbox so that what it changed is sent once it is
+     * done.
+     */
+    private Runnable publishing(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } finally {
+                publish();
+            }
+        };
+    }
+
+    /**
+     * Sends the lines gathered by the last task and the changes it made to
+     * every player and watcher, encoding them only once.
+     */
+    private void publish() {
+        delta.delta(outbox);
+        if (outbox.length() == 0) {
+            return;
+        }
+        ByteBuffer encoded = GameServer.encodeLines(outbox);
+        outbox.setLength(0);
+        for (Connection member : members) {
+            member.send(encoded.duplicate());
+        }
+        for (Connection watcher : watchers) {
+            watcher.send(encoded.duplicate());
+        }
+    }
+
+    /**
+     * Reads the seat a command names, or null if it does not name a player of
+     * the game.
+     */
+    private Integer parseSeat(String[] words) {
+        try {
+            int seat = Integer.parseInt(words[1]);
+            return seat >= 0 && seat < engine.getTurnOrder().length ? seat : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the task a command names by its number, or null if it names none.
+     */
+    private Task parseTask(String[] words) {
+        try {
+            return engine.getTasks().get(Integer.parseInt(words[1]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the constant of an enum a command names, or null if it names none.
+     */
+    private static <E extends Enum<E>> E parse(Class<E> type, String[] words, int index) {
+        try {
+            return Enum.valueOf(type, words[index].toUpperCase());
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package Server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A Mailbox runs the tasks of one game one at a time, in the order they were
+ * sent, on a pool shared by every game. Everything a game does runs through
+ * its mailbox, so its engine, players and board are only ever changed by one
+ * thread at a time and need no locks of their own.
+ * <p>
+ * Any thread may send tasks, but only one drains them: whichever pool thread
+ * the mailbox was scheduled on. A mailbox with nothing to do holds no thread,
+ * so a few threads serve any number of games. After a batch of tasks a busy
+ * mailbox goes to the back of the pool's queue, so one busy game cannot starve
+ * the others.
+ * </p>
+ * <p>
+ * The queue is bounded: {@link #offer(Runnable)} refuses tasks once it is
+ * full, so whoever sends a flood of commands has to wait instead of the
+ * commands piling up.
+ * {@link #execute(Runnable)} always accepts, for the few tasks that must not
+ * be lost, such as a player disconnecting.
+ * </p>
+ */
+final class Mailbox implements Executor, Runnable {
+
+    /**
+     * The most tasks run before letting other mailboxes have the thread.
+     */
+    private static final int BATCH = 64;
+
+    private final Executor pool;
+    private final int capacity;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Creates an empty mailbox.
+     *
+     * @param pool     The threads the mailbox's tasks are run on.
+     * @param capacity The most tasks {@link #offer(Runnable)} lets wait.
+     */
+    Mailbox(Executor pool, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A mailbox must hold at least one task.");
+        }
+        this.pool = pool;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sends a task unless the mailbox is full.
+     *
+     * @param task The task to run.
+     * @return true if the task will run, false if the mailbox was full.
+     */
+    boolean offer(Runnable task) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return false;
+        }
+        tasks.add(task);
+        schedule();
+        return true;
+    }
+
+    /**
+     * Sends a task even if the mailbox is full.
+     *
+     * @param task The task to run.
+     */
+    @Override
+    public void execute(Runnable task) {
+        size.incrementAndGet();
+        tasks.add(task);
+        schedule();
+    }
+
+    /**
+     * Gets the number of tasks waiting.
+     *
+     * @return The number of tasks sent but not yet run.
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Puts the mailbox on the pool unless it is already there.
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            pool.execute(this);
+        }
+    }
+
+    /**
+     * Runs a batch of tasks. Called by the pool; never by anyone else.
+     */
+    @Override
+    public void run() {
+        try {
+            Runnable task;
+            for (int i = 0; i < BATCH && (task = tasks.poll()) != null; i++) {
+                size.decrementAndGet();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // One failed command must not stop the game, but its
+                    // stack trace is reported as if it had been thrown
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // Tasks sent while the last one ran would otherwise wait forever
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
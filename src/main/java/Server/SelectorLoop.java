@@ -0,0 +1,189 @@
+package Server;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A SelectorLoop is one of the few threads of a {@link GameServer}. It waits
+ * on a single {@link Selector} for any of its connections to become readable
+ * or writable and serves them in turn, so one thread looks after thousands of
+ * connections, most of them idle.
+ * <p>
+ * Other threads never touch the loop's selector or keys directly. They hand
+ * the loop a task with {@link #execute(Runnable)}, which wakes the selector
+ * and runs the task on the loop's own thread before it waits again.
+ * </p>
+ */
+final class SelectorLoop implements Runnable {
+
+    private final GameServer server;
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * Opens the selector of a loop. The loop does not run until
+     * {@link #start()} is called.
+     *
+     * @param server The server the loop belongs to.
+     * @param name   The name of the loop's thread.
+     * @throws IOException if the selector cannot be opened.
+     */
+    SelectorLoop(GameServer server, String name) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the loop's thread.
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Checks whether the caller is running on the loop's thread.
+     *
+     * @return true if called from the loop's thread.
+     */
+    boolean inLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Runs a task on the loop's thread, waking the loop if it is waiting.
+     *
+     * @param task The task to run.
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Starts listening for new connections on this loop.
+     *
+     * @param channel The listening channel, in non-blocking mode.
+     * @throws IOException if the channel cannot be registered.
+     */
+    void listen(ServerSocketChannel channel) throws IOException {
+        channel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Takes over a newly accepted connection.
+     *
+     * @param channel The channel of the connection.
+     */
+    void register(SocketChannel channel) {
+        execute(() -> {
+            try {
+                channel.configureBlocking(false);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new Connection(server, this, channel, key));
+            } catch (IOException e) {
+                server.closeQuietly(channel);
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                runTasks();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                System.err.println(thread.getName() + " stopped: " + e);
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection) {
+                    connection.close();
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Nothing more can be done while shutting down
+            }
+        }
+    }
+
+    /**
+     * Serves one ready key.
+     */
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                SocketChannel channel = ((ServerSocketChannel) key.channel()).accept();
+                if (channel != null) {
+                    server.nextLoop().register(channel);
+                }
+                return;
+            }
+            Connection connection = (Connection) key.attachment();
+            if (key.isReadable()) {
+                connection.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.flush();
+            }
+        } catch (CancelledKeyException e) {
+            // The connection was closed while it was being served
+        } catch (IOException e) {
+            if (key.attachment() instanceof Connection connection) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the tasks handed to the loop since it last woke.
+     */
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    /**
+     * Stops the loop, closing every connection it looks after.
+     */
+    void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Waits for the loop's thread to finish after {@link #shutdown()}.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    void join() throws InterruptedException {
+        thread.join();
+    }
+}
@@ -0,0 +1,281 @@
+package Server;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import BoardGame.BoardModel;
+import BoardGame.ChangeTracker;
+import BoardGame.Player;
+import BoardGame.ResourceType;
+import BoardGame.Task;
+import GameSystem.GameEngine;
+import square.MoneySquare;
+import square.Square;
+
+/**
+ * A StateDelta listens to the changes made to a hosted game, and after each
+ * action writes only what has changed since the last. Picking up money, for
+ * example, is sent as the player's new square and wallet, the square that was
+ * picked up and the square the money moved to, not as the whole board and
+ * every wallet.
+ * <p>
+ * The players' changes come from the engine's {@link ChangeTracker}, and the
+ * squares and tasks that changed from the board, so nothing is compared
+ * against a copy of the game and the cost of a delta only grows with what the
+ * action did.
+ * </p>
+ * <p>
+ * Changes are written as lines of the server's protocol, each naming only the
+ * fields that changed:
+ * </p>
+ * <ul>
+ * <li>{@code PLAYER seat} followed by any of {@code at=}, {@code moves=},
+ * {@code score=} and each resource by its lower case name, such as
+ * {@code money=}.</li>
+ * <li>{@code SQUARE index type} and, for money squares, its amount.</li>
+ * <li>{@code TASK index} followed by any of {@code at=} (its square),
+ * {@code owner=} (a seat, or -1), {@code step=} and {@code discount=} (1 if
+ * its current step is discounted).</li>
+ * <li>{@code TURN seat round}.</li>
+ * </ul>
+ * <p>
+ * Someone who joins or starts watching a game part way through is instead sent
+ * a {@link #snapshot(StringBuilder) snapshot}: the same lines with every field,
+ * for every square that is not blank. A StateDelta is not thread-safe; it
+ * belongs to its game's mailbox, which is also the only thread that changes
+ * the game.
+ * </p>
+ */
+final class StateDelta implements ChangeTracker.Listener, BoardModel.Listener {
+
+    /**
+     * The names of the fields of a task, in the order they are stored.
+     */
+    private static final String[] TASK_FIELDS = { "at", "owner", "step", "discount" };
+
+    /**
+     * The {@link ChangeTracker} bits of every field of a player: each
+     * resource, the score, the position and the moves left.
+     */
+    private static final int ALL_PLAYER_FIELDS = ChangeTracker.COORD | ChangeTracker.MOVES_LEFT
+            | ChangeTracker.SCORE | (ChangeTracker.SCORE - 1);
+
+    /**
+     * Stands in for a field nobody has been told about yet.
+     */
+    private static final int UNSENT = Integer.MIN_VALUE;
+
+    private final GameEngine engine;
+
+    /**
+     * The number of each task in the game's list of tasks.
+     */
+    private final Map<Task, Integer> taskNumbers = new IdentityHashMap<>();
+
+    /**
+     * The fields of each task last sent. There are only a few tasks, and a
+     * task marked as changed may only have changed in one field.
+     */
+    private final int[][] tasks;
+
+    /**
+     * The players last sent, by seat, and the fields of each changed since.
+     */
+    private Player[] players = new Player[0];
+    private int[] changedFields = new int[0];
+
+    /**
+     * The squares and tasks changed since the last delta.
+     */
+    private final TreeSet<Integer> changedSquares = new TreeSet<>();
+    private final BitSet changedTasks = new BitSet();
+
+    private int turn = UNSENT;
+    private int round = UNSENT;
+
+    /**
+     * Starts following a game. Its board and tasks as they are now count as
+     * sent, so they are only ever part of snapshots until they change. It is
+     * only told about changes once it is added as a listener to the engine's
+     * change tracker and board.
+     *
+     * @param engine The engine of the game.
+     */
+    StateDelta(GameEngine engine) {
+        this.engine = engine;
+        List<Task> all = engine.getTasks();
+        tasks = new int[all.size()][];
+        for (int index = 0; index < tasks.length; index++) {
+            taskNumbers.put(all.get(index), index);
+            tasks[index] = taskFields(all.get(index));
+        }
+    }
+
+    @Override
+    public void changed(List<ChangeTracker.Change> changes) {
+        for (ChangeTracker.Change change : changes) {
+            int seat = seatOf(change.getPlayer());
+            if (seat >= 0) {
+                changedFields[seat] |= change.getFields();
+            }
+        }
+    }
+
+    @Override
+    public void squareChanged(int index) {
+        changedSquares.add(index);
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        Integer number = taskNumbers.get(task);
+        if (number != null) {
+            changedTasks.set(number);
+        }
+    }
+
+    /**
+     * Writes everything about the game that has changed since the last call,
+     * and remembers it as sent.
+     *
+     * @param out Where to write the lines.
+     */
+    void delta(StringBuilder out) {
+        Player[] order = engine.getTurnOrder();
+        if (!Arrays.equals(players, order, (a, b) -> a == b ? 0 : 1)) {
+            // New players, so nobody has been told anything about them
+            players = order.clone();
+            changedFields = new int[order.length];
+            Arrays.fill(changedFields, ALL_PLAYER_FIELDS);
+        }
+        for (int seat = 0; seat < players.length; seat++) {
+            if (changedFields[seat] != 0) {
+                writePlayer(out, seat, changedFields[seat]);
+                changedFields[seat] = 0;
+            }
+        }
+
+        BoardModel board = engine.getBoard();
+        for (int index : changedSquares) {
+            writeSquare(out, index, board.getSquareAt(index));
+        }
+        changedSquares.clear();
+
+        List<Task> all = engine.getTasks();
+        for (int index = changedTasks.nextSetBit(0); index >= 0; index = changedTasks.nextSetBit(index + 1)) {
+            int[] now = taskFields(all.get(index));
+            boolean changed = false;
+            for (int field = 0; field < TASK_FIELDS.length; field++) {
+                if (now[field] != tasks[index][field]) {
+                    if (!changed) {
+                        out.append("TASK ").append(index);
+                        changed = true;
+                    }
+                    out.append(' ').append(TASK_FIELDS[field]).append('=').append(now[field]);
+                }
+            }
+            if (changed) {
+                out.append('\n');
+            }
+            tasks[index] = now;
+        }
+        changedTasks.clear();
+
+        if (players.length > 0 && (engine.getTurnNumber() != turn || engine.getRoundNumber() != round)) {
+            turn = engine.getTurnNumber();
+            round = engine.getRoundNumber();
+            writeTurn(out);
+        }
+    }
+
+    /**
+     * Writes the game as the players of the game have been told about it, with
+     * every field, for someone who has just arrived. Only squares that are not
+     * blank are written.
+     *
+     * @param out Where to write the lines.
+     */
+    void snapshot(StringBuilder out) {
+        for (Map.Entry<Integer, Square> entry : new TreeMap<>(engine.getBoard().getSpecialSquares()).entrySet()) {
+            writeSquare(out, entry.getKey(), entry.getValue());
+        }
+        for (int index = 0; index < tasks.length; index++) {
+            out.append("TASK ").append(index);
+            for (int field = 0; field < TASK_FIELDS.length; field++) {
+                out.append(' ').append(TASK_FIELDS[field]).append('=').append(tasks[index][field]);
+            }
+            out.append('\n');
+        }
+        for (int seat = 0; seat < players.length; seat++) {
+            writePlayer(out, seat, ALL_PLAYER_FIELDS);
+        }
+        if (turn != UNSENT) {
+            writeTurn(out);
+        }
+    }
+
+    /**
+     * Reads the fields of a task, in the order of {@link #TASK_FIELDS}.
+     */
+    private int[] taskFields(Task task) {
+        return new int[] {
+                engine.getBoard().getTaskPosition(task),
+                seatOf(task.getOwnedBy()),
+                task.getCurrentStepNumber(),
+                task.isCompleted() || !task.getCurrentSubTask().isDiscounted() ? 0 : 1 };
+    }
+
+    /**
+     * Writes the given fields of a player as they are now.
+     *
+     * @param fields The {@link ChangeTracker} bits of the fields to write.
+     */
+    private void writePlayer(StringBuilder out, int seat, int fields) {
+        Player player = players[seat];
+        out.append("PLAYER ").append(seat);
+        if ((fields & ChangeTracker.COORD) != 0) {
+            out.append(" at=").append(player.getCoord());
+        }
+        if ((fields & ChangeTracker.MOVES_LEFT) != 0) {
+            out.append(" moves=").append(player.getMovesLeft());
+        }
+        if ((fields & ChangeTracker.SCORE) != 0) {
+            out.append(" score=").append(player.getScore());
+        }
+        for (ResourceType resource : ResourceType.values()) {
+            if ((fields & ChangeTracker.fieldOf(resource)) != 0) {
+                out.append(' ').append(resource.name().toLowerCase()).append('=').append(player.getResource(resource));
+            }
+        }
+        out.append('\n');
+    }
+
+    private static void writeSquare(StringBuilder out, int index, Square square) {
+        out.append("SQUARE ").append(index).append(' ').append(square.getSquareType().name());
+        if (square instanceof MoneySquare moneySquare && moneySquare.getMoney() != 0) {
+            out.append(' ').append(moneySquare.getMoney());
+        }
+        out.append('\n');
+    }
+
+    private void writeTurn(StringBuilder out) {
+        out.append("TURN ").append(turn).append(' ').append(round).append('\n');
+    }
+
+    /**
+     * Finds the seat of a player, or -1 for nobody.
+     */
+    private int seatOf(Player player) {
+        for (int seat = 0; seat < players.length; seat++) {
+            if (players[seat] == player) {
+                return seat;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,169 @@
+package Simulation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import BoardGame.BoardModel;
+import GameSystem.GameEngine;
+import GameSystem.GameRules;
+
+/**
+ * The BatchSimulator samples the balance of the game much faster than the
+ * {@link MonteCarloSimulator} by playing games in batches, each batch
+ * advancing many games in lockstep (see {@link GameBatch}) instead of playing
+ * one {@link GameEngine} at a time. Batches are spread across every core.
+ * <p>
+ * Only the scripted strategy is played, and a few details of play are
+ * simplified, so rates from this simulator are close to, but not the same as,
+ * those of the Monte Carlo simulator. It is meant for sweeping many settings
+ * quickly; settings worth a closer look should be checked with the
+ * {@link MonteCarloSimulator}. Games are seeded the same way as there, so a
+ * game starts from the same board in both.
+ * </p>
+ * <p>
+ * Run from the command line with
+ * {@code java Simulation.BatchSimulator [games] [players] [maxRounds] [seed] [lanes]}.
+ * </p>
+ */
+public class BatchSimulator {
+
+    /**
+     * The number of games played side by side in each batch, unless another
+     * number is given.
+     */
+    public static final int DEFAULT_LANES = 1024;
+
+    private final int players;
+    private final int maxRounds;
+    private final long seed;
+    private final GameRules rules;
+    private final int lanes;
+
+    /**
+     * Creates a simulator with a random seed, playing default games.
+     *
+     * @param players   The number of players in each game, from 1 to 4.
+     * @param maxRounds The number of rounds after which a game is stopped.
+     */
+    public BatchSimulator(int players, int maxRounds) {
+        this(players, maxRounds, ThreadLocalRandom.current().nextLong(), GameRules.DEFAULT, DEFAULT_LANES);
+    }
+
+    /**
+     * Creates a simulator whose games are all seeded from the given seed and
+     * played under the given rules.
+     *
+     * @param players   The number of players in each game, from 1 to 4.
+     * @param maxRounds The number of rounds after which a game is stopped.
+     * @param seed      The seed of the simulation.
+     * @param rules     The prices, costs and scores every game is played with.
+     * @param lanes     The number of games played side by side in each batch.
+     */
+    public BatchSimulator(int players, int maxRounds, long seed, GameRules rules, int lanes) {
+        if (players < 1 || players > 4) {
+            throw new IllegalArgumentException("A game must have between 1 and 4 players.");
+        } else if (maxRounds < 1) {
+            throw new IllegalArgumentException("A game must last at least one round.");
+        } else if (lanes < 1) {
+            throw new IllegalArgumentException("A batch must hold at least one game.");
+        }
+        this.players = players;
+        this.maxRounds = maxRounds;
+        this.seed = seed;
+        this.rules = rules;
+        this.lanes = lanes;
+    }
+
+    /**
+     * Gets the seed of the simulation.
+     *
+     * @return The seed every game's seed is derived from.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the seed of one game of the simulation.
+     *
+     * @param game The number of the game, from 0.
+     * @return The seed that game is played from.
+     */
+    public long gameSeed(long game) {
+        return seed + game * GameEngine.SEED_STRIDE;
+    }
+
+    /**
+     * Plays a range of the simulation's games in batches, one batch after
+     * another.
+     *
+     * @param from The number of the first game.
+     * @param to   The number after the last game.
+     * @return The result of each game, in game order.
+     */
+    public GameResult[] playRange(long from, long to) {
+        if (to < from || to - from > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid range of games: " + from + " to " + to);
+        }
+        GameResult[] results = new GameResult[(int) (to - from)];
+        GameEngine template = new GameEngine(BoardModel.DEFAULT_SIDE_LENGTH, seed, rules);
+        for (int start = 0; start < results.length; start += lanes) {
+            long[] seeds = new long[Math.min(lanes, results.length - start)];
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = gameSeed(from + start + i);
+            }
+            GameResult[] batch = new GameBatch(template, players, maxRounds, seeds).play();
+            System.arraycopy(batch, 0, results, start, batch.length);
+        }
+        return results;
+    }
+
+    /**
+     * Plays the given number of games, one batch per task across the cores,
+     * and sums up their results.
+     *
+     * @param games The number of games to play.
+     * @return A report of the games.
+     */
+    public SimulationReport run(int games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative.");
+        }
+        int batches = (games + lanes - 1) / lanes;
+        return IntStream.range(0, batches)
+                .parallel()
+                .mapToObj(batch -> {
+                    SimulationReport report = new SimulationReport();
+                    long from = (long) batch * lanes;
+                    for (GameResult result : playRange(from, Math.min(from + lanes, games))) {
+                        report.add(result);
+                    }
+                    return report;
+                })
+                .collect(SimulationReport::new, SimulationReport::merge, SimulationReport::merge);
+    }
+
+    /**
+     * Runs a simulation from the command line and prints its report.
+     *
+     * @param args The number of games, players per game, maximum rounds, seed
+     *             and games per batch, all optional.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : MonteCarloSimulator.DEFAULT_GAMES;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : MonteCarloSimulator.DEFAULT_PLAYERS;
+        int maxRounds = args.length > 2 ? Integer.parseInt(args[2]) : MonteCarloSimulator.DEFAULT_MAX_ROUNDS;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : ThreadLocalRandom.current().nextLong();
+        int lanes = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_LANES;
+        BatchSimulator simulator = new BatchSimulator(players, maxRounds, seed, GameRules.DEFAULT, lanes);
+
+        System.out.println("Simulating " + games + " games of " + players + " players in batches of " + lanes
+                + " on " + Runtime.getRuntime().availableProcessors() + " cores with seed " + seed + "...");
+        long start = System.nanoTime();
+        SimulationReport report = simulator.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(report);
+        System.out.printf("Finished in %.1f s (%.0f games/s)%n", seconds, games / seconds);
+    }
+}
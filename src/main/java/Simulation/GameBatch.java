@@ -0,0 +1,728 @@
+package Simulation;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import BoardGame.Bitboard;
+import BoardGame.BoardModel;
+import BoardGame.Direction;
+import BoardGame.MoveTable;
+import BoardGame.Neighbourhood;
+import BoardGame.ResourceType;
+import BoardGame.SubTask;
+import BoardGame.Task;
+import GameSystem.GameEngine;
+import GameSystem.GameRules;
+import square.MoneySquare;
+import square.Square;
+import square.TaskSquare;
+
+/**
+ * A GameBatch plays a fixed number of games side by side in lockstep, one game
+ * per lane, for the {@link BatchSimulator}.
+ * <p>
+ * The state of every game is kept as structure-of-arrays: each piece of state
+ * (a player's square, one resource in a wallet, a task's owner or step, what
+ * is on a square) is a row of one array with a slot per lane, so that row
+ * {@code r} of lane {@code l} is at {@code r * lanes + l}. Every game takes
+ * the same turn at the same time, so the parts of a turn that are the same in
+ * every game are plain loops across a row: rolling the dice, charging
+ * maintenance and checking who has run out of money. These loops have no
+ * branches or calls, which lets the JIT compile them to vector instructions.
+ * The moves, landings and purchases of the turn depend on each game's board
+ * and are played lane by lane.
+ * </p>
+ * <p>
+ * Games start from the same board as the {@link MonteCarloSimulator} game of
+ * the same seed, and are played by the rules of {@link GameEngine} with the
+ * choices of {@link GameSystem.ScriptedPlayer}, except that the player always steps
+ * straight towards their goal and a paid out money square is moved to a free
+ * square drawn from the lane's own stream. Dice come from that stream too, so
+ * a game does not play out move for move as it does on an engine.
+ * </p>
+ */
+final class GameBatch {
+
+    private static final int MONEY = ResourceType.MONEY.ordinal();
+    private static final int RESOURCES = ResourceType.COUNT;
+    private static final int DIRECTIONS = Direction.values().length;
+    private static final int UP = Direction.UP.ordinal();
+    private static final int DOWN = Direction.DOWN.ordinal();
+    private static final int LEFT = Direction.LEFT.ordinal();
+    private static final int RIGHT = Direction.RIGHT.ordinal();
+
+    /**
+     * The amounts a new money square can pay, drawn with equal chance as
+     * {@link MoneySquare} does.
+     */
+    private static final int[] MONEY_AMOUNTS = { 15, 20, 20, 25, 30 };
+
+    /**
+     * The number of money squares on a board.
+     */
+    private static final int MONEY_SQUARES = 2;
+
+    /**
+     * Mixed into a game's seed to start its lane's stream, so that the stream
+     * does not repeat the draws that placed the board.
+     */
+    private static final long STREAM_SALT = 0xD1B54A32D192ED03L;
+
+    private final int lanes;
+    private final int players;
+    private final int maxRounds;
+    private final long[] seeds;
+
+    private final int side;
+    private final int squares;
+    private final int shop;
+    private final int[] targets;
+    private final int[][] taskGap;
+
+    private final int price;
+    private final int reward;
+    private final int maintenance;
+    private final int penalty;
+    private final int shoppingMoney;
+    private final int maxScore;
+
+    private final int tasks;
+    private final int steps;
+    private final int[] taskType;
+    private final int[] taskCost;
+    private final int[] taskScore;
+    private final int[] taskSteps;
+
+    // One slot per lane
+    private final long[] stream;
+    private final int[] movesLeft;
+    private final int[] awarded;
+    private final int[] completed;
+    private final int[] active;
+    private final int[] broke;
+    private final GameResult.Outcome[] outcome;
+    private final int[] endRound;
+
+    // One row per player
+    private final int[] coord;
+    private final int[] score;
+
+    // One row per player and resource
+    private final int[] wallet;
+
+    // One row per task
+    private final int[] owner;
+    private final int[] step;
+    private final int[] taskSquare;
+
+    // One row per subtask
+    private final int[] subCost;
+    private final int[] subScore;
+    private final boolean[] discounted;
+
+    // One row per square
+    private final int[] cellTask;
+    private final int[] cellMoney;
+
+    // One row per money square
+    private final int[] moneyAt;
+
+    /**
+     * The shortfall of each resource, worked out for one player at a time.
+     */
+    private final int[] needed = new int[RESOURCES];
+
+    /**
+     * Sets up a batch of games at their start.
+     *
+     * @param template  A game whose tasks and rules every game of the batch
+     *                  starts from.
+     * @param players   The number of players in each game.
+     * @param maxRounds The number of rounds after which a game is stopped.
+     * @param seeds     The seed of each game, one per lane.
+     */
+    GameBatch(GameEngine template, int players, int maxRounds, long[] seeds) {
+        this.lanes = seeds.length;
+        this.players = players;
+        this.maxRounds = maxRounds;
+        this.seeds = seeds.clone();
+
+        BoardModel layout = template.getBoard();
+        side = layout.boardSideLength;
+        squares = layout.getTotalSquares();
+        int[] spawns = layout.getSpawnLocations();
+        shop = spawns[0];
+
+        MoveTable moveTable = layout.getMoveTable();
+        Direction[] directions = Direction.values();
+        targets = new int[squares * DIRECTIONS];
+        taskGap = new int[squares][];
+        Neighbourhood gap = Neighbourhood.of(side, BoardModel.TASK_GAP_RADIUS);
+        for (int square = 0; square < squares; square++) {
+            for (Direction direction : directions) {
+                targets[square * DIRECTIONS + direction.ordinal()] = moveTable.target(square, direction);
+            }
+            Bitboard around = gap.around(square);
+            taskGap[square] = new int[around.cardinality()];
+            for (int i = around.nextSetBit(0), n = 0; i >= 0; i = around.nextSetBit(i + 1)) {
+                taskGap[square][n++] = i;
+            }
+        }
+
+        GameRules rules = template.getRules();
+        price = rules.getResourcePrice();
+        reward = rules.getResourceRewardAmount();
+        maintenance = rules.getMaintenanceCostEachRound();
+        penalty = rules.getTaskRejectionPenalty();
+        shoppingMoney = price + maintenance * 2;
+
+        List<Task> taskList = template.getTasks();
+        Map<Task, Integer> taskIndex = new IdentityHashMap<>();
+        tasks = taskList.size();
+        taskType = new int[tasks];
+        taskCost = new int[tasks];
+        taskScore = new int[tasks];
+        taskSteps = new int[tasks];
+        int mostSteps = 0;
+        int total = 0;
+        for (int t = 0; t < tasks; t++) {
+            Task task = taskList.get(t);
+            taskIndex.put(task, t);
+            taskType[t] = task.getResourceType().ordinal();
+            taskCost[t] = task.getResourceCost();
+            taskScore[t] = task.getCompletionScore();
+            taskSteps[t] = task.getSteps().length;
+            mostSteps = Math.max(mostSteps, taskSteps[t]);
+            total += task.getCompletionScore();
+            for (SubTask subTask : task.getSteps()) {
+                total += subTask.getCompletionScore();
+            }
+        }
+        steps = mostSteps;
+        maxScore = total;
+
+        stream = new long[lanes];
+        movesLeft = new int[lanes];
+        awarded = new int[lanes];
+        completed = new int[lanes];
+        active = new int[lanes];
+        broke = new int[lanes];
+        outcome = new GameResult.Outcome[lanes];
+        endRound = new int[lanes];
+        coord = new int[players * lanes];
+        score = new int[players * lanes];
+        wallet = new int[players * RESOURCES * lanes];
+        owner = new int[tasks * lanes];
+        step = new int[tasks * lanes];
+        taskSquare = new int[tasks * lanes];
+        subCost = new int[tasks * steps * lanes];
+        subScore = new int[tasks * steps * lanes];
+        discounted = new boolean[tasks * steps * lanes];
+        cellTask = new int[squares * lanes];
+        cellMoney = new int[squares * lanes];
+        moneyAt = new int[MONEY_SQUARES * lanes];
+
+        int startingMoney = template.getPlayerAt(0).getMoney();
+        for (int lane = 0; lane < lanes; lane++) {
+            stream[lane] = mix(seeds[lane] ^ STREAM_SALT);
+            active[lane] = 1;
+            for (int p = 0; p < players; p++) {
+                coord[at(p, lane)] = spawns[p % spawns.length];
+                wallet[at(p * RESOURCES + MONEY, lane)] = startingMoney;
+            }
+            for (int t = 0; t < tasks; t++) {
+                owner[at(t, lane)] = -1;
+                taskSquare[at(t, lane)] = -1;
+                SubTask[] subTasks = taskList.get(t).getSteps();
+                for (int s = 0; s < subTasks.length; s++) {
+                    subCost[at(t * steps + s, lane)] = subTasks[s].getResourceCost();
+                    subScore[at(t * steps + s, lane)] = subTasks[s].getCompletionScore();
+                }
+            }
+            for (int k = 0; k < MONEY_SQUARES; k++) {
+                moneyAt[at(k, lane)] = -1;
+            }
+
+            // The same board as an engine seeded the same way starts with
+            BoardModel board = new BoardModel(template.getTasks(), side, new SplittableRandom(seeds[lane]));
+            int money = 0;
+            for (Map.Entry<Integer, Square> entry : board.getSpecialSquares().entrySet()) {
+                int square = entry.getKey();
+                if (entry.getValue() instanceof TaskSquare taskSquareAt) {
+                    int t = taskIndex.get(taskSquareAt.getTask());
+                    cellTask[at(square, lane)] = t + 1;
+                    taskSquare[at(t, lane)] = square;
+                } else if (entry.getValue() instanceof MoneySquare moneySquare && money < MONEY_SQUARES) {
+                    cellMoney[at(square, lane)] = moneySquare.getMoney();
+                    moneyAt[at(money++, lane)] = square;
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays every game of the batch to its end.
+     *
+     * @return The result of each game, in lane order.
+     */
+    GameResult[] play() {
+        int running = lanes;
+        for (int round = 1; round <= maxRounds && running > 0; round++) {
+            for (int p = 0; p < players && running > 0; p++) {
+                rollDice();
+                for (int lane = 0; lane < lanes; lane++) {
+                    if (active[lane] != 0) {
+                        playTurn(lane, p);
+                        if (completed[lane] == tasks) {
+                            finish(lane, GameResult.Outcome.WIN, round);
+                            running--;
+                        }
+                    }
+                }
+
+                // The turn passes on; the last turn of a round ends it
+                int next = round;
+                if (p == players - 1) {
+                    chargeMaintenance();
+                    next++;
+                }
+                markBroke();
+                for (int lane = 0; lane < lanes; lane++) {
+                    if ((active[lane] & broke[lane]) != 0) {
+                        finish(lane, GameResult.Outcome.BAD_ENDING, next);
+                        running--;
+                    }
+                }
+            }
+        }
+
+        GameResult[] results = new GameResult[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            if (active[lane] != 0) {
+                finish(lane, GameResult.Outcome.TIMEOUT, maxRounds);
+            }
+            double percent = Math.round((double) awarded[lane] / maxScore * 1000.0) / 1000.0;
+            results[lane] = new GameResult(seeds[lane], outcome[lane], endRound[lane], percent);
+        }
+        return results;
+    }
+
+    /**
+     * Gets a player's final score in one game.
+     *
+     * @param lane The lane of the game.
+     * @param seat The player's place in the turn order.
+     * @return The player's score.
+     */
+    int getScore(int lane, int seat) {
+        return score[at(seat, lane)];
+    }
+
+    /**
+     * Gets how much of a resource a player holds at the end of one game.
+     *
+     * @param lane     The lane of the game.
+     * @param seat     The player's place in the turn order.
+     * @param resource The resource to look up.
+     * @return The amount held.
+     */
+    int getResource(int lane, int seat, ResourceType resource) {
+        return wallet[at(seat * RESOURCES + resource.ordinal(), lane)];
+    }
+
+    /**
+     * Gets the slot of a row for a lane.
+     */
+    private int at(int row, int lane) {
+        return row * lanes + lane;
+    }
+
+    /**
+     * Rolls the current player's die in every lane at once.
+     */
+    private void rollDice() {
+        for (int lane = 0; lane < lanes; lane++) {
+            long next = stream[lane] + GameEngine.SEED_STRIDE;
+            stream[lane] = next;
+            movesLeft[lane] = (int) (((mix(next) >>> 32) * 6) >>> 32) + 1;
+        }
+    }
+
+    /**
+     * Charges every player of every running game the maintenance of a round.
+     */
+    private void chargeMaintenance() {
+        for (int p = 0; p < players; p++) {
+            int row = at(p * RESOURCES + MONEY, 0);
+            for (int lane = 0; lane < lanes; lane++) {
+                wallet[row + lane] -= maintenance * active[lane];
+            }
+        }
+    }
+
+    /**
+     * Marks each lane in which a player has run out of money.
+     */
+    private void markBroke() {
+        for (int lane = 0; lane < lanes; lane++) {
+            broke[lane] = 0;
+        }
+        for (int p = 0; p < players; p++) {
+            int row = at(p * RESOURCES + MONEY, 0);
+            for (int lane = 0; lane < lanes; lane++) {
+                broke[lane] |= (wallet[row + lane] - 1) >>> 31;
+            }
+        }
+    }
+
+    /**
+     * Ends a game.
+     */
+    private void finish(int lane, GameResult.Outcome result, int round) {
+        active[lane] = 0;
+        outcome[lane] = result;
+        endRound[lane] = round;
+    }
+
+    /**
+     * Plays the rest of a player's turn in one game after the die has been
+     * rolled, as a {@link ScriptedPlayer} without a plan would.
+     */
+    private void playTurn(int lane, int p) {
+        int seat = at(p, lane);
+        while (movesLeft[lane] > 0) {
+            int from = coord[seat];
+            int goal = chooseGoal(lane, p);
+            if (goal < 0 || goal == from) {
+                break;
+            }
+
+            int to = targets[from * DIRECTIONS + stepTowards(lane, p, from, goal)];
+            coord[seat] = to;
+            movesLeft[lane]--;
+            int money = cellMoney[at(to, lane)];
+            if (money > 0) {
+                wallet[at(p * RESOURCES + MONEY, lane)] += money;
+                replaceMoneySquare(lane, to);
+            }
+            land(lane, p, to);
+        }
+
+        if (coord[seat] == shop) {
+            shop(lane, p);
+        }
+        progressTasks(lane, p);
+    }
+
+    /**
+     * Chooses the square a player walks towards: the shop when they need
+     * resources and can pay for them, else the nearest unclaimed task they can
+     * afford, else the nearest money square.
+     */
+    private int chooseGoal(int lane, int p) {
+        if (shortfall(lane, p) && wallet[at(p * RESOURCES + MONEY, lane)] >= shoppingMoney) {
+            return shop;
+        }
+
+        int task = nearestTask(lane, p, true);
+        if (task >= 0) {
+            return taskSquare[at(task, lane)];
+        }
+
+        int from = coord[at(p, lane)];
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int k = 0; k < MONEY_SQUARES; k++) {
+            int square = moneyAt[at(k, lane)];
+            if (square >= 0 && distance(from, square) < bestDistance) {
+                best = square;
+                bestDistance = distance(from, square);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the unclaimed task on the board closest to a player.
+     *
+     * @param affordable Whether only tasks the player can claim count.
+     * @return The index of the task, or -1 if there is none.
+     */
+    private int nearestTask(int lane, int p, boolean affordable) {
+        int from = coord[at(p, lane)];
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int t = 0; t < tasks; t++) {
+            int square = taskSquare[at(t, lane)];
+            if (square < 0 || owner[at(t, lane)] >= 0
+                    || affordable && wallet[at(p * RESOURCES + taskType[t], lane)] < taskCost[t]) {
+                continue;
+            }
+            int distance = distance(from, square);
+            if (distance < bestDistance) {
+                best = t;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Chooses the direction of one step towards a goal, stepping around an
+     * unclaimed task the player cannot afford when there is a choice.
+     */
+    private int stepTowards(int lane, int p, int from, int goal) {
+        int rowDifference = goal / side - from / side;
+        int colDifference = goal % side - from % side;
+
+        int vertical = rowDifference > 0 ? DOWN : UP;
+        int horizontal = colDifference > 0 ? RIGHT : LEFT;
+        int first = Math.abs(rowDifference) >= Math.abs(colDifference) ? vertical : horizontal;
+        int second = first == vertical ? horizontal : vertical;
+
+        if (rowDifference != 0 && colDifference != 0) {
+            int square = targets[from * DIRECTIONS + first];
+            int t = cellTask[at(square, lane)] - 1;
+            if (square != goal && t >= 0 && owner[at(t, lane)] < 0
+                    && wallet[at(p * RESOURCES + taskType[t], lane)] < taskCost[t]) {
+                return second;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Makes the choices offered by the square a player landed on.
+     */
+    private void land(int lane, int p, int square) {
+        if (square == shop) {
+            shop(lane, p);
+            return;
+        }
+
+        int t = cellTask[at(square, lane)] - 1;
+        if (t < 0) {
+            return;
+        }
+        if (owner[at(t, lane)] < 0) {
+            claimOrReject(lane, p, t);
+        } else if (owner[at(t, lane)] != p) {
+            discountSubTask(lane, p, t);
+        }
+    }
+
+    /**
+     * Claims a task for the player who landed on it, or else for the first
+     * other player who can afford it. If nobody can, every player pays the
+     * rejection penalty.
+     */
+    private void claimOrReject(int lane, int p, int t) {
+        if (claim(lane, p, t)) {
+            return;
+        }
+        for (int other = 0; other < players; other++) {
+            if (other != p && claim(lane, other, t)) {
+                return;
+            }
+        }
+        for (int q = 0; q < players; q++) {
+            wallet[at(q * RESOURCES + MONEY, lane)] -= penalty;
+        }
+    }
+
+    /**
+     * Claims a task for a player if they can afford it.
+     */
+    private boolean claim(int lane, int p, int t) {
+        int slot = at(p * RESOURCES + taskType[t], lane);
+        if (wallet[slot] < taskCost[t]) {
+            return false;
+        }
+        wallet[slot] -= taskCost[t];
+        owner[at(t, lane)] = p;
+        return true;
+    }
+
+    /**
+     * Helps with the current subtask of another player's task, paying half its
+     * cost for half its score and halving what is left for the owner.
+     */
+    private void discountSubTask(int lane, int p, int t) {
+        int sub = at(t * steps + step[at(t, lane)], lane);
+        int slot = at(p * RESOURCES + taskType[t], lane);
+        int cost = subCost[sub];
+        if (discounted[sub] || wallet[slot] < cost) {
+            return;
+        }
+
+        int gained = subScore[sub] / 2;
+        wallet[slot] -= cost / 2;
+        score[at(p, lane)] += gained;
+        awarded[lane] += gained;
+        subCost[sub] = cost / 2 + cost % 2;
+        subScore[sub] = subScore[sub] / 2 + subScore[sub] % 2;
+        discounted[sub] = true;
+    }
+
+    /**
+     * Buys the resources a player's tasks still need, keeping two rounds of
+     * maintenance back.
+     */
+    private void shop(int lane, int p) {
+        shortfall(lane, p);
+        int money = at(p * RESOURCES + MONEY, lane);
+        while (wallet[money] >= shoppingMoney && reward > 0) {
+            int mostNeeded = -1;
+            for (int r = 0; r < RESOURCES; r++) {
+                if (needed[r] > 0 && (mostNeeded < 0 || needed[r] > needed[mostNeeded])) {
+                    mostNeeded = r;
+                }
+            }
+            if (mostNeeded < 0) {
+                return;
+            }
+            wallet[money] -= price;
+            wallet[at(p * RESOURCES + mostNeeded, lane)] += reward;
+            needed[mostNeeded] -= reward;
+        }
+    }
+
+    /**
+     * Works out how much more of each resource a player needs to finish the
+     * tasks they own, or to claim the nearest unclaimed task if they own none.
+     *
+     * @return true if any resource is short.
+     */
+    private boolean shortfall(int lane, int p) {
+        for (int r = 0; r < RESOURCES; r++) {
+            needed[r] = 0;
+        }
+
+        boolean ownsAny = false;
+        for (int t = 0; t < tasks; t++) {
+            int current = step[at(t, lane)];
+            if (owner[at(t, lane)] != p || current >= taskSteps[t]) {
+                continue;
+            }
+            ownsAny = true;
+            for (int s = current; s < taskSteps[t]; s++) {
+                needed[taskType[t]] += subCost[at(t * steps + s, lane)];
+            }
+        }
+        if (!ownsAny) {
+            int unclaimed = nearestTask(lane, p, false);
+            if (unclaimed >= 0) {
+                needed[taskType[unclaimed]] += taskCost[unclaimed];
+            }
+        }
+
+        boolean isShort = false;
+        for (int r = 0; r < RESOURCES; r++) {
+            needed[r] = r == MONEY ? 0 : needed[r] - wallet[at(p * RESOURCES + r, lane)];
+            isShort |= needed[r] > 0;
+        }
+        return isShort;
+    }
+
+    /**
+     * Completes the steps of a player's tasks for as long as they can afford
+     * them, clearing the square of each task finished.
+     */
+    private void progressTasks(int lane, int p) {
+        for (int t = 0; t < tasks; t++) {
+            if (owner[at(t, lane)] != p) {
+                continue;
+            }
+            int slot = at(p * RESOURCES + taskType[t], lane);
+            int stepSlot = at(t, lane);
+            while (step[stepSlot] < taskSteps[t]) {
+                int sub = at(t * steps + step[stepSlot], lane);
+                if (wallet[slot] < subCost[sub]) {
+                    break;
+                }
+                wallet[slot] -= subCost[sub];
+                int gained = subScore[sub];
+                if (++step[stepSlot] == taskSteps[t]) {
+                    gained += taskScore[t];
+                    completed[lane]++;
+                    cellTask[at(taskSquare[stepSlot], lane)] = 0;
+                    taskSquare[stepSlot] = -1;
+                }
+                score[at(p, lane)] += gained;
+                awarded[lane] += gained;
+            }
+        }
+    }
+
+    /**
+     * Moves a paid out money square to a free square away from the tasks and
+     * the players, drawing candidates from the lane's stream.
+     */
+    private void replaceMoneySquare(int lane, int from) {
+        int replacement = -1;
+        for (int tries = 0; tries < squares && replacement < 0; tries++) {
+            int square = nextInt(lane, squares);
+            if (isFree(lane, square)) {
+                replacement = square;
+            }
+        }
+
+        cellMoney[at(from, lane)] = 0;
+        if (replacement >= 0) {
+            cellMoney[at(replacement, lane)] = MONEY_AMOUNTS[nextInt(lane, MONEY_AMOUNTS.length)];
+        }
+        for (int k = 0; k < MONEY_SQUARES; k++) {
+            if (moneyAt[at(k, lane)] == from) {
+                moneyAt[at(k, lane)] = replacement;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a money square may be placed on a square.
+     */
+    private boolean isFree(int lane, int square) {
+        if (square == shop || cellMoney[at(square, lane)] != 0) {
+            return false;
+        }
+        for (int near : taskGap[square]) {
+            if (cellTask[at(near, lane)] != 0) {
+                return false;
+            }
+        }
+        for (int p = 0; p < players; p++) {
+            if (coord[at(p, lane)] == square) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of moves between two squares.
+     */
+    private int distance(int from, int to) {
+        return Math.abs(to / side - from / side) + Math.abs(to % side - from % side);
+    }
+
+    /**
+     * Draws a whole number from 0 up to a bound from a lane's stream.
+     */
+    private int nextInt(int lane, int bound) {
+        long next = stream[lane] + GameEngine.SEED_STRIDE;
+        stream[lane] = next;
+        return (int) (((mix(next) >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Mixes 64 bits with the finaliser of SplitMix64.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
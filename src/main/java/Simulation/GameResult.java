@@ -0,0 +1,113 @@
+package Simulation;
+
+import GameSystem.AchievementRanker.Award;
+
+/**
+ * The outcome of one simulated game.
+ */
+public class GameResult {
+
+    /**
+     * How a simulated game ended.
+     */
+    public enum Outcome {
+        /**
+         * Every objective was completed.
+         */
+        WIN,
+
+        /**
+         * A player ran out of money.
+         */
+        BAD_ENDING,
+
+        /**
+         * The game was stopped after the round limit.
+         */
+        TIMEOUT
+    }
+
+    private final long seed;
+    private final Outcome outcome;
+    private final int rounds;
+    private final double implementationPercent;
+    private final Award[] awards;
+
+    /**
+     * Creates the result of a game whose achievements were not worked out.
+     *
+     * @param seed                  The seed the game was played from.
+     * @param outcome               How the game ended.
+     * @param rounds                The round the game ended in.
+     * @param implementationPercent The implementation percentage at the end of
+     *                              the game, as a fraction.
+     */
+    public GameResult(long seed, Outcome outcome, int rounds, double implementationPercent) {
+        this(seed, outcome, rounds, implementationPercent, null);
+    }
+
+    /**
+     * Creates the result of a game, with the achievement each player won.
+     *
+     * @param seed                  The seed the game was played from.
+     * @param outcome               How the game ended.
+     * @param rounds                The round the game ended in.
+     * @param implementationPercent The implementation percentage at the end of
+     *                              the game, as a fraction.
+     * @param awards                The award of each player in turn order, or
+     *                              null if they were not worked out.
+     */
+    public GameResult(long seed, Outcome outcome, int rounds, double implementationPercent, Award[] awards) {
+        this.seed = seed;
+        this.outcome = outcome;
+        this.rounds = rounds;
+        this.implementationPercent = implementationPercent;
+        this.awards = awards == null ? null : awards.clone();
+    }
+
+    /**
+     * Gets the seed the game was played from, which replays the game.
+     *
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets how the game ended.
+     *
+     * @return The outcome of the game.
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Gets the round the game ended in.
+     *
+     * @return The number of rounds played.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Gets the implementation percentage at the end of the game.
+     *
+     * @return The implementation percentage as a fraction (e.g. 0.762).
+     */
+    public double getImplementationPercent() {
+        return implementationPercent;
+    }
+
+    /**
+     * Gets the achievement each player won at the end of the game.
+     *
+     * @return The award of each player in turn order, or null if they were not
+     *         worked out.
+     */
+    public Award[] getAwards() {
+        return awards == null ? null : awards.clone();
+    }
+}
@@ -0,0 +1,419 @@
+package Simulation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import BoardGame.Player;
+import GameSystem.BotPlayer;
+import GameSystem.GameEngine;
+import GameSystem.ScriptedPlayer;
+import GameSystem.TurnPlan;
+
+/**
+ * An MctsPlayer is a computer-controlled player that chooses each turn's
+ * {@link TurnPlan} with a Monte Carlo tree search, playing out the game from
+ * copies of the current state to see which plan leads furthest.
+ * <p>
+ * The search is open-loop: a node of the tree stands for the plans the player
+ * has chosen so far rather than for a state, and each play-out draws fresh
+ * dice, so the statistics of a plan average over every way the dice can fall.
+ * Other players' turns, and the player's own turns below the tree, are played
+ * by a {@link ScriptedPlayer}. Play-outs stop after
+ * {@link #HORIZON_ROUNDS} rounds and are scored by the implementation
+ * percentage reached, which every player shares.
+ * </p>
+ * <p>
+ * The search runs until its time budget is spent, so a decision always takes
+ * about the budget. Each core grows its own tree from the same state (root
+ * parallelisation) and the trees are combined by adding up the visits of each
+ * first plan. After the player's turn the subtree of the plan that was played
+ * becomes the next root, so the work done for later turns is kept.
+ * </p>
+ * <p>
+ * The trees share a {@link TranspositionTable} of the states reached after
+ * each of the player's plans. When a plan is tried for the first time and
+ * leads to a state already in the table, by another route or in another
+ * worker's tree, the plan starts with up to {@link #PRIOR_VISITS} of that
+ * state's play-outs.
+ * </p>
+ */
+public class MctsPlayer extends BotPlayer {
+
+    /**
+     * The time budget used when none is given, kept under the 100 ms a decision
+     * may take.
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 80;
+
+    /**
+     * The number of rounds each play-out looks ahead.
+     */
+    public static final int HORIZON_ROUNDS = 8;
+
+    /**
+     * The weight of exploration against the average score in the UCB1 rule,
+     * suited to scores between 0 and 1.
+     */
+    private static final double EXPLORATION = Math.sqrt(0.5);
+
+    /**
+     * The number of slots in a player's own transposition table.
+     */
+    public static final int DEFAULT_TABLE_ENTRIES = 1 << 16;
+
+    /**
+     * The most play-outs a plan takes from the transposition table, so that
+     * the plan's own play-outs soon outweigh them.
+     */
+    public static final int PRIOR_VISITS = 4;
+
+    private final long budgetMillis;
+    private final int workers;
+    private final ScriptedPlayer script = new ScriptedPlayer();
+    private final TranspositionTable table;
+
+    /**
+     * The source of the seeds of the copies searched, kept apart from the
+     * game's own randomness so that searching does not change the game.
+     */
+    private final SplittableRandom seeds = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+
+    /**
+     * The root of each worker's tree, kept between turns of the same game.
+     */
+    private Node[] roots;
+    private GameEngine rootGame;
+
+    /**
+     * The number of play-outs run for the last decision.
+     */
+    private long lastIterations;
+
+    /**
+     * One node of an open-loop search tree: the statistics of each plan that
+     * can follow the plans leading to it.
+     */
+    private static final class Node {
+        private TurnPlan[] plans;
+        private Node[] children;
+        private int[] visits;
+        private double[] totals;
+        private int tried;
+        private int totalVisits;
+
+        /**
+         * Sets the plans of the node the first time it is reached, in a random
+         * order so that the workers try them in different orders.
+         */
+        private void expand(List<TurnPlan> candidates, SplittableRandom random) {
+            plans = candidates.toArray(new TurnPlan[0]);
+            for (int i = plans.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                TurnPlan swap = plans[i];
+                plans[i] = plans[j];
+                plans[j] = swap;
+            }
+            children = new Node[plans.length];
+            visits = new int[plans.length];
+            totals = new double[plans.length];
+        }
+
+        /**
+         * Chooses the next plan to try: each plan once, then by UCB1.
+         */
+        private int select() {
+            if (tried < plans.length) {
+                return tried++;
+            }
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double logTotal = Math.log(totalVisits);
+            for (int i = 0; i < plans.length; i++) {
+                double value = totals[i] / visits[i] + EXPLORATION * Math.sqrt(logTotal / visits[i]);
+                if (value > bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Gets the subtree below a plan, if it has been grown.
+         */
+        private Node childFor(TurnPlan plan) {
+            if (plans != null) {
+                for (int i = 0; i < plans.length; i++) {
+                    if (plans[i].equals(plan)) {
+                        return children[i];
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Creates a player that searches for the default budget on every core.
+     *
+     * @param name  The name shown for the player.
+     * @param coord The square the player starts on.
+     */
+    public MctsPlayer(String name, int coord) {
+        this(name, coord, DEFAULT_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a player with a given search budget and number of workers.
+     *
+     * @param name         The name shown for the player.
+     * @param coord        The square the player starts on.
+     * @param budgetMillis The time each decision may take, in milliseconds.
+     * @param workers      The number of trees grown side by side.
+     */
+    public MctsPlayer(String name, int coord, long budgetMillis, int workers) {
+        this(name, coord, budgetMillis, workers, new TranspositionTable(DEFAULT_TABLE_ENTRIES));
+    }
+
+    /**
+     * Creates a player with a given search budget and number of workers that
+     * shares a transposition table, for example with other players searching
+     * the same game.
+     *
+     * @param name         The name shown for the player.
+     * @param coord        The square the player starts on.
+     * @param budgetMillis The time each decision may take, in milliseconds.
+     * @param workers      The number of trees grown side by side.
+     * @param table        The table of the states already seen.
+     */
+    public MctsPlayer(String name, int coord, long budgetMillis, int workers, TranspositionTable table) {
+        super(name, coord);
+        if (budgetMillis < 0) {
+            throw new IllegalArgumentException("Budget cannot be negative.");
+        } else if (workers < 1) {
+            throw new IllegalArgumentException("There must be at least one worker.");
+        }
+        this.budgetMillis = budgetMillis;
+        this.workers = workers;
+        this.table = table;
+    }
+
+    /**
+     * Plays the player's turn: rolls the die, searches for the best plan for
+     * the roll and follows it. The turn is not ended.
+     *
+     * @param engine The game being played, in which it must be this player's
+     *               turn.
+     */
+    @Override
+    public void playTurn(GameEngine engine) {
+        if (engine.getPlayerAt() != this) {
+            throw new IllegalStateException("It is not " + getName() + "'s turn.");
+        }
+        engine.rollDie();
+        TurnPlan plan = decide(engine);
+        script.play(engine, plan);
+
+        // Keep the part of each tree that follows the plan just played
+        for (int w = 0; w < roots.length; w++) {
+            Node next = roots[w].childFor(plan);
+            roots[w] = next != null ? next : new Node();
+        }
+    }
+
+    /**
+     * Searches for the best plan for the rest of the player's turn, from the
+     * game as it stands.
+     *
+     * @param engine The game being played, in which it must be this player's
+     *               turn.
+     * @return The plan with the most play-outs, or the first candidate plan if
+     *         none was played out.
+     */
+    public TurnPlan decide(GameEngine engine) {
+        int seat = seatOf(engine);
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+
+        GameEngine state = engine.copy(seeds.nextLong());
+        List<TurnPlan> candidates = TurnPlan.candidates(state, state.getTurnOrder()[seat]);
+        if (engine != rootGame || roots == null) {
+            roots = new Node[workers];
+            for (int w = 0; w < workers; w++) {
+                roots[w] = new Node();
+            }
+            rootGame = engine;
+        }
+
+        // Each worker searches its own copy of the state
+        GameEngine[] states = new GameEngine[workers];
+        long[] workerSeeds = new long[workers];
+        for (int w = 0; w < workers; w++) {
+            workerSeeds[w] = seeds.nextLong();
+            states[w] = state.copy(workerSeeds[w]);
+        }
+        lastIterations = IntStream.range(0, workers)
+                .parallel()
+                .mapToLong(w -> search(roots[w], states[w], seat, new SplittableRandom(workerSeeds[w]), deadline))
+                .sum();
+
+        // Add up the visits of each first plan across the trees
+        Map<TurnPlan, Long> visits = new HashMap<>();
+        for (Node root : roots) {
+            if (root.plans != null) {
+                for (int i = 0; i < root.plans.length; i++) {
+                    visits.merge(root.plans[i], (long) root.visits[i], Long::sum);
+                }
+            }
+        }
+        TurnPlan best = candidates.isEmpty() ? TurnPlan.money(true) : candidates.get(0);
+        long bestVisits = -1;
+        for (TurnPlan plan : candidates) {
+            long planVisits = visits.getOrDefault(plan, 0L);
+            if (planVisits > bestVisits) {
+                best = plan;
+                bestVisits = planVisits;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the number of play-outs run for the last decision, across every
+     * worker.
+     *
+     * @return The number of play-outs.
+     */
+    public long getLastIterations() {
+        return lastIterations;
+    }
+
+    /**
+     * Runs play-outs into one tree until the deadline, always running at least
+     * one.
+     *
+     * @return The number of play-outs run.
+     */
+    private long search(Node root, GameEngine state, int seat, SplittableRandom random, long deadline) {
+        long iterations = 0;
+        do {
+            playOut(root, state.copy(random.nextLong()), seat, random);
+            iterations++;
+        } while (System.nanoTime() < deadline);
+        return iterations;
+    }
+
+    /**
+     * Runs one play-out: follows the tree down, choosing the player's plan at
+     * each of their turns, adds one new plan to the tree, plays on to the
+     * horizon with the scripted player and records the score along the path.
+     */
+    private void playOut(Node root, GameEngine game, int seat, SplittableRandom random) {
+        int horizon = game.getRoundNumber() + HORIZON_ROUNDS;
+        Node[] pathNodes = new Node[HORIZON_ROUNDS + 2];
+        int[] pathChoices = new int[HORIZON_ROUNDS + 2];
+        long[] pathStates = new long[HORIZON_ROUNDS + 2];
+        int depth = 0;
+
+        // The die has already been rolled for the first turn
+        boolean rolled = true;
+        boolean over = false;
+        Node node = root;
+        while (true) {
+            if (node.plans == null) {
+                node.expand(TurnPlan.candidates(game, game.getPlayerAt()), random);
+            }
+            if (node.plans.length == 0) {
+                break;
+            }
+            int choice = node.select();
+            boolean fresh = node.visits[choice] == 0;
+            pathNodes[depth] = node;
+            pathChoices[depth++] = choice;
+
+            if (!rolled) {
+                game.rollDie();
+            }
+            rolled = false;
+            script.play(game, node.plans[choice]);
+            pathStates[depth - 1] = game.getStateHash();
+            if (fresh) {
+                // Start from what is known about the state the plan led to
+                long known = table.probe(pathStates[depth - 1]);
+                int prior = Math.min(TranspositionTable.visitsOf(known), PRIOR_VISITS);
+                node.visits[choice] += prior;
+                node.totals[choice] += prior * TranspositionTable.meanOf(known);
+                node.totalVisits += prior;
+            }
+            over = endTurn(game);
+
+            // The other players take their turns before this player's next one
+            while (!over && game.getPlayerAt() != game.getTurnOrder()[seat]) {
+                script.playTurn(game);
+                over = endTurn(game);
+            }
+            if (over || fresh || game.getRoundNumber() > horizon || depth == pathNodes.length) {
+                break;
+            }
+            if (node.children[choice] == null) {
+                node.children[choice] = new Node();
+            }
+            node = node.children[choice];
+        }
+
+        // Play on to the horizon
+        if (rolled) {
+            script.play(game, null);
+            over = endTurn(game);
+        }
+        while (!over && game.getRoundNumber() <= horizon) {
+            script.playTurn(game);
+            over = endTurn(game);
+        }
+
+        double score = game.getImplementationPercent();
+        for (int i = 0; i < depth; i++) {
+            pathNodes[i].visits[pathChoices[i]]++;
+            pathNodes[i].totals[pathChoices[i]] += score;
+            pathNodes[i].totalVisits++;
+            table.record(pathStates[i], score);
+        }
+    }
+
+    /**
+     * Ends the current turn of a game being played out.
+     *
+     * @return true if the game is over: every objective is complete or a player
+     *         has run out of money.
+     */
+    private static boolean endTurn(GameEngine game) {
+        if (game.checkWinCondition()) {
+            return true;
+        }
+        game.nextTurn();
+        for (Player player : game.getTurnOrder()) {
+            if (player.getMoney() <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds this player's seat in a game.
+     *
+     * @return The place of this player in the turn order.
+     */
+    private int seatOf(GameEngine engine) {
+        Player[] turnOrder = engine.getTurnOrder();
+        for (int i = 0; i < turnOrder.length; i++) {
+            if (turnOrder[i] == this) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(getName() + " is not playing in this game.");
+    }
+}
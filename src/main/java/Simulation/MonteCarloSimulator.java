@@ -0,0 +1,305 @@
+package Simulation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import BoardGame.BoardModel;
+import BoardGame.Player;
+import GameSystem.AchievementRanker;
+import GameSystem.GameEngine;
+import GameSystem.GameRules;
+import GameSystem.ScriptedPlayer;
+
+/**
+ * The MonteCarloSimulator plays many complete games between
+ * {@link ScriptedPlayer}s without a display, spread across every core, and
+ * sums up how they ended in a {@link SimulationReport}. It is used to tune the
+ * prices, rewards and payouts of the game.
+ * <p>
+ * Each game runs on its own {@link GameEngine}, so it follows exactly the same
+ * rules as a game played through the game window. A game is won when every
+ * objective is completed and ends badly when a player runs out of money at the
+ * end of a round, as in the game window. Games still going after the round
+ * limit are stopped and counted as timeouts.
+ * </p>
+ * <p>
+ * Every game is seeded from the simulator's seed and its own number, so a run
+ * gives the same report however its games are spread over the cores, and any
+ * single game can be replayed from the seed in its {@link GameResult}.
+ * </p>
+ * <p>
+ * Run from the command line with
+ * {@code java Simulation.MonteCarloSimulator [games] [players] [maxRounds] [seed] [resultsFile]}.
+ * Given a results file, the simulator saves the players of every game to it
+ * with a {@link ResultWriter}.
+ * </p>
+ */
+public class MonteCarloSimulator {
+
+    /**
+     * The defaults used when an argument is not given on the command line.
+     */
+    public static final int DEFAULT_GAMES = 100_000;
+    public static final int DEFAULT_PLAYERS = 2;
+    public static final int DEFAULT_MAX_ROUNDS = 200;
+
+    /**
+     * The number of games played between checks of a stopping rule, and the
+     * number each core plays at a time within those games.
+     */
+    public static final int GAMES_PER_CHECK = 1024;
+    private static final int GAMES_PER_BLOCK = 64;
+
+    private final int players;
+    private final int maxRounds;
+    private final long seed;
+    private final GameRules rules;
+    private final ScriptedPlayer script = new ScriptedPlayer();
+
+    /**
+     * Creates a simulator with a random seed.
+     *
+     * @param players   The number of players in each game, from 1 to 4.
+     * @param maxRounds The number of rounds after which a game is stopped.
+     */
+    public MonteCarloSimulator(int players, int maxRounds) {
+        this(players, maxRounds, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a simulator whose games are all seeded from the given seed.
+     *
+     * @param players   The number of players in each game, from 1 to 4.
+     * @param maxRounds The number of rounds after which a game is stopped.
+     * @param seed      The seed of the simulation.
+     */
+    public MonteCarloSimulator(int players, int maxRounds, long seed) {
+        this(players, maxRounds, seed, GameRules.DEFAULT);
+    }
+
+    /**
+     * Creates a simulator whose games are all seeded from the given seed and
+     * played under the given rules.
+     *
+     * @param players   The number of players in each game, from 1 to 4.
+     * @param maxRounds The number of rounds after which a game is stopped.
+     * @param seed      The seed of the simulation.
+     * @param rules     The prices, costs and scores every game is played with.
+     */
+    public MonteCarloSimulator(int players, int maxRounds, long seed, GameRules rules) {
+        if (players < 1 || players > 4) {
+            throw new IllegalArgumentException("A game must have between 1 and 4 players.");
+        } else if (maxRounds < 1) {
+            throw new IllegalArgumentException("A game must last at least one round.");
+        }
+        this.players = players;
+        this.maxRounds = maxRounds;
+        this.seed = seed;
+        this.rules = rules;
+    }
+
+    /**
+     * Gets the seed of the simulation.
+     *
+     * @return The seed every game's seed is derived from.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the rules the games are played under.
+     *
+     * @return The prices, costs and scores of every game.
+     */
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Gets the seed of one game of the simulation.
+     *
+     * @param game The number of the game, from 0.
+     * @return The seed that game is played from.
+     */
+    public long gameSeed(long game) {
+        return seed + game * GameEngine.SEED_STRIDE;
+    }
+
+    /**
+     * Plays one complete game from a seed.
+     *
+     * @param gameSeed The seed of the game.
+     * @return The result of the game.
+     */
+    public GameResult playGame(long gameSeed) {
+        return playGame(gameSeed, null);
+    }
+
+    /**
+     * Plays one complete game from a seed, saving its players to a results
+     * file when the game ends.
+     *
+     * @param gameSeed The seed of the game.
+     * @param sink     The file to add the game's players to, or null.
+     * @return The result of the game.
+     */
+    private GameResult playGame(long gameSeed, ResultWriter sink) {
+        GameEngine engine = new GameEngine(BoardModel.DEFAULT_SIDE_LENGTH, gameSeed, rules);
+
+        int[] spawns = engine.getBoard().getSpawnLocations();
+        Player[] turnOrder = new Player[players];
+        for (int i = 0; i < players; i++) {
+            turnOrder[i] = new Player("Player " + (i + 1), spawns[i % spawns.length]);
+        }
+        engine.setTurnOrder(turnOrder);
+        engine.startGame();
+
+        GameResult.Outcome outcome = null;
+        int rounds = maxRounds;
+        while (outcome == null && engine.getRoundNumber() <= maxRounds) {
+            script.playTurn(engine);
+            if (engine.checkWinCondition()) {
+                outcome = GameResult.Outcome.WIN;
+                rounds = engine.getRoundNumber();
+                break;
+            }
+
+            engine.nextTurn();
+            for (Player player : turnOrder) {
+                if (player.getMoney() <= 0) {
+                    outcome = GameResult.Outcome.BAD_ENDING;
+                    rounds = engine.getRoundNumber();
+                    break;
+                }
+            }
+        }
+        if (outcome == null) {
+            outcome = GameResult.Outcome.TIMEOUT;
+        }
+
+        // The game is over, so drawing the achievement tie-breaks cannot change it
+        GameResult result = new GameResult(gameSeed, outcome, rounds, engine.getImplementationPercent(),
+                AchievementRanker.rank(turnOrder, engine.getRandom()));
+
+        if (sink != null) {
+            try {
+                sink.write(result, turnOrder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plays a range of the simulation's games one after another and sums up
+     * their results.
+     *
+     * @param from The number of the first game.
+     * @param to   The number after the last game.
+     * @return A report of the games.
+     */
+    public SimulationReport runRange(long from, long to) {
+        SimulationReport report = new SimulationReport();
+        for (long i = from; i < to; i++) {
+            report.add(playGame(gameSeed(i)));
+        }
+        return report;
+    }
+
+    /**
+     * Plays the given number of games in parallel and sums up their results.
+     *
+     * @param games The number of games to play.
+     * @return A report of the games.
+     */
+    public SimulationReport run(int games) {
+        return run(games, null);
+    }
+
+    /**
+     * Plays the given number of games in parallel, saving the players of each
+     * game to a results file as it ends, and sums up their results.
+     *
+     * @param games The number of games to play.
+     * @param sink  The file to add every game's players to, or null.
+     * @return A report of the games.
+     */
+    public SimulationReport run(int games, ResultWriter sink) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative.");
+        }
+        return IntStream.range(0, games)
+                .parallel()
+                .mapToObj(i -> playGame(gameSeed(i), sink))
+                .collect(SimulationReport::new, SimulationReport::add, SimulationReport::merge);
+    }
+
+    /**
+     * Plays games in parallel until a stopping rule is resolved or a game limit
+     * is reached, and sums up their results.
+     * <p>
+     * Games are played in waves of {@link #GAMES_PER_CHECK}, spread across the
+     * cores in blocks, and the rule is checked once each wave has finished.
+     * The simulation therefore always stops after a whole number of waves, so
+     * a seeded run stops after the same games every time.
+     * </p>
+     *
+     * @param maxGames The most games to play.
+     * @param rule     The rule that decides when enough games have been played.
+     * @return A report of the games played.
+     */
+    public SimulationReport runUntil(int maxGames, StoppingRule rule) {
+        if (maxGames < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative.");
+        }
+        SimulationReport report = new SimulationReport();
+        for (long wave = 0; wave < maxGames && !rule.isResolved(report); wave += GAMES_PER_CHECK) {
+            long first = wave;
+            long last = Math.min(maxGames, wave + GAMES_PER_CHECK);
+            int blocks = (int) ((last - first + GAMES_PER_BLOCK - 1) / GAMES_PER_BLOCK);
+            report.merge(IntStream.range(0, blocks)
+                    .parallel()
+                    .mapToObj(block -> runRange(first + (long) block * GAMES_PER_BLOCK,
+                            Math.min(last, first + (long) (block + 1) * GAMES_PER_BLOCK)))
+                    .collect(SimulationReport::new, SimulationReport::merge, SimulationReport::merge));
+        }
+        return report;
+    }
+
+    /**
+     * Runs a simulation from the command line and prints its report.
+     *
+     * @param args The number of games, players per game, maximum rounds, seed
+     *             and a results file to save every player to, all optional.
+     * @throws IOException if the results file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PLAYERS;
+        int maxRounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_ROUNDS;
+        MonteCarloSimulator simulator = args.length > 3
+                ? new MonteCarloSimulator(players, maxRounds, Long.parseLong(args[3]))
+                : new MonteCarloSimulator(players, maxRounds);
+
+        System.out.println("Simulating " + games + " games of " + players + " players on "
+                + Runtime.getRuntime().availableProcessors() + " cores with seed " + simulator.getSeed() + "...");
+        long start = System.nanoTime();
+        SimulationReport report;
+        if (args.length > 4) {
+            try (ResultWriter sink = new ResultWriter(Paths.get(args[4]))) {
+                report = simulator.run(games, sink);
+            }
+        } else {
+            report = simulator.run(games);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(report);
+        System.out.printf("Finished in %.1f s (%.0f games/s)%n", seconds, games / seconds);
+    }
+}
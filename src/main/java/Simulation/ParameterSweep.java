@@ -0,0 +1,426 @@
+package Simulation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+import GameSystem.GameRules;
+import GameSystem.GameRules.Setting;
+
+/**
+ * A ParameterSweep plays many simulated games for every combination of a grid
+ * of {@link GameRules} settings and ranks the combinations by how close their
+ * win rate comes to a target, so the economy of the game can be tuned without
+ * recompiling and playing through it by hand.
+ * <p>
+ * The games of every combination are split into blocks, and the blocks of all
+ * combinations are shared out over a fork/join pool, so a few slow
+ * combinations do not hold up the others. Every combination plays the same
+ * game seeds, so the differences between combinations come from the settings
+ * rather than from the dice, and a sweep gives the same results however its
+ * blocks are spread over the cores.
+ * </p>
+ * <p>
+ * Run from the command line with
+ * {@code java Simulation.ParameterSweep output targetWinRate games SETTING=v1,v2,... [players=n] [rounds=n] [seed=n] [margin=d] [ci=d]},
+ * where each {@code SETTING} is the name of a {@link Setting}. The ranked
+ * combinations are written to the output file as comma-separated values.
+ * Given a {@code margin}, a combination stops early once a
+ * {@link StoppingRule#sprtAround sequential test} decides whether its win rate
+ * is below or above the target by that margin; given {@code ci}, once its win
+ * rate is known to within that margin of error. With neither, every
+ * combination plays all of its games.
+ * </p>
+ */
+public class ParameterSweep {
+
+    /**
+     * The number of games a block plays before handing back to the pool.
+     */
+    private static final int GAMES_PER_BLOCK = 64;
+
+    /**
+     * The number of blocks each combination plays between checks of a
+     * stopping rule.
+     */
+    public static final int BLOCKS_PER_CHECK = 16;
+
+    private final GameRules base;
+    private final Map<Setting, int[]> axes = new EnumMap<>(Setting.class);
+    private final int players;
+    private final int maxRounds;
+    private final int games;
+    private final long seed;
+
+    /**
+     * The rules and results of one combination of settings.
+     */
+    public static final class Result {
+        private final GameRules rules;
+        private final SimulationReport report;
+        private final double distance;
+
+        private Result(GameRules rules, SimulationReport report, double targetWinRate) {
+            this.rules = rules;
+            this.report = report;
+            this.distance = Math.abs(report.getRate(GameResult.Outcome.WIN) - targetWinRate);
+        }
+
+        /**
+         * Gets the rules the games of the combination were played under.
+         *
+         * @return The rules of the combination.
+         */
+        public GameRules getRules() {
+            return rules;
+        }
+
+        /**
+         * Gets the report of the games of the combination.
+         *
+         * @return The report of the combination.
+         */
+        public SimulationReport getReport() {
+            return report;
+        }
+
+        /**
+         * Gets how far the combination's win rate is from the target.
+         *
+         * @return The absolute difference between the win rate and the target.
+         */
+        public double getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * Creates a sweep over a grid of settings.
+     *
+     * @param base      The rules the settings not swept are taken from.
+     * @param axes      The values to try for each swept setting.
+     * @param players   The number of players in each game, from 1 to 4.
+     * @param maxRounds The number of rounds after which a game is stopped.
+     * @param games     The number of games played for each combination.
+     * @param seed      The seed every combination's games are played from.
+     */
+    public ParameterSweep(GameRules base, Map<Setting, int[]> axes, int players, int maxRounds, int games,
+            long seed) {
+        if (players < 1 || players > 4) {
+            throw new IllegalArgumentException("A game must have between 1 and 4 players.");
+        } else if (maxRounds < 1) {
+            throw new IllegalArgumentException("A game must last at least one round.");
+        } else if (games < 1) {
+            throw new IllegalArgumentException("Each combination must play at least one game.");
+        }
+        for (Map.Entry<Setting, int[]> axis : axes.entrySet()) {
+            if (axis.getValue().length == 0) {
+                throw new IllegalArgumentException("No values given for " + axis.getKey() + ".");
+            }
+            this.axes.put(axis.getKey(), axis.getValue().clone());
+        }
+        this.base = base;
+        this.players = players;
+        this.maxRounds = maxRounds;
+        this.games = games;
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the number of combinations in the grid.
+     *
+     * @return The product of the number of values of each swept setting.
+     */
+    public int getCombinations() {
+        long combinations = 1;
+        for (int[] values : axes.values()) {
+            combinations *= values.length;
+            if (combinations > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too many combinations to sweep.");
+            }
+        }
+        return (int) combinations;
+    }
+
+    /**
+     * Gets the rules of one combination of the grid. The last swept setting
+     * changes fastest.
+     *
+     * @param index The number of the combination, from 0.
+     * @return The rules of that combination.
+     */
+    public GameRules combination(int index) {
+        if (index < 0 || index >= getCombinations()) {
+            throw new IllegalArgumentException("Combination out of range: " + index);
+        }
+        GameRules rules = base;
+        List<Setting> settings = new ArrayList<>(axes.keySet());
+        for (int i = settings.size() - 1; i >= 0; i--) {
+            int[] values = axes.get(settings.get(i));
+            rules = rules.with(settings.get(i), values[index % values.length]);
+            index /= values.length;
+        }
+        return rules;
+    }
+
+    /**
+     * Plays every combination's games on the common fork/join pool and ranks
+     * the combinations.
+     *
+     * @param targetWinRate The share of games that should be won, from 0 to 1.
+     * @return The results of every combination, closest to the target first.
+     */
+    public List<Result> run(double targetWinRate) {
+        return run(targetWinRate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays every combination's games on a given fork/join pool and ranks the
+     * combinations.
+     *
+     * @param targetWinRate The share of games that should be won, from 0 to 1.
+     * @param pool          The pool to play the games on.
+     * @return The results of every combination, closest to the target first.
+     */
+    public List<Result> run(double targetWinRate, ForkJoinPool pool) {
+        return run(targetWinRate, pool, null);
+    }
+
+    /**
+     * Plays each combination's games on a given fork/join pool until a
+     * stopping rule is resolved for it, and ranks the combinations.
+     * <p>
+     * The blocks of every combination still playing are shared out over the
+     * pool {@link #BLOCKS_PER_CHECK} at a time. Once a wave of blocks is done,
+     * the rule is checked for each of those combinations, and those it
+     * resolves play no more games. Every combination stops after a whole
+     * number of waves, so a seeded sweep gives the same results every time.
+     * </p>
+     *
+     * @param targetWinRate The share of games that should be won, from 0 to 1.
+     * @param pool          The pool to play the games on.
+     * @param rule          The rule that decides when a combination has played
+     *                      enough games, or null to play every game.
+     * @return The results of every combination, closest to the target first.
+     */
+    public List<Result> run(double targetWinRate, ForkJoinPool pool, StoppingRule rule) {
+        if (targetWinRate < 0 || targetWinRate > 1) {
+            throw new IllegalArgumentException("Target win rate must be between 0 and 1.");
+        }
+        int combinations = getCombinations();
+        int blocks = (games + GAMES_PER_BLOCK - 1) / GAMES_PER_BLOCK;
+        MonteCarloSimulator[] simulators = new MonteCarloSimulator[combinations];
+        SimulationReport[] totals = new SimulationReport[combinations];
+        for (int i = 0; i < combinations; i++) {
+            simulators[i] = new MonteCarloSimulator(players, maxRounds, seed, combination(i));
+            totals[i] = new SimulationReport();
+        }
+
+        // Each block fills its own slot, so the workers never share a report
+        SimulationReport[][] reports = new SimulationReport[combinations][blocks];
+        boolean[] resolved = new boolean[combinations];
+        int wave = rule == null ? blocks : BLOCKS_PER_CHECK;
+        for (int start = 0; start < blocks; start += wave) {
+            int end = Math.min(blocks, start + wave);
+            long[] jobs = new long[combinations * (end - start)];
+            int count = 0;
+            for (int i = 0; i < combinations; i++) {
+                for (int block = start; block < end && !resolved[i]; block++) {
+                    jobs[count++] = (long) i * blocks + block;
+                }
+            }
+            if (count == 0) {
+                break;
+            }
+            pool.invoke(new Blocks(simulators, reports, jobs, 0, count));
+
+            for (int i = 0; i < combinations; i++) {
+                if (resolved[i]) {
+                    continue;
+                }
+                for (int block = start; block < end; block++) {
+                    totals[i].merge(reports[i][block]);
+                    reports[i][block] = null;
+                }
+                resolved[i] = rule != null && rule.isResolved(totals[i]);
+            }
+        }
+
+        List<Result> results = new ArrayList<>(combinations);
+        for (int i = 0; i < combinations; i++) {
+            results.add(new Result(simulators[i].getRules(), totals[i], targetWinRate));
+        }
+        // The sort is stable, so ties stay in grid order
+        results.sort(Comparator.comparingDouble(Result::getDistance));
+        return results;
+    }
+
+    /**
+     * A range of blocks of games, split in half until a single block is left.
+     * Each block is numbered by its combination times the blocks per
+     * combination plus its place in the combination.
+     */
+    private final class Blocks extends RecursiveAction {
+        private final MonteCarloSimulator[] simulators;
+        private final SimulationReport[][] reports;
+        private final long[] jobs;
+        private final int from;
+        private final int to;
+
+        private Blocks(MonteCarloSimulator[] simulators, SimulationReport[][] reports, long[] jobs, int from,
+                int to) {
+            this.simulators = simulators;
+            this.reports = reports;
+            this.jobs = jobs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Blocks(simulators, reports, jobs, from, middle),
+                        new Blocks(simulators, reports, jobs, middle, to));
+                return;
+            }
+            int blocks = reports[0].length;
+            int combination = (int) (jobs[from] / blocks);
+            int block = (int) (jobs[from] % blocks);
+            long firstGame = (long) block * GAMES_PER_BLOCK;
+            reports[combination][block] = simulators[combination].runRange(firstGame,
+                    Math.min(games, firstGame + GAMES_PER_BLOCK));
+        }
+    }
+
+    /**
+     * Writes ranked results as comma-separated values, one combination per
+     * line with a header line first.
+     *
+     * @param results The results to write, in the order they are ranked.
+     * @param output  The file to write, replaced if it exists.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(List<Result> results, Path output) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            writer.write("rank");
+            for (Setting setting : axes.keySet()) {
+                writer.write("," + setting);
+            }
+            writer.write(",games,win_rate,distance,bad_ending_rate,timeout_rate,mean_rounds,mean_implementation");
+            writer.newLine();
+
+            int rank = 1;
+            for (Result result : results) {
+                SimulationReport report = result.getReport();
+                writer.write(Integer.toString(rank++));
+                for (Setting setting : axes.keySet()) {
+                    writer.write("," + result.getRules().get(setting));
+                }
+                writer.write(String.format(Locale.ROOT, ",%d,%.4f,%.4f,%.4f,%.4f,%.2f,%.4f",
+                        report.getGames(),
+                        report.getRate(GameResult.Outcome.WIN),
+                        result.getDistance(),
+                        report.getRate(GameResult.Outcome.BAD_ENDING),
+                        report.getRate(GameResult.Outcome.TIMEOUT),
+                        report.getMeanRounds(),
+                        report.getMeanImplementationPercent()));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Runs a sweep from the command line and writes its ranked results.
+     *
+     * @param args The output file, target win rate and games per combination,
+     *             followed by {@code SETTING=v1,v2,...} for each swept setting
+     *             and optionally {@code players=n}, {@code rounds=n},
+     *             {@code seed=n}, {@code margin=d} and {@code ci=d}.
+     * @throws IOException if the output file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: java Simulation.ParameterSweep output targetWinRate games "
+                    + "SETTING=v1,v2,... [players=n] [rounds=n] [seed=n] [margin=d] [ci=d]");
+            System.exit(1);
+        }
+        Path output = Paths.get(args[0]);
+        double targetWinRate = Double.parseDouble(args[1]);
+        int games = Integer.parseInt(args[2]);
+
+        Map<Setting, int[]> axes = new EnumMap<>(Setting.class);
+        int players = MonteCarloSimulator.DEFAULT_PLAYERS;
+        int maxRounds = MonteCarloSimulator.DEFAULT_MAX_ROUNDS;
+        long seed = ThreadLocalRandom.current().nextLong();
+        StoppingRule rule = null;
+        for (int i = 3; i < args.length; i++) {
+            int equals = args[i].indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected name=value but got " + args[i]);
+            }
+            String name = args[i].substring(0, equals);
+            String value = args[i].substring(equals + 1);
+            switch (name) {
+                case "players":
+                    players = Integer.parseInt(value);
+                    break;
+                case "rounds":
+                    maxRounds = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "margin":
+                    rule = orElse(rule, StoppingRule.sprtAround(targetWinRate, Double.parseDouble(value), 0.05));
+                    break;
+                case "ci":
+                    rule = orElse(rule, StoppingRule.winRateWithin(Double.parseDouble(value)));
+                    break;
+                default:
+                    String[] parts = value.split(",");
+                    int[] values = new int[parts.length];
+                    for (int j = 0; j < parts.length; j++) {
+                        values[j] = Integer.parseInt(parts[j].trim());
+                    }
+                    axes.put(Setting.valueOf(name), values);
+            }
+        }
+
+        ParameterSweep sweep = new ParameterSweep(GameRules.DEFAULT, axes, players, maxRounds, games, seed);
+        System.out.println("Sweeping " + sweep.getCombinations() + " combinations of " + games + " games on "
+                + ForkJoinPool.commonPool().getParallelism() + " workers with seed " + seed + "...");
+        long start = System.nanoTime();
+        List<Result> results = sweep.run(targetWinRate, ForkJoinPool.commonPool(), rule);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sweep.write(results, output);
+
+        Result best = results.get(0);
+        System.out.printf(Locale.ROOT, "Closest to a %.1f%% win rate: %s (%.1f%%)%n", targetWinRate * 100,
+                best.getRules(), best.getReport().getRate(GameResult.Outcome.WIN) * 100);
+        long played = 0;
+        for (Result result : results) {
+            played += result.getReport().getGames();
+        }
+        System.out.printf("Finished %d games in %.1f s, results written to %s%n", played, seconds, output);
+    }
+
+    /**
+     * Combines two stopping rules given on the command line, stopping once
+     * either is resolved.
+     */
+    private static StoppingRule orElse(StoppingRule first, StoppingRule second) {
+        return first == null ? second : first.or(second);
+    }
+}
@@ -0,0 +1,67 @@
+package Simulation;
+
+/**
+ * A column of a results file written by a {@link ResultWriter}. Each row of
+ * the file is one player at the end of one simulated game.
+ */
+public enum ResultColumn {
+    /**
+     * The seed the game was played from, which identifies the game.
+     */
+    SEED(Long.BYTES),
+
+    /**
+     * The player's place in the turn order, from 0.
+     */
+    SEAT(Byte.BYTES),
+
+    /**
+     * How the game ended, as the ordinal of a {@link GameResult.Outcome}.
+     */
+    OUTCOME(Byte.BYTES),
+
+    /**
+     * The round the game ended in.
+     */
+    ROUNDS(Integer.BYTES),
+
+    /**
+     * The player's score.
+     */
+    SCORE(Integer.BYTES),
+
+    /**
+     * The player's money.
+     */
+    MONEY(Integer.BYTES),
+
+    /**
+     * The total money the player spent at the shop.
+     */
+    MONEY_SPENT(Integer.BYTES),
+
+    /**
+     * The number of squares the player moved.
+     */
+    MOVES_TRAVELLED(Integer.BYTES),
+
+    /**
+     * The number of times the player helped with another player's task.
+     */
+    TIMES_HELPED(Integer.BYTES);
+
+    private final int width;
+
+    ResultColumn(int width) {
+        this.width = width;
+    }
+
+    /**
+     * Gets the number of bytes each value of the column takes in a file.
+     *
+     * @return The width of a value.
+     */
+    public int getWidth() {
+        return width;
+    }
+}
@@ -0,0 +1,180 @@
+package Simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ResultReader loads the columns of a file written by a
+ * {@link ResultWriter} into primitive arrays for analysis.
+ * <p>
+ * Opening a file only reads its header and the row count of each block. Each
+ * column is then read on its own, a block at a time, straight from its place
+ * in the file, so loading one metric of millions of games does not touch the
+ * bytes of the others.
+ * </p>
+ */
+public class ResultReader implements Closeable {
+
+    private static final ResultColumn[] COLUMNS = ResultColumn.values();
+
+    private final FileChannel channel;
+
+    /**
+     * The position of each block's first column in the file, and its number
+     * of rows.
+     */
+    private final List<long[]> blocks = new ArrayList<>();
+    private final long rows;
+
+    /**
+     * Opens a results file and finds its blocks.
+     *
+     * @param path The file to read.
+     * @throws IOException if the file cannot be read or is not a results file.
+     */
+    public ResultReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, 3 * Integer.BYTES);
+            if (header.getInt() != ResultWriter.MAGIC) {
+                throw new IOException(path + " is not a results file.");
+            } else if (header.getInt() != ResultWriter.VERSION) {
+                throw new IOException(path + " was written by an unsupported version.");
+            } else if (header.getInt() != COLUMNS.length) {
+                throw new IOException(path + " has a different set of columns.");
+            }
+
+            int rowWidth = 0;
+            for (ResultColumn column : COLUMNS) {
+                rowWidth += column.getWidth();
+            }
+            long position = 3 * Integer.BYTES;
+            long total = 0;
+            long size = channel.size();
+            while (position < size) {
+                int blockRows = read(position, Integer.BYTES).getInt();
+                position += Integer.BYTES;
+                blocks.add(new long[] { position, blockRows });
+                position += (long) blockRows * rowWidth;
+                total += blockRows;
+            }
+            if (position != size) {
+                throw new IOException(path + " ends part way through a block.");
+            }
+            rows = total;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of rows in the file.
+     *
+     * @return One row per player per game.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Loads a column of whole numbers. Narrower columns are widened, and
+     * {@link ResultColumn#SEED} cannot be read this way.
+     *
+     * @param column The column to load.
+     * @return Every value of the column, in row order.
+     * @throws IOException if the file cannot be read.
+     */
+    public int[] readInts(ResultColumn column) throws IOException {
+        if (column.getWidth() > Integer.BYTES) {
+            throw new IllegalArgumentException(column + " does not fit in an int; use readLongs.");
+        }
+        int[] values = new int[rowCount()];
+        int filled = 0;
+        for (long[] block : blocks) {
+            int blockRows = (int) block[1];
+            ByteBuffer bytes = read(columnPosition(block, column), blockRows * column.getWidth());
+            if (column.getWidth() == Integer.BYTES) {
+                bytes.asIntBuffer().get(values, filled, blockRows);
+            } else {
+                for (int i = 0; i < blockRows; i++) {
+                    values[filled + i] = bytes.get();
+                }
+            }
+            filled += blockRows;
+        }
+        return values;
+    }
+
+    /**
+     * Loads a column of 64-bit values.
+     *
+     * @param column The column to load, which must be 8 bytes wide.
+     * @return Every value of the column, in row order.
+     * @throws IOException if the file cannot be read.
+     */
+    public long[] readLongs(ResultColumn column) throws IOException {
+        if (column.getWidth() != Long.BYTES) {
+            throw new IllegalArgumentException(column + " is not a 64-bit column; use readInts.");
+        }
+        long[] values = new long[rowCount()];
+        int filled = 0;
+        for (long[] block : blocks) {
+            int blockRows = (int) block[1];
+            read(columnPosition(block, column), blockRows * Long.BYTES).asLongBuffer().get(values, filled, blockRows);
+            filled += blockRows;
+        }
+        return values;
+    }
+
+    /**
+     * Gets the number of rows as an array length.
+     */
+    private int rowCount() {
+        if (rows > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many rows to load into one array: " + rows);
+        }
+        return (int) rows;
+    }
+
+    /**
+     * Finds where a column of a block starts in the file.
+     */
+    private static long columnPosition(long[] block, ResultColumn column) {
+        long position = block[0];
+        for (int i = 0; i < column.ordinal(); i++) {
+            position += block[1] * COLUMNS[i].getWidth();
+        }
+        return position;
+    }
+
+    /**
+     * Reads a range of the file into a new little-endian buffer.
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
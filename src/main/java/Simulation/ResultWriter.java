@@ -0,0 +1,164 @@
+package Simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import BoardGame.Player;
+
+/**
+ * A ResultWriter saves the players of finished simulated games to a binary
+ * file laid out by column, so that millions of games can be written without
+ * formatting any text and a single metric can be loaded back without reading
+ * the others.
+ * <p>
+ * Rows are gathered in one direct buffer per {@link ResultColumn}. When the
+ * buffers hold {@link #ROWS_PER_BLOCK} rows they are written out as a block:
+ * the number of rows, then every value of the first column, then every value
+ * of the second, and so on, in a single gathering write to the file's
+ * {@link FileChannel}. The file starts with a header naming the format and the
+ * number of columns. All values are little-endian.
+ * </p>
+ * <p>
+ * The writer can be shared by the threads of a simulation: each game's
+ * players are added as one step, so the rows of a game are never split up.
+ * Rows are kept in the order games finish, and each row carries its game's
+ * seed. Use {@link ResultReader} to read a file back.
+ * </p>
+ */
+public class ResultWriter implements Closeable {
+
+    /**
+     * The first four bytes of every results file.
+     */
+    static final int MAGIC = 0x45574252;
+
+    /**
+     * The version of the file layout.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The number of rows gathered before a block is written.
+     */
+    public static final int ROWS_PER_BLOCK = 1 << 16;
+
+    private static final ResultColumn[] COLUMNS = ResultColumn.values();
+
+    private final FileChannel channel;
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer[] columns = new ByteBuffer[COLUMNS.length];
+    private final ByteBuffer[] block = new ByteBuffer[COLUMNS.length + 1];
+    private int rows;
+    private long totalRows;
+
+    /**
+     * Creates a results file, replacing any file already at the path, and
+     * writes its header.
+     *
+     * @param path The file to write.
+     * @throws IOException if the file cannot be created.
+     */
+    public ResultWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        for (ResultColumn column : COLUMNS) {
+            columns[column.ordinal()] = ByteBuffer.allocateDirect(ROWS_PER_BLOCK * column.getWidth())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        block[0] = blockHeader;
+        System.arraycopy(columns, 0, block, 1, columns.length);
+
+        ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(COLUMNS.length).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Adds a row for every player of a finished game.
+     *
+     * @param result  The result of the game.
+     * @param players The players of the game, in turn order.
+     * @throws IOException if a full block cannot be written.
+     */
+    public synchronized void write(GameResult result, Player[] players) throws IOException {
+        for (int seat = 0; seat < players.length; seat++) {
+            Player player = players[seat];
+            columns[ResultColumn.SEED.ordinal()].putLong(result.getSeed());
+            columns[ResultColumn.SEAT.ordinal()].put((byte) seat);
+            columns[ResultColumn.OUTCOME.ordinal()].put((byte) result.getOutcome().ordinal());
+            columns[ResultColumn.ROUNDS.ordinal()].putInt(result.getRounds());
+            columns[ResultColumn.SCORE.ordinal()].putInt(player.getScore());
+            columns[ResultColumn.MONEY.ordinal()].putInt(player.getMoney());
+            columns[ResultColumn.MONEY_SPENT.ordinal()].putInt(player.getMoneySpent());
+            columns[ResultColumn.MOVES_TRAVELLED.ordinal()].putInt(player.getMovesTravelled());
+            columns[ResultColumn.TIMES_HELPED.ordinal()].putInt(player.getTimesHelped());
+            if (++rows == ROWS_PER_BLOCK) {
+                flushBlock();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of rows added so far.
+     *
+     * @return The number of rows, including those not yet written out.
+     */
+    public synchronized long getRows() {
+        return totalRows + rows;
+    }
+
+    /**
+     * Writes out the gathered rows as one block.
+     */
+    private void flushBlock() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        blockHeader.clear();
+        blockHeader.putInt(rows).flip();
+        for (ByteBuffer column : columns) {
+            column.flip();
+        }
+        long remaining = Integer.BYTES + (long) rows * rowWidth();
+        while (remaining > 0) {
+            remaining -= channel.write(block);
+        }
+        for (ByteBuffer column : columns) {
+            column.clear();
+        }
+        totalRows += rows;
+        rows = 0;
+    }
+
+    /**
+     * Gets the number of bytes one row takes across every column.
+     */
+    private static int rowWidth() {
+        int width = 0;
+        for (ResultColumn column : COLUMNS) {
+            width += column.getWidth();
+        }
+        return width;
+    }
+
+    /**
+     * Writes out any gathered rows and closes the file.
+     *
+     * @throws IOException if the rows cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flushBlock();
+        } finally {
+            channel.close();
+        }
+    }
+}
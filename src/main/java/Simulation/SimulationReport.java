@@ -0,0 +1,232 @@
+package Simulation;
+
+import GameSystem.AchievementRanker.Award;
+
+/**
+ * A SimulationReport sums up the results of many simulated games: how often
+ * each ending happened, how many rounds games took, how the implementation
+ * percentage was spread at the end of the game, and how often each
+ * achievement was won.
+ * <p>
+ * Reports are built up one game at a time and can be merged, so each worker
+ * thread fills its own report and the reports are combined at the end.
+ * </p>
+ */
+public class SimulationReport {
+
+    /**
+     * The number of buckets in the implementation percentage histogram, one per
+     * whole percent.
+     */
+    private static final int PERCENT_BUCKETS = 101;
+
+    private long games;
+    private final long[] outcomes = new long[GameResult.Outcome.values().length];
+    private long totalRounds;
+    private long totalRoundsSquared;
+    private int minRounds = Integer.MAX_VALUE;
+    private int maxRounds;
+    private double totalPercent;
+    private final long[] percentHistogram = new long[PERCENT_BUCKETS];
+    private long awardedGames;
+    private final long[] awardCounts = new long[Award.values().length];
+
+    /**
+     * Adds the result of one game to the report.
+     *
+     * @param result The result of the game.
+     */
+    public void add(GameResult result) {
+        games++;
+        outcomes[result.getOutcome().ordinal()]++;
+
+        int rounds = result.getRounds();
+        totalRounds += rounds;
+        totalRoundsSquared += (long) rounds * rounds;
+        minRounds = Math.min(minRounds, rounds);
+        maxRounds = Math.max(maxRounds, rounds);
+
+        double percent = result.getImplementationPercent();
+        totalPercent += percent;
+        int bucket = (int) Math.round(percent * 100);
+        percentHistogram[Math.max(0, Math.min(PERCENT_BUCKETS - 1, bucket))]++;
+
+        Award[] awards = result.getAwards();
+        if (awards != null) {
+            awardedGames++;
+            for (Award award : awards) {
+                awardCounts[award.ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * Adds every game of another report to this one.
+     *
+     * @param other The report to merge in.
+     */
+    public void merge(SimulationReport other) {
+        games += other.games;
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] += other.outcomes[i];
+        }
+        totalRounds += other.totalRounds;
+        totalRoundsSquared += other.totalRoundsSquared;
+        minRounds = Math.min(minRounds, other.minRounds);
+        maxRounds = Math.max(maxRounds, other.maxRounds);
+        totalPercent += other.totalPercent;
+        for (int i = 0; i < PERCENT_BUCKETS; i++) {
+            percentHistogram[i] += other.percentHistogram[i];
+        }
+        awardedGames += other.awardedGames;
+        for (int i = 0; i < awardCounts.length; i++) {
+            awardCounts[i] += other.awardCounts[i];
+        }
+    }
+
+    /**
+     * Gets the number of games in the report.
+     *
+     * @return The number of games played.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games that ended a given way.
+     *
+     * @param outcome The ending to count.
+     * @return The number of games with that ending.
+     */
+    public long getCount(GameResult.Outcome outcome) {
+        return outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * Gets the fraction of games that ended a given way.
+     *
+     * @param outcome The ending to look at.
+     * @return The share of games with that ending, or 0 if there are no games.
+     */
+    public double getRate(GameResult.Outcome outcome) {
+        return games == 0 ? 0 : (double) getCount(outcome) / games;
+    }
+
+    /**
+     * Gets the mean number of rounds a game took.
+     *
+     * @return The mean number of rounds, or 0 if there are no games.
+     */
+    public double getMeanRounds() {
+        return games == 0 ? 0 : (double) totalRounds / games;
+    }
+
+    /**
+     * Gets the standard deviation of the number of rounds a game took.
+     *
+     * @return The standard deviation of the rounds, or 0 if there are no games.
+     */
+    public double getRoundsStandardDeviation() {
+        if (games == 0) {
+            return 0;
+        }
+        double mean = getMeanRounds();
+        return Math.sqrt(Math.max(0, (double) totalRoundsSquared / games - mean * mean));
+    }
+
+    /**
+     * Gets the mean implementation percentage at the end of a game.
+     *
+     * @return The mean implementation percentage as a fraction, or 0 if there
+     *         are no games.
+     */
+    public double getMeanImplementationPercent() {
+        return games == 0 ? 0 : totalPercent / games;
+    }
+
+    /**
+     * Gets a percentile of the implementation percentage at the end of a game,
+     * to the nearest whole percent.
+     *
+     * @param quantile The quantile to find, from 0 to 1.
+     * @return The implementation percentage at that quantile, as a fraction.
+     */
+    public double getImplementationPercentile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1.");
+        }
+        long rank = (long) Math.ceil(quantile * games);
+        long seen = 0;
+        for (int i = 0; i < PERCENT_BUCKETS; i++) {
+            seen += percentHistogram[i];
+            if (seen >= rank && seen > 0) {
+                return i / 100.0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the number of games that ended in each whole implementation
+     * percentage, from 0% to 100%.
+     *
+     * @return A copy of the implementation percentage histogram.
+     */
+    public long[] getImplementationHistogram() {
+        return percentHistogram.clone();
+    }
+
+    /**
+     * Gets the number of times an achievement was won.
+     *
+     * @param award The achievement to count.
+     * @return The number of players who won it, over every game.
+     */
+    public long getAwardCount(Award award) {
+        return awardCounts[award.ordinal()];
+    }
+
+    /**
+     * Gets the average number of players who won an achievement in a game.
+     *
+     * @param award The achievement to look at.
+     * @return The times it was won per game whose achievements were worked
+     *         out, or 0 if there are none.
+     */
+    public double getAwardRate(Award award) {
+        return awardedGames == 0 ? 0 : (double) getAwardCount(award) / awardedGames;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Games played:        %d%n", games));
+        report.append(String.format("Win rate:            %.2f%%%n", getRate(GameResult.Outcome.WIN) * 100));
+        report.append(String.format("Bad ending rate:     %.2f%%%n", getRate(GameResult.Outcome.BAD_ENDING) * 100));
+        report.append(String.format("Timeout rate:        %.2f%%%n", getRate(GameResult.Outcome.TIMEOUT) * 100));
+        report.append(String.format("Rounds:              mean %.1f, sd %.1f, min %d, max %d%n", getMeanRounds(),
+                getRoundsStandardDeviation(), games == 0 ? 0 : minRounds, maxRounds));
+        report.append(String.format("Implementation:      mean %.1f%%, p10 %.0f%%, p50 %.0f%%, p90 %.0f%%%n",
+                getMeanImplementationPercent() * 100, getImplementationPercentile(0.1) * 100,
+                getImplementationPercentile(0.5) * 100, getImplementationPercentile(0.9) * 100));
+
+        report.append("Implementation distribution:").append(System.lineSeparator());
+        for (int decile = 0; decile < 10; decile++) {
+            long count = 0;
+            int last = decile == 9 ? PERCENT_BUCKETS - 1 : decile * 10 + 9;
+            for (int i = decile * 10; i <= last; i++) {
+                count += percentHistogram[i];
+            }
+            report.append(String.format("  %3d%%-%3d%%: %d%n", decile * 10, last, count));
+        }
+
+        if (awardedGames > 0) {
+            report.append("Achievements per game:").append(System.lineSeparator());
+            for (Award award : Award.values()) {
+                report.append(String.format("  %-20s %.3f%n", award.getTitle(), getAwardRate(award)));
+            }
+        }
+        return report.toString();
+    }
+}
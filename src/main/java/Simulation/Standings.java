@@ -0,0 +1,269 @@
+package Simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Standings is the table of a {@link Tournament}: the wins, draws and losses of
+ * each entrant, with a rating worked out from them.
+ * <p>
+ * Games report their results straight into the table as they finish, from
+ * whichever thread played them, so the counts are kept in {@link LongAdder}s
+ * and never need a lock. The counts do not depend on the order results arrive
+ * in, so a seeded tournament always ends with the same table.
+ * </p>
+ * <p>
+ * An entrant's rating is its performance rating against the field: the Elo
+ * rating at which its share of points would be expected against opponents
+ * rated {@link #BASE_RATING}. The confidence interval comes from the spread of
+ * its game results around that share.
+ * </p>
+ */
+public class Standings {
+
+    /**
+     * The rating of an entrant that scores half of the points.
+     */
+    public static final double BASE_RATING = 1500;
+
+    private final Map<String, Record> records = new LinkedHashMap<>();
+
+    /**
+     * The results of one entrant, updated by many threads at once.
+     */
+    private static final class Record {
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder draws = new LongAdder();
+        private final LongAdder losses = new LongAdder();
+    }
+
+    /**
+     * One line of the table, taken at a moment in time.
+     */
+    public static final class Row {
+        private final String name;
+        private final long wins;
+        private final long draws;
+        private final long losses;
+
+        private Row(String name, long wins, long draws, long losses) {
+            this.name = name;
+            this.wins = wins;
+            this.draws = draws;
+            this.losses = losses;
+        }
+
+        /**
+         * Gets the name of the entrant.
+         *
+         * @return The entrant's name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of games the entrant played.
+         *
+         * @return The number of games.
+         */
+        public long getGames() {
+            return wins + draws + losses;
+        }
+
+        /**
+         * Gets the number of games the entrant won.
+         *
+         * @return The number of wins.
+         */
+        public long getWins() {
+            return wins;
+        }
+
+        /**
+         * Gets the number of games the entrant drew.
+         *
+         * @return The number of draws.
+         */
+        public long getDraws() {
+            return draws;
+        }
+
+        /**
+         * Gets the number of games the entrant lost.
+         *
+         * @return The number of losses.
+         */
+        public long getLosses() {
+            return losses;
+        }
+
+        /**
+         * Gets the entrant's points: one for each win and a half for each draw.
+         *
+         * @return The points scored.
+         */
+        public double getPoints() {
+            return wins + draws / 2.0;
+        }
+
+        /**
+         * Gets the share of the available points the entrant scored.
+         *
+         * @return The points per game, or 0.5 before any games are played.
+         */
+        public double getScore() {
+            long games = getGames();
+            return games == 0 ? 0.5 : getPoints() / games;
+        }
+
+        /**
+         * Gets the entrant's performance rating.
+         *
+         * @return The Elo rating matching the entrant's score.
+         */
+        public double getRating() {
+            return rating(getScore());
+        }
+
+        /**
+         * Gets the lower end of the 95% confidence interval of the rating.
+         *
+         * @return The lowest rating consistent with the results.
+         */
+        public double getRatingLow() {
+            return rating(getScore() - StoppingRule.Z_95 * standardError());
+        }
+
+        /**
+         * Gets the upper end of the 95% confidence interval of the rating.
+         *
+         * @return The highest rating consistent with the results.
+         */
+        public double getRatingHigh() {
+            return rating(getScore() + StoppingRule.Z_95 * standardError());
+        }
+
+        /**
+         * Works out the standard error of the score from the spread of the
+         * points of each game around it.
+         */
+        private double standardError() {
+            long games = getGames();
+            if (games < 2) {
+                return 0.5;
+            }
+            double score = getScore();
+            double variance = (wins * (1 - score) * (1 - score)
+                    + draws * (0.5 - score) * (0.5 - score)
+                    + losses * score * score) / (games - 1);
+            return Math.sqrt(variance / games);
+        }
+
+        /**
+         * Converts a score to a rating with the Elo formula. Scores of 0 and 1
+         * would give infinite ratings, so the score is kept half a game away
+         * from them.
+         */
+        private double rating(double score) {
+            double margin = 0.5 / Math.max(1, getGames());
+            double clamped = Math.max(margin, Math.min(1 - margin, score));
+            return BASE_RATING + 400 * Math.log10(clamped / (1 - clamped));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-16s %7d %7d %7d %7d %8.1f %6.0f [%5.0f, %5.0f]", name, getGames(), wins, draws,
+                    losses, getPoints(), getRating(), getRatingLow(), getRatingHigh());
+        }
+    }
+
+    /**
+     * Creates a table for a set of entrants, with no games played.
+     *
+     * @param names The names of the entrants.
+     */
+    public Standings(Iterable<String> names) {
+        for (String name : names) {
+            if (records.put(name, new Record()) != null) {
+                throw new IllegalArgumentException("Two entrants are called " + name + ".");
+            }
+        }
+    }
+
+    /**
+     * Records the result of a game between two entrants. Safe to call from any
+     * thread.
+     *
+     * @param first  The name of one entrant.
+     * @param second The name of the other entrant.
+     * @param result 1 if the first entrant won, 0 if the second did, or 0.5 for
+     *               a draw.
+     */
+    public void record(String first, String second, double result) {
+        Record a = recordOf(first);
+        Record b = recordOf(second);
+        if (result == 1) {
+            a.wins.increment();
+            b.losses.increment();
+        } else if (result == 0) {
+            a.losses.increment();
+            b.wins.increment();
+        } else if (result == 0.5) {
+            a.draws.increment();
+            b.draws.increment();
+        } else {
+            throw new IllegalArgumentException("A result must be 0, 0.5 or 1.");
+        }
+    }
+
+    /**
+     * Gets the current line of the table for an entrant.
+     *
+     * @param name The name of the entrant.
+     * @return The entrant's results so far.
+     */
+    public Row get(String name) {
+        Record record = recordOf(name);
+        return new Row(name, record.wins.sum(), record.draws.sum(), record.losses.sum());
+    }
+
+    /**
+     * Gets the current table, ordered by points and then by name.
+     *
+     * @return One line per entrant, leader first.
+     */
+    public List<Row> getRows() {
+        List<Row> rows = new ArrayList<>();
+        for (String name : records.keySet()) {
+            rows.add(get(name));
+        }
+        rows.sort(Comparator.comparingDouble(Row::getPoints).reversed().thenComparing(Row::getName));
+        return rows;
+    }
+
+    /**
+     * Finds the record of an entrant.
+     */
+    private Record recordOf(String name) {
+        Record record = records.get(name);
+        if (record == null) {
+            throw new IllegalArgumentException("No entrant called " + name + ".");
+        }
+        return record;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder(String.format("%-16s %7s %7s %7s %7s %8s %6s %14s%n", "Entrant",
+                "Games", "Won", "Drawn", "Lost", "Points", "Rating", "95% interval"));
+        for (Row row : getRows()) {
+            table.append(row).append(System.lineSeparator());
+        }
+        return table.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package Simulation;
+
+/**
+ * A StoppingRule decides when a simulation has played enough games to answer
+ * its question, so that it can stop before its game limit.
+ * <p>
+ * Simulators play games in waves and ask the rule after each wave whether the
+ * games so far settle the question. Waves are always the same size, so a
+ * seeded simulation stops after the same games however they are spread over
+ * the cores.
+ * </p>
+ */
+@FunctionalInterface
+public interface StoppingRule {
+
+    /**
+     * The normal quantile of a two-sided 95% confidence interval.
+     */
+    double Z_95 = 1.959964;
+
+    /**
+     * Checks whether the games played so far settle the question.
+     *
+     * @param report The games played so far.
+     * @return true if no more games are needed.
+     */
+    boolean isResolved(SimulationReport report);
+
+    /**
+     * Stops once either this rule or another is resolved.
+     *
+     * @param other The other rule.
+     * @return A rule resolved when either rule is.
+     */
+    default StoppingRule or(StoppingRule other) {
+        return report -> isResolved(report) || other.isResolved(report);
+    }
+
+    /**
+     * Stops once the 95% confidence interval of the win rate is no wider than
+     * the given margin either side of the measured rate.
+     *
+     * @param halfWidth The largest margin of error accepted, from 0 to 1.
+     * @return A rule resolved when the win rate is known to that margin.
+     */
+    static StoppingRule winRateWithin(double halfWidth) {
+        if (!(halfWidth > 0 && halfWidth < 1)) {
+            throw new IllegalArgumentException("Margin of error must be between 0 and 1.");
+        }
+        return report -> report.getGames() > 0 && winRateHalfWidth(report) <= halfWidth;
+    }
+
+    /**
+     * Stops once a sequential probability ratio test decides between a win rate
+     * of {@code p0} and one of {@code p1}, that is once the games make one of
+     * the two rates more likely than the other by the ratio the error rates
+     * allow.
+     *
+     * @param p0    The lower win rate, above 0.
+     * @param p1    The higher win rate, below 1.
+     * @param alpha The chance accepted of choosing {@code p1} when the rate is
+     *              {@code p0}.
+     * @param beta  The chance accepted of choosing {@code p0} when the rate is
+     *              {@code p1}.
+     * @return A rule resolved when the test makes its decision.
+     */
+    static StoppingRule sprt(double p0, double p1, double alpha, double beta) {
+        if (!(p0 > 0 && p0 < p1 && p1 < 1)) {
+            throw new IllegalArgumentException("Win rates must satisfy 0 < p0 < p1 < 1.");
+        } else if (!(alpha > 0 && alpha < 0.5 && beta > 0 && beta < 0.5)) {
+            throw new IllegalArgumentException("Error rates must be between 0 and 0.5.");
+        }
+        double upper = Math.log((1 - beta) / alpha);
+        double lower = Math.log(beta / (1 - alpha));
+        double winWeight = Math.log(p1 / p0);
+        double otherWeight = Math.log((1 - p1) / (1 - p0));
+        return report -> {
+            long wins = report.getCount(GameResult.Outcome.WIN);
+            double ratio = wins * winWeight + (report.getGames() - wins) * otherWeight;
+            return ratio >= upper || ratio <= lower;
+        };
+    }
+
+    /**
+     * Stops once a sequential probability ratio test decides whether the win
+     * rate is below or above a target, treating rates within the margin of the
+     * target as too close to call either way.
+     *
+     * @param target The win rate aimed for, from 0 to 1.
+     * @param margin How far from the target a rate must be to matter.
+     * @param error  The chance accepted of deciding the wrong way.
+     * @return A rule resolved when the test makes its decision.
+     */
+    static StoppingRule sprtAround(double target, double margin, double error) {
+        double p0 = Math.max(target - margin, 1e-4);
+        double p1 = Math.min(target + margin, 1 - 1e-4);
+        return sprt(p0, Math.max(p1, p0 + 1e-4), error, error);
+    }
+
+    /**
+     * Gets the margin either side of the measured win rate of the 95% Wilson
+     * score interval, which stays sound when few or no games are won.
+     *
+     * @param report The games played so far.
+     * @return Half the width of the interval, or 1 if no games were played.
+     */
+    static double winRateHalfWidth(SimulationReport report) {
+        long games = report.getGames();
+        if (games == 0) {
+            return 1;
+        }
+        double rate = report.getRate(GameResult.Outcome.WIN);
+        double z2 = Z_95 * Z_95;
+        return Z_95 * Math.sqrt(rate * (1 - rate) / games + z2 / (4.0 * games * games)) / (1 + z2 / games);
+    }
+}
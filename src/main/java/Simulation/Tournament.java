@@ -0,0 +1,319 @@
+package Simulation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import BoardGame.BoardModel;
+import BoardGame.Player;
+import GameSystem.BotPlayer;
+import GameSystem.GameEngine;
+import GameSystem.GameRules;
+
+/**
+ * A Tournament plays bot strategies against each other, two to a game, in a
+ * round-robin or Swiss format, and keeps their results in a shared
+ * {@link Standings} table.
+ * <p>
+ * Games are played the way {@link GameSystem.GameSystem#nextTurn()} plays the
+ * turns of bots: each bot takes its turn and the turn passes on, until every
+ * objective is completed, a player runs out of money or the round limit is
+ * reached. The player with the higher score wins, unless they ran out of money
+ * and their opponent did not; equal scores are a draw.
+ * </p>
+ * <p>
+ * Each game runs as its own task. Where the JDK offers virtual threads, every
+ * game gets one; on Java 17 the games are shared out over a work-stealing pool
+ * with a thread per core instead. Every game is seeded from the tournament's
+ * seed and its own number, and the table only adds results up, so a
+ * tournament of deterministic strategies gives the same table every time.
+ * </p>
+ * <p>
+ * Run from the command line with
+ * {@code java Simulation.Tournament [roundrobin|swiss] [gamesPerPairing] [swissRounds] [seed]}.
+ * </p>
+ */
+public class Tournament {
+
+    /**
+     * Creates the bot that plays one seat of a game for a strategy.
+     */
+    @FunctionalInterface
+    public interface Strategy {
+        /**
+         * Creates a bot for one game.
+         *
+         * @param name  The name shown for the bot.
+         * @param coord The square the bot starts on.
+         * @return A new bot.
+         */
+        BotPlayer create(String name, int coord);
+    }
+
+    /**
+     * The defaults used when an argument is not given on the command line.
+     */
+    public static final int DEFAULT_GAMES_PER_PAIRING = 1_000;
+    public static final int DEFAULT_SWISS_ROUNDS = 5;
+
+    private final Map<String, Strategy> entrants;
+    private final GameRules rules;
+    private final int maxRounds;
+    private final long seed;
+
+    /**
+     * The number of the next game to be scheduled, which its seed is derived
+     * from.
+     */
+    private long nextGame;
+
+    /**
+     * Creates a tournament between a set of strategies.
+     *
+     * @param entrants  The strategies taking part, by name, in seeding order.
+     * @param rules     The rules every game is played under.
+     * @param maxRounds The number of rounds after which a game is stopped.
+     * @param seed      The seed every game's seed is derived from.
+     */
+    public Tournament(Map<String, Strategy> entrants, GameRules rules, int maxRounds, long seed) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two entrants.");
+        } else if (maxRounds < 1) {
+            throw new IllegalArgumentException("A game must last at least one round.");
+        }
+        this.entrants = new LinkedHashMap<>(entrants);
+        this.rules = rules;
+        this.maxRounds = maxRounds;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates the executor games are played on: one virtual thread per game
+     * when the JDK has them, otherwise a work-stealing pool with a thread per
+     * core. Virtual threads are looked up by reflection so that the project
+     * still builds for Java 17.
+     *
+     * @return A new executor, which the caller must shut down.
+     */
+    public static ExecutorService newGameExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newWorkStealingPool();
+        }
+    }
+
+    /**
+     * Plays every entrant against every other entrant.
+     *
+     * @param gamesPerPairing The number of games each pair plays, taking turns
+     *                        to go first.
+     * @return The final table.
+     */
+    public Standings roundRobin(int gamesPerPairing) {
+        checkGames(gamesPerPairing);
+        List<String> names = new ArrayList<>(entrants.keySet());
+        Standings standings = new Standings(names);
+
+        List<String[]> pairings = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            for (int j = i + 1; j < names.size(); j++) {
+                pairings.add(new String[] { names.get(i), names.get(j) });
+            }
+        }
+        ExecutorService executor = newGameExecutor();
+        try {
+            playRound(executor, pairings, gamesPerPairing, standings);
+        } finally {
+            executor.shutdown();
+        }
+        return standings;
+    }
+
+    /**
+     * Plays a Swiss tournament: in each round the entrants are ranked by
+     * points and each plays the next entrant down that it has not met yet.
+     * With an odd number of entrants the lowest unpaired entrant sits the
+     * round out.
+     *
+     * @param rounds          The number of rounds.
+     * @param gamesPerPairing The number of games each pairing plays, taking
+     *                        turns to go first.
+     * @return The final table.
+     */
+    public Standings swiss(int rounds, int gamesPerPairing) {
+        checkGames(gamesPerPairing);
+        if (rounds < 1) {
+            throw new IllegalArgumentException("A tournament must have at least one round.");
+        }
+        Standings standings = new Standings(entrants.keySet());
+        Set<String> played = new HashSet<>();
+
+        ExecutorService executor = newGameExecutor();
+        try {
+            for (int round = 0; round < rounds; round++) {
+                List<String> unpaired = new ArrayList<>();
+                for (Standings.Row row : standings.getRows()) {
+                    unpaired.add(row.getName());
+                }
+
+                List<String[]> pairings = new ArrayList<>();
+                while (unpaired.size() > 1) {
+                    String first = unpaired.remove(0);
+                    // Prefer the highest placed opponent not met yet, or the
+                    // highest placed one if every remaining entrant has been met
+                    int opponent = 0;
+                    for (int i = 0; i < unpaired.size(); i++) {
+                        if (!played.contains(pairKey(first, unpaired.get(i)))) {
+                            opponent = i;
+                            break;
+                        }
+                    }
+                    String second = unpaired.remove(opponent);
+                    played.add(pairKey(first, second));
+                    pairings.add(new String[] { first, second });
+                }
+                playRound(executor, pairings, gamesPerPairing, standings);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return standings;
+    }
+
+    /**
+     * Plays the games of a round of pairings concurrently, waiting for all of
+     * them to finish.
+     */
+    private void playRound(ExecutorService executor, List<String[]> pairings, int gamesPerPairing,
+            Standings standings) {
+        List<Future<?>> games = new ArrayList<>();
+        for (String[] pairing : pairings) {
+            for (int g = 0; g < gamesPerPairing; g++) {
+                // Alternate who goes first
+                String first = pairing[g % 2];
+                String second = pairing[1 - g % 2];
+                long gameSeed = seed + nextGame++ * GameEngine.SEED_STRIDE;
+                games.add(executor.submit(
+                        () -> standings.record(first, second, playGame(first, second, gameSeed))));
+            }
+        }
+        try {
+            for (Future<?> game : games) {
+                game.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The tournament was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Plays one game between two entrants.
+     *
+     * @param first    The name of the entrant that goes first.
+     * @param second   The name of the entrant that goes second.
+     * @param gameSeed The seed of the game.
+     * @return 1 if the first entrant won, 0 if the second did, or 0.5 for a
+     *         draw.
+     */
+    public double playGame(String first, String second, long gameSeed) {
+        GameEngine engine = new GameEngine(BoardModel.DEFAULT_SIDE_LENGTH, gameSeed, rules);
+        int[] spawns = engine.getBoard().getSpawnLocations();
+        BotPlayer[] bots = {
+                strategyOf(first).create(first, spawns[0]),
+                strategyOf(second).create(second, spawns[1 % spawns.length])
+        };
+        engine.setTurnOrder(bots);
+        engine.startGame();
+
+        boolean over = false;
+        while (!over && engine.getRoundNumber() <= maxRounds) {
+            bots[engine.getTurnNumber()].playTurn(engine);
+            if (engine.checkWinCondition()) {
+                break;
+            }
+            engine.nextTurn();
+            for (Player bot : bots) {
+                over |= bot.getMoney() <= 0;
+            }
+        }
+
+        boolean firstBroke = bots[0].getMoney() <= 0;
+        boolean secondBroke = bots[1].getMoney() <= 0;
+        if (firstBroke != secondBroke) {
+            return firstBroke ? 0 : 1;
+        }
+        int difference = Integer.compare(bots[0].getScore(), bots[1].getScore());
+        return difference > 0 ? 1 : difference < 0 ? 0 : 0.5;
+    }
+
+    /**
+     * Finds the strategy of an entrant.
+     */
+    private Strategy strategyOf(String name) {
+        Strategy strategy = entrants.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("No entrant called " + name + ".");
+        }
+        return strategy;
+    }
+
+    /**
+     * Checks the number of games a pairing plays.
+     */
+    private static void checkGames(int gamesPerPairing) {
+        if (gamesPerPairing < 1) {
+            throw new IllegalArgumentException("Each pairing must play at least one game.");
+        }
+    }
+
+    /**
+     * Gets a key for a pair of entrants that does not depend on their order.
+     */
+    private static String pairKey(String first, String second) {
+        return first.compareTo(second) < 0 ? first + '\n' + second : second + '\n' + first;
+    }
+
+    /**
+     * Runs a tournament between the built-in strategies from the command line
+     * and prints the final table.
+     *
+     * @param args The format, games per pairing, Swiss rounds and seed, all
+     *             optional.
+     */
+    public static void main(String[] args) {
+        boolean swiss = args.length > 0 && args[0].equalsIgnoreCase("swiss");
+        int gamesPerPairing = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GAMES_PER_PAIRING;
+        int swissRounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SWISS_ROUNDS;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : ThreadLocalRandom.current().nextLong();
+
+        // Searching bots use a single worker, as the games already fill the cores
+        Map<String, Strategy> entrants = new LinkedHashMap<>();
+        entrants.put("scripted", BotPlayer::new);
+        entrants.put("mcts-2ms", (name, coord) -> new MctsPlayer(name, coord, 2, 1));
+        entrants.put("mcts-10ms", (name, coord) -> new MctsPlayer(name, coord, 10, 1));
+        Tournament tournament = new Tournament(entrants, GameRules.DEFAULT, MonteCarloSimulator.DEFAULT_MAX_ROUNDS,
+                seed);
+
+        System.out.println("Playing a " + (swiss ? swissRounds + "-round Swiss" : "round-robin") + " tournament of "
+                + gamesPerPairing + " games per pairing with seed " + seed + "...");
+        long start = System.nanoTime();
+        Standings standings = swiss ? tournament.swiss(swissRounds, gamesPerPairing)
+                : tournament.roundRobin(gamesPerPairing);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(standings);
+        System.out.printf("Finished in %.1f s%n", seconds);
+    }
+}
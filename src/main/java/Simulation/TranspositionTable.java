@@ -0,0 +1,149 @@
+package Simulation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A TranspositionTable remembers how play-outs went from game states already
+ * seen, keyed by the state's {@link GameSystem.GameEngine#getStateHash() Zobrist
+ * hash}, so that a search reaching the same state by another route starts
+ * from what is already known about it.
+ * <p>
+ * The table has a fixed number of slots and is shared by every thread of a
+ * search without locks. Each slot is a single {@code long} holding the top
+ * bits of the hash it belongs to, the number of play-outs seen and their mean
+ * score, so a slot is always read and written whole and is updated with a
+ * compare-and-set. Two states that share a slot compete for it: the one with
+ * fewer play-outs loses a play-out each time the other is recorded, and is
+ * replaced once it has none left.
+ * </p>
+ */
+public final class TranspositionTable {
+
+    /**
+     * The most play-outs a slot counts. Beyond it the mean keeps moving as if
+     * the count stayed there, so recent play-outs still count.
+     */
+    public static final int MAX_VISITS = (1 << 20) - 1;
+
+    private static final int TAG_BITS = 24;
+    private static final int VISIT_BITS = 20;
+    private static final int MEAN_BITS = 20;
+    private static final long MEAN_SCALE = (1L << MEAN_BITS) - 1;
+    private static final long FIELD_MASK = (1L << VISIT_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param entries The number of slots, rounded up to a power of two.
+     */
+    public TranspositionTable(int entries) {
+        if (entries < 1 || entries > 1 << 30) {
+            throw new IllegalArgumentException("A table must have between 1 and 2^30 entries.");
+        }
+        int size = Integer.highestOneBit(entries);
+        if (size < entries) {
+            size <<= 1;
+        }
+        slots = new AtomicLongArray(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Gets the number of slots in the table.
+     *
+     * @return The number of slots.
+     */
+    public int size() {
+        return slots.length();
+    }
+
+    /**
+     * Records the score of one play-out through a state.
+     *
+     * @param hash  The hash of the state.
+     * @param score The score of the play-out, from 0 to 1.
+     */
+    public void record(long hash, double score) {
+        int index = (int) hash & mask;
+        long tag = tagOf(hash);
+        double clamped = Math.max(0, Math.min(1, score));
+        while (true) {
+            long entry = slots.get(index);
+            long updated;
+            if (entry != 0 && tagOfEntry(entry) == tag) {
+                int visits = visitsOf(entry);
+                int counted = Math.min(visits + 1, MAX_VISITS);
+                double mean = meanOf(entry) + (clamped - meanOf(entry)) / counted;
+                updated = pack(tag, counted, mean);
+            } else if (entry == 0 || visitsOf(entry) <= 1) {
+                updated = pack(tag, 1, clamped);
+            } else {
+                // Another state holds the slot: wear it down instead
+                updated = pack(tagOfEntry(entry), visitsOf(entry) - 1, meanOf(entry));
+            }
+            if (slots.compareAndSet(index, entry, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Looks up a state.
+     *
+     * @param hash The hash of the state.
+     * @return The slot of the state, to be read with {@link #visitsOf(long)}
+     *         and {@link #meanOf(long)}, or 0 if the state is not in the table.
+     */
+    public long probe(long hash) {
+        long entry = slots.get((int) hash & mask);
+        return entry != 0 && tagOfEntry(entry) == tagOf(hash) ? entry : 0;
+    }
+
+    /**
+     * Gets the number of play-outs recorded in a slot.
+     *
+     * @param entry A slot returned by {@link #probe(long)}.
+     * @return The number of play-outs, or 0 for a missing state.
+     */
+    public static int visitsOf(long entry) {
+        return (int) ((entry >>> MEAN_BITS) & FIELD_MASK);
+    }
+
+    /**
+     * Gets the mean score recorded in a slot.
+     *
+     * @param entry A slot returned by {@link #probe(long)}.
+     * @return The mean score of the play-outs, from 0 to 1.
+     */
+    public static double meanOf(long entry) {
+        return (entry & MEAN_SCALE) / (double) MEAN_SCALE;
+    }
+
+    /**
+     * Clears every slot.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0);
+        }
+    }
+
+    /**
+     * Gets the bits of a hash kept in its slot to tell it apart from other
+     * states that share the slot.
+     */
+    private static long tagOf(long hash) {
+        return hash >>> (Long.SIZE - TAG_BITS);
+    }
+
+    private static long tagOfEntry(long entry) {
+        return entry >>> (VISIT_BITS + MEAN_BITS);
+    }
+
+    private static long pack(long tag, int visits, double mean) {
+        return tag << (VISIT_BITS + MEAN_BITS) | (long) visits << MEAN_BITS | Math.round(mean * MEAN_SCALE);
+    }
+}
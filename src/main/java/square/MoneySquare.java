@@ -1,6 +1,8 @@
 package square;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
 import GameSystem.*;
 import java.awt.Color;
 import java.awt.event.ActionListener;
@@ -22,14 +24,24 @@ public class MoneySquare extends Square {
     private final SquareType sType = SquareType.MONEYSQUARE;
 
     /**
-     * Default constructor that assigns a random amount of money between 800 and
-     * 1200.
+     * Default constructor that assigns a random amount of money between 15 and
+     * 30.
      */
     public MoneySquare() {
+        this(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Constructor that assigns a random amount of money between 15 and 30, drawn
+     * from the given source of randomness so that a game can be replayed.
+     *
+     * @param random The source of randomness of the game.
+     */
+    public MoneySquare(RandomGenerator random) {
         super(); // Calls the parent class constructor.
 
         // Creating a random number between 0 and 4.
-        int index = new Random().nextInt(5);
+        int index = random.nextInt(5);
         switch (index) {
             case 0:
                 this.money = 15;
@@ -63,20 +75,28 @@ public class MoneySquare extends Square {
 
     /**
      * Activates the effect of landing on a MoneySquare.
-     * Calls the parent class method and returns true.
+     * The money itself is paid out by the game engine when the player lands on
+     * the square, so this only tells the player how much they were given.
      *
      * @return {@code true} indicating the effect has been activated.
      */
     @Override
     public boolean activateSquareEffect() {
         super.activateSquareEffect(); // Calls the superclass method.
-        GameSystem.getPlayerAt().changeMoney(this.money);
         GameSystem.showPopup("Extra Funds!", "You have been given " + money + " Rand!", "Ok", null, okSingleButton,
                 null);
-        GameSystem.replaceMoneySquare();
         return true;
     }
 
+    /**
+     * Returns the amount of money given to a player landing on this square.
+     *
+     * @return The money value of this square.
+     */
+    public int getMoney() {
+        return this.money;
+    }
+
     /**
      * Returns the color associated with this square.
      * 
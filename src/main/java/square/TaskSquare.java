@@ -72,11 +72,10 @@ public class TaskSquare extends Square {
                 System.out.println("No other players to show the task to");
                 GameSystem.hideCostPopup();
                 GameSystem.showPopup("Task not claimed!", task.getTitle() + " was not claimed due to poor funding.\n" +
-                        "As a consequence, 5 Rand has been taken from all Players!",
+                        "As a consequence, " + GameSystem.getEngine().getRules().getTaskRejectionPenalty()
+                        + " Rand has been taken from all Players!",
                         "Ok", null, okSingleButton, null);
-                for (int i = 0; i < GameSystem.getTurnOrder().length; i++) {
-                    GameSystem.getTurnOrder()[i].changeMoney(-5);
-                }
+                GameSystem.rejectTask(task);
             }
         };
 
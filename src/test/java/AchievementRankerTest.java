@@ -0,0 +1,98 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import BoardGame.Player;
+import GameSystem.AchievementRanker;
+import GameSystem.AchievementRanker.Award;
+
+/**
+ * Test suite for the {@link AchievementRanker} class.
+ */
+public class AchievementRankerTest {
+
+    /**
+     * Makes a number of players with nothing to tell them apart.
+     */
+    private static Player[] players(int count) {
+        Player[] players = new Player[count];
+        for (int i = 0; i < count; i++) {
+            players[i] = new Player("Player " + (i + 1), 0);
+        }
+        return players;
+    }
+
+    /**
+     * Tests that each player gets the first award they lead, and that a player
+     * leading several awards only gets one.
+     */
+    @Test
+    public void testLeadersGetTheirFirstAward() {
+        Player[] players = players(3);
+        players[0].setScore(50);
+        players[0].setMoney(10);
+        players[1].setScore(10);
+        players[1].setMoney(100);
+        players[1].increaseMoneySpent(40);
+        players[1].changeTimesHelped(3);
+        players[2].setScore(20);
+        players[2].setMoney(30);
+        players[2].increaseMoneySpent(20);
+
+        AchievementRanker.award(players, new SplittableRandom(1));
+
+        assertEquals("Highest Scorer", players[0].getAchievement(), "The top scorer should get that award first.");
+        assertEquals("Team Player", players[1].getAchievement(), "The best helper should be the team player.");
+        assertNotEquals("Participation Award", players[2].getAchievement(),
+                "The biggest risk taker should win an award.");
+    }
+
+    /**
+     * Tests that tied players are equally likely to win an award.
+     */
+    @Test
+    public void testTiesAreBrokenEvenly() {
+        Player[] players = players(3);
+        int[] wins = new int[players.length];
+        for (int seed = 0; seed < 3000; seed++) {
+            Award[] awards = AchievementRanker.rank(players, new SplittableRandom(seed));
+            for (int i = 0; i < players.length; i++) {
+                if (awards[i] == Award.HIGHEST_SCORER) {
+                    wins[i]++;
+                }
+            }
+        }
+
+        for (int i = 0; i < players.length; i++) {
+            assertTrue(wins[i] > 850 && wins[i] < 1150, "Player " + i + " won " + wins[i] + " of 3000 ties.");
+        }
+    }
+
+    /**
+     * Tests that the awards are the same for the same seed and that any number
+     * of players is ranked.
+     */
+    @Test
+    public void testSeededRankingOfAnyNumberOfPlayers() {
+        Player[] many = players(10);
+        Award[] first = AchievementRanker.rank(many, new SplittableRandom(7));
+        assertArrayEquals(first, AchievementRanker.rank(many, new SplittableRandom(7)),
+                "The same seed should give the same awards.");
+
+        int participation = 0;
+        for (Award award : first) {
+            participation += award == Award.PARTICIPATION ? 1 : 0;
+        }
+        assertTrue(participation >= 10 - (Award.values().length - 1), "There are only so many awards to go round.");
+
+        assertArrayEquals(new Award[] { Award.HIGHEST_SCORER }, AchievementRanker.rank(players(1),
+                new SplittableRandom(7)), "A lone player leads everything and gets the first award.");
+        assertEquals(0, AchievementRanker.rank(new Player[0], new SplittableRandom(7)).length,
+                "No players should get no awards.");
+    }
+}
@@ -3,7 +3,10 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 import BoardGame.*;
 import square.*;
@@ -74,6 +77,133 @@ public class BoardTest {
         assertThrows(IllegalArgumentException.class, () -> board.generateNewSquares(145, new TaskSquare(new Task())), "Should throw exception for amount exceeding board size");
     }
     
+    @Test
+    void testSquareMasksMatchSquares() {
+        Objective objective = new Objective("Masked Objective");
+        Task task = new Task();
+        task.setBelongsTo(objective);
+        board.setSquareAt(0, new TaskSquare(task));
+
+        BoardModel model = board.getModel();
+        for (int i = 0; i < board.getSquareArray().size(); i++) {
+            SquareType type = board.getSquareAt(i).getSquareType();
+            for (SquareType other : SquareType.values()) {
+                assertEquals(type == other, model.getSquaresOfType(other).get(i), "Mask for " + other + " should match square " + i);
+            }
+        }
+        assertTrue(model.getTaskSquaresOf(objective).get(0), "Objective mask should contain its task square");
+
+        board.setSquareAt(0, new Square());
+        assertTrue(model.getTaskSquaresOf(objective).isEmpty(), "Objective mask should be cleared when the task square is removed");
+        assertTrue(model.getFreeSquares().get(0), "Blank square should be free");
+    }
+
+    @Test
+    void testGenerateNewSquaresSkipsPlayers() {
+        BoardModel model = board.getModel();
+        Bitboard free = model.getFreeSquares();
+        List<Player> standing = new ArrayList<Player>();
+        for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+            standing.add(new Player("Player " + i, i));
+        }
+        model.setPlayers(standing.toArray(new Player[0]));
+
+        assertEquals(0, model.generateNewSquares(1, ShopSquare::new), "No square should be placed under a player");
+    }
+
+    @Test
+    void testGenerateNewSquaresBatch() {
+        BoardModel model = board.getModel();
+        int freeBefore = model.getFreeSquares().cardinality();
+
+        assertEquals(5, model.generateNewSquares(5, ShopSquare::new), "All five squares should be placed");
+        assertEquals(freeBefore - 5, model.getFreeSquares().cardinality(), "Five free squares should be used");
+        assertEquals(6, board.getSquareArray().stream().filter(square -> square instanceof ShopSquare).distinct().count(),
+                "Each placed square should be a new instance alongside the spawn shop");
+    }
+
+    @Test
+    void testTaskPositionIndex() {
+        BoardModel model = board.getModel();
+        for (int i = 0; i < board.getSquareArray().size(); i++) {
+            if (board.getSquareAt(i) instanceof TaskSquare taskSquare) {
+                assertEquals(i, model.getTaskPosition(taskSquare.getTask()), "Index should find the task at " + i);
+                assertSame(taskSquare.getTask(), model.getTaskAt(i), "Index should give the task at " + i);
+            }
+        }
+
+        Task task = new Task();
+        assertEquals(-1, model.getTaskPosition(task), "A task not on the board should not be found");
+        board.setSquareAt(0, new TaskSquare(task));
+        assertEquals(0, model.getTaskPosition(task), "A placed task should be found");
+        board.setSquareAt(0, new Square());
+        assertEquals(-1, model.getTaskPosition(task), "A removed task should no longer be found");
+        assertNull(model.getTaskAt(0), "A blank square should hold no task");
+    }
+
+    @Test
+    void testDistanceFieldFollowsPlacedSquares() {
+        BoardModel model = board.getModel();
+        DistanceField money = model.getDistanceField(SquareType.MONEYSQUARE);
+        Bitboard moneySquares = model.getSquaresOfType(SquareType.MONEYSQUARE);
+        for (int i = moneySquares.nextSetBit(0); i >= 0; i = moneySquares.nextSetBit(i + 1)) {
+            assertEquals(i, money.nearest(i), "A money square should be its own nearest");
+            board.setSquareAt(i, new Square());
+        }
+        assertEquals(-1, money.nearest(0), "No money square should be left");
+
+        board.setSquareAt(80, new MoneySquare());
+        assertEquals(80, money.nearest(0), "The new money square should be found");
+        assertEquals(16, money.distance(0), "Distance should be the walk from corner to corner");
+        model.generateNewSquares(1, new MoneySquare());
+        assertEquals(2, moneySquares.cardinality(), "A generated money square should be added");
+        assertTrue(money.distance(0) <= 16, "The field should take in generated squares");
+    }
+
+    @Test
+    void testLargeBoardStoresOnlySpecialSquares() {
+        BoardModel model = new BoardModel(tasks, 1000);
+
+        assertEquals(1000000, model.getTotalSquares(), "Board should have a million squares");
+        assertArrayEquals(new int[] { 500 * 1000 + 500 }, model.getSpawnLocations(), "Spawn should be the centre square");
+        assertTrue(model.getSquareAt(500500) instanceof ShopSquare, "Spawn should hold a shop");
+        assertEquals(15, model.getSpecialSquares().size(), "Only the shop, tasks and money squares should be stored");
+        assertEquals(1000000 - 15, model.getFreeSquares().cardinality(), "Every other square should be free");
+        assertThrows(IllegalArgumentException.class, () -> new BoardModel(tasks, BoardModel.MAX_SIDE_LENGTH + 1),
+                "Should throw exception for an oversized board");
+    }
+
+    @Test
+    void testLargestBoardCopiesPlaceAlike() {
+        BoardModel model = new BoardModel(tasks, BoardModel.MAX_SIDE_LENGTH, new SplittableRandom(7));
+        Map<Task, Task> same = new HashMap<Task, Task>();
+        for (Task task : tasks) {
+            same.put(task, task);
+        }
+        BoardModel copy = model.copy(same, new SplittableRandom(8));
+        BoardModel again = model.copy(same, new SplittableRandom(8));
+
+        assertEquals(3, copy.generateNewSquares(3, ShopSquare::new), "Squares should be placed on the largest board");
+        assertEquals(3, again.generateNewSquares(3, ShopSquare::new));
+        assertEquals(copy.getSpecialSquares().keySet(), again.getSpecialSquares().keySet(),
+                "Copies given the same randomness should place the same squares");
+        assertEquals(copy.getFreeSquares(), again.getFreeSquares(), "Their free squares should match");
+        assertEquals(model.getTotalSquares() - 15, model.getFreeSquares().cardinality(),
+                "Placing on a copy should leave the original alone");
+        assertEquals(model.getTotalSquares() - 18, copy.getFreeSquares().cardinality());
+    }
+
+    @Test
+    void testSetPlayersBoundsCoordinates() {
+        BoardModel model = new BoardModel(tasks, 20);
+        Player walker = new Player();
+        model.setPlayers(new Player[] { walker });
+
+        walker.setCoord(399);
+        assertEquals(399, walker.getCoord(), "Player should reach the last square of a larger board");
+        assertThrows(IllegalArgumentException.class, () -> walker.setCoord(400), "Player should not leave the board");
+    }
+
     @Test
     void testMovePlayerInvalidPosition() {
         assertThrows(IllegalArgumentException.class, () -> player.setCoord(-1), "Player should not move to an invalid position");
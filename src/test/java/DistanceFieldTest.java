@@ -0,0 +1,116 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import BoardGame.Bitboard;
+import BoardGame.DistanceField;
+
+/**
+ * Test suite for the {@link DistanceField} class.
+ */
+public class DistanceFieldTest {
+
+    /**
+     * The distance a search over every source would give, kept here as the
+     * reference. On an open grid it is the smallest walking distance.
+     */
+    private static int closestDistance(int sideLength, int index, Bitboard sources) {
+        int best = DistanceField.UNREACHABLE;
+        for (int i = sources.nextSetBit(0); i >= 0; i = sources.nextSetBit(i + 1)) {
+            int distance = Math.abs(i / sideLength - index / sideLength) + Math.abs(i % sideLength - index % sideLength);
+            best = Math.min(best, distance);
+        }
+        return best;
+    }
+
+    /**
+     * Checks every square of a field against the reference.
+     */
+    private static void assertMatches(DistanceField field, int sideLength, Bitboard sources) {
+        for (int index = 0; index < sideLength * sideLength; index++) {
+            int expected = closestDistance(sideLength, index, sources);
+            assertEquals(expected, field.distance(index), "Distance mismatch at " + index);
+
+            int nearest = field.nearest(index);
+            if (expected == DistanceField.UNREACHABLE) {
+                assertEquals(-1, nearest, "No source should be found at " + index);
+            } else {
+                int distance = Math.abs(nearest / sideLength - index / sideLength)
+                        + Math.abs(nearest % sideLength - index % sideLength);
+                assertEquals(true, sources.get(nearest), "Nearest square should be a source at " + index);
+                assertEquals(expected, distance, "Nearest source should be closest at " + index);
+            }
+        }
+    }
+
+    /**
+     * Tests that a field built in one go matches the reference.
+     */
+    @Test
+    public void testBuildMatchesReference() {
+        Random random = new Random(7);
+        for (int sideLength : new int[] { 1, 2, 9, 31 }) {
+            for (int trial = 0; trial < 20; trial++) {
+                Bitboard sources = new Bitboard(sideLength * sideLength);
+                for (int i = 0; i < sideLength * sideLength; i++) {
+                    if (random.nextInt(100) < 5) {
+                        sources.set(i);
+                    }
+                }
+                assertMatches(new DistanceField(sideLength, sources), sideLength, sources);
+            }
+        }
+    }
+
+    /**
+     * Tests that a field kept up to date through random additions and removals
+     * of sources always matches the reference.
+     */
+    @Test
+    public void testIncrementalUpdatesMatchReference() {
+        Random random = new Random(11);
+        for (int sideLength : new int[] { 1, 3, 9, 24 }) {
+            int totalSquares = sideLength * sideLength;
+            DistanceField field = new DistanceField(sideLength);
+            Bitboard sources = new Bitboard(totalSquares);
+
+            for (int change = 0; change < 200; change++) {
+                int square = random.nextInt(totalSquares);
+                if (sources.get(square) && random.nextBoolean()) {
+                    field.removeSource(square);
+                    sources.clear(square);
+                } else {
+                    field.addSource(square);
+                    sources.set(square);
+                }
+                assertMatches(field, sideLength, sources);
+            }
+        }
+    }
+
+    /**
+     * Tests that removing the last source leaves every square unreachable.
+     */
+    @Test
+    public void testRemovingLastSource() {
+        DistanceField field = new DistanceField(5);
+        field.addSource(12);
+        assertEquals(4, field.distance(0));
+
+        field.removeSource(12);
+        assertEquals(DistanceField.UNREACHABLE, field.distance(0));
+        assertEquals(-1, field.nearest(24));
+    }
+
+    /**
+     * Tests that invalid arguments are rejected.
+     */
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new DistanceField(0));
+        assertThrows(IllegalArgumentException.class, () -> new DistanceField(3, new Bitboard(10)));
+    }
+}
@@ -0,0 +1,288 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import BoardGame.ChangeTracker;
+import BoardGame.Direction;
+import BoardGame.Player;
+import BoardGame.ResourceType;
+import BoardGame.Task;
+import GameSystem.GameEngine;
+import GameSystem.GameRules;
+import GameSystem.Transaction;
+
+/**
+ * Test suite for the {@link GameEngine} class.
+ * <p>
+ * These tests run without a display and check that separate engines hold
+ * separate games.
+ * </p>
+ */
+public class GameEngineTest {
+
+    private GameEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        engine = new GameEngine();
+        engine.setTurnOrder(new Player[] { new Player("Alice", 0), new Player("Bob", 0) });
+    }
+
+    /**
+     * Tests that two engines do not share any game state.
+     */
+    @Test
+    public void testEnginesAreIndependent() {
+        GameEngine other = new GameEngine();
+        other.setTurnOrder(new Player[] { new Player("Charlie", 0) });
+
+        engine.nextTurn();
+        engine.setRoundNumber(4);
+
+        assertEquals(0, other.getTurnNumber(), "Other engine's turn number should be unchanged.");
+        assertEquals(0, other.getRoundNumber(), "Other engine's round number should be unchanged.");
+        assertNotSame(engine.getBoard(), other.getBoard(), "Each engine should own its own board.");
+        assertNotSame(engine.getTasks().get(0), other.getTasks().get(0), "Each engine should own its own tasks.");
+    }
+
+    /**
+     * Tests that a full round deducts maintenance from every player.
+     */
+    @Test
+    public void testNextTurnChargesMaintenance() {
+        engine.nextTurn();
+        engine.nextTurn();
+
+        assertEquals(1, engine.getRoundNumber(), "Round number should increment after a full cycle.");
+        for (Player player : engine.getTurnOrder()) {
+            assertEquals(50 - engine.getRules().getMaintenanceCostEachRound(), player.getMoney(),
+                    "Each player should pay maintenance once per round.");
+        }
+    }
+
+    /**
+     * Tests that moving without any moves left does nothing.
+     */
+    @Test
+    public void testMovePlayerNoMoves() {
+        assertNull(engine.movePlayer(Direction.RIGHT), "No square should be returned without moves left.");
+        assertEquals(0, engine.getPlayerAt().getMovesTravelled(), "Player should not have moved.");
+    }
+
+    /**
+     * Tests purchasing a resource on the engine directly.
+     */
+    @Test
+    public void testPurchaseResource() {
+        assertTrue(engine.purchaseResource(ResourceType.ASPHALT), "Purchase should succeed with starting money.");
+        assertEquals(50 - engine.getRules().getResourcePrice(), engine.getPlayerAt().getMoney(),
+                "Money should be reduced by the resource price.");
+        assertEquals(engine.getRules().getResourceRewardAmount(), engine.getPlayerAt().getResource(ResourceType.ASPHALT),
+                "Resource should be increased by the reward amount.");
+    }
+
+    /**
+     * Tests that an action reaches the listeners as a single batch of deltas.
+     */
+    @Test
+    public void testActionFlushesChangesOnce() {
+        List<List<ChangeTracker.Change>> flushes = new ArrayList<>();
+        engine.getChangeTracker().addListener(flushes::add);
+
+        engine.purchaseResource(ResourceType.ASPHALT);
+        assertEquals(1, flushes.size(), "A purchase should be flushed once.");
+        ChangeTracker.Change change = flushes.get(0).get(0);
+        assertEquals(-engine.getRules().getResourcePrice(), change.getDelta(ResourceType.MONEY), "Money delta should be the price.");
+        assertEquals(engine.getRules().getResourceRewardAmount(), change.getDelta(ResourceType.ASPHALT),
+                "Asphalt delta should be the reward.");
+        assertEquals(ChangeTracker.fieldOf(ResourceType.MONEY) | ChangeTracker.fieldOf(ResourceType.ASPHALT),
+                change.getFields(), "Only money and asphalt should be marked as changed.");
+
+        engine.nextTurn();
+        engine.nextTurn();
+        assertEquals(2, flushes.size(), "Maintenance for every player should be flushed once.");
+        assertEquals(2, flushes.get(1).size(), "Each player should have one change.");
+    }
+
+    /**
+     * Tests that changes wait for an explicit flush when automatic flushing is
+     * off, and that changes which cancel out are not sent.
+     */
+    @Test
+    public void testManualFlushCoalescesChanges() {
+        List<List<ChangeTracker.Change>> flushes = new ArrayList<>();
+        ChangeTracker tracker = engine.getChangeTracker();
+        tracker.addListener(flushes::add);
+        tracker.setAutoFlush(false);
+
+        Player player = engine.getPlayerAt();
+        player.changeMoney(10);
+        player.changeMoney(-10);
+        player.changeScoreBy(3);
+        assertTrue(tracker.isDirty(), "Changes should be waiting to be flushed.");
+        assertTrue(flushes.isEmpty(), "Nothing should be sent before the flush.");
+
+        tracker.flush();
+        assertFalse(tracker.isDirty(), "Flushing should clear the changes.");
+        assertEquals(1, flushes.size(), "One flush should be sent.");
+        assertEquals(ChangeTracker.SCORE, flushes.get(0).get(0).getFields(), "Only the score should have changed.");
+        assertEquals(3, flushes.get(0).get(0).getScoreDelta(), "Score delta should be the net change.");
+    }
+
+    /**
+     * Tests that a transaction the player cannot fully afford changes nothing.
+     */
+    @Test
+    public void testTransactionIsAllOrNothing() {
+        List<List<ChangeTracker.Change>> flushes = new ArrayList<>();
+        engine.getChangeTracker().addListener(flushes::add);
+        Player player = engine.getPlayerAt();
+        boolean[] ran = new boolean[1];
+
+        Transaction tooExpensive = new Transaction(player)
+                .cost(ResourceType.MONEY, 10)
+                .cost(ResourceType.ASPHALT, 1)
+                .score(5)
+                .then(() -> ran[0] = true);
+        assertFalse(engine.apply(tooExpensive), "Transaction should fail without asphalt.");
+        assertEquals(50, player.getMoney(), "Money should be untouched.");
+        assertEquals(0, player.getScore(), "Score should be untouched.");
+        assertFalse(ran[0], "Effects should not run.");
+        assertTrue(flushes.isEmpty(), "No change should be sent.");
+
+        player.setResource(1, ResourceType.ASPHALT);
+        flushes.clear();
+        assertTrue(engine.apply(tooExpensive), "Transaction should go through once affordable.");
+        assertEquals(40, player.getMoney(), "Money should be taken.");
+        assertEquals(0, player.getResource(ResourceType.ASPHALT), "Asphalt should be taken.");
+        assertEquals(5, player.getScore(), "Score should be awarded.");
+        assertTrue(ran[0], "Effects should run.");
+        assertEquals(1, flushes.size(), "The whole transaction should be sent as one change.");
+    }
+
+    /**
+     * Tests that purchases from several threads never overspend.
+     */
+    @Test
+    public void testConcurrentPurchasesNeverOverspend() throws Exception {
+        Player player = engine.getPlayerAt();
+        player.setMoney(engine.getRules().getResourcePrice() * 100);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                int bought = 0;
+                for (int i = 0; i < 50; i++) {
+                    if (engine.purchaseResource(ResourceType.KNOWLEDGE)) {
+                        bought++;
+                    }
+                }
+                return bought;
+            }));
+        }
+        int bought = 0;
+        for (Future<Integer> result : results) {
+            bought += result.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS), "Purchases should finish.");
+
+        assertEquals(100, bought, "Exactly the affordable number of purchases should succeed.");
+        assertEquals(0, player.getMoney(), "Money should be spent exactly.");
+        assertEquals(100 * engine.getRules().getResourceRewardAmount(), player.getResource(ResourceType.KNOWLEDGE),
+                "Every successful purchase should be rewarded.");
+    }
+
+    /**
+     * Tests that a game follows its own rules for prices, maintenance and task
+     * costs.
+     */
+    @Test
+    public void testRulesSetEconomy() {
+        GameRules rules = GameRules.DEFAULT
+                .with(GameRules.Setting.RESOURCE_PRICE, 7)
+                .with(GameRules.Setting.MAINTENANCE_COST_EACH_ROUND, 11)
+                .with(GameRules.Setting.TASK_RESOURCE_COST, 3)
+                .with(GameRules.Setting.SUBTASK_COMPLETION_SCORE, 9);
+        GameEngine game = new GameEngine(9, 1L, rules);
+        game.setTurnOrder(new Player[] { new Player("Alice", 0) });
+
+        assertSame(rules, game.getRules(), "The game should keep its rules.");
+        assertEquals(20, GameRules.DEFAULT.getResourcePrice(), "The default rules should be unchanged.");
+        Task task = game.getTasks().get(0);
+        assertEquals(3, task.getResourceCost(), "Tasks should cost what the rules say.");
+        assertEquals(9, task.getSteps()[0].getCompletionScore(), "Subtasks should score what the rules say.");
+
+        game.purchaseResource(ResourceType.ASPHALT);
+        assertEquals(50 - 7, game.getPlayerAt().getMoney(), "Purchases should cost the rules' price.");
+        game.nextTurn();
+        assertEquals(50 - 7 - 11, game.getPlayerAt().getMoney(), "Maintenance should be the rules' cost.");
+        assertEquals(rules, game.copy(2L).getRules(), "A copy should keep the rules.");
+        assertThrows(IllegalArgumentException.class, () -> rules.with(GameRules.Setting.RESOURCE_PRICE, -1));
+    }
+
+    /**
+     * Tests that two games created from the same seed lay out the board and roll
+     * the dice identically.
+     */
+    @Test
+    public void testSameSeedReplaysGame() {
+        GameEngine first = new GameEngine(9, 42L);
+        GameEngine second = new GameEngine(9, 42L);
+
+        assertEquals(42L, first.getSeed(), "Seed should be recorded.");
+        for (int i = 0; i < first.getBoard().getTotalSquares(); i++) {
+            assertEquals(first.getBoard().getSquareAt(i).getSquareType(), second.getBoard().getSquareAt(i).getSquareType(),
+                    "Square " + i + " should match.");
+        }
+        for (int roll = 0; roll < 20; roll++) {
+            assertEquals(first.rollDie(), second.rollDie(), "Die rolls should match.");
+        }
+    }
+
+    /**
+     * Tests that a copy of a game starts in the same state but changes
+     * independently of the game.
+     */
+    @Test
+    public void testCopyIsIndependent() {
+        GameEngine game = new GameEngine(9, 5L);
+        Player first = new Player("One", game.getBoard().getSpawnLocations()[0]);
+        game.setTurnOrder(new Player[] { first });
+        game.startGame();
+        Task task = game.getTasks().get(0);
+        first.setResource(100, task.getResourceType());
+        assertTrue(game.purchaseTask(first, task.getResourceType(), task), "Task should be claimed.");
+
+        GameEngine copy = game.copy(6L);
+        Player copiedPlayer = copy.getPlayerAt();
+        Task copiedTask = copy.getTasks().get(0);
+        assertNotSame(first, copiedPlayer, "Players should be copied.");
+        assertNotSame(task, copiedTask, "Tasks should be copied.");
+        assertSame(copiedPlayer, copiedTask.getOwnedBy(), "Copied task should belong to the copied player.");
+        assertEquals(first.getResource(task.getResourceType()), copiedPlayer.getResource(task.getResourceType()),
+                "Resources should be copied.");
+        assertEquals(game.getBoard().getTaskPosition(task), copy.getBoard().getTaskPosition(copiedTask),
+                "Tasks should be in the same place.");
+
+        assertTrue(copy.progressTask(copiedTask), "Copied task should progress.");
+        assertEquals(1, copiedTask.getCurrentStepNumber(), "Copy should change.");
+        assertEquals(0, task.getCurrentStepNumber(), "Game should not change with its copy.");
+        assertEquals(0, first.getScore(), "Game's player should not change with its copy.");
+    }
+}
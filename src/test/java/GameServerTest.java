@@ -0,0 +1,241 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import Server.GameServer;
+
+/**
+ * Test suite for the {@link GameServer} class, played over loopback sockets.
+ */
+public class GameServerTest {
+
+    private GameServer server;
+
+    /**
+     * A player connected to the server, reading one line at a time.
+     */
+    private final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            socket.setSoTimeout(5000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * Sends a command and waits for its reply, skipping any broadcasts.
+         */
+        String ask(String command) throws IOException {
+            out.println(command);
+            return await("OK", "ERR");
+        }
+
+        /**
+         * Reads lines until one starts with any of the prefixes.
+         */
+        String await(String... prefixes) throws IOException {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                for (String prefix : prefixes) {
+                    if (line.startsWith(prefix)) {
+                        return line;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Reads lines up to and including the first that starts with the
+         * prefix.
+         */
+        List<String> readUntil(String prefix) throws IOException {
+            List<String> lines = new ArrayList<>();
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                lines.add(line);
+                if (line.startsWith(prefix)) {
+                    break;
+                }
+            }
+            return lines;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 42);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Waits up to a few seconds for a count to reach a value.
+     */
+    private static void awaitCount(int expected, IntSupplier count) throws InterruptedException {
+        for (int i = 0; i < 500 && count.getAsInt() != expected; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, count.getAsInt());
+    }
+
+    /**
+     * Tests that two players can join, start and take turns, and that each
+     * hears about the other's actions.
+     */
+    @Test
+    public void testTwoPlayersTakeTurns() throws Exception {
+        try (Client alice = new Client(); Client bob = new Client()) {
+            assertEquals("OK JOIN 0", alice.ask("JOIN park Alice"));
+            assertEquals("OK JOIN 1", bob.ask("join park Bob"), "Commands should ignore case.");
+            assertEquals(1, server.getGameCount(), "Both players should be in the same game.");
+
+            assertEquals("OK START", alice.ask("START"));
+            assertEquals("STARTED 2", bob.await("STARTED"), "Everyone should hear the game start.");
+
+            assertTrue(alice.ask("ROLL").startsWith("OK ROLL "));
+            assertTrue(alice.ask("ROLL").startsWith("ERR"), "A player rolls only once per turn.");
+            assertTrue(bob.await("EVENT 0 ROLL").startsWith("EVENT 0 ROLL"), "Others should hear the roll.");
+            assertTrue(bob.ask("ROLL").startsWith("ERR"), "Only the current player may act.");
+
+            assertEquals("OK END", alice.ask("END"));
+            assertTrue(bob.await("TURN ").startsWith("TURN 1 "), "The turn should pass to the second player.");
+            assertTrue(bob.ask("ROLL").startsWith("OK ROLL "), "The second player may now roll.");
+        }
+    }
+
+    /**
+     * Tests that watchers are sent a full snapshot, and that afterwards only
+     * what an action changed is broadcast.
+     */
+    @Test
+    public void testOnlyChangesAreBroadcast() throws Exception {
+        try (Client alice = new Client(); Client bob = new Client(); Client watcher = new Client()) {
+            assertEquals("OK JOIN 0", alice.ask("JOIN stadium Alice"));
+            assertEquals("OK JOIN 1", bob.ask("JOIN stadium Bob"));
+            assertEquals("OK START", alice.ask("START"));
+            bob.await("STARTED");
+
+            assertEquals("OK WATCH stadium", watcher.ask("WATCH stadium"));
+            List<String> snapshot = watcher.readUntil("TURN ");
+            assertEquals("SNAPSHOT", snapshot.get(0));
+            assertTrue(snapshot.contains("JOINED 1 Bob"), "The snapshot should name the players.");
+            assertTrue(snapshot.stream().anyMatch(line -> line.startsWith("SQUARE ")), "The snapshot holds the board.");
+            assertTrue(snapshot.stream().anyMatch(line -> line.startsWith("TASK 0 at=")), "It holds the tasks.");
+            assertTrue(snapshot.stream().anyMatch(line -> line.startsWith("PLAYER 1 at=") && line.contains(" money=")),
+                    "It holds every field of every player.");
+
+            String roll = alice.ask("ROLL").substring("OK ROLL ".length());
+            assertEquals("EVENT 0 ROLL " + roll, watcher.await("EVENT"), "Watchers should hear every action.");
+            bob.await("EVENT 0 ROLL");
+            List<String> heard = bob.readUntil("PLAYER");
+            assertEquals(List.of("PLAYER 0 moves=" + roll), heard, "Only the moves of the roller changed.");
+            assertEquals("ERR It is not your turn", bob.ask("ROLL"), "Nothing else should have been sent.");
+        }
+    }
+
+    /**
+     * Tests that bad commands are refused without closing the connection.
+     */
+    @Test
+    public void testBadCommandsAreRefused() throws Exception {
+        try (Client client = new Client()) {
+            assertEquals("ERR Join a game first", client.ask("ROLL"));
+            assertTrue(client.ask("JOIN lonely").startsWith("ERR"), "A join needs a game and a name.");
+            assertEquals("OK JOIN 0", client.ask("JOIN full Player0"));
+            assertTrue(client.ask("FLY").startsWith("ERR"), "Unknown commands should be refused.");
+            assertTrue(client.ask("JOIN other Again").startsWith("ERR"), "A client plays one game at a time.");
+
+            List<Client> others = new ArrayList<>();
+            try {
+                for (int i = 1; i < 4; i++) {
+                    others.add(new Client());
+                    assertEquals("OK JOIN " + i, others.get(i - 1).ask("JOIN full Player" + i));
+                }
+                try (Client late = new Client()) {
+                    assertTrue(late.ask("JOIN full Late").startsWith("ERR"), "A game seats at most four.");
+                }
+            } finally {
+                for (Client other : others) {
+                    other.close();
+                }
+            }
+            assertEquals("OK QUIT", client.ask("QUIT"));
+        }
+        awaitCount(0, server::getGameCount);
+    }
+
+    /**
+     * Tests that a flood of commands sent without waiting is answered command
+     * by command and in order, even when the game falls behind.
+     */
+    @Test
+    public void testFloodIsAnsweredInOrder() throws Exception {
+        try (Client client = new Client()) {
+            StringBuilder flood = new StringBuilder("JOIN flood Player\n");
+            for (int i = 0; i < 5000; i++) {
+                flood.append("ROLL\n");
+            }
+            client.out.print(flood.append("QUIT\n"));
+            client.out.flush();
+
+            assertEquals("OK JOIN 0", client.await("OK", "ERR"), "The join should be carried out first.");
+            for (int i = 0; i < 5000; i++) {
+                assertEquals("ERR The game has not started", client.await("OK", "ERR"),
+                        "Every roll should be answered in turn, never turned away.");
+            }
+            assertEquals("OK QUIT", client.await("OK", "ERR"), "The last command should be answered last.");
+        }
+        awaitCount(0, server::getGameCount);
+    }
+
+    /**
+     * Tests that a thousand idle connections are held by the server's few
+     * threads while another client still plays.
+     */
+    @Test
+    public void testHoldsManyIdleConnections() throws Exception {
+        List<Socket> idle = new ArrayList<>();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                idle.add(new Socket(InetAddress.getLoopbackAddress(), server.getPort()));
+            }
+            awaitCount(1000, server::getConnectionCount);
+
+            try (Client client = new Client()) {
+                assertEquals("OK JOIN 0", client.ask("JOIN busy Player"));
+            }
+        } finally {
+            for (Socket socket : idle) {
+                socket.close();
+            }
+        }
+        awaitCount(0, server::getConnectionCount);
+    }
+}
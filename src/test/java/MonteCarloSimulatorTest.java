@@ -0,0 +1,257 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import BoardGame.BoardModel;
+import BoardGame.Player;
+import GameSystem.BotPlayer;
+import GameSystem.GameEngine;
+import GameSystem.GameRules;
+import GameSystem.TurnPlan;
+import Simulation.BatchSimulator;
+import Simulation.GameResult;
+import Simulation.MctsPlayer;
+import Simulation.MonteCarloSimulator;
+import Simulation.ParameterSweep;
+import Simulation.SimulationReport;
+import Simulation.StoppingRule;
+
+/**
+ * Test suite for the {@link MonteCarloSimulator} class.
+ */
+public class MonteCarloSimulatorTest {
+
+    /**
+     * Tests that every simulated game ends and is counted once.
+     */
+    @Test
+    public void testRunCountsEveryGame() {
+        SimulationReport report = new MonteCarloSimulator(2, 50).run(40);
+
+        assertEquals(40, report.getGames(), "Every game should be counted.");
+        long total = 0;
+        for (GameResult.Outcome outcome : GameResult.Outcome.values()) {
+            total += report.getCount(outcome);
+        }
+        assertEquals(40, total, "Every game should have exactly one outcome.");
+        assertTrue(report.getMeanRounds() >= 1 && report.getMeanRounds() <= 50, "Rounds should be within the limit.");
+        assertTrue(report.getMeanImplementationPercent() >= 0 && report.getMeanImplementationPercent() <= 1,
+                "Implementation percentage should be a fraction.");
+    }
+
+    /**
+     * Tests that merging reports gives the same totals as adding the games to
+     * one report.
+     */
+    @Test
+    public void testReportsMerge() {
+        SimulationReport first = new SimulationReport();
+        SimulationReport second = new SimulationReport();
+        first.add(new GameResult(1, GameResult.Outcome.WIN, 10, 1.0));
+        second.add(new GameResult(2, GameResult.Outcome.BAD_ENDING, 20, 0.2));
+        second.add(new GameResult(3, GameResult.Outcome.TIMEOUT, 30, 0.4));
+        first.merge(second);
+
+        assertEquals(3, first.getGames(), "All games should be counted.");
+        assertEquals(1.0 / 3, first.getRate(GameResult.Outcome.WIN), 1e-9, "Win rate should be one in three.");
+        assertEquals(20, first.getMeanRounds(), 1e-9, "Mean rounds should cover every game.");
+        assertEquals(0.4, first.getImplementationPercentile(0.5), 1e-9, "Median should be the middle game.");
+    }
+
+    /**
+     * Tests that a seeded simulation gives the same report every time.
+     */
+    @Test
+    public void testSeededRunIsReproducible() {
+        SimulationReport first = new MonteCarloSimulator(3, 40, 1234).run(30);
+        SimulationReport second = new MonteCarloSimulator(3, 40, 1234).run(30);
+
+        assertEquals(first.toString(), second.toString(), "The same seed should give the same report.");
+    }
+
+    /**
+     * Tests that a sweep plays every combination of the grid and ranks them by
+     * distance from the target win rate.
+     */
+    @Test
+    public void testSweepRanksCombinations() {
+        Map<GameRules.Setting, int[]> axes = new EnumMap<>(GameRules.Setting.class);
+        axes.put(GameRules.Setting.RESOURCE_PRICE, new int[] { 10, 40 });
+        axes.put(GameRules.Setting.MAINTENANCE_COST_EACH_ROUND, new int[] { 0, 5, 15 });
+        ParameterSweep sweep = new ParameterSweep(GameRules.DEFAULT, axes, 2, 60, 70, 21L);
+
+        assertEquals(6, sweep.getCombinations(), "Every pair of values should be a combination.");
+        assertEquals(40, sweep.combination(3).getResourcePrice(), "The first setting should change slowest.");
+        assertEquals(0, sweep.combination(3).getMaintenanceCostEachRound(), "The last setting should change fastest.");
+
+        List<ParameterSweep.Result> results = sweep.run(0.5);
+        assertEquals(6, results.size(), "Every combination should have a result.");
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(70, results.get(i).getReport().getGames(), "Every game should be played.");
+            if (i > 0) {
+                assertTrue(results.get(i - 1).getDistance() <= results.get(i).getDistance(),
+                        "Results should be ranked by distance from the target.");
+            }
+        }
+
+        // A combination plays the same games as a simulator with its rules
+        ParameterSweep.Result first = results.get(0);
+        SimulationReport alone = new MonteCarloSimulator(2, 60, 21L, first.getRules()).run(70);
+        assertEquals(alone.toString(), first.getReport().toString(), "A sweep should replay the simulator's games.");
+    }
+
+    /**
+     * Tests that a bot only plays on its own turn, and that it acts on it.
+     */
+    @Test
+    public void testBotPlaysOwnTurn() {
+        GameEngine engine = new GameEngine(BoardModel.DEFAULT_SIDE_LENGTH, 99L);
+        int spawn = engine.getBoard().getSpawnLocations()[0];
+        BotPlayer first = new BotPlayer("Bot 1", spawn);
+        BotPlayer bot = new BotPlayer("Bot 2", spawn);
+        engine.setTurnOrder(new Player[] { first, bot });
+        engine.startGame();
+
+        assertThrows(IllegalStateException.class, () -> bot.playTurn(engine), "Bot should wait for its turn.");
+        first.playTurn(engine);
+        assertTrue(first.getCoord() != spawn || first.getMoney() != 50, "Bot should walk or shop on its turn.");
+    }
+
+    /**
+     * Tests that a tree search player picks one of its candidate plans within
+     * its budget and plays its turn with it.
+     */
+    @Test
+    public void testMctsPlayerDecides() {
+        GameEngine engine = new GameEngine(BoardModel.DEFAULT_SIDE_LENGTH, 3L);
+        int spawn = engine.getBoard().getSpawnLocations()[0];
+        MctsPlayer searcher = new MctsPlayer("Searcher", spawn, 20, 2);
+        engine.setTurnOrder(new Player[] { searcher, new BotPlayer("Bot", spawn) });
+        engine.startGame();
+
+        engine.rollDie();
+        TurnPlan plan = searcher.decide(engine);
+        assertTrue(TurnPlan.candidates(engine, searcher).contains(plan), "Plan should be a candidate.");
+        assertTrue(searcher.getLastIterations() >= 2, "Every worker should play out at least once.");
+
+        engine.nextTurn();
+        engine.nextTurn();
+        int round = engine.getRoundNumber();
+        searcher.playTurn(engine);
+        assertEquals(round, engine.getRoundNumber(), "Playing a turn should not end it.");
+        assertThrows(IllegalArgumentException.class, () -> new MctsPlayer("Searcher", spawn, 10, 0));
+    }
+
+    /**
+     * Tests that invalid simulator settings are rejected.
+     */
+    @Test
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloSimulator(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloSimulator(5, 10));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloSimulator(2, 0));
+    }
+
+    /**
+     * Tests that each game of a batch simulation plays out the same whatever
+     * batch it is played in, from the same seed as the Monte Carlo simulator.
+     */
+    @Test
+    public void testBatchGamesDoNotDependOnBatchSize() {
+        BatchSimulator single = new BatchSimulator(2, 60, 99, GameRules.DEFAULT, 1);
+        BatchSimulator batched = new BatchSimulator(2, 60, 99, GameRules.DEFAULT, 7);
+        GameResult[] alone = single.playRange(5, 25);
+        GameResult[] together = batched.playRange(5, 25);
+
+        assertEquals(20, together.length, "Every game of the range should be played.");
+        for (int i = 0; i < alone.length; i++) {
+            assertEquals(new MonteCarloSimulator(2, 60, 99).gameSeed(5 + i), together[i].getSeed(),
+                    "Games should be seeded as in the Monte Carlo simulator.");
+            assertEquals(alone[i].getOutcome(), together[i].getOutcome(), "Outcome should not depend on the batch.");
+            assertEquals(alone[i].getRounds(), together[i].getRounds(), "Rounds should not depend on the batch.");
+            assertEquals(alone[i].getImplementationPercent(), together[i].getImplementationPercent(), 1e-9,
+                    "Implementation should not depend on the batch.");
+        }
+        assertEquals(20, batched.run(20).getGames(), "A run should count every game once.");
+    }
+
+    /**
+     * Tests that batched games follow the rules of the engine: maintenance no
+     * player can pay ends every game at the end of the first round in both
+     * simulators.
+     */
+    @Test
+    public void testBatchAgreesWithEngineOnRuin() {
+        GameRules ruinous = GameRules.DEFAULT.with(GameRules.Setting.MAINTENANCE_COST_EACH_ROUND, 1000);
+        GameResult[] batched = new BatchSimulator(3, 20, 7, ruinous, 16).playRange(0, 10);
+        MonteCarloSimulator engine = new MonteCarloSimulator(3, 20, 7, ruinous);
+
+        for (int i = 0; i < batched.length; i++) {
+            GameResult played = engine.playGame(engine.gameSeed(i));
+            assertEquals(GameResult.Outcome.BAD_ENDING, batched[i].getOutcome(), "Nobody can pay the maintenance.");
+            assertEquals(played.getOutcome(), batched[i].getOutcome(), "Both simulators should agree.");
+            assertEquals(played.getRounds(), batched[i].getRounds(), "Both should end in the same round.");
+        }
+    }
+
+    /**
+     * Tests that the stopping rules only settle a win rate once enough games
+     * back it up.
+     */
+    @Test
+    public void testStoppingRulesNeedEnoughGames() {
+        SimulationReport few = new SimulationReport();
+        SimulationReport many = new SimulationReport();
+        for (int i = 0; i < 1000; i++) {
+            GameResult result = new GameResult(i, i % 2 == 0 ? GameResult.Outcome.WIN : GameResult.Outcome.TIMEOUT,
+                    10, 0.5);
+            if (i < 10) {
+                few.add(result);
+            }
+            many.add(result);
+        }
+
+        StoppingRule within = StoppingRule.winRateWithin(0.05);
+        assertTrue(!within.isResolved(new SimulationReport()), "No games should settle nothing.");
+        assertTrue(!within.isResolved(few), "Ten games should not pin the rate down to 5%.");
+        assertTrue(within.isResolved(many), "A thousand games should pin the rate down to 5%.");
+
+        StoppingRule test = StoppingRule.sprt(0.4, 0.5, 0.05, 0.05);
+        assertTrue(!test.isResolved(few), "Ten games should not decide between close rates.");
+        assertTrue(test.isResolved(many), "A 50% win rate should be decided as the higher rate.");
+        assertThrows(IllegalArgumentException.class, () -> StoppingRule.sprt(0.3, 0.1, 0.05, 0.05));
+    }
+
+    /**
+     * Tests that a simulation and a sweep stop after the first check once the
+     * rule is resolved, and play every game without a rule.
+     */
+    @Test
+    public void testRunsStopWhenResolved() {
+        GameRules ruinous = GameRules.DEFAULT.with(GameRules.Setting.MAINTENANCE_COST_EACH_ROUND, 1000);
+        StoppingRule rule = StoppingRule.winRateWithin(0.05);
+        MonteCarloSimulator simulator = new MonteCarloSimulator(2, 20, 3, ruinous);
+
+        SimulationReport stopped = simulator.runUntil(4 * MonteCarloSimulator.GAMES_PER_CHECK, rule);
+        assertEquals(MonteCarloSimulator.GAMES_PER_CHECK, stopped.getGames(), "The first check should stop the run.");
+        assertEquals(100, simulator.runUntil(100, rule).getGames(), "The game limit should still apply.");
+
+        Map<GameRules.Setting, int[]> axes = new EnumMap<>(GameRules.Setting.class);
+        axes.put(GameRules.Setting.MAINTENANCE_COST_EACH_ROUND, new int[] { 500, 1000 });
+        ParameterSweep sweep = new ParameterSweep(GameRules.DEFAULT, axes, 2, 20, 3000, 3);
+        for (ParameterSweep.Result result : sweep.run(0.5, ForkJoinPool.commonPool(), rule)) {
+            assertEquals(ParameterSweep.BLOCKS_PER_CHECK * 64, result.getReport().getGames(),
+                    "Each combination should stop at its first check.");
+        }
+        for (ParameterSweep.Result result : sweep.run(0.5)) {
+            assertEquals(3000, result.getReport().getGames(), "Without a rule every game should be played.");
+        }
+    }
+}
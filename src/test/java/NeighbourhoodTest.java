@@ -0,0 +1,96 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import BoardGame.Bitboard;
+import BoardGame.Neighbourhood;
+
+/**
+ * Test suite for the {@link Neighbourhood} class.
+ */
+public class NeighbourhoodTest {
+
+    /**
+     * The square radius check the masks replace, kept here as the reference.
+     */
+    private static boolean isWithinRadius(int sideLength, int index, int radius, Bitboard existingPositions) {
+        int row = index / sideLength;
+        int col = index % sideLength;
+
+        for (int i = -radius; i <= radius; i++) {
+            for (int j = -radius; j <= radius; j++) {
+                int newRow = row + i;
+                int newCol = col + j;
+                if (newRow >= 0 && newRow < sideLength && newCol >= 0 && newCol < sideLength) {
+                    if (existingPositions.get(newRow * sideLength + newCol)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests that the masks agree with the radius loop on random boards of
+     * varying size and density, including boards too large for the masks to be
+     * built up front.
+     */
+    @Test
+    public void testMatchesRadiusLoop() {
+        Random random = new Random(42);
+        for (int sideLength : new int[] { 1, 2, 8, 9, 13, 40, 70 }) {
+            for (int radius : new int[] { 0, 1, 3 }) {
+                Neighbourhood neighbourhood = Neighbourhood.of(sideLength, radius);
+                int totalSquares = sideLength * sideLength;
+
+                for (int trial = 0; trial < 50; trial++) {
+                    Bitboard positions = new Bitboard(totalSquares);
+                    int density = random.nextInt(20) + 1;
+                    for (int i = 0; i < totalSquares; i++) {
+                        if (random.nextInt(100) < density) {
+                            positions.set(i);
+                        }
+                    }
+
+                    for (int index = 0; index < totalSquares; index++) {
+                        assertEquals(isWithinRadius(sideLength, index, radius, positions),
+                                neighbourhood.intersects(index, positions),
+                                "Mismatch at square " + index + " with side " + sideLength + " and radius " + radius);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that the mask is clipped at the corners of the board.
+     */
+    @Test
+    public void testCornerMaskIsClipped() {
+        assertEquals(4, Neighbourhood.of(9, 1).around(0).cardinality(), "Corner should see a 2x2 block.");
+        assertEquals(9, Neighbourhood.of(9, 1).around(40).cardinality(), "Centre should see a 3x3 block.");
+        assertEquals(16, Neighbourhood.of(9, 3).around(80).cardinality(), "Corner should see a 4x4 block.");
+    }
+
+    /**
+     * Tests that neighbourhoods are shared between boards of the same size.
+     */
+    @Test
+    public void testNeighbourhoodsAreCached() {
+        assertSame(Neighbourhood.of(9, 3), Neighbourhood.of(9, 3), "Same size and radius should be shared.");
+    }
+
+    /**
+     * Tests that invalid sizes and radii are rejected.
+     */
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Neighbourhood.of(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> Neighbourhood.of(9, -1));
+    }
+}
@@ -67,4 +67,76 @@ public class PlayerTest {
         player.setCoord(1);
         assertEquals(1, player.getCoord(), "Player should be at position 1");
     }
+
+    @Test
+    void testMoneyIsAResourceSlot() {
+        player.setMoney(70);
+        assertEquals(70, player.getResource(ResourceType.MONEY), "Money should be readable as a resource");
+        player.changeResource(-20, ResourceType.MONEY);
+        assertEquals(50, player.getMoney(), "Money should be changed through the resource slot");
+    }
+
+    @Test
+    void testChangeResourceClampsAtZero() {
+        player.setResource(10, ResourceType.KNOWLEDGE);
+        player.changeResource(-20, ResourceType.KNOWLEDGE);
+        assertEquals(0, player.getResource(ResourceType.KNOWLEDGE), "Knowledge should not go below 0");
+        assertEquals(0, player.getResource(ResourceType.ASPHALT), "Other resources should be unchanged");
+    }
+
+    @Test
+    void testCanAffordCostVector() {
+        player.setResource(30, ResourceType.ASPHALT);
+        int[] cost = new int[ResourceType.COUNT];
+        cost[ResourceType.ASPHALT.ordinal()] = 30;
+        cost[ResourceType.MONEY.ordinal()] = 50;
+        assertTrue(player.canAfford(cost), "Player should afford a cost equal to their wallet");
+
+        cost[ResourceType.INFLUENCE.ordinal()] = 1;
+        assertFalse(player.canAfford(cost), "Player should not afford a resource they do not hold");
+    }
+
+    @Test
+    void testDebitAndCredit() {
+        int[] amount = new int[ResourceType.COUNT];
+        amount[ResourceType.VOLUNTEERS.ordinal()] = 15;
+        amount[ResourceType.MONEY.ordinal()] = 5;
+        player.credit(amount);
+        assertEquals(15, player.getResource(ResourceType.VOLUNTEERS), "Volunteers should be credited");
+        assertEquals(55, player.getMoney(), "Money should be credited");
+
+        player.debit(amount);
+        assertEquals(0, player.getResource(ResourceType.VOLUNTEERS), "Volunteers should be debited");
+        assertEquals(50, player.getMoney(), "Money should be debited");
+    }
+
+    @Test
+    void testMoveSilently() {
+        player.setCoord(0);
+        player.setMovesLeft(2);
+        assertEquals(0, player.moveSilently(Direction.UP, 9), "Moving off the board should not move the player");
+        assertEquals(2, player.getMovesLeft(), "A blocked move should not use a move");
+        assertEquals(1, player.moveSilently(Direction.RIGHT, 9), "Player should move right");
+        assertEquals(10, player.moveSilently(Direction.DOWN, 9), "Player should move down");
+        assertEquals(10, player.moveSilently(Direction.DOWN, 9), "Player should not move without moves left");
+        assertEquals(2, player.getMovesTravelled(), "Player should have travelled two squares");
+    }
+
+    @Test
+    void testMoveTableMatchesDirectMoves() {
+        MoveTable tabulated = MoveTable.of(9);
+        for (int square = 0; square < 81; square++) {
+            int row = square / 9;
+            int col = square % 9;
+            assertEquals(row > 0 ? square - 9 : square, tabulated.target(square, Direction.UP));
+            assertEquals(row < 8 ? square + 9 : square, tabulated.target(square, Direction.DOWN));
+            assertEquals(col > 0 ? square - 1 : square, tabulated.target(square, Direction.LEFT));
+            assertEquals(col < 8 ? square + 1 : square, tabulated.target(square, Direction.RIGHT));
+        }
+
+        MoveTable direct = MoveTable.of(1000);
+        assertEquals(999, direct.target(999, Direction.RIGHT), "Right edge should block on a large board");
+        assertEquals(1999, direct.target(999, Direction.DOWN), "Player should move down on a large board");
+        assertEquals(999000, direct.target(999000, Direction.LEFT), "Left edge should block on a large board");
+    }
 }
@@ -0,0 +1,124 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import BoardGame.Bitboard;
+import BoardGame.Direction;
+import BoardGame.MoveTable;
+import BoardGame.Reachability;
+
+/**
+ * Test suite for the {@link Reachability} class.
+ */
+public class ReachabilityTest {
+
+    /**
+     * Finds the squares reachable in exactly the given number of moves by
+     * trying every move from every square, kept here as the reference.
+     */
+    private static boolean[] reachableByWalking(int sideLength, int from, int moves) {
+        MoveTable table = MoveTable.of(sideLength);
+        boolean[] current = new boolean[sideLength * sideLength];
+        current[from] = true;
+        for (int step = 0; step < moves; step++) {
+            boolean[] next = new boolean[current.length];
+            for (int square = 0; square < current.length; square++) {
+                if (current[square]) {
+                    for (Direction direction : Direction.values()) {
+                        int target = table.target(square, direction);
+                        if (target != square) {
+                            next[target] = true;
+                        }
+                    }
+                }
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    /**
+     * Follows a route and checks that every move leaves the square.
+     */
+    private static int follow(int sideLength, int from, Direction[] route) {
+        MoveTable table = MoveTable.of(sideLength);
+        int square = from;
+        for (Direction direction : route) {
+            int target = table.target(square, direction);
+            assertTrue(target != square, "A route should never move into the edge");
+            square = target;
+        }
+        return square;
+    }
+
+    /**
+     * Tests that the destinations and routes agree with walking every move, on
+     * grids that span one or several words of the bitboard.
+     */
+    @Test
+    public void testMatchesWalking() {
+        Random random = new Random(3);
+        for (int sideLength : new int[] { 1, 2, 3, 9, 13, 30 }) {
+            for (int trial = 0; trial < 10; trial++) {
+                int from = random.nextInt(sideLength * sideLength);
+                int moves = random.nextInt(8);
+                Reachability reachable = Reachability.of(sideLength, from, moves);
+                boolean[] expected = reachableByWalking(sideLength, from, moves);
+
+                for (int square = 0; square < expected.length; square++) {
+                    assertEquals(expected[square], reachable.canReach(square),
+                            "Side " + sideLength + ", from " + from + ", moves " + moves + ", square " + square);
+                    if (expected[square]) {
+                        Direction[] route = reachable.path(square, null);
+                        assertEquals(moves, route.length, "A route should use every move");
+                        assertEquals(square, follow(sideLength, from, route), "A route should end on its square");
+                    }
+
+                    int distance = reachable.distance(square);
+                    int walking = Math.abs(square / sideLength - from / sideLength)
+                            + Math.abs(square % sideLength - from % sideLength);
+                    assertEquals(walking <= moves ? walking : -1, distance, "Distance mismatch at " + square);
+                    if (distance >= 0) {
+                        assertEquals(square, follow(sideLength, from, reachable.shortestPath(square)),
+                                "A shortest route should end on its square");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that a route passes over preferred squares when it has the choice.
+     */
+    @Test
+    public void testRoutePrefersSquares() {
+        // From the top left corner to two squares diagonally away, through the
+        // square to the right rather than the one below
+        Bitboard prefer = new Bitboard(9);
+        prefer.set(1);
+        Direction[] route = Reachability.of(3, 0, 2).path(4, prefer);
+        assertEquals(Direction.RIGHT, route[0]);
+        assertEquals(Direction.DOWN, route[1]);
+
+        prefer.clear();
+        prefer.set(3);
+        route = Reachability.of(3, 0, 2).path(4, prefer);
+        assertEquals(Direction.DOWN, route[0]);
+        assertEquals(Direction.RIGHT, route[1]);
+    }
+
+    /**
+     * Tests that invalid arguments are rejected.
+     */
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Reachability.of(3, 9, 1));
+        assertThrows(IllegalArgumentException.class, () -> Reachability.of(3, 0, -1));
+        assertThrows(IllegalArgumentException.class, () -> Reachability.of(3, 0, 1).path(0, null),
+                "A square an odd number of moves away cannot be reached");
+    }
+}
@@ -0,0 +1,113 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import BoardGame.Player;
+import Simulation.GameResult;
+import Simulation.MonteCarloSimulator;
+import Simulation.ResultColumn;
+import Simulation.ResultReader;
+import Simulation.ResultWriter;
+import Simulation.SimulationReport;
+
+/**
+ * Test suite for the {@link ResultWriter} and {@link ResultReader} classes.
+ */
+public class ResultFileTest {
+
+    @TempDir
+    Path folder;
+
+    /**
+     * Tests that every column reads back as written, across more than one
+     * block.
+     */
+    @Test
+    public void testColumnsRoundTrip() throws IOException {
+        Path file = folder.resolve("results.bin");
+        int games = ResultWriter.ROWS_PER_BLOCK / 2 + 10;
+        try (ResultWriter writer = new ResultWriter(file)) {
+            for (int g = 0; g < games; g++) {
+                Player first = new Player("A", 0);
+                Player second = new Player("B", 0);
+                first.changeScoreBy(g);
+                second.setMoney(-g);
+                second.changeTimesHelped(g % 7);
+                writer.write(new GameResult(1000L * g, GameResult.Outcome.values()[g % 3], g % 200, 0.5),
+                        new Player[] { first, second });
+            }
+            assertEquals(2L * games, writer.getRows(), "Every player should be a row.");
+        }
+
+        try (ResultReader reader = new ResultReader(file)) {
+            assertEquals(2L * games, reader.getRows(), "Every row should be found.");
+            long[] seeds = reader.readLongs(ResultColumn.SEED);
+            int[] seats = reader.readInts(ResultColumn.SEAT);
+            int[] outcomes = reader.readInts(ResultColumn.OUTCOME);
+            int[] rounds = reader.readInts(ResultColumn.ROUNDS);
+            int[] scores = reader.readInts(ResultColumn.SCORE);
+            int[] money = reader.readInts(ResultColumn.MONEY);
+            int[] helped = reader.readInts(ResultColumn.TIMES_HELPED);
+            for (int g = 0; g < games; g++) {
+                for (int seat = 0; seat < 2; seat++) {
+                    int row = 2 * g + seat;
+                    assertEquals(1000L * g, seeds[row], "Seed mismatch at row " + row);
+                    assertEquals(seat, seats[row], "Seat mismatch at row " + row);
+                    assertEquals(g % 3, outcomes[row], "Outcome mismatch at row " + row);
+                    assertEquals(g % 200, rounds[row], "Rounds mismatch at row " + row);
+                }
+                assertEquals(g, scores[2 * g], "Score mismatch in game " + g);
+                assertEquals(-g, money[2 * g + 1], "Negative money should survive.");
+                assertEquals(g % 7, helped[2 * g + 1], "Times helped mismatch in game " + g);
+            }
+            assertThrows(IllegalArgumentException.class, () -> reader.readInts(ResultColumn.SEED));
+            assertThrows(IllegalArgumentException.class, () -> reader.readLongs(ResultColumn.SCORE));
+        }
+    }
+
+    /**
+     * Tests that a simulation saves one row per player per game, and that the
+     * file agrees with the report.
+     */
+    @Test
+    public void testSimulationWritesEveryPlayer() throws IOException {
+        Path file = folder.resolve("simulation.bin");
+        SimulationReport report;
+        try (ResultWriter writer = new ResultWriter(file)) {
+            report = new MonteCarloSimulator(3, 40, 77L).run(25, writer);
+        }
+
+        try (ResultReader reader = new ResultReader(file)) {
+            assertEquals(75, reader.getRows(), "Each game should have three rows.");
+            int[] outcomes = reader.readInts(ResultColumn.OUTCOME);
+            int[] rounds = reader.readInts(ResultColumn.ROUNDS);
+            long wins = 0;
+            long totalRounds = 0;
+            for (int row = 0; row < outcomes.length; row += 3) {
+                wins += outcomes[row] == GameResult.Outcome.WIN.ordinal() ? 1 : 0;
+                totalRounds += rounds[row];
+            }
+            assertEquals(report.getCount(GameResult.Outcome.WIN), wins, "Wins should match the report.");
+            assertEquals(report.getMeanRounds(), totalRounds / 25.0, 1e-9, "Rounds should match the report.");
+        }
+    }
+
+    /**
+     * Tests that a file that is not a results file is rejected.
+     */
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Path file = folder.resolve("other.bin");
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+        assertThrows(IOException.class, () -> new ResultReader(file));
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 }, Files.readAllBytes(file),
+                "Reading should not change the file.");
+    }
+}
@@ -0,0 +1,198 @@
+package Server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the {@link Mailbox} class.
+ */
+public class MailboxTest {
+
+    /**
+     * A pool that only runs what it is given when told to, so a test can see
+     * exactly when a mailbox schedules itself.
+     */
+    private static final class ManualPool implements Executor {
+        private final Queue<Runnable> queued = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            queued.add(command);
+        }
+
+        /**
+         * Runs the next scheduled task.
+         *
+         * @return false if nothing was scheduled.
+         */
+        boolean runNext() {
+            Runnable next = queued.poll();
+            if (next == null) {
+                return false;
+            }
+            next.run();
+            return true;
+        }
+    }
+
+    /**
+     * Tests that a full mailbox refuses offers, but still accepts tasks that
+     * must not be lost, and runs everything it accepted in order.
+     */
+    @Test
+    public void testFullMailboxRefusesOffers() {
+        ManualPool pool = new ManualPool();
+        Mailbox mailbox = new Mailbox(pool, 4);
+        List<Integer> ran = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            int task = i;
+            assertTrue(mailbox.offer(() -> ran.add(task)), "Task " + i + " should fit.");
+        }
+        assertFalse(mailbox.offer(() -> ran.add(-1)), "A full mailbox should refuse an offer.");
+        mailbox.execute(() -> ran.add(4));
+        assertEquals(5, mailbox.size(), "Forced tasks should go past the capacity.");
+        assertEquals(1, pool.queued.size(), "The mailbox should be scheduled only once.");
+
+        pool.runNext();
+        assertEquals(List.of(0, 1, 2, 3, 4), ran, "Accepted tasks should run in the order sent.");
+        assertEquals(0, mailbox.size());
+        assertTrue(mailbox.offer(() -> ran.add(5)), "An emptied mailbox should accept offers again.");
+    }
+
+    /**
+     * Tests that a mailbox gives up its thread after a batch and schedules
+     * itself again for the rest.
+     */
+    @Test
+    public void testReschedulesAfterBatch() {
+        ManualPool pool = new ManualPool();
+        Mailbox mailbox = new Mailbox(pool, 1000);
+        AtomicInteger ran = new AtomicInteger();
+        for (int i = 0; i < 150; i++) {
+            mailbox.offer(ran::incrementAndGet);
+        }
+
+        int[] afterEach = new int[3];
+        for (int turn = 0; turn < afterEach.length; turn++) {
+            assertTrue(pool.runNext(), "The mailbox should have been scheduled for turn " + turn + ".");
+            afterEach[turn] = ran.get();
+        }
+        assertEquals(64, afterEach[0], "One turn should run a single batch.");
+        assertEquals(128, afterEach[1]);
+        assertEquals(150, afterEach[2]);
+        assertFalse(pool.runNext(), "An empty mailbox should not schedule itself again.");
+    }
+
+    /**
+     * Tests that a failing task is reported with its stack trace and does not
+     * stop the tasks after it.
+     */
+    @Test
+    public void testFailedTaskIsReported() {
+        ManualPool pool = new ManualPool();
+        Mailbox mailbox = new Mailbox(pool, 4);
+        IllegalStateException failure = new IllegalStateException("broken");
+        List<Throwable> reported = new ArrayList<>();
+        AtomicInteger ran = new AtomicInteger();
+
+        mailbox.offer(() -> {
+            throw failure;
+        });
+        mailbox.offer(ran::incrementAndGet);
+
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler previous = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+        try {
+            pool.runNext();
+        } finally {
+            thread.setUncaughtExceptionHandler(previous);
+        }
+
+        assertEquals(1, reported.size(), "The failure should be handed to the thread's handler.");
+        assertSame(failure, reported.get(0), "The exception itself, with its stack trace, should be reported.");
+        assertEquals(1, ran.get(), "The task after the failure should still run.");
+    }
+
+    /**
+     * Tests that tasks sent from many threads at once never run at the same
+     * time, and that each sender's tasks run in the order sent.
+     */
+    @Test
+    public void testSingleWriterUnderContention() throws Exception {
+        int senders = 4;
+        int tasksEach = 5000;
+        ForkJoinPool pool = new ForkJoinPool(4, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        ExecutorService threads = Executors.newFixedThreadPool(senders);
+        try {
+            Mailbox mailbox = new Mailbox(pool, 16);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger overlaps = new AtomicInteger();
+            AtomicInteger refused = new AtomicInteger();
+            // Deliberately not thread-safe: only the mailbox's one writer adds
+            List<int[]> log = new ArrayList<>();
+            CountDownLatch go = new CountDownLatch(1);
+
+            List<Future<?>> sent = new ArrayList<>();
+            for (int sender = 0; sender < senders; sender++) {
+                int id = sender;
+                sent.add(threads.submit(() -> {
+                    go.await();
+                    for (int i = 0; i < tasksEach; i++) {
+                        int seq = i;
+                        Runnable task = () -> {
+                            if (running.incrementAndGet() != 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            log.add(new int[] { id, seq });
+                            running.decrementAndGet();
+                        };
+                        while (!mailbox.offer(task)) {
+                            refused.incrementAndGet();
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : sent) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            for (int i = 0; i < 3000 && mailbox.size() > 0; i++) {
+                Thread.sleep(10);
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+            assertEquals(0, overlaps.get(), "Two of the game's tasks ran at once.");
+            assertEquals(senders * tasksEach, log.size(), "Every accepted task should run exactly once.");
+            assertTrue(refused.get() > 0, "A mailbox of 16 should have turned some offers away.");
+            int[] next = new int[senders];
+            for (int[] entry : log) {
+                assertEquals(next[entry[0]]++, entry[1], "Sender " + entry[0] + "'s tasks ran out of order.");
+            }
+        } finally {
+            threads.shutdownNow();
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package Server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import BoardGame.Bitboard;
+import BoardGame.BoardModel;
+import BoardGame.Direction;
+import BoardGame.Player;
+import BoardGame.Task;
+import GameSystem.GameEngine;
+import square.MoneySquare;
+import square.SquareType;
+
+/**
+ * Test suite for the {@link StateDelta} class, following a game the way a
+ * {@link GameSession} does.
+ */
+public class StateDeltaTest {
+
+    private GameEngine engine;
+    private StateDelta delta;
+    private Player player;
+
+    @BeforeEach
+    public void setUp() {
+        // Large enough that a money square picked up always has somewhere to go
+        engine = new GameEngine(20, 42);
+        delta = new StateDelta(engine);
+        engine.getChangeTracker().addListener(delta);
+        engine.getBoard().addListener(delta);
+
+        player = new Player("Player", engine.getBoard().getSpawnLocations()[0]);
+        engine.setTurnOrder(new Player[] { player });
+        engine.startGame();
+    }
+
+    /**
+     * Writes what has changed since the last delta.
+     */
+    private List<String> delta() {
+        StringBuilder out = new StringBuilder();
+        delta.delta(out);
+        return out.length() == 0 ? List.of() : List.of(out.toString().split("\n"));
+    }
+
+    /**
+     * Tests that picking up money sends only the player, the square picked up
+     * and the square the money moved to.
+     */
+    @Test
+    public void testMoneyPickupSendsOnlyWhatChanged() {
+        BoardModel board = engine.getBoard();
+        int money = board.getSquaresOfType(SquareType.MONEYSQUARE).nextSetBit(0);
+        int amount = ((MoneySquare) board.getSquareAt(money)).getMoney();
+
+        // Stands the player next to the money square, on a blank square
+        Direction towards = null;
+        for (int from = 0; from < board.getTotalSquares() && towards == null; from++) {
+            for (Direction direction : Direction.values()) {
+                if (from != money && board.getMoveTable().target(from, direction) == money
+                        && board.getSquareAt(from).getSquareType() == SquareType.SQUARE) {
+                    player.setCoord(from);
+                    towards = direction;
+                    break;
+                }
+            }
+        }
+        player.setMovesLeft(1);
+        delta();
+
+        int wallet = player.getMoney();
+        Bitboard moneyBefore = new Bitboard(board.getSquaresOfType(SquareType.MONEYSQUARE));
+        engine.movePlayer(towards);
+        Bitboard placed = new Bitboard(board.getSquaresOfType(SquareType.MONEYSQUARE));
+        placed.andNot(moneyBefore);
+        int moved = placed.nextSetBit(0);
+        assertTrue(moved >= 0, "A new money square should have been placed.");
+
+        List<String> heard = delta();
+        assertEquals(3, heard.size(), "Only the player and two squares should be sent: " + heard);
+        assertEquals("PLAYER 0 at=" + money + " moves=0 money=" + (wallet + amount), heard.get(0),
+                "Only the position, moves and money of the player changed.");
+        assertTrue(heard.contains("SQUARE " + money + " SQUARE"), "The money picked up should be gone: " + heard);
+        assertTrue(heard.contains("SQUARE " + moved + " MONEYSQUARE " + ((MoneySquare) board.getSquareAt(moved)).getMoney()),
+                "The money should have moved: " + heard);
+        assertEquals(List.of(), delta(), "Nothing more should be sent until something else changes.");
+    }
+
+    /**
+     * Tests that claiming a task sends only the task's new owner and what the
+     * player paid for it.
+     */
+    @Test
+    public void testTaskClaimSendsOwnerAndCost() {
+        BoardModel board = engine.getBoard();
+        List<Task> tasks = engine.getTasks();
+        int claimed = 0;
+        while (board.getTaskPosition(tasks.get(claimed)) < 0) {
+            claimed++;
+        }
+        Task task = tasks.get(claimed);
+        player.setResource(task.getResourceCost() + 1, task.getResourceType());
+        delta();
+
+        assertTrue(engine.purchaseTask(player, task.getResourceType(), task), "The player can afford the task.");
+        List<String> heard = delta();
+        assertEquals(List.of(
+                "PLAYER 0 " + task.getResourceType().name().toLowerCase() + "=1",
+                "TASK " + claimed + " owner=0"), heard, "Only the owner and the player's resource changed.");
+    }
+}
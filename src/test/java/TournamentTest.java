@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import GameSystem.BotPlayer;
+import GameSystem.GameRules;
+import Simulation.Standings;
+import Simulation.Tournament;
+
+/**
+ * Test suite for the {@link Tournament} and {@link Standings} classes.
+ */
+public class TournamentTest {
+
+    /**
+     * Creates a tournament between copies of the scripted bot.
+     */
+    private static Tournament scriptedTournament(int entrants, long seed) {
+        Map<String, Tournament.Strategy> strategies = new LinkedHashMap<>();
+        for (int i = 0; i < entrants; i++) {
+            strategies.put("bot" + i, BotPlayer::new);
+        }
+        return new Tournament(strategies, GameRules.DEFAULT, 60, seed);
+    }
+
+    /**
+     * Tests that a round robin plays every pairing and that a seeded
+     * tournament always gives the same table.
+     */
+    @Test
+    public void testRoundRobinIsReproducible() {
+        Standings first = scriptedTournament(3, 8L).roundRobin(20);
+        Standings second = scriptedTournament(3, 8L).roundRobin(20);
+
+        assertEquals(first.toString(), second.toString(), "The same seed should give the same table.");
+        double points = 0;
+        for (Standings.Row row : first.getRows()) {
+            assertEquals(40, row.getGames(), "Each entrant should play 20 games against each of two others.");
+            points += row.getPoints();
+        }
+        assertEquals(60, points, 1e-9, "Every game should hand out one point.");
+    }
+
+    /**
+     * Tests that a Swiss tournament plays every round, with one entrant sitting
+     * out each round when there is an odd number.
+     */
+    @Test
+    public void testSwissPlaysEveryRound() {
+        Standings standings = scriptedTournament(5, 4L).swiss(3, 6);
+
+        long games = 0;
+        for (Standings.Row row : standings.getRows()) {
+            games += row.getGames();
+        }
+        assertEquals(3 * 2 * 2 * 6, games, "Each round should have two pairings of six games, counted twice.");
+        assertThrows(IllegalArgumentException.class, () -> scriptedTournament(2, 0L).swiss(0, 1));
+    }
+
+    /**
+     * Tests the ratings and intervals worked out from a table.
+     */
+    @Test
+    public void testRatingsFollowResults() {
+        Standings standings = new Standings(List.of("strong", "weak"));
+        for (int i = 0; i < 30; i++) {
+            standings.record("strong", "weak", i % 3 == 0 ? 0.5 : 1);
+        }
+        Standings.Row strong = standings.get("strong");
+        Standings.Row weak = standings.get("weak");
+
+        assertEquals("strong", standings.getRows().get(0).getName(), "The leader should be first.");
+        assertEquals(25, strong.getPoints(), 1e-9, "Wins and half of the draws should count.");
+        assertTrue(strong.getRating() > Standings.BASE_RATING && weak.getRating() < Standings.BASE_RATING,
+                "The stronger entrant should be rated above the base.");
+        assertEquals(2 * Standings.BASE_RATING, strong.getRating() + weak.getRating(), 1e-6,
+                "Ratings should mirror each other.");
+        assertTrue(strong.getRatingLow() < strong.getRating() && strong.getRating() < strong.getRatingHigh(),
+                "The rating should lie inside its interval.");
+        assertThrows(IllegalArgumentException.class, () -> standings.record("strong", "nobody", 1));
+        assertThrows(IllegalArgumentException.class, () -> standings.record("strong", "weak", 0.3));
+    }
+}
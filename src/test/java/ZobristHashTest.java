@@ -0,0 +1,168 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import BoardGame.Direction;
+import BoardGame.Player;
+import BoardGame.ResourceType;
+import BoardGame.Task;
+import BoardGame.ZobristHash;
+import GameSystem.GameEngine;
+import GameSystem.ScriptedPlayer;
+import Simulation.TranspositionTable;
+import square.MoneySquare;
+
+/**
+ * Test suite for the {@link ZobristHash} and {@link TranspositionTable}
+ * classes.
+ */
+public class ZobristHashTest {
+
+    /**
+     * Works out the hash of a game from scratch.
+     */
+    private static long fromScratch(GameEngine engine) {
+        return ZobristHash.of(engine.getTurnOrder(), engine.getTasks(), engine.getBoard(), engine.getTurnNumber());
+    }
+
+    /**
+     * Creates a seeded game between two players.
+     */
+    private static GameEngine twoPlayerGame(long seed) {
+        GameEngine engine = new GameEngine(9, seed);
+        int spawn = engine.getBoard().getSpawnLocations()[0];
+        engine.setTurnOrder(new Player[] { new Player("Alice", spawn), new Player("Bob", spawn) });
+        engine.startGame();
+        return engine;
+    }
+
+    /**
+     * Tests that the hash kept up to date as the game is played always matches
+     * the hash worked out from scratch.
+     */
+    @Test
+    public void testIncrementalMatchesFromScratch() {
+        GameEngine engine = twoPlayerGame(12L);
+        ScriptedPlayer script = new ScriptedPlayer();
+        SplittableRandom random = new SplittableRandom(5);
+        assertEquals(fromScratch(engine), engine.getStateHash(), "A new game should be hashed in full.");
+
+        for (int turn = 0; turn < 40; turn++) {
+            script.playTurn(engine);
+            assertEquals(fromScratch(engine), engine.getStateHash(), "Hash mismatch after turn " + turn);
+
+            // Mutate state through the other entry points too
+            Task task = engine.getTasks().get(random.nextInt(engine.getTasks().size()));
+            engine.getPlayerAt().changeResource(random.nextInt(40), task.getResourceType());
+            if (task.getOwnedBy() != null && task.getOwnedBy() != engine.getPlayerAt()) {
+                engine.discountSubTask(task);
+            }
+            engine.getPlayerAt().debit(new int[ResourceType.COUNT]);
+            assertEquals(fromScratch(engine), engine.getStateHash(), "Hash mismatch after changes in turn " + turn);
+
+            engine.nextTurn();
+            assertEquals(fromScratch(engine), engine.getStateHash(), "Hash mismatch after ending turn " + turn);
+        }
+    }
+
+    /**
+     * Tests that the same state reached by moving in a different order has
+     * the same hash, and that a different state does not.
+     */
+    @Test
+    public void testTranspositionsShareHash() {
+        GameEngine first = twoPlayerGame(3L);
+        GameEngine second = first.copy(99L);
+        assertEquals(first.getStateHash(), second.getStateHash(), "A copy should have the same hash.");
+
+        // Find two moves whose squares hold no money, so moving is all that changes
+        int spawn = first.getPlayerAt().getCoord();
+        Direction[][] orders = null;
+        for (Direction a : Direction.values()) {
+            for (Direction b : Direction.values()) {
+                int viaA = first.getBoard().getMoveTable().target(spawn, a);
+                int viaB = first.getBoard().getMoveTable().target(spawn, b);
+                int end = first.getBoard().getMoveTable().target(viaA, b);
+                if (a.ordinal() < b.ordinal() && viaA != spawn && viaB != spawn && end != viaA
+                        && end == first.getBoard().getMoveTable().target(viaB, a)
+                        && !(first.getBoard().getSquareAt(viaA) instanceof MoneySquare)
+                        && !(first.getBoard().getSquareAt(viaB) instanceof MoneySquare)
+                        && !(first.getBoard().getSquareAt(end) instanceof MoneySquare)) {
+                    orders = new Direction[][] { { a, b }, { b, a } };
+                }
+            }
+        }
+        assertTrue(orders != null, "The board should have a square reachable two ways.");
+
+        first.getPlayerAt().setMovesLeft(2);
+        second.getPlayerAt().setMovesLeft(2);
+        first.movePlayer(orders[0][0]);
+        assertNotEquals(second.getStateHash(), first.getStateHash(), "Moving should change the hash.");
+        first.movePlayer(orders[0][1]);
+        second.movePlayer(orders[1][0]);
+        second.movePlayer(orders[1][1]);
+        assertEquals(first.getStateHash(), second.getStateHash(), "Both orders should reach the same hash.");
+    }
+
+    /**
+     * Tests that a table counts play-outs and averages their scores, and that
+     * a state sharing a slot takes it over only after wearing the holder down.
+     */
+    @Test
+    public void testTableRecordsAndReplaces() {
+        TranspositionTable table = new TranspositionTable(5);
+        assertEquals(8, table.size(), "The size should round up to a power of two.");
+        long state = 0x1234_5678_9ABC_0001L;
+        long rival = 0x7654_3210_FEDC_0001L;
+
+        assertEquals(0, table.probe(state), "An empty table should miss.");
+        table.record(state, 1.0);
+        table.record(state, 0.0);
+        table.record(state, 0.5);
+        long entry = table.probe(state);
+        assertEquals(3, TranspositionTable.visitsOf(entry), "Every play-out should be counted.");
+        assertEquals(0.5, TranspositionTable.meanOf(entry), 1e-5, "The scores should be averaged.");
+
+        table.record(rival, 1.0);
+        table.record(rival, 1.0);
+        assertEquals(0, table.probe(rival), "A rival should not take a busy slot at once.");
+        assertEquals(1, TranspositionTable.visitsOf(table.probe(state)), "The holder should be worn down.");
+        table.record(rival, 1.0);
+        assertEquals(0, table.probe(state), "A worn down holder should be replaced.");
+        assertEquals(1.0, TranspositionTable.meanOf(table.probe(rival)), 1e-5, "The rival should hold the slot.");
+    }
+
+    /**
+     * Tests that play-outs recorded from many threads at once are all counted.
+     */
+    @Test
+    public void testTableIsLockFreeAndExact() throws Exception {
+        TranspositionTable table = new TranspositionTable(1 << 10);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    table.record(42L, 0.25);
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        pool.shutdown();
+
+        long entry = table.probe(42L);
+        assertEquals(8_000, TranspositionTable.visitsOf(entry), "No play-out should be lost.");
+        assertEquals(0.25, TranspositionTable.meanOf(entry), 1e-5, "The mean should be exact.");
+    }
+}